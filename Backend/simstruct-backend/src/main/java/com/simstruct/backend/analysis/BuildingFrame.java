@@ -0,0 +1,256 @@
+package com.simstruct.backend.analysis;
+
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+
+import java.util.List;
+
+/**
+ * Physics path for the 11 building inputs of the AI model: one interior plane
+ * frame of the building, analyzed with FrameSolver.
+ *
+ * Same assumptions as the dataset generator (Model_AI): a square grid of
+ * numColumns columns 6 m apart, so sqrt(numColumns) column lines per frame
+ * and a 6 m strip of floor per frame; square reinforced concrete sections
+ * (beamSection, columnSection in cm) with E = 4700 √fck MPa. numBeams
+ * follows from that grid (one beam per bay and floor) and is not used.
+ *
+ * Loads: dead and live loads on the beams over the 6 m strip; wind pressure
+ * on the 6 m strip as a horizontal force at each floor, on the windward
+ * column. Columns are fixed at the base.
+ *
+ * Masses, for modal analysis: the floor load G + 0.3 Q over the 6 m strip
+ * on the beams, and the self-weight of the columns (2.5 t/m³).
+ *
+ * Drift and beam deflections are taken under characteristic loads
+ * (G + Q + W), stresses under 1.35 G + 1.5 Q + 1.5 × 0.6 W, and the
+ * stability index is the dataset's formula applied to these results, so all
+ * three read like an AIPredictionResponse. Design checks use the envelope
+ * over a full table of load combinations instead (combinations).
+ */
+public final class BuildingFrame {
+
+    public static final double BAY = 6.0;
+    public static final double[] SERVICEABILITY = {1.0, 1.0, 1.0};
+    public static final double[] ULTIMATE = {1.35, 1.5, 0.9};
+    public static final double GRAVITY = 9.81;            // m/s²
+    public static final double CONCRETE_DENSITY = 2.5;    // t/m³
+    public static final double LIVE_MASS_FACTOR = 0.3;    // quasi-permanent share of Q
+
+    private BuildingFrame() {
+    }
+
+    /**
+     * Results of the frame, in the units of AIPredictionResponse
+     */
+    public record Result(int storeys, int bays, int equations,
+                         double maxDrift,            // top lateral displacement, mm
+                         double maxInterstoreyDrift, // largest storey drift / storey height
+                         double maxBeamDeflection,   // mm, relative to the beam ends
+                         double maxDeflection,       // combined, as maxDeflection in the dataset, mm
+                         double maxStress,           // MPa
+                         double stabilityIndex) {    // 0-100
+    }
+
+    /**
+     * Envelope of the frame over a table of load combinations, in the units of FrameAnalysisResponse
+     */
+    public record CombinationResult(String governingCombination, // ULS combination with the largest stress
+                                    double governingStress,      // MPa
+                                    double momentMax,            // kN.m, sagging positive for beams
+                                    double momentMin,            // kN.m
+                                    double shearMax,             // kN
+                                    double shearMin,             // kN
+                                    double beamDeflectionMax,    // mm, SLS, relative to the beam ends
+                                    double beamDeflectionMin) {  // mm, downward negative
+    }
+
+    public static int storeys(BuildingPredictionRequest building) {
+        return Math.max(1, (int) Math.round(building.getNumFloors()));
+    }
+
+    public static int bays(BuildingPredictionRequest building) {
+        return Math.max(2, (int) Math.round(Math.sqrt(building.getNumColumns()))) - 1;
+    }
+
+    /**
+     * Node of a column line at a level (0 = ground)
+     */
+    public static int node(int bays, int level, int column) {
+        return level * (bays + 1) + column;
+    }
+
+    /**
+     * Frame geometry, sections and load cases for the building
+     */
+    public static FrameModel model(BuildingPredictionRequest building) {
+        int storeys = storeys(building);
+        int bays = bays(building);
+        double height = building.getFloorHeight();
+        double elasticModulus = 4700 * Math.sqrt(building.getConcreteStrength()) * 1000;
+        double beam = building.getBeamSection() / 100;
+        double column = building.getColumnSection() / 100;
+
+        FrameModel model = new FrameModel();
+        for (int level = 0; level <= storeys; level++) {
+            for (int c = 0; c <= bays; c++) {
+                int node = model.addNode(c * BAY, level * height);
+                if (level == 0) {
+                    model.fix(node);
+                }
+            }
+        }
+        for (int level = 1; level <= storeys; level++) {
+            for (int c = 0; c <= bays; c++) {
+                int member = model.addMember(node(bays, level - 1, c), node(bays, level, c), elasticModulus,
+                        column * column, Math.pow(column, 4) / 12, column, FrameModel.MemberType.COLUMN);
+                model.addMemberMass(member, CONCRETE_DENSITY * column * column);
+            }
+            for (int c = 0; c < bays; c++) {
+                int member = model.addMember(node(bays, level, c), node(bays, level, c + 1), elasticModulus,
+                        beam * beam, Math.pow(beam, 4) / 12, beam, FrameModel.MemberType.BEAM);
+                model.addMemberLoad(LoadCase.DEAD, member, building.getDeadLoad() * BAY);
+                model.addMemberLoad(LoadCase.LIVE, member, building.getLiveLoad() * BAY);
+                model.addMemberMass(member,
+                        (building.getDeadLoad() + LIVE_MASS_FACTOR * building.getLiveLoad()) * BAY / GRAVITY);
+            }
+            // The roof takes half a storey of facade
+            double facade = level == storeys ? height / 2 : height;
+            model.addNodalLoad(LoadCase.WIND, node(bays, level, 0), building.getWindLoad() * BAY * facade, 0, 0);
+        }
+        return model;
+    }
+
+    public static Result analyze(BuildingPredictionRequest building) {
+        FrameModel model = model(building);
+        FrameSolver solver = new FrameSolver(model);
+        FrameSolver.Solution service = solver.solve(SERVICEABILITY);
+        FrameSolver.Solution ultimate = solver.solve(ULTIMATE);
+        return result(building, model, solver, service, ultimate);
+    }
+
+    /**
+     * Envelope of moments and shears (ULS) and beam deflections (SLS) over the
+     * combinations, each load case solved once
+     */
+    public static CombinationResult combinations(BuildingPredictionRequest building,
+                                                 List<LoadCombination> combinations) {
+        FrameModel model = model(building);
+        return combinations(model, new FrameSolver(model), combinations);
+    }
+
+    /**
+     * Envelope over the combinations with an already factored solver of the model
+     */
+    public static CombinationResult combinations(FrameModel model, FrameSolver solver,
+                                                 List<LoadCombination> combinations) {
+        Envelope envelope = Envelope.of(model, solver, combinations);
+        double momentMax = Double.NEGATIVE_INFINITY;
+        double momentMin = Double.POSITIVE_INFINITY;
+        double shearMax = Double.NEGATIVE_INFINITY;
+        double shearMin = Double.POSITIVE_INFINITY;
+        double deflectionMax = 0;
+        double deflectionMin = 0;
+        for (int m = 0; m < model.members().size(); m++) {
+            momentMax = Math.max(momentMax, envelope.momentMax(m));
+            momentMin = Math.min(momentMin, envelope.momentMin(m));
+            shearMax = Math.max(shearMax, envelope.shearMax(m));
+            shearMin = Math.min(shearMin, envelope.shearMin(m));
+            if (model.members().get(m).type() == FrameModel.MemberType.BEAM) {
+                deflectionMax = Math.max(deflectionMax, envelope.deflectionMax(m));
+                deflectionMin = Math.min(deflectionMin, envelope.deflectionMin(m));
+            }
+        }
+        return new CombinationResult(envelope.governing().name(), envelope.governingStress() / 1000,
+                momentMax, momentMin, shearMax, shearMin, deflectionMax * 1000, deflectionMin * 1000);
+    }
+
+    /**
+     * Lowest natural frequencies and mode shapes of the frame
+     */
+    public static ModalAnalysis.Result modes(BuildingPredictionRequest building, int count) {
+        FrameModel model = model(building);
+        return new ModalAnalysis(model, new FrameSolver(model)).modes(count);
+    }
+
+    /**
+     * Up to points levels from the ground to the roof, evenly spread
+     */
+    public static int[] levels(int storeys, int points) {
+        int count = Math.max(2, Math.min(points, storeys + 1));
+        int[] levels = new int[count];
+        for (int i = 0; i < count; i++) {
+            levels[i] = (int) Math.round((double) i * storeys / (count - 1));
+        }
+        return levels;
+    }
+
+    /**
+     * Horizontal displacement of the windward column line of a mode at the
+     * given levels, scaled so that the largest is 1 and the roof moves forward
+     */
+    public static double[] lateralShape(int bays, int[] levels, ModalAnalysis.Mode mode) {
+        double[] shape = new double[levels.length];
+        double largest = 0;
+        for (int i = 0; i < levels.length; i++) {
+            shape[i] = mode.displacement(node(bays, levels[i], 0), 0);
+            largest = Math.max(largest, Math.abs(shape[i]));
+        }
+        double roof = shape[levels.length - 1];
+        double scale = largest == 0 ? 0 : (roof < 0 ? -1 : 1) / largest;
+        for (int i = 0; i < shape.length; i++) {
+            shape[i] *= scale;
+        }
+        return shape;
+    }
+
+    /**
+     * Drift, deflection and stress of the frame under a serviceability and an ultimate combination
+     */
+    public static Result result(BuildingPredictionRequest building, FrameModel model, FrameSolver solver,
+                                FrameSolver.Solution service, FrameSolver.Solution ultimate) {
+        int storeys = storeys(building);
+        int bays = bays(building);
+        double height = building.getFloorHeight();
+
+        double maxDrift = 0;
+        double maxInterstorey = 0;
+        for (int level = 1; level <= storeys; level++) {
+            for (int c = 0; c <= bays; c++) {
+                double ux = service.displacement(node(bays, level, c), 0);
+                double below = service.displacement(node(bays, level - 1, c), 0);
+                maxDrift = Math.max(maxDrift, Math.abs(ux));
+                maxInterstorey = Math.max(maxInterstorey, Math.abs(ux - below) / height);
+            }
+        }
+        double maxBeamDeflection = 0;
+        double maxStress = 0;
+        for (int m = 0; m < model.members().size(); m++) {
+            if (model.members().get(m).type() == FrameModel.MemberType.BEAM) {
+                maxBeamDeflection = Math.max(maxBeamDeflection, Math.abs(service.midspanDeflection(m)));
+            }
+            maxStress = Math.max(maxStress, ultimate.stress(m));
+        }
+
+        double driftMm = maxDrift * 1000;
+        double beamMm = maxBeamDeflection * 1000;
+        double stressMpa = maxStress / 1000;
+        return new Result(storeys, bays, solver.equationCount(), driftMm, maxInterstorey, beamMm,
+                Math.hypot(driftMm, beamMm), stressMpa,
+                stabilityIndex(building, storeys * height, driftMm, beamMm, stressMpa));
+    }
+
+    /**
+     * Dataset formula: lateral (H/500) and beam (L/250) deflection limits, stress
+     * against 0.85 min(fck, fy), and column slenderness, weighted 25/25/30/20
+     */
+    static double stabilityIndex(BuildingPredictionRequest building, double totalHeight,
+                                 double driftMm, double beamMm, double stressMpa) {
+        double lateral = totalHeight / 500 * 1000 / Math.max(driftMm, 1);
+        double vertical = BAY / 250 * 1000 / Math.max(beamMm, 1);
+        double stress = 0.85 * Math.min(building.getConcreteStrength(), building.getSteelGrade()) / Math.max(stressMpa, 1);
+        double slenderness = 200 / Math.max(building.getFloorHeight() * 1000 / (building.getColumnSection() * 10), 1);
+        double index = Math.min(lateral, 2) * 25 + Math.min(vertical, 2) * 25
+                + Math.min(stress, 2) * 30 + Math.min(slenderness, 2) * 20;
+        return Math.max(0, Math.min(100, index));
+    }
+}
@@ -0,0 +1,167 @@
+package com.simstruct.backend.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Envelope of a FrameModel over a table of load combinations.
+ *
+ * Each LoadCase is solved once, alone; every combination is then the
+ * superposition of these solutions (FrameSolver.combine), so a table of any
+ * length costs three substitutions. Moments, shears and stresses are
+ * enveloped over the ULS combinations, member deflections over the SLS ones.
+ * The governing combination is the ULS one with the largest stress in any
+ * member.
+ */
+public final class Envelope {
+
+    private final List<LoadCombination> combinations;
+    private final double[] momentMax;
+    private final double[] momentMin;
+    private final double[] shearMax;
+    private final double[] shearMin;
+    private final double[] deflectionMax;
+    private final double[] deflectionMin;
+    private final double[] combinationStress;
+    private final int governing;
+    private final int governingMember;
+
+    private Envelope(List<LoadCombination> combinations, double[] momentMax, double[] momentMin,
+                     double[] shearMax, double[] shearMin, double[] deflectionMax, double[] deflectionMin,
+                     double[] combinationStress, int governing, int governingMember) {
+        this.combinations = combinations;
+        this.momentMax = momentMax;
+        this.momentMin = momentMin;
+        this.shearMax = shearMax;
+        this.shearMin = shearMin;
+        this.deflectionMax = deflectionMax;
+        this.deflectionMin = deflectionMin;
+        this.combinationStress = combinationStress;
+        this.governing = governing;
+        this.governingMember = governingMember;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no combination is ULS
+     */
+    public static Envelope of(FrameModel model, FrameSolver solver, List<LoadCombination> combinations) {
+        int members = model.members().size();
+        LoadCase[] loadCases = LoadCase.values();
+        FrameSolver.Solution[] cases = new FrameSolver.Solution[loadCases.length];
+        for (int c = 0; c < loadCases.length; c++) {
+            double[] unit = new double[loadCases.length];
+            unit[c] = 1;
+            cases[c] = solver.solve(unit);
+        }
+
+        double[] momentMax = filled(members, Double.NEGATIVE_INFINITY);
+        double[] momentMin = filled(members, Double.POSITIVE_INFINITY);
+        double[] shearMax = filled(members, Double.NEGATIVE_INFINITY);
+        double[] shearMin = filled(members, Double.POSITIVE_INFINITY);
+        double[] deflectionMax = new double[members];
+        double[] deflectionMin = new double[members];
+        double[] combinationStress = new double[combinations.size()];
+        int governing = -1;
+        int governingMember = -1;
+        double largest = -1;
+        for (int k = 0; k < combinations.size(); k++) {
+            LoadCombination combination = combinations.get(k);
+            FrameSolver.Solution solution = solver.combine(cases, combination.factors());
+            if (combination.limitState() == LoadCombination.LimitState.SERVICEABILITY) {
+                for (int m = 0; m < members; m++) {
+                    deflectionMax[m] = Math.max(deflectionMax[m], solution.midspanDeflection(m));
+                    deflectionMin[m] = Math.min(deflectionMin[m], solution.midspanDeflection(m));
+                }
+                continue;
+            }
+            for (int m = 0; m < members; m++) {
+                momentMax[m] = Math.max(momentMax[m], solution.momentMax(m));
+                momentMin[m] = Math.min(momentMin[m], solution.momentMin(m));
+                shearMax[m] = Math.max(shearMax[m], solution.shearMax(m));
+                shearMin[m] = Math.min(shearMin[m], solution.shearMin(m));
+                double stress = solution.stress(m);
+                combinationStress[k] = Math.max(combinationStress[k], stress);
+                if (stress > largest) {
+                    largest = stress;
+                    governing = k;
+                    governingMember = m;
+                }
+            }
+        }
+        if (governing < 0) {
+            throw new IllegalArgumentException("Load combinations need at least one ULS combination");
+        }
+        return new Envelope(combinations, momentMax, momentMin, shearMax, shearMin, deflectionMax, deflectionMin,
+                combinationStress, governing, governingMember);
+    }
+
+    public List<LoadCombination> combinations() {
+        return combinations;
+    }
+
+    /**
+     * ULS combination with the largest stress in any member
+     */
+    public LoadCombination governing() {
+        return combinations.get(governing);
+    }
+
+    public int governingMember() {
+        return governingMember;
+    }
+
+    /**
+     * Stress in the governing member under the governing combination, in kN/m²
+     */
+    public double governingStress() {
+        return combinationStress[governing];
+    }
+
+    /**
+     * Largest stress of any member under a combination, in kN/m²; 0 for SLS combinations
+     */
+    public double stress(int combination) {
+        return combinationStress[combination];
+    }
+
+    /**
+     * Bending moment range of a member over the ULS combinations, as
+     * FrameSolver.Solution.momentMax / momentMin, in kN.m
+     */
+    public double momentMax(int member) {
+        return momentMax[member];
+    }
+
+    public double momentMin(int member) {
+        return momentMin[member];
+    }
+
+    /**
+     * Shear force range of a member over the ULS combinations, in kN
+     */
+    public double shearMax(int member) {
+        return shearMax[member];
+    }
+
+    public double shearMin(int member) {
+        return shearMin[member];
+    }
+
+    /**
+     * Midspan deflection range of a member over the SLS combinations (0
+     * included), relative to its chord, in m
+     */
+    public double deflectionMax(int member) {
+        return deflectionMax[member];
+    }
+
+    public double deflectionMin(int member) {
+        return deflectionMin[member];
+    }
+
+    private static double[] filled(int length, double value) {
+        double[] values = new double[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+}
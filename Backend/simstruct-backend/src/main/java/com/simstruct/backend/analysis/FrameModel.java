@@ -0,0 +1,138 @@
+package com.simstruct.backend.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plane frame: nodes with 3 degrees of freedom (ux, uy, rotation), elastic
+ * members between them, supports and loads by load case.
+ *
+ * Units: m, kN and kN/m² (elastic modulus), so displacements come out in m
+ * and rotations in rad; masses in t/m, so frequencies come out in rad/s.
+ * Any other consistent set works (m, N, Pa and kg/m).
+ */
+public final class FrameModel {
+
+    public static final int DOFS_PER_NODE = 3;
+
+    public enum MemberType {
+        BEAM,
+        COLUMN
+    }
+
+    /**
+     * Prismatic member; depth is the section height in the frame plane, for bending stress
+     */
+    public record Member(int start, int end, double elasticModulus, double area, double inertia,
+                         double depth, MemberType type) {
+    }
+
+    /**
+     * Force (fx, fy in kN) and moment (kN.m) at a node
+     */
+    public record NodalLoad(LoadCase loadCase, int node, double fx, double fy, double moment) {
+    }
+
+    /**
+     * Uniform load along a member, in kN/m, perpendicular to it: downward on a beam
+     * drawn left to right
+     */
+    public record MemberLoad(LoadCase loadCase, int member, double load) {
+    }
+
+    /**
+     * Mass per unit length of a member, in t/m, for modal analysis
+     */
+    public record MemberMass(int member, double mass) {
+    }
+
+    private final List<double[]> nodes = new ArrayList<>();
+    private final List<Member> members = new ArrayList<>();
+    private final List<boolean[]> restraints = new ArrayList<>();
+    private final List<NodalLoad> nodalLoads = new ArrayList<>();
+    private final List<MemberLoad> memberLoads = new ArrayList<>();
+    private final List<MemberMass> memberMasses = new ArrayList<>();
+
+    /**
+     * Add a free node and return its index
+     */
+    public int addNode(double x, double y) {
+        nodes.add(new double[]{x, y});
+        restraints.add(new boolean[DOFS_PER_NODE]);
+        return nodes.size() - 1;
+    }
+
+    /**
+     * Restrain all 3 degrees of freedom of a node
+     */
+    public void fix(int node) {
+        restraints.set(node, new boolean[]{true, true, true});
+    }
+
+    /**
+     * Restrain both translations of a node
+     */
+    public void pin(int node) {
+        restraints.set(node, new boolean[]{true, true, false});
+    }
+
+    /**
+     * Restrain one degree of freedom of a node (0 = ux, 1 = uy, 2 = rotation)
+     */
+    public void restrain(int node, int dof) {
+        restraints.get(node)[dof] = true;
+    }
+
+    public int addMember(int start, int end, double elasticModulus, double area, double inertia,
+                         double depth, MemberType type) {
+        members.add(new Member(start, end, elasticModulus, area, inertia, depth, type));
+        return members.size() - 1;
+    }
+
+    public void addNodalLoad(LoadCase loadCase, int node, double fx, double fy, double moment) {
+        nodalLoads.add(new NodalLoad(loadCase, node, fx, fy, moment));
+    }
+
+    public void addMemberLoad(LoadCase loadCase, int member, double load) {
+        memberLoads.add(new MemberLoad(loadCase, member, load));
+    }
+
+    /**
+     * Add mass along a member: self-weight, or floor mass carried by a beam
+     */
+    public void addMemberMass(int member, double mass) {
+        memberMasses.add(new MemberMass(member, mass));
+    }
+
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    public double x(int node) {
+        return nodes.get(node)[0];
+    }
+
+    public double y(int node) {
+        return nodes.get(node)[1];
+    }
+
+    public boolean restrained(int node, int dof) {
+        return restraints.get(node)[dof];
+    }
+
+    public List<Member> members() {
+        return members;
+    }
+
+    public List<NodalLoad> nodalLoads() {
+        return nodalLoads;
+    }
+
+    public List<MemberLoad> memberLoads() {
+        return memberLoads;
+    }
+
+    public List<MemberMass> memberMasses() {
+        return memberMasses;
+    }
+}
@@ -0,0 +1,488 @@
+package com.simstruct.backend.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Linear static analysis of a FrameModel by the direct stiffness method.
+ *
+ * Free degrees of freedom are numbered node by node, the global stiffness
+ * matrix is assembled in skyline form and factored once; each combination of
+ * load cases is then a forward and back substitution, or a superposition of
+ * the solutions of the single load cases (combine).
+ */
+public final class FrameSolver {
+
+    private static final int D = FrameModel.DOFS_PER_NODE;
+
+    private final FrameModel model;
+    // Equation of each node dof, -1 when restrained
+    private final int[] equations;
+    private final int equationCount;
+    // First equation coupled to each equation: the skyline of both stiffness and mass
+    private final int[] first;
+    private final SkylineMatrix stiffness;
+
+    public FrameSolver(FrameModel model) {
+        this.model = model;
+        this.equations = new int[model.nodeCount() * D];
+        int next = 0;
+        for (int node = 0; node < model.nodeCount(); node++) {
+            for (int dof = 0; dof < D; dof++) {
+                equations[node * D + dof] = model.restrained(node, dof) ? -1 : next++;
+            }
+        }
+        this.equationCount = next;
+
+        // Profile: each equation reaches up to the lowest equation it shares a member with
+        this.first = new int[equationCount];
+        for (int e = 0; e < equationCount; e++) {
+            first[e] = e;
+        }
+        for (FrameModel.Member member : model.members()) {
+            int[] dofs = memberEquations(member);
+            int lowest = Arrays.stream(dofs).filter(e -> e >= 0).min().orElse(Integer.MAX_VALUE);
+            for (int e : dofs) {
+                if (e >= 0) {
+                    first[e] = Math.min(first[e], lowest);
+                }
+            }
+        }
+
+        this.stiffness = new SkylineMatrix(first);
+        for (FrameModel.Member member : model.members()) {
+            assemble(stiffness, member, toGlobal(member, localStiffness(member)));
+        }
+        stiffness.factor();
+    }
+
+    public int equationCount() {
+        return equationCount;
+    }
+
+    /**
+     * Stored entries of the factored stiffness matrix
+     */
+    public int profile() {
+        return stiffness.profile();
+    }
+
+    /**
+     * Equation of a node dof, -1 when restrained
+     */
+    int equation(int node, int dof) {
+        return equations[node * D + dof];
+    }
+
+    /**
+     * K x = b over the free equations
+     */
+    double[] solveEquations(double[] b) {
+        return stiffness.solve(b);
+    }
+
+    /**
+     * Values of the free equations spread over all node dofs, 0 on restrained ones
+     */
+    double[] nodeValues(double[] solved) {
+        double[] values = new double[equations.length];
+        for (int i = 0; i < equations.length; i++) {
+            values[i] = equations[i] >= 0 ? solved[equations[i]] : 0;
+        }
+        return values;
+    }
+
+    /**
+     * Consistent mass matrix of the free equations, on the stiffness skyline
+     */
+    SkylineMatrix massMatrix() {
+        return combination(0, 1);
+    }
+
+    /**
+     * stiffnessFactor K + massFactor M, unfactored, on the stiffness skyline
+     */
+    SkylineMatrix combination(double stiffnessFactor, double massFactor) {
+        double[] massPerLength = new double[model.members().size()];
+        for (FrameModel.MemberMass memberMass : model.memberMasses()) {
+            massPerLength[memberMass.member()] += memberMass.mass();
+        }
+        SkylineMatrix matrix = new SkylineMatrix(first);
+        for (int m = 0; m < massPerLength.length; m++) {
+            FrameModel.Member member = model.members().get(m);
+            if (stiffnessFactor != 0) {
+                assemble(matrix, member, toGlobal(member, scale(localStiffness(member), stiffnessFactor)));
+            }
+            if (massFactor != 0 && massPerLength[m] != 0) {
+                assemble(matrix, member, toGlobal(member, localMass(member, massFactor * massPerLength[m])));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Displacements and member results of a load combination
+     */
+    public static final class Solution {
+        private final double[] displacements;
+        private final double[] endForces;
+        private final double[] momentMax;
+        private final double[] momentMin;
+        private final double[] shearMax;
+        private final double[] shearMin;
+        private final double[] midspanDeflections;
+        private final double[] stresses;
+
+        private Solution(double[] displacements, double[] endForces, double[] momentMax, double[] momentMin,
+                         double[] shearMax, double[] shearMin, double[] midspanDeflections, double[] stresses) {
+            this.displacements = displacements;
+            this.endForces = endForces;
+            this.momentMax = momentMax;
+            this.momentMin = momentMin;
+            this.shearMax = shearMax;
+            this.shearMin = shearMin;
+            this.midspanDeflections = midspanDeflections;
+            this.stresses = stresses;
+        }
+
+        /**
+         * Displacement of a node: dof 0 = ux (m), 1 = uy (m), 2 = rotation (rad)
+         */
+        public double displacement(int node, int dof) {
+            return displacements[node * D + dof];
+        }
+
+        /**
+         * Member end forces in local axes (N1, V1, M1, N2, V2, M2), kN and kN.m
+         */
+        public double[] endForces(int member) {
+            return Arrays.copyOfRange(endForces, member * 6, member * 6 + 6);
+        }
+
+        /**
+         * Largest bending moment along a member, in kN.m
+         */
+        public double maxMoment(int member) {
+            return Math.max(momentMax[member], -momentMin[member]);
+        }
+
+        /**
+         * Largest and smallest bending moment along a member, positive when the
+         * local -y face is in tension (sagging, for a beam), in kN.m
+         */
+        public double momentMax(int member) {
+            return momentMax[member];
+        }
+
+        public double momentMin(int member) {
+            return momentMin[member];
+        }
+
+        /**
+         * Largest and smallest shear force along a member, in kN
+         */
+        public double shearMax(int member) {
+            return shearMax[member];
+        }
+
+        public double shearMin(int member) {
+            return shearMin[member];
+        }
+
+        /**
+         * Midspan deflection relative to the member chord, in m
+         */
+        public double midspanDeflection(int member) {
+            return midspanDeflections[member];
+        }
+
+        /**
+         * Largest normal stress |N|/A + |M|/S along a member, in kN/m²
+         */
+        public double stress(int member) {
+            return stresses[member];
+        }
+    }
+
+    /**
+     * Solve for a combination: factors[c] multiplies the loads of LoadCase.values()[c]
+     */
+    public Solution solve(double[] factors) {
+        double[] load = new double[equationCount];
+        for (FrameModel.NodalLoad nodal : model.nodalLoads()) {
+            double factor = factors[nodal.loadCase().ordinal()];
+            addLoad(load, nodal.node() * D, factor * nodal.fx());
+            addLoad(load, nodal.node() * D + 1, factor * nodal.fy());
+            addLoad(load, nodal.node() * D + 2, factor * nodal.moment());
+        }
+        List<FrameModel.Member> members = model.members();
+        double[] transverse = transverse(factors);
+        for (int m = 0; m < members.size(); m++) {
+            if (transverse[m] != 0) {
+                double[] equivalent = toGlobal(members.get(m), fixedEndLoads(members.get(m), transverse[m]));
+                int[] nodeDofs = memberDofs(members.get(m));
+                for (int a = 0; a < 6; a++) {
+                    addLoad(load, nodeDofs[a], equivalent[a]);
+                }
+            }
+        }
+
+        double[] displacements = nodeValues(stiffness.solve(load));
+
+        double[] endForces = new double[members.size() * 6];
+        double[] midspan = new double[members.size()];
+        for (int m = 0; m < members.size(); m++) {
+            FrameModel.Member member = members.get(m);
+            double length = length(member);
+            double[] local = toLocal(member, memberDisplacements(member, displacements));
+            double[] forces = multiply(localStiffness(member), local);
+            double q = transverse[m];
+            if (q != 0) {
+                double[] equivalent = fixedEndLoads(member, q);
+                for (int a = 0; a < 6; a++) {
+                    forces[a] -= equivalent[a];
+                }
+            }
+            System.arraycopy(forces, 0, endForces, m * 6, 6);
+            midspan[m] = (local[2] - local[5]) * length / 8
+                    + q * Math.pow(length, 4) / (384 * member.elasticModulus() * member.inertia());
+        }
+        return solution(displacements, endForces, midspan, transverse);
+    }
+
+    /**
+     * Solution of a combination by superposition of the solutions of the single
+     * load cases (cases[c] solved for LoadCase.values()[c] alone, factor 1):
+     * displacements, end forces and deflections are linear in the factors, so
+     * nothing is solved again; moments along the members and stresses follow
+     * from the combined end forces
+     */
+    public Solution combine(Solution[] cases, double[] factors) {
+        double[] displacements = new double[equations.length];
+        double[] endForces = new double[model.members().size() * 6];
+        double[] midspan = new double[model.members().size()];
+        for (int c = 0; c < cases.length; c++) {
+            double factor = factors[c];
+            if (factor != 0) {
+                addScaled(displacements, cases[c].displacements, factor);
+                addScaled(endForces, cases[c].endForces, factor);
+                addScaled(midspan, cases[c].midspanDeflections, factor);
+            }
+        }
+        return solution(displacements, endForces, midspan, transverse(factors));
+    }
+
+    /**
+     * Combined uniform load of each member, local +y positive
+     */
+    private double[] transverse(double[] factors) {
+        double[] transverse = new double[model.members().size()];
+        for (FrameModel.MemberLoad memberLoad : model.memberLoads()) {
+            transverse[memberLoad.member()] -= factors[memberLoad.loadCase().ordinal()] * memberLoad.load();
+        }
+        return transverse;
+    }
+
+    private Solution solution(double[] displacements, double[] endForces, double[] midspan, double[] transverse) {
+        List<FrameModel.Member> members = model.members();
+        double[] momentMax = new double[members.size()];
+        double[] momentMin = new double[members.size()];
+        double[] shearMax = new double[members.size()];
+        double[] shearMin = new double[members.size()];
+        double[] stresses = new double[members.size()];
+        for (int m = 0; m < members.size(); m++) {
+            FrameModel.Member member = members.get(m);
+            double length = length(member);
+            int o = m * 6;
+            double v1 = endForces[o + 1];
+            double m1 = endForces[o + 2];
+            double q = transverse[m];
+
+            // M(x) = V1 x - M1 + q x²/2: extreme at an end or where the shear V1 + q x vanishes
+            double start = -m1;
+            double end = v1 * length - m1 + q * length * length / 2;
+            momentMax[m] = Math.max(start, end);
+            momentMin[m] = Math.min(start, end);
+            if (q != 0) {
+                double x = -v1 / q;
+                if (x > 0 && x < length) {
+                    double span = v1 * x - m1 + q * x * x / 2;
+                    momentMax[m] = Math.max(momentMax[m], span);
+                    momentMin[m] = Math.min(momentMin[m], span);
+                }
+            }
+            shearMax[m] = Math.max(v1, v1 + q * length);
+            shearMin[m] = Math.min(v1, v1 + q * length);
+
+            double moment = Math.max(momentMax[m], -momentMin[m]);
+            double sectionModulus = member.inertia() / (member.depth() / 2);
+            stresses[m] = Math.abs(endForces[o]) / member.area() + moment / sectionModulus;
+        }
+        return new Solution(displacements, endForces, momentMax, momentMin, shearMax, shearMin, midspan, stresses);
+    }
+
+    private void assemble(SkylineMatrix matrix, FrameModel.Member member, double[][] global) {
+        int[] dofs = memberEquations(member);
+        for (int a = 0; a < 6; a++) {
+            for (int b = a; b < 6; b++) {
+                if (dofs[a] >= 0 && dofs[b] >= 0) {
+                    matrix.add(dofs[a], dofs[b], global[a][b]);
+                }
+            }
+        }
+    }
+
+    private void addLoad(double[] load, int nodeDof, double value) {
+        int equation = equations[nodeDof];
+        if (equation >= 0) {
+            load[equation] += value;
+        }
+    }
+
+    private int[] memberDofs(FrameModel.Member member) {
+        int[] dofs = new int[6];
+        for (int d = 0; d < D; d++) {
+            dofs[d] = member.start() * D + d;
+            dofs[D + d] = member.end() * D + d;
+        }
+        return dofs;
+    }
+
+    private int[] memberEquations(FrameModel.Member member) {
+        int[] dofs = memberDofs(member);
+        for (int a = 0; a < 6; a++) {
+            dofs[a] = equations[dofs[a]];
+        }
+        return dofs;
+    }
+
+    private double[] memberDisplacements(FrameModel.Member member, double[] displacements) {
+        int[] dofs = memberDofs(member);
+        double[] u = new double[6];
+        for (int a = 0; a < 6; a++) {
+            u[a] = displacements[dofs[a]];
+        }
+        return u;
+    }
+
+    private double length(FrameModel.Member member) {
+        return Math.hypot(model.x(member.end()) - model.x(member.start()),
+                model.y(member.end()) - model.y(member.start()));
+    }
+
+    /**
+     * Euler-Bernoulli frame element in local axes (u1, v1, θ1, u2, v2, θ2)
+     */
+    private double[][] localStiffness(FrameModel.Member member) {
+        double length = length(member);
+        double axial = member.elasticModulus() * member.area() / length;
+        double ei = member.elasticModulus() * member.inertia();
+        double k1 = 12 * ei / Math.pow(length, 3);
+        double k2 = 6 * ei / (length * length);
+        double k3 = 4 * ei / length;
+        double k4 = 2 * ei / length;
+        return new double[][]{
+                {axial, 0, 0, -axial, 0, 0},
+                {0, k1, k2, 0, -k1, k2},
+                {0, k2, k3, 0, -k2, k4},
+                {-axial, 0, 0, axial, 0, 0},
+                {0, -k1, -k2, 0, k1, -k2},
+                {0, k2, k4, 0, -k2, k3}
+        };
+    }
+
+    /**
+     * Consistent mass of a frame element with mass m per unit length: linear
+     * axial and cubic transverse shape functions, as for the stiffness
+     */
+    private double[][] localMass(FrameModel.Member member, double m) {
+        double length = length(member);
+        double axial = m * length / 6;
+        double c = m * length / 420;
+        double l = length;
+        return new double[][]{
+                {2 * axial, 0, 0, axial, 0, 0},
+                {0, 156 * c, 22 * l * c, 0, 54 * c, -13 * l * c},
+                {0, 22 * l * c, 4 * l * l * c, 0, 13 * l * c, -3 * l * l * c},
+                {axial, 0, 0, 2 * axial, 0, 0},
+                {0, 54 * c, 13 * l * c, 0, 156 * c, -22 * l * c},
+                {0, -13 * l * c, -3 * l * l * c, 0, -22 * l * c, 4 * l * l * c}
+        };
+    }
+
+    /**
+     * T^T a T, with T the rotation from global to local axes
+     */
+    private double[][] toGlobal(FrameModel.Member member, double[][] local) {
+        double[][] global = new double[6][6];
+        double[] column = new double[6];
+        for (int b = 0; b < 6; b++) {
+            Arrays.fill(column, 0);
+            column[b] = 1;
+            double[] transformed = toGlobal(member, multiply(local, toLocal(member, column)));
+            for (int a = 0; a < 6; a++) {
+                global[a][b] = transformed[a];
+            }
+        }
+        return global;
+    }
+
+    /**
+     * Nodal loads equivalent to a uniform transverse load q (local +y), in local axes
+     */
+    private double[] fixedEndLoads(FrameModel.Member member, double q) {
+        double length = length(member);
+        return new double[]{0, q * length / 2, q * length * length / 12, 0, q * length / 2, -q * length * length / 12};
+    }
+
+    private double[] toLocal(FrameModel.Member member, double[] global) {
+        return rotate(member, global, 1);
+    }
+
+    private double[] toGlobal(FrameModel.Member member, double[] local) {
+        return rotate(member, local, -1);
+    }
+
+    private double[] rotate(FrameModel.Member member, double[] vector, int sign) {
+        double length = length(member);
+        double c = (model.x(member.end()) - model.x(member.start())) / length;
+        double s = sign * (model.y(member.end()) - model.y(member.start())) / length;
+        double[] rotated = new double[6];
+        for (int n = 0; n < 2; n++) {
+            int o = n * D;
+            rotated[o] = c * vector[o] + s * vector[o + 1];
+            rotated[o + 1] = -s * vector[o] + c * vector[o + 1];
+            rotated[o + 2] = vector[o + 2];
+        }
+        return rotated;
+    }
+
+    private static void addScaled(double[] target, double[] values, double factor) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += factor * values[i];
+        }
+    }
+
+    private static double[][] scale(double[][] matrix, double factor) {
+        double[][] scaled = new double[matrix.length][];
+        for (int a = 0; a < matrix.length; a++) {
+            scaled[a] = matrix[a].clone();
+            for (int b = 0; b < scaled[a].length; b++) {
+                scaled[a][b] *= factor;
+            }
+        }
+        return scaled;
+    }
+
+    private static double[] multiply(double[][] matrix, double[] vector) {
+        double[] result = new double[matrix.length];
+        for (int a = 0; a < matrix.length; a++) {
+            double sum = 0;
+            for (int b = 0; b < vector.length; b++) {
+                sum += matrix[a][b] * vector[b];
+            }
+            result[a] = sum;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package com.simstruct.backend.analysis;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ground acceleration record sampled at a fixed time step, in m/s²
+ */
+public record GroundMotion(double dt, double[] acceleration) {
+
+    public static final double G = 9.81;
+
+    // Kanai-Tajimi ground filter of a firm soil
+    private static final double GROUND_OMEGA = 15.6;
+    private static final double GROUND_DAMPING = 0.6;
+
+    public int steps() {
+        return acceleration.length;
+    }
+
+    public double duration() {
+        return dt * (acceleration.length - 1);
+    }
+
+    public double peak() {
+        double peak = 0;
+        for (double value : acceleration) {
+            peak = Math.max(peak, Math.abs(value));
+        }
+        return peak;
+    }
+
+    /**
+     * Synthetic accelerogram: white noise filtered by a Kanai-Tajimi soil
+     * column, shaped by a Jennings envelope (quadratic build-up over the first
+     * 10%, strong motion to 40%, then exponential decay) and scaled to the peak
+     * ground acceleration pga, in g
+     */
+    public static GroundMotion synthetic(double pga, double duration, double dt, long seed) {
+        int steps = (int) Math.round(duration / dt) + 1;
+        double[] acceleration = new double[steps];
+        Random random = new Random(seed);
+        double rise = 0.1 * duration;
+        double strong = 0.4 * duration;
+        double decay = 3 / (duration - strong);
+
+        // Filter x'' + 2ζg ωg x' + ωg² x = -w, ground acceleration = -(2ζg ωg x' + ωg² x),
+        // by semi-implicit Euler on a step fine enough for ωg
+        int substeps = (int) Math.ceil(dt * GROUND_OMEGA / 0.05);
+        double h = dt / substeps;
+        double x = 0;
+        double xDot = 0;
+        for (int i = 0; i < steps; i++) {
+            for (int s = 0; s < substeps; s++) {
+                double w = random.nextGaussian() / Math.sqrt(h);
+                xDot += h * (-w - 2 * GROUND_DAMPING * GROUND_OMEGA * xDot - GROUND_OMEGA * GROUND_OMEGA * x);
+                x += h * xDot;
+            }
+            double t = i * dt;
+            double envelope = t < rise ? (t / rise) * (t / rise) : t < strong ? 1 : Math.exp(-decay * (t - strong));
+            acceleration[i] = -envelope * (2 * GROUND_DAMPING * GROUND_OMEGA * xDot + GROUND_OMEGA * GROUND_OMEGA * x);
+        }
+        double scale = pga * G / Math.max(new GroundMotion(dt, acceleration).peak(), Double.MIN_NORMAL);
+        for (int i = 0; i < steps; i++) {
+            acceleration[i] *= scale;
+        }
+        return new GroundMotion(dt, acceleration);
+    }
+
+    /**
+     * Record from CSV lines "time,acceleration", or "acceleration" alone with
+     * the time step dt; accelerations in g. Blank lines, lines starting with #
+     * and a header line are skipped.
+     *
+     * @throws IllegalArgumentException if the time step is not constant, a value is
+     *         not a number, or there are more than maxSteps samples
+     */
+    public static GroundMotion fromCsv(Reader source, Double dt, int maxSteps) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        double[] acceleration = new double[1024];
+        int count = 0;
+        double firstTime = 0;
+        double step = dt != null ? dt : Double.NaN;
+        boolean header = true;
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("[,;\\s]+");
+            double[] values = new double[fields.length];
+            try {
+                for (int f = 0; f < fields.length; f++) {
+                    values[f] = Double.parseDouble(fields[f]);
+                }
+            } catch (NumberFormatException e) {
+                if (header && count == 0) {
+                    header = false;
+                    continue;
+                }
+                throw new IllegalArgumentException("Line " + number + " is not numeric: " + line);
+            }
+            header = false;
+            if (count == maxSteps) {
+                throw new IllegalArgumentException("Record longer than " + maxSteps + " steps");
+            }
+            if (count == acceleration.length) {
+                acceleration = Arrays.copyOf(acceleration, Math.min(2 * count, maxSteps));
+            }
+            if (values.length >= 2) {
+                if (count == 0) {
+                    firstTime = values[0];
+                } else if (count == 1 && dt == null) {
+                    step = values[0] - firstTime;
+                } else if (Math.abs(values[0] - firstTime - count * step) > 1e-3 * step) {
+                    throw new IllegalArgumentException("Line " + number + ": time step must be constant");
+                }
+                acceleration[count++] = values[1] * G;
+            } else {
+                acceleration[count++] = values[0] * G;
+            }
+        }
+        if (count < 2) {
+            throw new IllegalArgumentException("Record needs at least 2 samples");
+        }
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("Time step missing or not positive");
+        }
+        return new GroundMotion(step, Arrays.copyOf(acceleration, count));
+    }
+}
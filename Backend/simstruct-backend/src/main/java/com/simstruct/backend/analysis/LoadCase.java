@@ -0,0 +1,10 @@
+package com.simstruct.backend.analysis;
+
+/**
+ * Basic load cases of a frame; combinations weigh them with factors
+ */
+public enum LoadCase {
+    DEAD,
+    LIVE,
+    WIND
+}
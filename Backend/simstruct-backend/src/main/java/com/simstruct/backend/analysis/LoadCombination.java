@@ -0,0 +1,104 @@
+package com.simstruct.backend.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load combination: a limit state and one factor per LoadCase, written like
+ * "ULS: 1.35G + 1.5Q + 0.9W" (G dead, Q live, W wind; a negative wind
+ * factor reverses the wind).
+ */
+public record LoadCombination(String name, LimitState limitState, double[] factors) {
+
+    /**
+     * Accepted notation, for request validation; spaces and tabs only, since a
+     * line break would split the combination when the table is stored
+     */
+    public static final String PATTERN = "[ \\t]*(ULS|SLS)[ \\t]*:[ \\t]*[+-]?[ \\t]*(\\d+(\\.\\d+)?[ \\t]*\\*?[ \\t]*)?[GQW]"
+            + "([ \\t]*[+-][ \\t]*(\\d+(\\.\\d+)?[ \\t]*\\*?[ \\t]*)?[GQW])*[ \\t]*";
+
+    /**
+     * Longest combination and most combinations in a request: a full table,
+     * newlines included, fits the 2000 characters of Simulation.loadCombinations
+     */
+    public static final int MAX_LENGTH = 60;
+    public static final int MAX_COMBINATIONS = 30;
+
+    private static final Pattern TERM = Pattern.compile("\\s*([+-]?)\\s*(\\d+(?:\\.\\d+)?)?\\s*\\*?\\s*([GQW])\\s*");
+
+    /**
+     * EN 1990 combinations of permanent, imposed and wind loads (ψ0 = 0.7 for
+     * Q, 0.6 for W): fundamental ULS (6.10), and characteristic SLS, with the
+     * wind in both directions
+     */
+    public static final List<LoadCombination> EUROCODE = List.of(
+            parse("ULS: 1.35G + 1.5Q + 0.9W"),
+            parse("ULS: 1.35G + 1.5Q - 0.9W"),
+            parse("ULS: 1.35G + 1.05Q + 1.5W"),
+            parse("ULS: 1.35G + 1.05Q - 1.5W"),
+            parse("ULS: 1.35G + 1.5Q"),
+            parse("ULS: G + 1.5W"),
+            parse("ULS: G - 1.5W"),
+            parse("SLS: G + Q + 0.6W"),
+            parse("SLS: G + Q - 0.6W"),
+            parse("SLS: G + 0.7Q + W"),
+            parse("SLS: G + 0.7Q - W"),
+            parse("SLS: G + Q"));
+
+    public enum LimitState {
+        ULTIMATE, SERVICEABILITY
+    }
+
+    public double factor(LoadCase loadCase) {
+        return factors[loadCase.ordinal()];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text does not follow PATTERN
+     */
+    public static LoadCombination parse(String text) {
+        if (text == null || !text.matches(PATTERN)) {
+            throw new IllegalArgumentException("Load combination must read like \"ULS: 1.35G + 1.5Q + 0.9W\": " + text);
+        }
+        String trimmed = text.trim();
+        int colon = trimmed.indexOf(':');
+        LimitState limitState = trimmed.substring(0, colon).trim().equals("ULS")
+                ? LimitState.ULTIMATE : LimitState.SERVICEABILITY;
+        double[] factors = new double[LoadCase.values().length];
+        Matcher term = TERM.matcher(trimmed.substring(colon + 1));
+        while (term.find()) {
+            double factor = term.group(2) != null ? Double.parseDouble(term.group(2)) : 1;
+            LoadCase loadCase = switch (term.group(3)) {
+                case "G" -> LoadCase.DEAD;
+                case "Q" -> LoadCase.LIVE;
+                default -> LoadCase.WIND;
+            };
+            factors[loadCase.ordinal()] += "-".equals(term.group(1)) ? -factor : factor;
+        }
+        return new LoadCombination(trimmed.replaceAll("\\s+", " ").toUpperCase(Locale.ROOT), limitState, factors);
+    }
+
+    /**
+     * Combination table written one combination per line; the EN 1990 table when blank
+     *
+     * @throws IllegalArgumentException if a line does not parse or no combination is ULS
+     */
+    public static List<LoadCombination> table(String lines) {
+        if (lines == null || lines.isBlank()) {
+            return EUROCODE;
+        }
+        List<LoadCombination> table = new ArrayList<>();
+        for (String line : lines.split("\n")) {
+            if (!line.isBlank()) {
+                table.add(parse(line));
+            }
+        }
+        if (table.stream().noneMatch(combination -> combination.limitState() == LimitState.ULTIMATE)) {
+            throw new IllegalArgumentException("Load combinations need at least one ULS combination");
+        }
+        return table;
+    }
+}
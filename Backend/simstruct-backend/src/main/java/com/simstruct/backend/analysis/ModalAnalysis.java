@@ -0,0 +1,267 @@
+package com.simstruct.backend.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Natural frequencies and mode shapes of a FrameModel: the lowest eigenpairs
+ * of K φ = ω² M φ, by shift-invert Lanczos.
+ *
+ * K is the factored stiffness of a FrameSolver and M the consistent mass on
+ * the same skyline. Lanczos builds an M-orthonormal basis of the Krylov space
+ * of K⁻¹M, on which the problem is tridiagonal; the largest eigenvalues θ of
+ * K⁻¹M are the lowest frequencies (ω² = 1/θ) and converge first, so p modes
+ * take about 2p to 3p steps of one forward and back substitution and one
+ * product with M. Each new vector is orthogonalized twice against all
+ * previous ones (full reorthogonalization), which keeps the basis orthogonal
+ * in finite precision and avoids spurious copies of converged modes.
+ */
+public final class ModalAnalysis {
+
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    private final FrameModel model;
+    private final FrameSolver solver;
+    private final SkylineMatrix mass;
+
+    public ModalAnalysis(FrameModel model, FrameSolver solver) {
+        this.model = model;
+        this.solver = solver;
+        this.mass = solver.massMatrix();
+    }
+
+    /**
+     * One mode: shape normalized to unit modal mass (φ^T M φ = 1)
+     */
+    public record Mode(double omega,                // rad/s
+                       double massParticipation,    // share of the horizontal mass excited by a ground motion along x
+                       double[] shape) {            // node dofs, as FrameSolver.Solution displacements
+
+        public double frequency() {
+            return omega / (2 * Math.PI);
+        }
+
+        public double period() {
+            return 1 / frequency();
+        }
+
+        public double displacement(int node, int dof) {
+            return shape[node * FrameModel.DOFS_PER_NODE + dof];
+        }
+    }
+
+    /**
+     * @param steps Lanczos vectors built, i.e. solves with the factored stiffness
+     */
+    public record Result(List<Mode> modes, int equations, int steps) {
+    }
+
+    public Result modes(int count) {
+        return modes(count, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Lowest count modes, by increasing frequency
+     *
+     * @param tolerance residual ||K⁻¹M φ - θ φ||_M of each mode, relative to θ
+     */
+    public Result modes(int count, double tolerance) {
+        int n = solver.equationCount();
+        int p = Math.min(count, n);
+        if (p < 1) {
+            throw new IllegalArgumentException("No mode to compute: " + count + " requested, " + n + " equations");
+        }
+
+        List<double[]> basis = new ArrayList<>();
+        List<double[]> massBasis = new ArrayList<>();
+        double[] alpha = new double[n];
+        double[] beta = new double[n];
+
+        double[] start = new double[n];
+        Random random = new Random(n);
+        for (int e = 0; e < n; e++) {
+            start[e] = random.nextGaussian();
+        }
+        double[] massStart = mass.multiply(start);
+        double norm = Math.sqrt(dot(start, massStart));
+        basis.add(scale(start, 1 / norm));
+        massBasis.add(scale(massStart, 1 / norm));
+
+        double largest = 0;
+        for (int j = 0; j < n; j++) {
+            double[] w = solver.solveEquations(massBasis.get(j));
+            alpha[j] = dot(massBasis.get(j), w);
+            largest = Math.max(largest, Math.abs(alpha[j]));
+            // Gram-Schmidt twice against the whole basis; the first pass removes α q_j and β q_j-1
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i <= j; i++) {
+                    double projection = dot(massBasis.get(i), w);
+                    double[] q = basis.get(i);
+                    for (int e = 0; e < n; e++) {
+                        w[e] -= projection * q[e];
+                    }
+                }
+            }
+            double[] massW = mass.multiply(w);
+            beta[j] = Math.sqrt(Math.max(dot(w, massW), 0));
+
+            int size = j + 1;
+            boolean exhausted = size == n || beta[j] <= 1e-14 * largest;
+            if (size >= p) {
+                double[] theta = new double[size];
+                double[][] z = new double[size][size];
+                System.arraycopy(alpha, 0, theta, 0, size);
+                double[] offDiagonal = new double[size];
+                System.arraycopy(beta, 0, offDiagonal, 0, size - 1);
+                tridiagonalEigen(theta, offDiagonal, z);
+                int[] order = descending(theta);
+
+                boolean converged = true;
+                for (int i = 0; i < p && converged; i++) {
+                    int k = order[i];
+                    converged = beta[j] * Math.abs(z[size - 1][k]) <= tolerance * theta[k];
+                }
+                if (converged || exhausted) {
+                    return new Result(result(basis, massBasis, theta, z, order, p), n, size);
+                }
+            }
+            if (exhausted) {
+                throw new IllegalStateException("Lanczos stopped after " + size + " steps, " + p + " modes requested");
+            }
+            basis.add(scale(w, 1 / beta[j]));
+            massBasis.add(scale(massW, 1 / beta[j]));
+        }
+        throw new IllegalStateException("Lanczos did not converge");
+    }
+
+    private List<Mode> result(List<double[]> basis, List<double[]> massBasis, double[] theta, double[][] z,
+                              int[] order, int p) {
+        // Ground motion along x moves every free ux dof by one
+        double[] influence = new double[solver.equationCount()];
+        for (int node = 0; node < model.nodeCount(); node++) {
+            int e = solver.equation(node, 0);
+            if (e >= 0) {
+                influence[e] = 1;
+            }
+        }
+        double totalMass = dot(influence, mass.multiply(influence));
+        double[] basisParticipation = new double[basis.size()];
+        for (int k = 0; k < basis.size(); k++) {
+            basisParticipation[k] = dot(influence, massBasis.get(k));
+        }
+
+        List<Mode> modes = new ArrayList<>(p);
+        for (int i = 0; i < p; i++) {
+            int mode = order[i];
+            double[] shape = new double[solver.equationCount()];
+            double gamma = 0;
+            for (int k = 0; k < basis.size(); k++) {
+                double factor = z[k][mode];
+                double[] q = basis.get(k);
+                for (int e = 0; e < shape.length; e++) {
+                    shape[e] += factor * q[e];
+                }
+                gamma += factor * basisParticipation[k];
+            }
+            modes.add(new Mode(1 / Math.sqrt(theta[mode]),
+                    totalMass > 0 ? gamma * gamma / totalMass : 0,
+                    solver.nodeValues(shape)));
+        }
+        return modes;
+    }
+
+    /**
+     * Eigenvalues and eigenvectors of a symmetric tridiagonal matrix by the QL
+     * algorithm with implicit shifts: d holds the diagonal and receives the
+     * eigenvalues, e[i] couples i and i + 1 (destroyed), the eigenvectors go
+     * in the columns of z
+     */
+    static void tridiagonalEigen(double[] d, double[] e, double[][] z) {
+        int n = d.length;
+        for (int i = 0; i < n; i++) {
+            z[i][i] = 1;
+        }
+        e[n - 1] = 0;
+        for (int l = 0; l < n; l++) {
+            int iterations = 0;
+            int m;
+            do {
+                for (m = l; m < n - 1; m++) {
+                    double dd = Math.abs(d[m]) + Math.abs(d[m + 1]);
+                    if (Math.abs(e[m]) <= Math.ulp(dd)) {
+                        break;
+                    }
+                }
+                if (m != l) {
+                    if (iterations++ == 60) {
+                        throw new IllegalStateException("Tridiagonal QL did not converge");
+                    }
+                    double g = (d[l + 1] - d[l]) / (2 * e[l]);
+                    double r = Math.hypot(g, 1);
+                    g = d[m] - d[l] + e[l] / (g + Math.copySign(r, g));
+                    double s = 1;
+                    double c = 1;
+                    double p = 0;
+                    boolean underflow = false;
+                    for (int i = m - 1; i >= l; i--) {
+                        double f = s * e[i];
+                        double b = c * e[i];
+                        r = Math.hypot(f, g);
+                        e[i + 1] = r;
+                        if (r == 0) {
+                            d[i + 1] -= p;
+                            e[m] = 0;
+                            underflow = true;
+                            break;
+                        }
+                        s = f / r;
+                        c = g / r;
+                        g = d[i + 1] - p;
+                        r = (d[i] - g) * s + 2 * c * b;
+                        p = s * r;
+                        d[i + 1] = g + p;
+                        g = c * r - b;
+                        for (int k = 0; k < n; k++) {
+                            f = z[k][i + 1];
+                            z[k][i + 1] = s * z[k][i] + c * f;
+                            z[k][i] = c * z[k][i] - s * f;
+                        }
+                    }
+                    if (underflow) {
+                        continue;
+                    }
+                    d[l] -= p;
+                    e[l] = g;
+                    e[m] = 0;
+                }
+            } while (m != l);
+        }
+    }
+
+    /**
+     * Indices of values from the largest to the smallest
+     */
+    private static int[] descending(double[] values) {
+        return IntStream.range(0, values.length).boxed()
+                .sorted((a, b) -> Double.compare(values[b], values[a]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    private static double[] scale(double[] vector, double factor) {
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i] * factor;
+        }
+        return result;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
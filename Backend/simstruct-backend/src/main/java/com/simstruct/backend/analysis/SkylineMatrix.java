@@ -0,0 +1,166 @@
+package com.simstruct.backend.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Symmetric positive definite matrix in skyline (variable band) storage, with
+ * an in-place Cholesky factorization K = U^T U.
+ *
+ * Column j keeps the entries of the upper triangle from row first[j] down to
+ * the diagonal, contiguously. Zeros above first[j] stay zero in U, so the
+ * factorization only touches the profile: for a frame numbered floor by floor
+ * the profile is about three times the number of columns per floor wide,
+ * and the cost grows linearly with the number of floors.
+ */
+public final class SkylineMatrix {
+
+    private final int size;
+    private final int[] first;
+    // Start of each column in values; column j holds rows first[j]..j
+    private final int[] start;
+    private final double[] values;
+    private boolean factored;
+
+    /**
+     * @param first first row stored in each column (first[j] <= j)
+     */
+    public SkylineMatrix(int[] first) {
+        this.size = first.length;
+        this.first = first.clone();
+        this.start = new int[size + 1];
+        for (int j = 0; j < size; j++) {
+            if (first[j] < 0 || first[j] > j) {
+                throw new IllegalArgumentException("Column " + j + " starts at row " + first[j]);
+            }
+            start[j + 1] = start[j] + j - first[j] + 1;
+        }
+        this.values = new double[start[size]];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of stored entries (upper triangle, diagonal included)
+     */
+    public int profile() {
+        return values.length;
+    }
+
+    public double get(int row, int column) {
+        int i = Math.min(row, column);
+        int j = Math.max(row, column);
+        return i < first[j] ? 0 : values[start[j] + i - first[j]];
+    }
+
+    /**
+     * Add value at (row, column); the symmetric entry is the same one
+     */
+    public void add(int row, int column, double value) {
+        if (factored) {
+            throw new IllegalStateException("Matrix already factored");
+        }
+        int i = Math.min(row, column);
+        int j = Math.max(row, column);
+        if (i < first[j]) {
+            throw new IllegalArgumentException("(" + i + ", " + j + ") is outside the profile");
+        }
+        values[start[j] + i - first[j]] += value;
+    }
+
+    /**
+     * Product with x, before factorization
+     */
+    public double[] multiply(double[] x) {
+        double[] y = new double[size];
+        multiply(x, y);
+        return y;
+    }
+
+    /**
+     * Product with x into y, without allocating
+     */
+    public void multiply(double[] x, double[] y) {
+        if (factored) {
+            throw new IllegalStateException("Matrix already factored");
+        }
+        Arrays.fill(y, 0);
+        for (int j = 0; j < size; j++) {
+            int base = start[j] - first[j];
+            double sum = 0;
+            for (int i = first[j]; i < j; i++) {
+                double a = values[base + i];
+                sum += a * x[i];
+                y[i] += a * x[j];
+            }
+            y[j] += sum + values[base + j] * x[j];
+        }
+    }
+
+    /**
+     * Replace the matrix by its Cholesky factor U (K = U^T U)
+     *
+     * @throws IllegalStateException if the matrix is not positive definite
+     *         (for a structure: a mechanism, or a missing support)
+     */
+    public void factor() {
+        for (int j = 0; j < size; j++) {
+            int baseJ = start[j] - first[j];
+            for (int i = first[j]; i < j; i++) {
+                int baseI = start[i] - first[i];
+                int from = Math.max(first[i], first[j]);
+                double sum = values[baseJ + i];
+                for (int k = from; k < i; k++) {
+                    sum -= values[baseI + k] * values[baseJ + k];
+                }
+                values[baseJ + i] = sum / values[baseI + i];
+            }
+            double diagonal = values[baseJ + j];
+            for (int k = first[j]; k < j; k++) {
+                diagonal -= values[baseJ + k] * values[baseJ + k];
+            }
+            if (!(diagonal > 0)) {
+                throw new IllegalStateException("Matrix is not positive definite at equation " + j);
+            }
+            values[baseJ + j] = Math.sqrt(diagonal);
+        }
+        factored = true;
+    }
+
+    /**
+     * Solve K x = b with the factor; b is left untouched
+     */
+    public double[] solve(double[] b) {
+        double[] x = b.clone();
+        solveInPlace(x);
+        return x;
+    }
+
+    /**
+     * Solve K x = b with the factor, overwriting b with x
+     */
+    public void solveInPlace(double[] x) {
+        if (!factored) {
+            throw new IllegalStateException("Matrix not factored");
+        }
+        // U^T y = b
+        for (int j = 0; j < size; j++) {
+            int base = start[j] - first[j];
+            double sum = x[j];
+            for (int k = first[j]; k < j; k++) {
+                sum -= values[base + k] * x[k];
+            }
+            x[j] = sum / values[base + j];
+        }
+        // U x = y
+        for (int j = size - 1; j >= 0; j--) {
+            int base = start[j] - first[j];
+            x[j] /= values[base + j];
+            double xj = x[j];
+            for (int k = first[j]; k < j; k++) {
+                x[k] -= values[base + k] * xj;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.simstruct.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (feed consistency check, ...)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
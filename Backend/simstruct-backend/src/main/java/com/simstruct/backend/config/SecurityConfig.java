@@ -1,6 +1,7 @@
 package com.simstruct.backend.config;
 
 import com.simstruct.backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -61,6 +62,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/simulations/public/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                // End of a streamed response: the request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // WebSocket endpoints
                 .requestMatchers("/ws/**").permitAll()
                 // All other endpoints require authentication
@@ -86,6 +89,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("ETag", "Idempotent-Replayed", "Retry-After",
+                "X-Grid-Shape", "X-Grid-Axes", "X-Grid-Outputs", "X-Model-Version"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
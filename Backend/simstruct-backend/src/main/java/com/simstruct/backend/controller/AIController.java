@@ -0,0 +1,93 @@
+package com.simstruct.backend.controller;
+
+import com.simstruct.backend.dto.DriftReportDTO;
+import com.simstruct.backend.dto.GridRequest;
+import com.simstruct.backend.service.DesignGridService;
+import com.simstruct.backend.service.DriftMonitor;
+import com.simstruct.backend.service.SurrogateModel;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for AI model operations evaluated in the backend
+ */
+@RestController
+@RequestMapping("/api/v1/ai")
+public class AIController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIController.class);
+    static final String GRID_SHAPE = "X-Grid-Shape";
+    static final String GRID_AXES = "X-Grid-Axes";
+    static final String GRID_OUTPUTS = "X-Grid-Outputs";
+    static final String MODEL_VERSION = "X-Model-Version";
+    private final DesignGridService designGridService;
+    private final SurrogateModel surrogateModel;
+    private final DriftMonitor driftMonitor;
+
+    public AIController(DesignGridService designGridService, SurrogateModel surrogateModel, DriftMonitor driftMonitor) {
+        this.designGridService = designGridService;
+        this.surrogateModel = surrogateModel;
+        this.driftMonitor = driftMonitor;
+    }
+
+    /**
+     * Evaluate the model over a grid of buildings
+     * POST /api/v1/ai/grid
+     * Streams little-endian float32 values (application/octet-stream), last axis
+     * fastest and outputs innermost. X-Grid-Shape gives the steps of each axis then
+     * the number of outputs (e.g. 20,30,1), X-Grid-Axes and X-Grid-Outputs their names.
+     */
+    @PostMapping("/grid")
+    public ResponseEntity<StreamingResponseBody> grid(@Valid @RequestBody GridRequest request) {
+        DesignGridService.Grid grid = designGridService.prepare(request);
+        logger.info("AIController: Grid of {} points over {}", grid.points(), grid.axisNames());
+
+        StreamingResponseBody body = out -> designGridService.write(grid, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(grid.byteLength())
+                .header(GRID_SHAPE, Arrays.stream(grid.shape()).mapToObj(String::valueOf).collect(Collectors.joining(",")))
+                .header(GRID_AXES, String.join(",", grid.axisNames()))
+                .header(GRID_OUTPUTS, String.join(",", grid.outputNames()))
+                .header(MODEL_VERSION, surrogateModel.modelVersion())
+                .body(body);
+    }
+
+    /**
+     * Compare recent AI requests and predictions with the training set
+     * GET /api/v1/ai/drift
+     * A feature in DRIFT means predictions for such buildings, cached or from the
+     * grid, rest on inputs the model has seldom or never seen.
+     */
+    @GetMapping("/drift")
+    public ResponseEntity<?> drift() {
+        DriftReportDTO report = driftMonitor.report();
+        if (report.isInputsDrifted()) {
+            logger.warn("AIController: AI inputs drifted from the training set");
+        }
+        return ResponseEntity.ok(Map.of("success", true, "data", report));
+    }
+
+    /**
+     * Invalid grid: 400 with the usual error body (a streamed response cannot carry it)
+     */
+    @ExceptionHandler(DesignGridService.InvalidGridException.class)
+    public ResponseEntity<Map<String, Object>> invalidGrid(DesignGridService.InvalidGridException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("success", false, "error", e.getMessage()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.simstruct.backend.controller;
+
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.FrameAnalysisResponse;
+import com.simstruct.backend.dto.ModalAnalysisResponse;
+import com.simstruct.backend.dto.SeismicRequest;
+import com.simstruct.backend.service.FrameAnalysisService;
+import com.simstruct.backend.service.SeismicAnalysisService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * REST Controller for physics analyses of building inputs
+ */
+@RestController
+@RequestMapping("/api/v1/analysis")
+public class AnalysisController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisController.class);
+    private final FrameAnalysisService frameAnalysisService;
+    private final SeismicAnalysisService seismicAnalysisService;
+
+    public AnalysisController(FrameAnalysisService frameAnalysisService,
+                              SeismicAnalysisService seismicAnalysisService) {
+        this.frameAnalysisService = frameAnalysisService;
+        this.seismicAnalysisService = seismicAnalysisService;
+    }
+
+    /**
+     * Analyze one plane frame of the building by the direct stiffness method
+     * POST /api/v1/analysis/frame
+     * Same inputs as the AI model; maxDeflection, maxStress and stabilityIndex
+     * read like its prediction.
+     */
+    @PostMapping("/frame")
+    public ResponseEntity<?> analyzeFrame(@Valid @RequestBody BuildingPredictionRequest request) {
+        try {
+            FrameAnalysisResponse response = frameAnalysisService.analyze(request);
+            return ResponseEntity.ok(Map.of("success", true, "data", response));
+        } catch (Exception e) {
+            logger.error("AnalysisController: ERROR - {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Natural frequencies and mode shapes of the same plane frame
+     * POST /api/v1/analysis/modal?modes=10&shapePoints=21
+     * Consistent mass and stiffness, lowest modes by shift-invert Lanczos.
+     */
+    @PostMapping("/modal")
+    public ResponseEntity<?> analyzeModes(@Valid @RequestBody BuildingPredictionRequest request,
+                                          @RequestParam(defaultValue = "10") int modes,
+                                          @RequestParam(defaultValue = "21") int shapePoints) {
+        try {
+            ModalAnalysisResponse response = frameAnalysisService.modal(request, modes, shapePoints);
+            return ResponseEntity.ok(Map.of("success", true, "data", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("AnalysisController: ERROR - {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Seismic time history of the plane frame under a synthetic record
+     * POST /api/v1/analysis/seismic
+     * Server-sent events: start, samples (downsampled history and peaks so far)
+     * while the integration runs, then complete with the peaks.
+     */
+    @PostMapping("/seismic")
+    public SseEmitter analyzeSeismic(@Valid @RequestBody SeismicRequest request) {
+        return seismicAnalysisService.stream(request, seismicAnalysisService.synthetic(request));
+    }
+
+    /**
+     * Same analysis under an uploaded record
+     * POST /api/v1/analysis/seismic/record (multipart: request as JSON, record as CSV)
+     * Lines "time,acceleration" or "acceleration" with request.dt, accelerations in g.
+     */
+    @PostMapping("/seismic/record")
+    public SseEmitter analyzeSeismicRecord(@Valid @RequestPart("request") SeismicRequest request,
+                                           @RequestPart("record") MultipartFile record) throws IOException {
+        try (InputStream csv = record.getInputStream()) {
+            return seismicAnalysisService.stream(request, seismicAnalysisService.record(request, csv));
+        }
+    }
+
+    @ExceptionHandler(SeismicAnalysisService.InvalidSeismicRequestException.class)
+    public ResponseEntity<?> handleInvalidSeismicRequest(SeismicAnalysisService.InvalidSeismicRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("success", false, "error", e.getMessage()));
+    }
+
+    @ExceptionHandler(SeismicAnalysisService.AnalysisBusyException.class)
+    public ResponseEntity<?> handleAnalysisBusy(SeismicAnalysisService.AnalysisBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("success", false, "error", e.getMessage()));
+    }
+}
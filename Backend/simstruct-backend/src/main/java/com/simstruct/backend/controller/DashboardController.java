@@ -0,0 +1,39 @@
+package com.simstruct.backend.controller;
+
+import com.simstruct.backend.dto.ApiResponse;
+import com.simstruct.backend.dto.DashboardDTO;
+import com.simstruct.backend.entity.User;
+import com.simstruct.backend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the dashboard page
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Get simulation stats, recent simulations and counters in one call
+     * GET /api/v1/dashboard
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<DashboardDTO>> getDashboard(@AuthenticationPrincipal User user) {
+        System.out.println("DashboardController: Getting dashboard for user " + user.getId());
+        try {
+            DashboardDTO dashboard = dashboardService.getDashboard(user.getId());
+            return ResponseEntity.ok(ApiResponse.success(dashboard));
+        } catch (RuntimeException e) {
+            System.out.println("DashboardController: Error - " + e.getMessage());
+            return ResponseEntity.status(503).body(ApiResponse.error("DASHBOARD_UNAVAILABLE", e.getMessage()));
+        }
+    }
+}
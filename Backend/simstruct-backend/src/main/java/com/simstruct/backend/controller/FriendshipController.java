@@ -44,6 +44,17 @@ public class FriendshipController {
         return ResponseEntity.ok(ApiResponse.success(users));
     }
     
+    /**
+     * Get friend suggestions (people you may know)
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<ApiResponse<List<FriendDTO>>> getSuggestions(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<FriendDTO> suggestions = friendshipService.getSuggestions(user.getId(), Math.min(Math.max(limit, 1), 50));
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+    
     /**
      * Get pending friend requests (received)
      */
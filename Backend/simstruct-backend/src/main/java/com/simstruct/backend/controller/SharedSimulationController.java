@@ -1,10 +1,13 @@
 package com.simstruct.backend.controller;
 
 import com.simstruct.backend.dto.ApiResponse;
+import com.simstruct.backend.dto.BulkShareRequest;
+import com.simstruct.backend.dto.BulkShareResult;
 import com.simstruct.backend.dto.SharedSimulationDTO;
 import com.simstruct.backend.entity.SharedSimulation;
 import com.simstruct.backend.entity.User;
 import com.simstruct.backend.service.SharedSimulationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -68,6 +71,17 @@ public class SharedSimulationController {
         return ResponseEntity.ok(ApiResponse.success(share));
     }
     
+    /**
+     * Share a simulation with many users (or all friends) at once
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkShareResult>> shareSimulationBulk(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody BulkShareRequest request) {
+        BulkShareResult result = sharedSimulationService.shareSimulationBulk(user.getId(), request);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+    
     /**
      * Unshare a simulation
      */
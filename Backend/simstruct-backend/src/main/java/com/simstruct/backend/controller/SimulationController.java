@@ -2,17 +2,34 @@ package com.simstruct.backend.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.simstruct.backend.dto.LikeResponse;
+import com.simstruct.backend.dto.SimilarSimulationDTO;
 import com.simstruct.backend.dto.SimulationRequest;
 import com.simstruct.backend.dto.SimulationResponse;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.repository.SimulationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.service.AIFairScheduler;
+import com.simstruct.backend.service.IdempotencyStore;
+import com.simstruct.backend.service.LikeService;
+import com.simstruct.backend.service.PublicFeed;
 import com.simstruct.backend.service.SimulationService;
+import com.simstruct.backend.service.SingleFlight;
+import com.simstruct.backend.service.TrendingIndex;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST Controller for simulation operations
@@ -22,27 +39,81 @@ import java.util.Map;
 public class SimulationController {
 
     private static final Logger logger = LoggerFactory.getLogger(SimulationController.class);
+    // The community feed is the same for everyone and may be served slightly stale
+    private static final CacheControl PUBLIC_FEED_CACHE = CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic();
+    private static final int DEFAULT_FEED_PAGE_SIZE = 20;
+    private static final int MAX_SIMILAR = 50;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
     private final SimulationService simulationService;
+    private final SingleFlight singleFlight;
+    private final PublicFeed publicFeed;
+    private final LikeService likeService;
+    private final TrendingIndex trendingIndex;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
-    public SimulationController(SimulationService simulationService) {
+    public SimulationController(SimulationService simulationService,
+                                SingleFlight singleFlight,
+                                PublicFeed publicFeed,
+                                LikeService likeService,
+                                TrendingIndex trendingIndex,
+                                ObjectMapper objectMapper,
+                                IdempotencyStore idempotencyStore) {
         this.simulationService = simulationService;
+        this.singleFlight = singleFlight;
+        this.publicFeed = publicFeed;
+        this.likeService = likeService;
+        this.trendingIndex = trendingIndex;
+        this.objectMapper = objectMapper;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
      * Create a new simulation
      * POST /api/v1/simulations
+     * With an Idempotency-Key header, retries get the first attempt's simulation
+     * (Idempotent-Replayed: true); reusing a key for another request answers 422,
+     * a blank key or one over 255 characters answers 400, and a retry while the first
+     * attempt is still running answers 409 with Retry-After once idempotency.wait-ms passes.
+     * Answers 429 with Retry-After when the AI model has no capacity left for the user.
      */
     @PostMapping
     public ResponseEntity<?> createSimulation(
             @Valid @RequestBody SimulationRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @AuthenticationPrincipal User user) {
         
         try {
-            System.out.println("SimulationController: Creating simulation for " + user.getEmail());
+            System.out.println("SimulationController: Creating simulation for " + user.getId());
             System.out.println("SimulationController: Request = " + request);
-            SimulationResponse response = simulationService.createSimulation(request, user.getEmail());
-            System.out.println("SimulationController: Success! ID = " + response.getId());
-            return ResponseEntity.ok(Map.of("success", true, "data", response));
+            if (idempotencyKey == null) {
+                SimulationResponse response = simulationService.createSimulation(request, user.getId(), user.getRole());
+                System.out.println("SimulationController: Success! ID = " + response.getId());
+                return ResponseEntity.ok(Map.of("success", true, "data", response));
+            }
+
+            // A retry with the same key gets the first attempt's simulation instead of a new one
+            IdempotencyStore.Result<SimulationResponse> result = idempotencyStore.execute(
+                    user.getId(), idempotencyKey, request,
+                    () -> simulationService.createSimulation(request, user.getId(), user.getRole()));
+            System.out.println("SimulationController: Success! ID = " + result.value().getId()
+                    + (result.replayed() ? " (replayed)" : ""));
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                    .body(Map.of("success", true, "data", result.value()));
+        } catch (IdempotencyStore.InvalidKeyException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (IdempotencyStore.AttemptInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (IdempotencyStore.KeyReusedException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(Map.of("success", false, "error", e.getMessage()));
+        } catch (AIFairScheduler.AICapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("success", false, "error", e.getMessage()));
         } catch (Exception e) {
             logger.error("SimulationController: ERROR - {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
@@ -52,16 +123,37 @@ public class SimulationController {
     /**
      * Get simulation by ID
      * GET /api/v1/simulations/{id}
+     * Answers with a strong ETag of the version and the like count (like flushes do
+     * not bump the version); a matching If-None-Match returns 304 without a body.
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getSimulation(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal User user) {
         
         try {
+            if (ifNoneMatch != null) {
+                // Known reader: compare against the revision alone, before loading the simulation
+                SimulationRepository.Revision revision = simulationService.getCachedAccessRevision(id, user.getId());
+                if (revision != null) {
+                    String etag = etag(id, revision.getVersion(), revision.getLikesCount());
+                    if (etagMatches(ifNoneMatch, etag)) {
+                        return notModified(etag);
+                    }
+                }
+            }
+
             System.out.println("SimulationController: Getting simulation " + id);
-            SimulationResponse response = simulationService.getSimulation(id, user.getEmail());
-            return ResponseEntity.ok(Map.of("success", true, "data", response));
+            SimulationResponse response = simulationService.getSimulation(id, user.getId());
+            String etag = etag(id, response.getVersion(), response.getLikesCount());
+            if (ifNoneMatch != null && etagMatches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(Map.of("success", true, "data", response));
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
             return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
@@ -76,8 +168,8 @@ public class SimulationController {
     public ResponseEntity<?> getUserSimulations(@AuthenticationPrincipal User user) {
         
         try {
-            System.out.println("SimulationController: Getting all simulations for " + user.getEmail());
-            List<SimulationResponse> response = simulationService.getUserSimulations(user.getEmail());
+            System.out.println("SimulationController: Getting all simulations for " + user.getId());
+            List<SimulationResponse> response = simulationService.getUserSimulations(user.getId());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
@@ -94,7 +186,7 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Getting recent simulations");
-            List<SimulationResponse> response = simulationService.getRecentSimulations(user.getEmail());
+            List<SimulationResponse> response = simulationService.getRecentSimulations(user.getId());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
@@ -111,7 +203,7 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Getting favorite simulations");
-            List<SimulationResponse> response = simulationService.getFavoriteSimulations(user.getEmail());
+            List<SimulationResponse> response = simulationService.getFavoriteSimulations(user.getId());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
@@ -121,15 +213,29 @@ public class SimulationController {
 
     /**
      * Get public simulations (community)
-     * GET /api/v1/simulations/public
+     * GET /api/v1/simulations/public[?sort=trending][&page=&size=]
      */
     @GetMapping("/public")
-    public ResponseEntity<?> getPublicSimulations() {
+    public ResponseEntity<?> getPublicSimulations(
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
         
         try {
             System.out.println("SimulationController: Getting public simulations");
-            List<SimulationResponse> response = simulationService.getPublicSimulations();
-            return ResponseEntity.ok(response);
+            // Served from in-memory rankings, already serialized
+            byte[] body;
+            if ("trending".equalsIgnoreCase(sort)) {
+                body = trendingIndex.top(size != null ? size : DEFAULT_FEED_PAGE_SIZE);
+            } else if (page == null && size == null) {
+                body = publicFeed.all();
+            } else {
+                body = publicFeed.page(page != null ? page : 0, size != null ? size : DEFAULT_FEED_PAGE_SIZE);
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(PUBLIC_FEED_CACHE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
             return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
@@ -145,8 +251,14 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Searching public simulations for: " + query);
-            List<SimulationResponse> response = simulationService.searchPublicSimulations(query);
-            return ResponseEntity.ok(response);
+            // The search is case-insensitive, so "Beam" and " beam " are the same read
+            String normalized = query.trim().toLowerCase(Locale.ROOT);
+            byte[] body = singleFlight.execute("public-search", normalized, () ->
+                    toJson(simulationService.searchPublicSimulations(normalized)));
+            return ResponseEntity.ok()
+                    .cacheControl(PUBLIC_FEED_CACHE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
             return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
@@ -164,7 +276,7 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Searching user simulations for: " + query);
-            List<SimulationResponse> response = simulationService.searchUserSimulations(query, user.getEmail());
+            List<SimulationResponse> response = simulationService.searchUserSimulations(query, user.getId());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
@@ -184,7 +296,7 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Updating simulation " + id);
-            SimulationResponse response = simulationService.updateSimulation(id, request, user.getEmail());
+            SimulationResponse response = simulationService.updateSimulation(id, request, user.getId());
             return ResponseEntity.ok(Map.of("success", true, "data", response));
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
@@ -203,7 +315,7 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Deleting simulation " + id);
-            simulationService.deleteSimulation(id, user.getEmail());
+            simulationService.deleteSimulation(id, user.getId());
             return ResponseEntity.ok(Map.of("success", true, "message", "Simulation deleted successfully"));
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
@@ -211,6 +323,63 @@ public class SimulationController {
         }
     }
 
+    /**
+     * Like a simulation
+     * POST /api/v1/simulations/{id}/like
+     */
+    @PostMapping("/{id}/like")
+    public ResponseEntity<?> likeSimulation(
+            @PathVariable String id,
+            @AuthenticationPrincipal User user) {
+        
+        try {
+            LikeResponse response = likeService.like(id, user.getId());
+            return ResponseEntity.ok(Map.of("success", true, "data", response));
+        } catch (Exception e) {
+            System.err.println("SimulationController: ERROR - " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove a like
+     * DELETE /api/v1/simulations/{id}/like
+     */
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<?> unlikeSimulation(
+            @PathVariable String id,
+            @AuthenticationPrincipal User user) {
+        
+        try {
+            LikeResponse response = likeService.unlike(id, user.getId());
+            return ResponseEntity.ok(Map.of("success", true, "data", response));
+        } catch (Exception e) {
+            System.err.println("SimulationController: ERROR - " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Simulations with the most similar design, nearest first
+     * GET /api/v1/simulations/{id}/similar?k=
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarSimulations(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "5") int k,
+            @AuthenticationPrincipal User user) {
+        
+        try {
+            System.out.println("SimulationController: Getting simulations similar to " + id);
+            int limit = Math.max(1, Math.min(k, MAX_SIMILAR));
+            List<SimilarSimulationDTO> response = simulationService.getSimilarSimulations(id, user.getId(), limit);
+            return ResponseEntity.ok(Map.of("success", true, "data", response));
+        } catch (Exception e) {
+            System.err.println("SimulationController: ERROR - " + e.getMessage());
+            return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
     /**
      * Toggle favorite status
      * POST /api/v1/simulations/{id}/favorite
@@ -222,7 +391,7 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Toggling favorite for " + id);
-            SimulationResponse response = simulationService.toggleFavorite(id, user.getEmail());
+            SimulationResponse response = simulationService.toggleFavorite(id, user.getId());
             return ResponseEntity.ok(Map.of("success", true, "data", response));
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
@@ -241,11 +410,46 @@ public class SimulationController {
         
         try {
             System.out.println("SimulationController: Toggling public for " + id);
-            SimulationResponse response = simulationService.togglePublic(id, user.getEmail());
+            SimulationResponse response = simulationService.togglePublic(id, user.getId());
             return ResponseEntity.ok(Map.of("success", true, "data", response));
         } catch (Exception e) {
             System.err.println("SimulationController: ERROR - " + e.getMessage());
             return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
         }
     }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    private static String etag(String id, Long version, Integer likesCount) {
+        return "\"" + id + "-" + (version != null ? version : 0) + "-" + (likesCount != null ? likesCount : 0) + "\"";
+    }
+
+    /**
+     * Compare against every tag of an If-None-Match header (weak comparison, as for GET)
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+    }
 }
@@ -0,0 +1,38 @@
+package com.simstruct.backend.dto;
+
+import com.simstruct.backend.entity.SharedSimulation;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk Share Request DTO - share one simulation with many users at once
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkShareRequest {
+
+    @NotBlank(message = "Simulation ID is required")
+    private String simulationId;
+
+    @Size(max = 500, message = "Cannot share with more than 500 users at once")
+    @Builder.Default
+    private List<String> recipientIds = new ArrayList<>();
+
+    // Share with every accepted friend (added to recipientIds)
+    private boolean allFriends;
+
+    @Builder.Default
+    private SharedSimulation.SharePermission permission = SharedSimulation.SharePermission.VIEW;
+
+    @Size(max = 500, message = "Message cannot exceed 500 characters")
+    private String message;
+}
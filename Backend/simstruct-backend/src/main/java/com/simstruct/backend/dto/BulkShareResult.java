@@ -0,0 +1,21 @@
+package com.simstruct.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk Share Result DTO - what happened to each requested recipient
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkShareResult {
+    private List<SharedSimulationDTO> shared;
+    private List<String> alreadyShared;
+    private List<String> invalidRecipients;
+}
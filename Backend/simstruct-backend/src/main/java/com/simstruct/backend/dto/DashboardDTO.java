@@ -0,0 +1,55 @@
+package com.simstruct.backend.dto;
+
+import com.simstruct.backend.entity.Simulation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dashboard DTO - everything the dashboard page needs in one payload.
+ * Counters that could not be loaded in time are null and listed in "unavailable".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+
+    // Simulation statistics
+    private long totalSimulations;
+    private long completedSimulations;
+    private long failedSimulations;
+    private List<RecentSimulation> recentSimulations;
+
+    // Counters (null when unavailable)
+    private Long unreadNotifications;
+    private Long unreadMessages;
+    private Long friendsCount;
+    private Long sharedByMe;
+    private Long sharedWithMe;
+
+    // Sections that timed out or failed
+    @Builder.Default
+    private List<String> unavailable = new ArrayList<>();
+
+    /**
+     * Compact simulation summary for the "recent" list
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecentSimulation {
+        private String id;
+        private String name;
+        private Simulation.SimulationStatus status;
+        private Double safetyFactor;
+        private Boolean isSafe;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.simstruct.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drift Report DTO - production AI inputs and predictions compared with the training set
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriftReportDTO {
+    private String reference;          // training data file the comparison is made against
+    private double halfLifeMinutes;    // older observations weigh half as much after this
+    private boolean inputsDrifted;     // an input has status DRIFT
+    private boolean outputsDrifted;    // a prediction has status DRIFT
+    private List<FeatureDrift> features;
+
+    /**
+     * One model input or output
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FeatureDrift {
+        private String name;
+        private String kind;                        // input or output
+        private double count;                       // decayed number of observations
+        private double psi;                         // population stability index
+        private double ks;                          // Kolmogorov-Smirnov statistic
+        private double ksCritical;                  // KS critical value at 5%
+        private double belowTraining;               // share below the training minimum
+        private double aboveTraining;               // share above the training maximum
+        private String status;                      // INSUFFICIENT_DATA, STABLE, SHIFT or DRIFT
+        private Map<String, Double> quantiles;      // p05, p50, p95 of production values
+        private Map<String, Double> trainingQuantiles;
+    }
+}
@@ -0,0 +1,34 @@
+package com.simstruct.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Frame Analysis Response DTO
+ * Plane frame results for the 11 building inputs, comparable to AIPredictionResponse
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FrameAnalysisResponse {
+
+    // Same meaning as in AIPredictionResponse
+    private Double maxDeflection; // in mm
+    private Double maxStress; // in MPa
+    private Double stabilityIndex; // 0-100
+
+    private Double maxDrift; // top lateral displacement, in mm
+    private Double maxInterstoreyDrift; // storey drift / storey height
+    private Double maxBeamDeflection; // in mm
+
+    // Size of the analyzed frame
+    private Integer storeys;
+    private Integer bays;
+    private Integer equations;
+    private Double solveTimeMs;
+
+    private String status;
+}
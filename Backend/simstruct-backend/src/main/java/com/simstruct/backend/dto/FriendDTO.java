@@ -21,4 +21,5 @@ public class FriendDTO {
     private String status;
     private LocalDateTime connectedAt;
     private int sharedSimulations;
+    private int mutualFriends;
 }
@@ -0,0 +1,63 @@
+package com.simstruct.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grid Request DTO - evaluate the AI model over a grid of buildings
+ * The base building gives the inputs that no axis varies
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GridRequest {
+
+    @NotNull(message = "Base building is required")
+    @Valid
+    private BuildingPredictionRequest base;
+
+    @NotEmpty(message = "At least one axis is required")
+    @Size(max = 11, message = "Cannot have more than 11 axes")
+    @Valid
+    @Builder.Default
+    private List<Axis> axes = new ArrayList<>();
+
+    // Outputs to return, in this order; all four when empty
+    @Builder.Default
+    private List<String> outputs = new ArrayList<>();
+
+    /**
+     * One varied input: steps evenly spaced values from min to max (both included)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Axis {
+
+        @NotBlank(message = "Axis parameter is required")
+        private String parameter;
+
+        @NotNull(message = "Axis min is required")
+        private Double min;
+
+        @NotNull(message = "Axis max is required")
+        private Double max;
+
+        @NotNull(message = "Axis steps is required")
+        @Min(value = 1, message = "Axis steps must be at least 1")
+        private Integer steps;
+    }
+}
@@ -0,0 +1,19 @@
+package com.simstruct.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Like Response DTO - like state of a simulation for the current user
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeResponse {
+    private String simulationId;
+    private boolean liked;
+    private long likesCount;
+}
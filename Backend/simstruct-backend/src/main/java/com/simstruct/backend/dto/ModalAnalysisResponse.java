@@ -0,0 +1,46 @@
+package com.simstruct.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Modal Analysis Response DTO
+ * Natural frequencies and lateral mode shapes of the plane frame of the 11 building inputs
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModalAnalysisResponse {
+    private List<Double> levelHeights;      // heights of the mode shape points, in m, ground to roof
+    private List<Mode> modes;               // by increasing frequency
+    private Double cumulativeMassParticipation;
+
+    // Size of the analyzed frame
+    private Integer storeys;
+    private Integer bays;
+    private Integer equations;
+    private Integer lanczosSteps;           // solves with the factored stiffness
+    private Double solveTimeMs;
+
+    private String status;
+
+    /**
+     * One natural mode
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mode {
+        private Integer number;             // 1 = fundamental
+        private Double frequency;           // in Hz
+        private Double period;              // in s
+        private Double massParticipation;   // share of the horizontal mass, 0-1
+        private List<Double> shape;         // horizontal displacement at levelHeights, largest = 1
+    }
+}
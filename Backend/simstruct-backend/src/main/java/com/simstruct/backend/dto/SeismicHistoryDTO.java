@@ -0,0 +1,72 @@
+package com.simstruct.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seismic History DTO - events streamed during a time-history analysis:
+ * start, then samples batches as the integration runs, then complete
+ */
+public final class SeismicHistoryDTO {
+
+    private SeismicHistoryDTO() {
+    }
+
+    /**
+     * Frame and record, before the first step
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Start {
+        private int steps;
+        private double dt;                      // in s
+        private double duration;                // in s
+        private double pga;                     // peak ground acceleration of the record, in g
+        private int storeys;
+        private int bays;
+        private int equations;
+        private double[] periods;               // of the two sway modes damped at dampingRatio, in s
+        private double dampingRatio;
+        private int stride;                     // steps per streamed sample
+    }
+
+    /**
+     * Downsampled history: each sample keeps the largest value of its window
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Samples {
+        private double[] time;                  // end of each window, in s
+        private double[] groundAcceleration;    // in g
+        private double[] roofDisplacement;      // relative to the ground, in mm
+        private double[] interstoreyDrift;      // largest storey drift / storey height
+        private double[] baseShear;             // in kN
+        private Peaks peaks;                    // so far
+    }
+
+    /**
+     * Peak responses, so far or over the whole record
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Peaks {
+        private double time;                    // reached, in s
+        private double roofDisplacement;        // in mm
+        private double roofDisplacementTime;    // in s
+        private double roofAcceleration;        // absolute, in g
+        private double interstoreyDrift;
+        private double interstoreyDriftTime;    // in s
+        private double baseShear;               // in kN
+        private double baseShearTime;           // in s
+        private double driftLimit;              // storey drift limit the demand is compared to
+        private double driftDemandRatio;        // interstoreyDrift / driftLimit
+    }
+}
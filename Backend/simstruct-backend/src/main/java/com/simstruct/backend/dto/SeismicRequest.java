@@ -0,0 +1,31 @@
+package com.simstruct.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seismic Request DTO
+ * Building and ground motion of a time-history analysis; the synthetic record
+ * settings are ignored when a record is uploaded
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeismicRequest {
+
+    @Valid
+    @NotNull(message = "Building is required")
+    private BuildingPredictionRequest building;
+
+    private Double pga;         // synthetic record: peak ground acceleration, in g (default 0.3)
+    private Double duration;    // synthetic record: in s (default 20)
+    private Long seed;          // synthetic record: random seed (default 1)
+    private Double dt;          // time step, in s (default 0.01; uploaded records: if not in the file)
+    private Double damping;     // damping ratio of the first two sway modes (default 0.05)
+    private Integer points;     // samples of the streamed response history (default 2000)
+}
@@ -0,0 +1,19 @@
+package com.simstruct.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Similar Simulation DTO - a simulation and its distance to the one compared against
+ * (0 = identical parameters)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarSimulationDTO {
+    private SimulationResponse simulation;
+    private double distance;
+}
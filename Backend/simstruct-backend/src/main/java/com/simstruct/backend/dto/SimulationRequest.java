@@ -1,5 +1,7 @@
 package com.simstruct.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.simstruct.backend.analysis.LoadCombination;
 import com.simstruct.backend.entity.Simulation;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -7,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Simulation Request DTO - for creating/updating simulations
  */
@@ -58,6 +62,13 @@ public class SimulationRequest {
     @PositiveOrZero(message = "Load position must be non-negative")
     private Double loadPosition;
 
+    // Load combinations of the building's dead, live and wind loads, e.g. "ULS: 1.35G + 1.5Q + 0.9W";
+    // the EN 1990 table when absent
+    @Size(max = LoadCombination.MAX_COMBINATIONS, message = "At most 30 load combinations")
+    private List<@NotNull @Size(max = LoadCombination.MAX_LENGTH, message = "Load combinations are at most 60 characters")
+            @Pattern(regexp = LoadCombination.PATTERN,
+            message = "Load combinations must read like \"ULS: 1.35G + 1.5Q + 0.9W\"") String> loadCombinations;
+
     // Support
     @NotNull(message = "Support type is required")
     private Simulation.SupportType supportType;
@@ -124,6 +135,20 @@ public class SimulationRequest {
     @DecimalMax(value = "8.0", message = "Dead load cannot exceed 8.0 kN/m²")
     private Double deadLoad;
     
+    @JsonIgnore
+    @AssertTrue(message = "Load combinations need at least one ULS combination")
+    public boolean isLoadCombinationsValid() {
+        return loadCombinations == null || loadCombinations.isEmpty()
+                || loadCombinations.stream().anyMatch(line -> line != null && line.trim().startsWith("ULS"));
+    }
+
+    /**
+     * Load combination table as stored on the simulation, one per line; null when absent
+     */
+    public String loadCombinationTable() {
+        return loadCombinations == null || loadCombinations.isEmpty() ? null : String.join("\n", loadCombinations);
+    }
+
     /**
      * Convert to BuildingPredictionRequest for AI API
      */
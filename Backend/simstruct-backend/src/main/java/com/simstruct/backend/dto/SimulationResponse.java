@@ -1,5 +1,6 @@
 package com.simstruct.backend.dto;
 
+import com.simstruct.backend.entity.BuildingParameters;
 import com.simstruct.backend.entity.Simulation;
 import com.simstruct.backend.entity.SimulationResult;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Simulation Response DTO - for API responses
@@ -41,6 +43,7 @@ public class SimulationResponse {
     private Simulation.LoadType loadType;
     private Double loadMagnitude;
     private Double loadPosition;
+    private List<String> loadCombinations; // null for the EN 1990 table
 
     // Support
     private Simulation.SupportType supportType;
@@ -51,12 +54,16 @@ public class SimulationResponse {
     private Boolean isFavorite;
     private Integer likesCount;
 
+    // AI model inputs
+    private BuildingParameters buildingParameters;
+
     // Results (nested)
     private ResultsDto results;
 
     // Timestamps
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     /**
      * Nested Results DTO
@@ -73,9 +80,19 @@ public class SimulationResponse {
         private Double safetyFactor;
         private Boolean isSafe;
         private String recommendations;
-        private Double naturalFrequency;
+        private Double naturalFrequency; // Hz, null if neither the frame nor the beam could be analyzed
         private Double criticalLoad;
         private Double weight;
+        private String governingCombination;
+        private Double envelopeMomentMax;
+        private Double envelopeMomentMin;
+        private Double envelopeShearMax;
+        private Double envelopeShearMin;
+        private Double envelopeDeflectionMax;
+        private Double envelopeDeflectionMin;
+        private Double stabilityIndex;
+        private Double seismicResistance;
+        private SimulationResult.ResultSource resultSource;
     }
 
     /**
@@ -98,13 +115,17 @@ public class SimulationResponse {
                 .loadType(simulation.getLoadType())
                 .loadMagnitude(simulation.getLoadMagnitude())
                 .loadPosition(simulation.getLoadPosition())
+                .loadCombinations(simulation.getLoadCombinations() != null
+                        ? List.of(simulation.getLoadCombinations().split("\n")) : null)
                 .supportType(simulation.getSupportType())
+                .buildingParameters(simulation.getBuildingParameters())
                 .status(simulation.getStatus())
                 .isPublic(simulation.getIsPublic())
                 .isFavorite(simulation.getIsFavorite())
                 .likesCount(simulation.getLikesCount())
                 .createdAt(simulation.getCreatedAt())
-                .updatedAt(simulation.getUpdatedAt());
+                .updatedAt(simulation.getUpdatedAt())
+                .version(simulation.getVersion());
 
         // Map results if present
         if (simulation.getResults() != null) {
@@ -120,6 +141,16 @@ public class SimulationResponse {
                     .naturalFrequency(r.getNaturalFrequency())
                     .criticalLoad(r.getCriticalLoad())
                     .weight(r.getWeight())
+                    .governingCombination(r.getGoverningCombination())
+                    .envelopeMomentMax(r.getEnvelopeMomentMax())
+                    .envelopeMomentMin(r.getEnvelopeMomentMin())
+                    .envelopeShearMax(r.getEnvelopeShearMax())
+                    .envelopeShearMin(r.getEnvelopeShearMin())
+                    .envelopeDeflectionMax(r.getEnvelopeDeflectionMax())
+                    .envelopeDeflectionMin(r.getEnvelopeDeflectionMin())
+                    .stabilityIndex(r.getStabilityIndex())
+                    .seismicResistance(r.getSeismicResistance())
+                    .resultSource(r.getResultSource())
                     .build());
         }
 
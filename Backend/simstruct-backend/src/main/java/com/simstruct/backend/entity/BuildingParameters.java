@@ -0,0 +1,96 @@
+package com.simstruct.backend.entity;
+
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Building Parameters - embedded copy of the 11 AI model inputs of a simulation
+ */
+@Embeddable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildingParameters {
+
+    public static final int COUNT = 11;
+
+    // Validation ranges of SimulationRequest, in model input order
+    private static final double[] MIN = {1, 2.5, 10, 4, 20, 30, 20, 235, 0.5, 1.5, 3};
+    private static final double[] MAX = {50, 6, 500, 200, 100, 150, 90, 460, 3, 5, 8};
+
+    private Double numFloors;
+    private Double floorHeight; // in m
+    private Integer numBeams;
+    private Integer numColumns;
+    private Double beamSection; // in cm
+    private Double columnSection; // in cm
+    private Double concreteStrength; // in MPa
+    private Double steelGrade; // in MPa
+    private Double windLoad; // in kN/m²
+    private Double liveLoad; // in kN/m²
+    private Double deadLoad; // in kN/m²
+
+    /**
+     * Copy the inputs of an AI request
+     */
+    public static BuildingParameters from(BuildingPredictionRequest request) {
+        return BuildingParameters.builder()
+                .numFloors(request.getNumFloors())
+                .floorHeight(request.getFloorHeight())
+                .numBeams(request.getNumBeams())
+                .numColumns(request.getNumColumns())
+                .beamSection(request.getBeamSection())
+                .columnSection(request.getColumnSection())
+                .concreteStrength(request.getConcreteStrength())
+                .steelGrade(request.getSteelGrade())
+                .windLoad(request.getWindLoad())
+                .liveLoad(request.getLiveLoad())
+                .deadLoad(request.getDeadLoad())
+                .build();
+    }
+
+    /**
+     * The inputs in model input order; null for missing ones
+     */
+    public Double[] values() {
+        return new Double[]{
+                numFloors, floorHeight,
+                numBeams != null ? numBeams.doubleValue() : null,
+                numColumns != null ? numColumns.doubleValue() : null,
+                beamSection, columnSection, concreteStrength, steelGrade,
+                windLoad, liveLoad, deadLoad
+        };
+    }
+
+    public static double min(int input) {
+        return MIN[input];
+    }
+
+    public static double max(int input) {
+        return MAX[input];
+    }
+
+    /**
+     * Rebuild the AI request these inputs came from
+     */
+    public BuildingPredictionRequest toAIRequest() {
+        return BuildingPredictionRequest.builder()
+                .numFloors(numFloors)
+                .floorHeight(floorHeight)
+                .numBeams(numBeams)
+                .numColumns(numColumns)
+                .beamSection(beamSection)
+                .columnSection(columnSection)
+                .concreteStrength(concreteStrength)
+                .steelGrade(steelGrade)
+                .windLoad(windLoad)
+                .liveLoad(liveLoad)
+                .deadLoad(deadLoad)
+                .build();
+    }
+}
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
  * SharedSimulation Entity - represents a simulation shared with a friend
  */
 @Entity
-@Table(name = "shared_simulations")
+@Table(name = "shared_simulations",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"simulation_id", "shared_with_id"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -68,6 +68,11 @@ public class Simulation {
     @Column
     private Double loadPosition; // in meters from left
 
+    // Load combination table of the building frame, one per line ("ULS: 1.35G + 1.5Q + 0.9W");
+    // null for the EN 1990 table
+    @Column(length = 2000)
+    private String loadCombinations;
+
     // Support configuration
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -84,9 +89,15 @@ public class Simulation {
     @Builder.Default
     private Boolean isFavorite = false;
 
+    // Only written by LikeCounters, so saving a loaded simulation never overwrites flushed likes
     @Builder.Default
+    @Column(updatable = false)
     private Integer likesCount = 0;
 
+    // AI model inputs
+    @Embedded
+    private BuildingParameters buildingParameters;
+
     // Embedded results
     @Embedded
     private SimulationResult results;
@@ -98,6 +109,10 @@ public class Simulation {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Bumped on every update; used as the ETag of the simulation
+    @Version
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         if (this.id == null) {
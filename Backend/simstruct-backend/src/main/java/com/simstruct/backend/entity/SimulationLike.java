@@ -0,0 +1,40 @@
+package com.simstruct.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * SimulationLike Entity - one user liking one simulation.
+ * The unique constraint makes liking idempotent; rows go away with their simulation.
+ */
+@Entity
+@Table(name = "likes",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"simulation_id", "user_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationLike {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "simulation_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Simulation simulation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @CreationTimestamp
+    private LocalDateTime likedAt;
+}
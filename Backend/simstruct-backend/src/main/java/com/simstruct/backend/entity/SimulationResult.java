@@ -2,6 +2,8 @@ package com.simstruct.backend.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -47,4 +49,45 @@ public class SimulationResult {
 
     @Column(name = "weight")
     private Double weight; // in kg
+
+    // Envelope of the building's plane frame over the load combinations of the simulation
+    @Column(name = "governing_combination")
+    private String governingCombination; // ULS combination with the largest stress, e.g. "ULS: 1.35G + 1.5Q + 0.9W"
+
+    @Column(name = "envelope_moment_max")
+    private Double envelopeMomentMax; // in kN·m, sagging positive for beams
+
+    @Column(name = "envelope_moment_min")
+    private Double envelopeMomentMin; // in kN·m
+
+    @Column(name = "envelope_shear_max")
+    private Double envelopeShearMax; // in kN
+
+    @Column(name = "envelope_shear_min")
+    private Double envelopeShearMin; // in kN
+
+    @Column(name = "envelope_deflection_max")
+    private Double envelopeDeflectionMax; // in mm, beams under SLS combinations
+
+    @Column(name = "envelope_deflection_min")
+    private Double envelopeDeflectionMin; // in mm, downward negative
+
+    // AI model scores, kept so the prediction can be reused for a near-identical building
+    @Column(name = "stability_index")
+    private Double stabilityIndex; // 0-100
+
+    @Column(name = "seismic_resistance")
+    private Double seismicResistance; // 0-100
+
+    @Column(name = "ai_status")
+    private String aiStatus;
+
+    // What produced these results
+    @Enumerated(EnumType.STRING)
+    @Column(name = "result_source")
+    private ResultSource resultSource;
+
+    public enum ResultSource {
+        AI, AI_REUSED, ENGINE
+    }
 }
@@ -0,0 +1,38 @@
+package com.simstruct.backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a user engages with a simulation (view, like, share, chat mention).
+ * Feeds the trending ranking; each kind carries its weight in the score.
+ * An unlike is dated by the like it takes back, so it removes exactly that like's
+ * contribution; every other engagement is dated when it happens.
+ */
+public record EngagementEvent(String simulationId, Kind kind, String userId, LocalDateTime at) {
+
+    public EngagementEvent(String simulationId, Kind kind) {
+        this(simulationId, kind, null, LocalDateTime.now());
+    }
+
+    public EngagementEvent(String simulationId, Kind kind, String userId) {
+        this(simulationId, kind, userId, LocalDateTime.now());
+    }
+
+    public enum Kind {
+        VIEW(0.2),
+        LIKE(1.0),
+        UNLIKE(-1.0),
+        CHAT_REFERENCE(2.0),
+        SHARE(3.0);
+
+        private final double weight;
+
+        Kind(double weight) {
+            this.weight = weight;
+        }
+
+        public double weight() {
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.simstruct.backend.event;
+
+import java.util.List;
+
+/**
+ * Published once per flush of the like counters, with every simulation whose
+ * likes_count was written. Listeners refresh all of them in one pass.
+ */
+public record LikesFlushedEvent(List<String> simulationIds) {
+}
@@ -0,0 +1,17 @@
+package com.simstruct.backend.event;
+
+/**
+ * Published whenever a simulation, its visibility or its shares change. Like counts
+ * are announced in batches by LikesFlushedEvent.
+ * Listeners use it to keep in-memory views of simulations up to date.
+ */
+public record SimulationChangedEvent(String simulationId, Change change) {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        VISIBILITY,
+        SHARES,
+        DELETED
+    }
+}
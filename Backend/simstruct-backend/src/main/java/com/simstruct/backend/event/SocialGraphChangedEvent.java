@@ -0,0 +1,16 @@
+package com.simstruct.backend.event;
+
+/**
+ * Published whenever a link between two users appears or disappears: an accepted or
+ * removed friendship, a simulation shared or unshared (userId shares with otherUserId).
+ * SocialGraph applies it once the change is committed.
+ */
+public record SocialGraphChangedEvent(String userId, String otherUserId, Change change) {
+
+    public enum Change {
+        FRIENDSHIP_ADDED,
+        FRIENDSHIP_REMOVED,
+        SHARE_ADDED,
+        SHARE_REMOVED
+    }
+}
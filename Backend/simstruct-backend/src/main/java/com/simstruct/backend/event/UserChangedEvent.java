@@ -0,0 +1,14 @@
+package com.simstruct.backend.event;
+
+/**
+ * Published whenever a user registers, edits their profile or deletes their account.
+ * Listeners use it to keep in-memory views of users up to date.
+ */
+public record UserChangedEvent(String userId, Change change) {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -41,4 +42,9 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, String
            "GROUP BY CASE WHEN m2.sender.id = :userId THEN m2.recipient.id ELSE m2.sender.id END) " +
            "ORDER BY m.sentAt DESC")
     List<ChatMessage> findLatestMessagesPerConversation(@Param("userId") String userId);
+
+    // Messages mentioning a public simulation since a date, as (simulationId, sentAt)
+    @Query("SELECT m.relatedSimulation.id, m.sentAt FROM ChatMessage m " +
+           "WHERE m.relatedSimulation.isPublic = true AND m.sentAt >= :since")
+    List<Object[]> findPublicReferencesSince(@Param("since") LocalDateTime since);
 }
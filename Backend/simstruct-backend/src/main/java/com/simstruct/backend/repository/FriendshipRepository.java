@@ -37,4 +37,18 @@ public interface FriendshipRepository extends JpaRepository<Friendship, String>
     // Find all friendships (any status) for a user
     @Query("SELECT f FROM Friendship f WHERE f.user.id = :userId OR f.friend.id = :userId")
     List<Friendship> findAllByUserId(@Param("userId") String userId);
+
+    // Ids of every user related to this user by a friendship (any status)
+    @Query("SELECT CASE WHEN f.user.id = :userId THEN f.friend.id ELSE f.user.id END " +
+           "FROM Friendship f WHERE f.user.id = :userId OR f.friend.id = :userId")
+    List<String> findRelatedUserIds(@Param("userId") String userId);
+
+    // All accepted friendships as (userId, friendId) pairs
+    @Query("SELECT f.user.id, f.friend.id FROM Friendship f WHERE f.status = 'ACCEPTED'")
+    List<Object[]> findAcceptedPairs();
+
+    // Ids of the accepted friends of a user
+    @Query("SELECT CASE WHEN f.user.id = :userId THEN f.friend.id ELSE f.user.id END " +
+           "FROM Friendship f WHERE (f.user.id = :userId OR f.friend.id = :userId) AND f.status = 'ACCEPTED'")
+    List<String> findAcceptedFriendIds(@Param("userId") String userId);
 }
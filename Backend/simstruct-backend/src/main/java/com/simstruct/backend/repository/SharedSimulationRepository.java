@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,9 +30,29 @@ public interface SharedSimulationRepository extends JpaRepository<SharedSimulati
     @Query("SELECT ss FROM SharedSimulation ss WHERE ss.simulation.id = :simulationId AND ss.sharedWith.id = :sharedWithId")
     Optional<SharedSimulation> findBySimulationIdAndSharedWithId(@Param("simulationId") String simulationId, @Param("sharedWithId") String sharedWithId);
 
+    // Check if simulation is shared with user without loading the share
+    boolean existsBySimulationIdAndSharedWithId(String simulationId, String sharedWithId);
+
     // Count shares by user
     long countBySharedById(String userId);
 
     // Count shares received by user
     long countBySharedWithId(String userId);
+
+    // Number of shares per (sharedBy, sharedWith) pair
+    @Query("SELECT ss.sharedBy.id, ss.sharedWith.id, COUNT(ss) FROM SharedSimulation ss GROUP BY ss.sharedBy.id, ss.sharedWith.id")
+    List<Object[]> countSharesByPair();
+
+    // Ids of the simulations shared with a user
+    @Query("SELECT ss.simulation.id FROM SharedSimulation ss WHERE ss.sharedWith.id = :userId")
+    List<String> findSimulationIdsBySharedWithId(@Param("userId") String userId);
+
+    // Ids of the users a simulation is already shared with
+    @Query("SELECT ss.sharedWith.id FROM SharedSimulation ss WHERE ss.simulation.id = :simulationId")
+    List<String> findSharedWithIdsBySimulationId(@Param("simulationId") String simulationId);
+
+    // Shares of public simulations since a date, as (simulationId, sharedAt)
+    @Query("SELECT ss.simulation.id, ss.sharedAt FROM SharedSimulation ss " +
+           "WHERE ss.simulation.isPublic = true AND ss.sharedAt >= :since")
+    List<Object[]> findPublicSharesSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,47 @@
+package com.simstruct.backend.repository;
+
+import com.simstruct.backend.entity.SimulationLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * SimulationLike Repository
+ */
+@Repository
+public interface SimulationLikeRepository extends JpaRepository<SimulationLike, String> {
+
+    // Check if a user already likes a simulation
+    boolean existsBySimulationIdAndUserId(String simulationId, String userId);
+
+    // Likes of public simulations since a date, as (simulationId, likedAt)
+    @Query("SELECT l.simulation.id, l.likedAt FROM SimulationLike l " +
+           "WHERE l.simulation.isPublic = true AND l.likedAt >= :since")
+    List<Object[]> findPublicLikesSince(@Param("since") LocalDateTime since);
+
+    // When a user liked a simulation
+    @Query("SELECT l.likedAt FROM SimulationLike l WHERE l.simulation.id = :simulationId AND l.user.id = :userId")
+    Optional<LocalDateTime> findLikedAt(@Param("simulationId") String simulationId, @Param("userId") String userId);
+
+    // Remove a like; returns the number of rows deleted (0 or 1)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SimulationLike l WHERE l.simulation.id = :simulationId AND l.user.id = :userId")
+    int deleteBySimulationIdAndUserId(@Param("simulationId") String simulationId, @Param("userId") String userId);
+
+    // Set every likes_count to the number of like rows; returns the number of corrected simulations
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE simulations s SET likes_count = " +
+                   "(SELECT COUNT(*) FROM likes l WHERE l.simulation_id = s.id) " +
+                   "WHERE COALESCE(s.likes_count, -1) <> (SELECT COUNT(*) FROM likes l WHERE l.simulation_id = s.id)",
+           nativeQuery = true)
+    int reconcileLikesCounts();
+}
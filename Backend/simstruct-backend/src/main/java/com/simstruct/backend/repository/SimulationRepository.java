@@ -1,11 +1,16 @@
 package com.simstruct.backend.repository;
 
 import com.simstruct.backend.entity.Simulation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +35,13 @@ public interface SimulationRepository extends JpaRepository<Simulation, String>
     // Count completed simulations by user
     long countByUserIdAndStatus(String userId, Simulation.SimulationStatus status);
 
+    // Total, completed and failed simulations of a user, in one query
+    @Query("SELECT COUNT(s) AS total, " +
+           "COALESCE(SUM(CASE WHEN s.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completed, " +
+           "COALESCE(SUM(CASE WHEN s.status = 'FAILED' THEN 1 ELSE 0 END), 0) AS failed " +
+           "FROM Simulation s WHERE s.user.id = :userId")
+    StatusCounts countStatusesByUserId(@Param("userId") String userId);
+
     // Search simulations by name or description for a user
     @Query("SELECT s FROM Simulation s WHERE s.user.id = :userId " +
            "AND (LOWER(s.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
@@ -50,6 +62,67 @@ public interface SimulationRepository extends JpaRepository<Simulation, String>
     // Find simulation by id and user (for security)
     Optional<Simulation> findByIdAndUserId(String id, String userId);
 
+    // Find simulation with its owner in a single query
+    @EntityGraph(attributePaths = "user")
+    Optional<Simulation> findWithUserById(String id);
+
+    // Newest public simulations with their owners, for the feed snapshot
+    @Query("SELECT s FROM Simulation s JOIN FETCH s.user WHERE s.isPublic = true ORDER BY s.createdAt DESC")
+    List<Simulation> findPublicFeed(Pageable pageable);
+
+    // Ids and versions of the newest public simulations
+    @Query("SELECT s.id, s.version FROM Simulation s WHERE s.isPublic = true ORDER BY s.createdAt DESC")
+    List<Object[]> findPublicFeedVersions(Pageable pageable);
+
+    // Ids of all public simulations
+    @Query("SELECT s.id FROM Simulation s WHERE s.isPublic = true")
+    List<String> findPublicIds();
+
+    // Check if a simulation is public
+    boolean existsByIdAndIsPublicTrue(String id);
+
+    // Public simulations with their owners, by id
+    @Query("SELECT s FROM Simulation s JOIN FETCH s.user WHERE s.id IN :ids AND s.isPublic = true")
+    List<Simulation> findPublicWithUserByIdIn(@Param("ids") Collection<String> ids);
+
+    // Simulations with their owners, by id
+    @Query("SELECT s FROM Simulation s JOIN FETCH s.user WHERE s.id IN :ids")
+    List<Simulation> findWithUserByIdIn(@Param("ids") Collection<String> ids);
+
+    // Persisted like counter of a simulation, without loading it
+    @Query("SELECT s.likesCount FROM Simulation s WHERE s.id = :id")
+    Optional<Integer> findLikesCountById(@Param("id") String id);
+
+    // Current version and like counter of a simulation, without loading it
+    @Query("SELECT s.version AS version, s.likesCount AS likesCount FROM Simulation s WHERE s.id = :id")
+    Optional<Revision> findRevisionById(@Param("id") String id);
+
+    /**
+     * What the ETag of a simulation depends on: like flushes change likesCount
+     * without bumping the version
+     */
+    interface Revision {
+        Long getVersion();
+
+        Integer getLikesCount();
+    }
+
+    /**
+     * Simulation counters of the dashboard
+     */
+    interface StatusCounts {
+        Long getTotal();
+
+        Long getCompleted();
+
+        Long getFailed();
+    }
+
     // Check if simulation belongs to user
     boolean existsByIdAndUserId(String id, String userId);
+
+    // Load a simulation and lock its row until the end of the transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Simulation s WHERE s.id = :id")
+    Optional<Simulation> findByIdForUpdate(@Param("id") String id);
 }
@@ -2,6 +2,8 @@ package com.simstruct.backend.repository;
 
 import com.simstruct.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +22,30 @@ public interface UserRepository extends JpaRepository<User, String> {
     
     // Search users by email or name
     List<User> findByEmailContainingIgnoreCaseOrNameContainingIgnoreCase(String email, String name);
+
+    // Unread notifications and messages, friends and shares of a user, in one query
+    @Query("SELECT " +
+           "(SELECT COUNT(n) FROM Notification n WHERE n.userId = u.id AND n.isRead = false) AS unreadNotifications, " +
+           "(SELECT COUNT(m) FROM ChatMessage m WHERE m.recipient.id = u.id AND m.isRead = false) AS unreadMessages, " +
+           "(SELECT COUNT(f) FROM Friendship f WHERE (f.user.id = u.id OR f.friend.id = u.id) " +
+           "AND f.status = 'ACCEPTED') AS friends, " +
+           "(SELECT COUNT(b) FROM SharedSimulation b WHERE b.sharedBy.id = u.id) AS sharedByMe, " +
+           "(SELECT COUNT(w) FROM SharedSimulation w WHERE w.sharedWith.id = u.id) AS sharedWithMe " +
+           "FROM User u WHERE u.id = :userId")
+    Optional<SocialCounts> countSocialByUserId(@Param("userId") String userId);
+
+    /**
+     * Social counters of the dashboard
+     */
+    interface SocialCounts {
+        Long getUnreadNotifications();
+
+        Long getUnreadMessages();
+
+        Long getFriends();
+
+        Long getSharedByMe();
+
+        Long getSharedWithMe();
+    }
 }
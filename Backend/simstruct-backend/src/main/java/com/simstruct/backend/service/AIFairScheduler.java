@@ -0,0 +1,260 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.entity.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Shares AI model capacity fairly between users.
+ *
+ * At most ai.fair.max-concurrent predictions run at once. Beyond that, each
+ * user waits in their own queue and slots are handed out by deficit round
+ * robin: on each turn a user may start as many predictions as the weight of
+ * their role (ai.fair.weight.user|pro|admin). A user submitting a batch only
+ * gets their share, so someone else's single prediction waits for at most one
+ * round instead of the whole batch.
+ *
+ * A request is rejected with AICapacityExceededException (429) when its user
+ * already has ai.fair.max-queued-per-user waiting, when ai.fair.max-queued are
+ * waiting in total, or when it waited ai.fair.max-wait-ms without a slot.
+ *
+ * Metrics: simstruct.ai.fair.requests{outcome=immediate|queued|rejected|timed_out},
+ * simstruct.ai.fair.wait{role}, simstruct.ai.fair.running and simstruct.ai.fair.queued.
+ */
+@Component
+@Slf4j
+public class AIFairScheduler {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final int maxQueuedPerUser;
+    private final long maxWaitMs;
+    private final Map<User.Role, Integer> weights = new EnumMap<>(User.Role.class);
+    private final MeterRegistry meterRegistry;
+
+    // Guarded by this
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final ArrayDeque<Flow> active = new ArrayDeque<>();
+    private int running;
+    private int queued;
+
+    public AIFairScheduler(MeterRegistry meterRegistry,
+                           @Value("${ai.fair.max-concurrent:8}") int maxConcurrent,
+                           @Value("${ai.fair.max-queued:200}") int maxQueued,
+                           @Value("${ai.fair.max-queued-per-user:20}") int maxQueuedPerUser,
+                           @Value("${ai.fair.max-wait-ms:30000}") long maxWaitMs,
+                           @Value("${ai.fair.weight.user:1}") int userWeight,
+                           @Value("${ai.fair.weight.pro:2}") int proWeight,
+                           @Value("${ai.fair.weight.admin:4}") int adminWeight) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.maxWaitMs = maxWaitMs;
+        weights.put(User.Role.USER, Math.max(1, userWeight));
+        weights.put(User.Role.PRO, Math.max(1, proWeight));
+        weights.put(User.Role.ADMIN, Math.max(1, adminWeight));
+        Gauge.builder("simstruct.ai.fair.running", this, AIFairScheduler::running).register(meterRegistry);
+        Gauge.builder("simstruct.ai.fair.queued", this, AIFairScheduler::queued).register(meterRegistry);
+    }
+
+    /**
+     * No AI capacity left for this request; the client should retry later
+     */
+    public static class AICapacityExceededException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public AICapacityExceededException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * Run the task on the calling thread once the user's turn comes
+     *
+     * @throws AICapacityExceededException if the request was not admitted
+     */
+    public <T> T run(String userId, User.Role role, Supplier<T> task) {
+        User.Role effectiveRole = role != null ? role : User.Role.USER;
+        long start = System.nanoTime();
+        Ticket ticket = admit(userId, effectiveRole);
+        if (ticket != null) {
+            await(ticket, userId);
+        }
+        Timer.builder("simstruct.ai.fair.wait").tag("role", effectiveRole.name()).register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        try {
+            return task.get();
+        } finally {
+            release();
+        }
+    }
+
+    synchronized int running() {
+        return running;
+    }
+
+    synchronized int queued() {
+        return queued;
+    }
+
+    /**
+     * Take a slot at once (null), or queue a ticket for one
+     */
+    private synchronized Ticket admit(String userId, User.Role role) {
+        if (running < maxConcurrent && queued == 0) {
+            running++;
+            count("immediate");
+            return null;
+        }
+        Flow flow = flows.computeIfAbsent(userId, Flow::new);
+        if (flow.tickets.size() >= maxQueuedPerUser || queued >= maxQueued) {
+            count("rejected");
+            log.warn("AIFairScheduler: Rejected prediction for user {} ({} queued for the user, {} in total)",
+                    userId, flow.tickets.size(), queued);
+            if (flow.tickets.isEmpty()) {
+                flows.remove(userId);
+            }
+            throw new AICapacityExceededException("AI capacity exceeded: too many predictions waiting", retryAfterSeconds());
+        }
+        flow.weight = weights.get(role);
+        Ticket ticket = new Ticket(flow);
+        flow.tickets.addLast(ticket);
+        queued++;
+        if (flow.tickets.size() == 1) {
+            flow.deficit = 0;
+            flow.credited = false;
+            active.addLast(flow);
+        }
+        count("queued");
+        return ticket;
+    }
+
+    private void await(Ticket ticket, String userId) {
+        try {
+            ticket.granted.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (cancel(ticket)) {
+                count("timed_out");
+                log.warn("AIFairScheduler: Prediction for user {} waited {} ms without a slot", userId, maxWaitMs);
+                throw new AICapacityExceededException("AI capacity exceeded: no slot within " + maxWaitMs + " ms",
+                        retryAfterSeconds());
+            }
+            // Granted just as the wait ran out
+        } catch (InterruptedException e) {
+            if (cancel(ticket)) {
+                Thread.currentThread().interrupt();
+                throw new AICapacityExceededException("Interrupted while waiting for the AI model", retryAfterSeconds());
+            }
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Withdraw a ticket that has not been granted; false if it already was
+     */
+    private synchronized boolean cancel(Ticket ticket) {
+        if (ticket.granted.isDone()) {
+            return false;
+        }
+        Flow flow = ticket.flow;
+        flow.tickets.remove(ticket);
+        queued--;
+        if (flow.tickets.isEmpty()) {
+            active.remove(flow);
+            flows.remove(flow.userId);
+        }
+        return true;
+    }
+
+    private synchronized void release() {
+        running--;
+        dispatch();
+    }
+
+    /**
+     * Deficit round robin: the flow at the head earns its weight once per turn
+     * and starts one prediction per unit of credit
+     */
+    private void dispatch() {
+        while (running < maxConcurrent && !active.isEmpty()) {
+            Flow flow = active.peekFirst();
+            if (!flow.credited) {
+                flow.deficit += flow.weight;
+                flow.credited = true;
+            }
+            while (flow.deficit >= 1 && !flow.tickets.isEmpty() && running < maxConcurrent) {
+                Ticket ticket = flow.tickets.pollFirst();
+                flow.deficit--;
+                queued--;
+                running++;
+                ticket.granted.complete(null);
+            }
+            if (flow.tickets.isEmpty()) {
+                active.pollFirst();
+                flows.remove(flow.userId);
+            } else if (flow.deficit < 1) {
+                // Turn over: go to the back of the round
+                active.addLast(active.pollFirst());
+                flow.credited = false;
+            }
+            // Otherwise capacity ran out mid-turn: the flow keeps its credit and its place
+        }
+    }
+
+    /**
+     * Rough time for the current queue to drain, assuming about a second per prediction
+     */
+    private long retryAfterSeconds() {
+        return Math.max(1, queued / Math.max(1, maxConcurrent));
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("simstruct.ai.fair.requests", "outcome", outcome).increment();
+    }
+
+    /**
+     * Waiting predictions of one user
+     */
+    private static final class Flow {
+        private final String userId;
+        private final ArrayDeque<Ticket> tickets = new ArrayDeque<>();
+        private int weight = 1;
+        private int deficit;
+        private boolean credited;
+
+        Flow(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static final class Ticket {
+        private final Flow flow;
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+
+        Ticket(Flow flow) {
+            this.flow = flow;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 
@@ -46,12 +47,7 @@ public class AIModelService {
         System.out.println("AIModelService: Calling AI API at " + aiApiUrl + "/predict");
         
         try {
-            AIPredictionResponse response = webClient
-                    .post()
-                    .uri("/predict")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(AIPredictionResponse.class)
+            AIPredictionResponse response = predictAsync(request)
                     .timeout(Duration.ofSeconds(30))
                     .block();
             
@@ -68,6 +64,19 @@ public class AIModelService {
         }
     }
 
+    /**
+     * Prediction request that is sent on subscription, without timeout.
+     * Cancelling the subscription cancels the HTTP request.
+     */
+    public Mono<AIPredictionResponse> predictAsync(BuildingPredictionRequest request) {
+        return webClient
+                .post()
+                .uri("/predict")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(AIPredictionResponse.class);
+    }
+
     /**
      * Check if AI API is healthy and ready
      * 
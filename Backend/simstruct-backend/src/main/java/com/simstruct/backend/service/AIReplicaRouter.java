@@ -0,0 +1,259 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads AI predictions over the replicas listed in ai.api.urls (comma
+ * separated, ai.api.url when unset).
+ *
+ * Each prediction goes to the healthy replica with the lowest
+ * (outstanding requests + 1) x latency EWMA, so a replica that is busy or slow
+ * gets less traffic. Cancelled requests (timeout, lost hedge) count as a
+ * latency sample of at least the time they took, and failures as twice the
+ * current average, so a replica that fails fast does not attract traffic.
+ *
+ * Health is checked off the request path: every ai.health.interval-ms all
+ * replicas are probed on /health in parallel. A replica is ejected after
+ * ai.health.unhealthy-threshold consecutive failures, counting both probes and
+ * predictions (5xx or connection errors), and readmitted after
+ * ai.health.healthy-threshold consecutive successful probes. If every replica
+ * is ejected, requests are spread over all of them rather than refused.
+ *
+ * Metrics, tagged by replica: simstruct.ai.router.requests{outcome},
+ * simstruct.ai.router.ejections{reason=probe|requests},
+ * simstruct.ai.router.readmissions, simstruct.ai.router.outstanding,
+ * simstruct.ai.router.latency.ewma (ms) and simstruct.ai.router.healthy;
+ * plus simstruct.ai.router.panic when no replica was healthy.
+ */
+@Component
+@Slf4j
+public class AIReplicaRouter {
+
+    // Cost floor for replicas without latency samples yet
+    private static final double MIN_LATENCY_MS = 1.0;
+
+    private final List<Replica> replicas;
+    private final MeterRegistry meterRegistry;
+    private final double ewmaAlpha;
+    private final Duration probeTimeout;
+    private final int unhealthyThreshold;
+    private final int healthyThreshold;
+
+    public AIReplicaRouter(WebClient.Builder webClientBuilder,
+                           MeterRegistry meterRegistry,
+                           @Value("${ai.api.urls:${ai.api.url:http://localhost:8000}}") String urls,
+                           @Value("${ai.router.ewma-alpha:0.3}") double ewmaAlpha,
+                           @Value("${ai.health.timeout-ms:2000}") long probeTimeoutMs,
+                           @Value("${ai.health.unhealthy-threshold:3}") int unhealthyThreshold,
+                           @Value("${ai.health.healthy-threshold:2}") int healthyThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.ewmaAlpha = ewmaAlpha;
+        this.probeTimeout = Duration.ofMillis(probeTimeoutMs);
+        this.unhealthyThreshold = unhealthyThreshold;
+        this.healthyThreshold = healthyThreshold;
+        this.replicas = Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .map(url -> new Replica(url, webClientBuilder.clone().baseUrl(url).build()))
+                .toList();
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("ai.api.urls must list at least one AI replica");
+        }
+        for (Replica replica : replicas) {
+            Gauge.builder("simstruct.ai.router.outstanding", replica, r -> r.outstanding.get())
+                    .tag("replica", replica.url).register(meterRegistry);
+            Gauge.builder("simstruct.ai.router.latency.ewma", replica, r -> r.ewmaMs)
+                    .tag("replica", replica.url).register(meterRegistry);
+            Gauge.builder("simstruct.ai.router.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.url).register(meterRegistry);
+        }
+        log.info("AIReplicaRouter: Routing predictions over {} replica(s): {}", replicas.size(),
+                replicas.stream().map(r -> r.url).toList());
+    }
+
+    /**
+     * Prediction sent to the best replica on subscription, without timeout.
+     * Cancelling the subscription cancels the HTTP request.
+     */
+    public Mono<AIPredictionResponse> predictAsync(BuildingPredictionRequest request) {
+        return Mono.defer(() -> {
+            Replica replica = acquire();
+            long start = System.nanoTime();
+            return replica.client
+                    .post()
+                    .uri("/predict")
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(AIPredictionResponse.class)
+                    .doOnSuccess(response -> onSuccess(replica, System.nanoTime() - start))
+                    .doOnError(e -> onError(replica, System.nanoTime() - start, e))
+                    .doFinally(signal -> {
+                        replica.outstanding.decrementAndGet();
+                        if (signal == SignalType.CANCEL) {
+                            // Abandoned by the caller: at least this slow
+                            replica.recordLatency(System.nanoTime() - start, ewmaAlpha);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Probe every replica on /health, in parallel
+     */
+    @Scheduled(fixedDelayString = "${ai.health.interval-ms:5000}")
+    public void checkHealth() {
+        Flux.fromIterable(replicas)
+                .flatMap(replica -> probe(replica).doOnNext(ok -> onProbe(replica, ok)))
+                .then()
+                .block();
+    }
+
+    /**
+     * URLs of the replicas currently receiving traffic
+     */
+    public List<String> healthyReplicas() {
+        return replicas.stream().filter(r -> r.healthy).map(r -> r.url).toList();
+    }
+
+    /**
+     * Pick the cheapest healthy replica and count the request against it.
+     * Selection and increment happen together so concurrent requests spread out.
+     */
+    private synchronized Replica acquire() {
+        boolean panic = replicas.stream().noneMatch(r -> r.healthy);
+        if (panic) {
+            meterRegistry.counter("simstruct.ai.router.panic").increment();
+        }
+        Replica best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!panic && !replica.healthy) {
+                continue;
+            }
+            double cost = (replica.outstanding.get() + 1) * Math.max(replica.ewmaMs, MIN_LATENCY_MS);
+            if (cost < bestCost) {
+                best = replica;
+                bestCost = cost;
+            }
+        }
+        best.outstanding.incrementAndGet();
+        return best;
+    }
+
+    private Mono<Boolean> probe(Replica replica) {
+        return replica.client
+                .get()
+                .uri("/health")
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(body -> "healthy".equals(body.get("status")))
+                .timeout(probeTimeout)
+                .onErrorResume(e -> {
+                    log.debug("AIReplicaRouter: Health probe of {} failed - {}", replica.url, e.getMessage());
+                    return Mono.just(false);
+                })
+                .defaultIfEmpty(false);
+    }
+
+    private void onProbe(Replica replica, boolean ok) {
+        synchronized (replica) {
+            if (ok) {
+                replica.failures = 0;
+                if (!replica.healthy && ++replica.successes >= healthyThreshold) {
+                    replica.healthy = true;
+                    replica.successes = 0;
+                    meterRegistry.counter("simstruct.ai.router.readmissions", "replica", replica.url).increment();
+                    log.info("AIReplicaRouter: Replica {} readmitted", replica.url);
+                }
+            } else {
+                replica.successes = 0;
+                recordFailure(replica, "probe");
+            }
+        }
+    }
+
+    private void onSuccess(Replica replica, long latencyNanos) {
+        replica.recordLatency(latencyNanos, ewmaAlpha);
+        synchronized (replica) {
+            if (replica.healthy) {
+                replica.failures = 0;
+            }
+        }
+        count(replica, "success");
+    }
+
+    private void onError(Replica replica, long latencyNanos, Throwable e) {
+        // A 4xx is the request's fault, not the replica's
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            replica.recordLatency(latencyNanos, ewmaAlpha);
+            count(replica, "rejected");
+            return;
+        }
+        // Errors come back fast: without a penalty a failing replica would look like the best one
+        replica.recordLatency(Math.max(latencyNanos, 2 * (long) (replica.ewmaMs * TimeUnit.MILLISECONDS.toNanos(1))),
+                ewmaAlpha);
+        count(replica, "failure");
+        synchronized (replica) {
+            recordFailure(replica, "requests");
+        }
+    }
+
+    // Caller holds the replica's lock
+    private void recordFailure(Replica replica, String reason) {
+        if (replica.healthy && ++replica.failures >= unhealthyThreshold) {
+            replica.healthy = false;
+            replica.failures = 0;
+            meterRegistry.counter("simstruct.ai.router.ejections", "replica", replica.url, "reason", reason).increment();
+            log.warn("AIReplicaRouter: Replica {} ejected after {} consecutive {} failures",
+                    replica.url, unhealthyThreshold, reason);
+        }
+    }
+
+    private void count(Replica replica, String outcome) {
+        meterRegistry.counter("simstruct.ai.router.requests", "replica", replica.url, "outcome", outcome).increment();
+    }
+
+    /**
+     * One AI API instance and what the router knows about it
+     */
+    private static final class Replica {
+        private final String url;
+        private final WebClient client;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile double ewmaMs;
+        private volatile boolean healthy = true;
+        // Guarded by this
+        private int failures;
+        private int successes;
+
+        Replica(String url, WebClient client) {
+            this.url = url;
+            this.client = client;
+        }
+
+        synchronized void recordLatency(long nanos, double alpha) {
+            double ms = nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            ewmaMs = ewmaMs == 0 ? ms : ewmaMs + alpha * (ms - ewmaMs);
+        }
+    }
+}
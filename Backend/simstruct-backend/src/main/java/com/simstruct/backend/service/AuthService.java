@@ -2,9 +2,11 @@ package com.simstruct.backend.service;
 
 import com.simstruct.backend.dto.*;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.UserChangedEvent;
 import com.simstruct.backend.repository.UserRepository;
 import com.simstruct.backend.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +21,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Register a new user
@@ -43,6 +46,7 @@ public class AuthService {
         // Save user
         user = userRepository.save(user);
         System.out.println("AuthService: User created with ID - " + user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), UserChangedEvent.Change.CREATED));
 
         // Send welcome notification
         try {
@@ -5,10 +5,12 @@ import com.simstruct.backend.dto.ConversationDTO;
 import com.simstruct.backend.entity.ChatMessage;
 import com.simstruct.backend.entity.Simulation;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.EngagementEvent;
 import com.simstruct.backend.repository.ChatMessageRepository;
 import com.simstruct.backend.repository.SimulationRepository;
 import com.simstruct.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class ChatService {
     private final UserRepository userRepository;
     private final SimulationRepository simulationRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Send a message (without simulation)
@@ -59,6 +62,9 @@ public class ChatService {
                 .build();
         
         message = chatMessageRepository.save(message);
+        if (simulation != null) {
+            eventPublisher.publishEvent(new EngagementEvent(simulation.getId(), EngagementEvent.Kind.CHAT_REFERENCE));
+        }
         
         // Send notification to recipient
         try {
@@ -0,0 +1,115 @@
+package com.simstruct.backend.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker that treats slow calls like failures.
+ *
+ * CLOSED: calls go through; the outcome of the last N calls is kept, and once
+ * the window is full the breaker opens if the share of failed or slow calls
+ * reaches the threshold.
+ * OPEN: calls are rejected until the open duration has passed.
+ * HALF_OPEN: a few probe calls go through; if they all succeed in time the
+ * breaker closes, otherwise it opens again.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int window;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int bad;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public CircuitBreaker(int window, double failureRateThreshold, long slowCallNanos,
+                          long openNanos, int halfOpenProbes, LongSupplier clock) {
+        this.window = window;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+        this.outcomes = new boolean[window];
+    }
+
+    /**
+     * Whether a call may start now
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> probesStarted++ < halfOpenProbes;
+        };
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        record(latencyNanos >= slowCallNanos);
+    }
+
+    public synchronized void onFailure() {
+        record(true);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failedOrSlow) {
+        switch (state) {
+            // Late outcome of a call started before the breaker opened
+            case OPEN -> { }
+            case HALF_OPEN -> {
+                if (failedOrSlow) {
+                    open();
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                if (recorded == window) {
+                    bad -= outcomes[next] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                outcomes[next] = failedOrSlow;
+                bad += failedOrSlow ? 1 : 0;
+                next = (next + 1) % window;
+                if (recorded == window && bad >= failureRateThreshold * window) {
+                    open();
+                }
+            }
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        bad = 0;
+    }
+}
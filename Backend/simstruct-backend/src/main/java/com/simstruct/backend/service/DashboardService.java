@@ -0,0 +1,163 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.DashboardDTO;
+import com.simstruct.backend.repository.SimulationRepository;
+import com.simstruct.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Service building the dashboard in one call.
+ *
+ * The dashboard is three independent reads: the simulation counters (one
+ * aggregate query), the recent simulations, and the social counters (one query
+ * of scalar subqueries). They run at once on the application task executor and
+ * share a single deadline, so a request holds at most three pooled connections.
+ * Simulation statistics are required; the social counters are optional and come
+ * back as null (and are listed in "unavailable") if their query fails or misses
+ * the deadline. No section outlives the request: whatever is still running when
+ * the dashboard is returned is cancelled.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    private static final List<String> SOCIAL_SECTIONS = List.of(
+            "unreadNotifications", "unreadMessages", "friendsCount", "sharedByMe", "sharedWithMe");
+
+    private final SimulationRepository simulationRepository;
+    private final UserRepository userRepository;
+    private final AsyncTaskExecutor executor;
+    private final long deadlineMs;
+
+    public DashboardService(SimulationRepository simulationRepository,
+                            UserRepository userRepository,
+                            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                            @Value("${dashboard.deadline-ms:2000}") long deadlineMs) {
+        this.simulationRepository = simulationRepository;
+        this.userRepository = userRepository;
+        this.executor = executor;
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * Load the dashboard of a user
+     */
+    public DashboardDTO getDashboard(String userId) {
+        Scope scope = new Scope(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs));
+        try {
+            // Required sections
+            Future<SimulationRepository.StatusCounts> statuses =
+                    scope.fork(() -> simulationRepository.countStatusesByUserId(userId));
+            Future<List<DashboardDTO.RecentSimulation>> recent = scope.fork(() -> recentSimulations(userId));
+
+            // Optional sections
+            Future<UserRepository.SocialCounts> social = scope.fork(() ->
+                    userRepository.countSocialByUserId(userId).orElseThrow());
+
+            SimulationRepository.StatusCounts counts = scope.required("simulationStatistics", statuses);
+            DashboardDTO dashboard = DashboardDTO.builder()
+                    .totalSimulations(counts.getTotal())
+                    .completedSimulations(counts.getCompleted())
+                    .failedSimulations(counts.getFailed())
+                    .recentSimulations(scope.required("recentSimulations", recent))
+                    .build();
+            UserRepository.SocialCounts socialCounts = scope.optional(SOCIAL_SECTIONS, social, dashboard);
+            if (socialCounts != null) {
+                dashboard.setUnreadNotifications(socialCounts.getUnreadNotifications());
+                dashboard.setUnreadMessages(socialCounts.getUnreadMessages());
+                dashboard.setFriendsCount(socialCounts.getFriends());
+                dashboard.setSharedByMe(socialCounts.getSharedByMe());
+                dashboard.setSharedWithMe(socialCounts.getSharedWithMe());
+            }
+
+            if (!dashboard.getUnavailable().isEmpty()) {
+                log.warn("DashboardService: Partial dashboard for user {} - missing {}", userId, dashboard.getUnavailable());
+            }
+            return dashboard;
+        } finally {
+            scope.close();
+        }
+    }
+
+    private List<DashboardDTO.RecentSimulation> recentSimulations(String userId) {
+        return simulationRepository.findTop5ByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(s -> DashboardDTO.RecentSimulation.builder()
+                        .id(s.getId())
+                        .name(s.getName())
+                        .status(s.getStatus())
+                        .safetyFactor(s.getResults() != null ? s.getResults().getSafetyFactor() : null)
+                        .isSafe(s.getResults() != null ? s.getResults().getIsSafe() : null)
+                        .createdAt(s.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Group of concurrent reads sharing one deadline; closing it cancels any read still running
+     */
+    private final class Scope {
+        private final long deadlineNanos;
+        private final List<Future<?>> forks = new ArrayList<>();
+
+        Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        <T> Future<T> fork(Callable<T> task) {
+            Future<T> future = executor.submit(task);
+            forks.add(future);
+            return future;
+        }
+
+        <T> T required(String name, Future<T> future) {
+            try {
+                return await(future);
+            } catch (Exception e) {
+                restoreInterrupt(e);
+                throw new RuntimeException("Dashboard unavailable: " + name + " could not be loaded", e);
+            }
+        }
+
+        <T> T optional(List<String> names, Future<T> future, DashboardDTO dashboard) {
+            try {
+                return await(future);
+            } catch (Exception e) {
+                restoreInterrupt(e);
+                log.debug("DashboardService: {} unavailable - {}", names, e.toString());
+                dashboard.getUnavailable().addAll(names);
+                return null;
+            }
+        }
+
+        private <T> T await(Future<T> future) throws InterruptedException, ExecutionException, TimeoutException {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0 && !future.isDone()) {
+                throw new TimeoutException("Deadline reached");
+            }
+            return future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        }
+
+        private void restoreInterrupt(Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void close() {
+            forks.forEach(future -> future.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.simstruct.backend.service;
+
+/**
+ * Fully connected layer over a batch: out = in x weightT + bias, optionally
+ * followed by ReLU. Matrices are row-major float arrays; weightT is the layer
+ * weight transposed (inputs x outputs), so each input scales a contiguous row.
+ */
+interface DenseKernel {
+
+    void dense(float[] in, int rows, int inputs, float[] weightT, float[] bias, int outputs,
+               boolean relu, float[] out);
+
+    String name();
+
+    /**
+     * The Vector API kernel when the jdk.incubator.vector module is present
+     * (--add-modules jdk.incubator.vector), the scalar one otherwise
+     */
+    static DenseKernel create(boolean vectorEnabled) {
+        if (vectorEnabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return new VectorDenseKernel();
+        }
+        return new ScalarDenseKernel();
+    }
+}
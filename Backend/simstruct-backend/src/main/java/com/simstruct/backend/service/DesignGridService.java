@@ -0,0 +1,226 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.GridRequest;
+import com.simstruct.backend.entity.BuildingParameters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Design-space exploration: evaluates the in-JVM model (SurrogateModel) over a
+ * grid of buildings, e.g. stabilityIndex across numFloors x columnSection.
+ *
+ * Each axis varies one of the 11 inputs over evenly spaced values; the other
+ * inputs come from the base building. Integer inputs (numBeams, numColumns)
+ * are rounded. Grids are limited to ai.grid.max-points points.
+ *
+ * Results are written as little-endian float32, shape axis1 x ... x axisN x
+ * outputs: the last axis varies fastest and the outputs of a point are
+ * contiguous. Points are evaluated and written in batches of BATCH_SIZE.
+ *
+ * Metrics: simstruct.ai.grid.points and simstruct.ai.grid.duration.
+ */
+@Service
+@Slf4j
+public class DesignGridService {
+
+    static final int BATCH_SIZE = 1024;
+    // numBeams and numColumns
+    private static final Set<Integer> INTEGER_INPUTS = Set.of(2, 3);
+
+    private final SurrogateModel model;
+    private final long maxPoints;
+    private final Counter points;
+    private final Timer duration;
+
+    public DesignGridService(SurrogateModel model,
+                             MeterRegistry meterRegistry,
+                             @Value("${ai.grid.max-points:1000000}") long maxPoints) {
+        this.model = model;
+        this.maxPoints = maxPoints;
+        this.points = Counter.builder("simstruct.ai.grid.points").register(meterRegistry);
+        this.duration = Timer.builder("simstruct.ai.grid.duration").register(meterRegistry);
+    }
+
+    /**
+     * A validated grid, ready to be written
+     */
+    public static final class Grid {
+        private final float[] base;
+        private final int[] axisInputs;
+        private final float[][] axisValues;
+        private final int[] outputs;
+        private final long points;
+        private final List<String> axisNames;
+        private final List<String> outputNames;
+
+        private Grid(float[] base, int[] axisInputs, float[][] axisValues, int[] outputs, long points,
+                     List<String> axisNames, List<String> outputNames) {
+            this.base = base;
+            this.axisInputs = axisInputs;
+            this.axisValues = axisValues;
+            this.outputs = outputs;
+            this.points = points;
+            this.axisNames = axisNames;
+            this.outputNames = outputNames;
+        }
+
+        /**
+         * Steps of each axis, then the number of outputs
+         */
+        public int[] shape() {
+            int[] shape = new int[axisValues.length + 1];
+            for (int a = 0; a < axisValues.length; a++) {
+                shape[a] = axisValues[a].length;
+            }
+            shape[axisValues.length] = outputs.length;
+            return shape;
+        }
+
+        public long points() {
+            return points;
+        }
+
+        public long byteLength() {
+            return points * outputs.length * Float.BYTES;
+        }
+
+        public List<String> axisNames() {
+            return axisNames;
+        }
+
+        public List<String> outputNames() {
+            return outputNames;
+        }
+    }
+
+    /**
+     * Check a request against the model inputs, validation ranges and ai.grid.max-points
+     */
+    public Grid prepare(GridRequest request) {
+        List<String> inputs = model.inputNames();
+        Double[] baseValues = BuildingParameters.from(request.getBase()).values();
+        float[] base = new float[inputs.size()];
+        for (int i = 0; i < base.length; i++) {
+            base[i] = baseValues[i].floatValue();
+        }
+
+        List<GridRequest.Axis> axes = request.getAxes();
+        int[] axisInputs = new int[axes.size()];
+        float[][] axisValues = new float[axes.size()][];
+        List<String> axisNames = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        long count = 1;
+        for (int a = 0; a < axes.size(); a++) {
+            GridRequest.Axis axis = axes.get(a);
+            int input = inputs.indexOf(axis.getParameter());
+            if (input < 0) {
+                throw new InvalidGridException("Unknown parameter: " + axis.getParameter());
+            }
+            if (!seen.add(input)) {
+                throw new InvalidGridException("Parameter used by two axes: " + axis.getParameter());
+            }
+            if (axis.getMin() > axis.getMax()) {
+                throw new InvalidGridException("Axis " + axis.getParameter() + ": min is greater than max");
+            }
+            if (axis.getMin() < BuildingParameters.min(input) || axis.getMax() > BuildingParameters.max(input)) {
+                throw new InvalidGridException("Axis " + axis.getParameter() + " must stay within ["
+                        + BuildingParameters.min(input) + ", " + BuildingParameters.max(input) + "]");
+            }
+            count *= axis.getSteps();
+            if (count > maxPoints) {
+                throw new InvalidGridException("Grid cannot exceed " + maxPoints + " points");
+            }
+            axisInputs[a] = input;
+            axisValues[a] = values(axis, INTEGER_INPUTS.contains(input));
+            axisNames.add(axis.getParameter());
+        }
+
+        List<String> outputNames = request.getOutputs() == null || request.getOutputs().isEmpty()
+                ? model.outputNames()
+                : List.copyOf(request.getOutputs());
+        int[] outputs = new int[outputNames.size()];
+        for (int o = 0; o < outputs.length; o++) {
+            outputs[o] = model.outputNames().indexOf(outputNames.get(o));
+            if (outputs[o] < 0) {
+                throw new InvalidGridException("Unknown output: " + outputNames.get(o));
+            }
+        }
+        return new Grid(base, axisInputs, axisValues, outputs, count, List.copyOf(axisNames), outputNames);
+    }
+
+    /**
+     * Evaluate the grid and write it to out, one batch at a time
+     */
+    public void write(Grid grid, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        int inputCount = grid.base.length;
+        int modelOutputs = model.outputNames().size();
+        int batch = (int) Math.min(BATCH_SIZE, grid.points);
+        float[] inputs = new float[batch * inputCount];
+        float[] predictions = new float[batch * modelOutputs];
+        ByteBuffer bytes = ByteBuffer.allocate(batch * grid.outputs.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (long first = 0; first < grid.points; first += batch) {
+            int rows = (int) Math.min(batch, grid.points - first);
+            for (int r = 0; r < rows; r++) {
+                fillRow(grid, first + r, inputs, r * inputCount);
+            }
+            model.predict(inputs, rows, predictions);
+
+            bytes.clear();
+            for (int r = 0; r < rows; r++) {
+                for (int output : grid.outputs) {
+                    bytes.putFloat(predictions[r * modelOutputs + output]);
+                }
+            }
+            out.write(bytes.array(), 0, bytes.position());
+            points.increment(rows);
+        }
+        out.flush();
+        duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("DesignGridService: {} points written", grid.points);
+    }
+
+    /**
+     * Inputs of a point: the base building, with the axis values of its index (last axis fastest)
+     */
+    private static void fillRow(Grid grid, long point, float[] inputs, int offset) {
+        System.arraycopy(grid.base, 0, inputs, offset, grid.base.length);
+        long rest = point;
+        for (int a = grid.axisValues.length - 1; a >= 0; a--) {
+            float[] values = grid.axisValues[a];
+            inputs[offset + grid.axisInputs[a]] = values[(int) (rest % values.length)];
+            rest /= values.length;
+        }
+    }
+
+    private static float[] values(GridRequest.Axis axis, boolean integer) {
+        float[] values = new float[axis.getSteps()];
+        double step = axis.getSteps() > 1 ? (axis.getMax() - axis.getMin()) / (axis.getSteps() - 1) : 0;
+        for (int i = 0; i < values.length; i++) {
+            double value = i == values.length - 1 && values.length > 1 ? axis.getMax() : axis.getMin() + i * step;
+            values[i] = (float) (integer ? Math.round(value) : value);
+        }
+        return values;
+    }
+
+    public static class InvalidGridException extends RuntimeException {
+        public InvalidGridException(String message) {
+            super(message);
+        }
+    }
+}
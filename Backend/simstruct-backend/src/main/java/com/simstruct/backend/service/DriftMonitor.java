@@ -0,0 +1,367 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.DriftReportDTO;
+import com.simstruct.backend.entity.BuildingParameters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Drift monitor: compares the AI inputs and predictions seen in production
+ * with the training set (Model_AI/data/fem_simulations.csv).
+ *
+ * The reference (ai.drift.reference, from Model_AI/src/export_distribution.py)
+ * gives, for each of the 11 inputs and 4 outputs, the training percentiles as
+ * bin edges and the share of training samples in each bin, plus two empty
+ * bins below the minimum and above the maximum. Each observed value adds one
+ * to its bin, so memory is fixed whatever the traffic: a histogram on the
+ * training percentiles, which also serves as a quantile sketch.
+ *
+ * Counts go to one of ai.drift.stripes arrays picked by thread, with atomic
+ * increments and no lock. Every ai.drift.merge-ms the stripes are drained into
+ * the merged histogram, whose older counts are halved every
+ * ai.drift.half-life-minutes so the report follows current traffic.
+ *
+ * Per feature the report gives the PSI (bins grouped into about 10% of the
+ * training mass each; below 0.1 STABLE, 0.1 to 0.25 SHIFT, above DRIFT), the
+ * Kolmogorov-Smirnov statistic at the bin edges with its 5% critical value,
+ * the share outside the training range and production vs training quantiles.
+ *
+ * Metrics: simstruct.ai.drift.psi{feature}, simstruct.ai.drift.ks{feature} and
+ * simstruct.ai.drift.requests{range=inside|outside}.
+ */
+@Component
+@Slf4j
+public class DriftMonitor {
+
+    private static final double PSI_SHIFT = 0.1;
+    private static final double PSI_DRIFT = 0.25;
+    private static final double PSI_GROUP_MASS = 0.1;
+    // Share given to empty bins, so that PSI stays finite
+    private static final double PSI_EPSILON = 1e-4;
+    private static final double KS_ALPHA_5 = 1.358;
+    private static final double[] QUANTILES = {0.05, 0.5, 0.95};
+    private static final String[] QUANTILE_NAMES = {"p05", "p50", "p95"};
+
+    private final String reference;
+    private final int referenceSamples;
+    private final List<Feature> features = new ArrayList<>();
+    private final int slots;
+    private final AtomicLongArray[] stripes;
+    private final double halfLifeMinutes;
+    private final double halfLifeNanos;
+    private final long minSamples;
+    private final Counter insideRange;
+    private final Counter outsideRange;
+
+    // Guarded by this
+    private final double[] merged;
+    private long lastMerge = System.nanoTime();
+
+    public DriftMonitor(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${ai.drift.reference:classpath:ai/training_distribution.json}") Resource referenceFile,
+                        @Value("${ai.drift.stripes:0}") int stripes,
+                        @Value("${ai.drift.half-life-minutes:60}") double halfLifeMinutes,
+                        @Value("${ai.drift.min-samples:100}") long minSamples) {
+        JsonNode json;
+        try (InputStream in = referenceFile.getInputStream()) {
+            json = objectMapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("DriftMonitor: cannot read " + referenceFile, e);
+        }
+        this.reference = json.path("source").asText();
+        this.referenceSamples = json.path("num_samples").asInt();
+        int offset = 0;
+        for (JsonNode node : json.path("features")) {
+            Feature feature = new Feature(node.path("name").asText(), node.path("kind").asText(), offset,
+                    doubles(node.path("edges")), doubles(node.path("fractions")));
+            features.add(feature);
+            offset += feature.bins();
+        }
+        this.slots = offset;
+        log.info("DriftMonitor: {} features compared with {} ({} samples)", features.size(), reference, referenceSamples);
+
+        int count = stripes > 0 ? stripes : 2 * Runtime.getRuntime().availableProcessors();
+        this.stripes = new AtomicLongArray[count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new AtomicLongArray(slots);
+        }
+        this.merged = new double[slots];
+        this.halfLifeMinutes = halfLifeMinutes;
+        this.halfLifeNanos = halfLifeMinutes * TimeUnit.MINUTES.toNanos(1);
+        this.minSamples = minSamples;
+
+        this.insideRange = Counter.builder("simstruct.ai.drift.requests").tag("range", "inside").register(meterRegistry);
+        this.outsideRange = Counter.builder("simstruct.ai.drift.requests").tag("range", "outside").register(meterRegistry);
+        for (Feature feature : features) {
+            Gauge.builder("simstruct.ai.drift.psi", this, monitor -> monitor.psi(feature, monitor.snapshot(feature)))
+                    .tag("feature", feature.name).register(meterRegistry);
+            Gauge.builder("simstruct.ai.drift.ks", this, monitor -> monitor.ks(feature, monitor.snapshot(feature)))
+                    .tag("feature", feature.name).register(meterRegistry);
+        }
+    }
+
+    /**
+     * A model input or output: training percentiles and the share of training samples per bin.
+     * Bins: ]-inf, e0[, [e0, e1[, ..., [en-1, en], ]en, +inf[
+     */
+    private static final class Feature {
+        final String name;
+        final String kind;
+        final int offset;
+        final double[] edges;
+        final double[] fractions;
+        // PSI group of each bin, and training share of each group
+        final int[] groups;
+        final double[] groupFractions;
+
+        Feature(String name, String kind, int offset, double[] edges, double[] fractions) {
+            this.name = name;
+            this.kind = kind;
+            this.offset = offset;
+            this.edges = edges;
+            this.fractions = fractions;
+            this.groups = new int[fractions.length];
+
+            // Interior bins grouped up to PSI_GROUP_MASS each; the two outer bins stay alone
+            int group = 1;
+            double mass = 0;
+            for (int b = 1; b < fractions.length - 1; b++) {
+                if (mass >= PSI_GROUP_MASS) {
+                    group++;
+                    mass = 0;
+                }
+                groups[b] = group;
+                mass += fractions[b];
+            }
+            if (mass < PSI_GROUP_MASS && group > 1) {
+                // Too small a last group: fold it into the previous one
+                for (int b = 1; b < fractions.length - 1; b++) {
+                    if (groups[b] == group) {
+                        groups[b] = group - 1;
+                    }
+                }
+                group--;
+            }
+            groups[fractions.length - 1] = group + 1;
+            this.groupFractions = new double[group + 2];
+            for (int b = 0; b < fractions.length; b++) {
+                groupFractions[groups[b]] += fractions[b];
+            }
+        }
+
+        int bins() {
+            return edges.length + 1;
+        }
+
+        int bin(double value) {
+            if (value == edges[edges.length - 1] && edges.length > 1) {
+                return edges.length - 1;
+            }
+            int index = Arrays.binarySearch(edges, value);
+            // An edge opens its bin; otherwise the insertion point is the bin
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+    }
+
+    /**
+     * Count a prediction: its 11 inputs and, when there is one, its 4 outputs
+     */
+    public void record(BuildingPredictionRequest request, AIPredictionResponse response) {
+        AtomicLongArray stripe = stripes[stripe()];
+        Double[] inputs = BuildingParameters.from(request).values();
+        boolean outside = false;
+        int f = 0;
+        for (Double value : inputs) {
+            Feature feature = features.get(f++);
+            if (value != null) {
+                int bin = feature.bin(value);
+                outside |= bin == 0 || bin == feature.bins() - 1;
+                stripe.getAndIncrement(feature.offset + bin);
+            }
+        }
+        (outside ? outsideRange : insideRange).increment();
+        if (response != null) {
+            Double[] outputs = {response.getMaxDeflection(), response.getMaxStress(),
+                    response.getStabilityIndex(), response.getSeismicResistance()};
+            for (Double value : outputs) {
+                Feature feature = features.get(f++);
+                if (value != null) {
+                    stripe.getAndIncrement(feature.offset + feature.bin(value));
+                }
+            }
+        }
+    }
+
+    private int stripe() {
+        // Spread consecutive thread ids over the stripes
+        return (int) (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) & (stripes.length - 1);
+    }
+
+    /**
+     * Drain the stripes into the merged histogram, decaying what was there
+     */
+    @Scheduled(fixedDelayString = "${ai.drift.merge-ms:10000}")
+    public synchronized void merge() {
+        long now = System.nanoTime();
+        double decay = halfLifeNanos > 0 ? Math.pow(0.5, (now - lastMerge) / halfLifeNanos) : 1;
+        lastMerge = now;
+        for (int i = 0; i < slots; i++) {
+            long added = 0;
+            for (AtomicLongArray stripe : stripes) {
+                if (stripe.get(i) != 0) {
+                    added += stripe.getAndSet(i, 0);
+                }
+            }
+            merged[i] = merged[i] * decay + added;
+        }
+    }
+
+    /**
+     * Compare current traffic with the training set
+     */
+    public DriftReportDTO report() {
+        merge();
+        List<DriftReportDTO.FeatureDrift> drifts = new ArrayList<>();
+        boolean inputsDrifted = false;
+        boolean outputsDrifted = false;
+        for (Feature feature : features) {
+            double[] counts = snapshot(feature);
+            double total = Arrays.stream(counts).sum();
+            double psi = psi(feature, counts);
+            String status = total < minSamples ? "INSUFFICIENT_DATA"
+                    : psi >= PSI_DRIFT ? "DRIFT"
+                    : psi >= PSI_SHIFT ? "SHIFT"
+                    : "STABLE";
+            if ("DRIFT".equals(status)) {
+                if ("input".equals(feature.kind)) {
+                    inputsDrifted = true;
+                } else {
+                    outputsDrifted = true;
+                }
+            }
+            drifts.add(DriftReportDTO.FeatureDrift.builder()
+                    .name(feature.name)
+                    .kind(feature.kind)
+                    .count(total)
+                    .psi(psi)
+                    .ks(ks(feature, counts))
+                    .ksCritical(total > 0 ? KS_ALPHA_5 * Math.sqrt((total + referenceSamples) / (total * referenceSamples)) : 1)
+                    .belowTraining(total > 0 ? counts[0] / total : 0)
+                    .aboveTraining(total > 0 ? counts[counts.length - 1] / total : 0)
+                    .status(status)
+                    .quantiles(total > 0 ? quantiles(feature, counts) : Map.of())
+                    .trainingQuantiles(quantiles(feature, feature.fractions))
+                    .build());
+        }
+        return DriftReportDTO.builder()
+                .reference(reference)
+                .halfLifeMinutes(halfLifeMinutes)
+                .inputsDrifted(inputsDrifted)
+                .outputsDrifted(outputsDrifted)
+                .features(drifts)
+                .build();
+    }
+
+    private synchronized double[] snapshot(Feature feature) {
+        return Arrays.copyOfRange(merged, feature.offset, feature.offset + feature.bins());
+    }
+
+    /**
+     * Population stability index over the feature's bin groups
+     */
+    private double psi(Feature feature, double[] counts) {
+        double total = Arrays.stream(counts).sum();
+        if (total <= 0) {
+            return 0;
+        }
+        double[] actual = new double[feature.groupFractions.length];
+        for (int b = 0; b < counts.length; b++) {
+            actual[feature.groups[b]] += counts[b] / total;
+        }
+        double psi = 0;
+        for (int g = 0; g < actual.length; g++) {
+            double a = Math.max(actual[g], PSI_EPSILON);
+            double e = Math.max(feature.groupFractions[g], PSI_EPSILON);
+            psi += (a - e) * Math.log(a / e);
+        }
+        return psi;
+    }
+
+    /**
+     * Largest gap between the production and training cumulative shares, at the bin edges
+     */
+    private double ks(Feature feature, double[] counts) {
+        double total = Arrays.stream(counts).sum();
+        if (total <= 0) {
+            return 0;
+        }
+        double live = 0;
+        double training = 0;
+        double ks = 0;
+        for (int b = 0; b < counts.length - 1; b++) {
+            live += counts[b] / total;
+            training += feature.fractions[b];
+            ks = Math.max(ks, Math.abs(live - training));
+        }
+        return ks;
+    }
+
+    /**
+     * Quantiles from bin weights, linear within a bin; outer bins report the training bound
+     */
+    private static Map<String, Double> quantiles(Feature feature, double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        Map<String, Double> quantiles = new LinkedHashMap<>();
+        for (int q = 0; q < QUANTILES.length; q++) {
+            double target = QUANTILES[q] * total;
+            double cumulative = 0;
+            int b = 0;
+            while (b < weights.length - 1 && cumulative + weights[b] < target) {
+                cumulative += weights[b++];
+            }
+            double value;
+            if (b == 0) {
+                value = feature.edges[0];
+            } else if (b == weights.length - 1) {
+                value = feature.edges[feature.edges.length - 1];
+            } else {
+                double low = feature.edges[b - 1];
+                double high = feature.edges[b];
+                double within = weights[b] > 0 ? (target - cumulative) / weights[b] : 0;
+                value = low + (high - low) * within;
+            }
+            quantiles.put(QUANTILE_NAMES[q], value);
+        }
+        return quantiles;
+    }
+
+    private static double[] doubles(JsonNode array) {
+        double[] values = new double[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).asDouble();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,171 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.analysis.BuildingFrame;
+import com.simstruct.backend.analysis.FrameModel;
+import com.simstruct.backend.analysis.FrameSolver;
+import com.simstruct.backend.analysis.LoadCombination;
+import com.simstruct.backend.analysis.ModalAnalysis;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.FrameAnalysisResponse;
+import com.simstruct.backend.dto.ModalAnalysisResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plane frame analysis of the building inputs (analysis.BuildingFrame), the
+ * physics counterpart of the AI prediction.
+ *
+ * Modal analysis of the same frame gives its natural frequencies, also used
+ * as the natural frequency of AI simulations, and its envelope over a table
+ * of load combinations gives the governing combination of every simulation;
+ * a simulation assembles and factors its frame once (frame) for both.
+ *
+ * Metrics: simstruct.analysis.frame.duration, simstruct.analysis.modal.duration,
+ * simstruct.analysis.envelope.duration.
+ */
+@Service
+@Slf4j
+public class FrameAnalysisService {
+
+    private final Timer duration;
+    private final Timer modalDuration;
+    private final Timer envelopeDuration;
+    private final int maxModes;
+    private final int maxShapePoints;
+
+    public FrameAnalysisService(MeterRegistry meterRegistry,
+                                @Value("${analysis.modal.max-modes:30}") int maxModes,
+                                @Value("${analysis.modal.max-shape-points:51}") int maxShapePoints) {
+        this.duration = Timer.builder("simstruct.analysis.frame.duration").register(meterRegistry);
+        this.modalDuration = Timer.builder("simstruct.analysis.modal.duration").register(meterRegistry);
+        this.envelopeDuration = Timer.builder("simstruct.analysis.envelope.duration").register(meterRegistry);
+        this.maxModes = maxModes;
+        this.maxShapePoints = maxShapePoints;
+    }
+
+    public FrameAnalysisResponse analyze(BuildingPredictionRequest building) {
+        long start = System.nanoTime();
+        BuildingFrame.Result result = BuildingFrame.analyze(building);
+        long elapsed = System.nanoTime() - start;
+        duration.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("FrameAnalysisService: {} storeys x {} bays, {} equations in {} ms",
+                result.storeys(), result.bays(), result.equations(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+        return FrameAnalysisResponse.builder()
+                .maxDeflection(round(result.maxDeflection()))
+                .maxStress(round(result.maxStress()))
+                .stabilityIndex(round(result.stabilityIndex()))
+                .maxDrift(round(result.maxDrift()))
+                .maxInterstoreyDrift(result.maxInterstoreyDrift())
+                .maxBeamDeflection(round(result.maxBeamDeflection()))
+                .storeys(result.storeys())
+                .bays(result.bays())
+                .equations(result.equations())
+                .solveTimeMs(elapsed / 1e6)
+                .status("success")
+                .build();
+    }
+
+    /**
+     * Lowest natural modes of the frame, with mode shapes at up to shapePoints levels
+     *
+     * @throws IllegalArgumentException if modes or shapePoints is out of range
+     */
+    public ModalAnalysisResponse modal(BuildingPredictionRequest building, int modes, int shapePoints) {
+        if (modes < 1 || modes > maxModes) {
+            throw new IllegalArgumentException("modes must be between 1 and " + maxModes);
+        }
+        if (shapePoints < 2 || shapePoints > maxShapePoints) {
+            throw new IllegalArgumentException("shapePoints must be between 2 and " + maxShapePoints);
+        }
+        long start = System.nanoTime();
+        ModalAnalysis.Result result = BuildingFrame.modes(building, modes);
+        long elapsed = System.nanoTime() - start;
+        modalDuration.record(elapsed, TimeUnit.NANOSECONDS);
+
+        int storeys = BuildingFrame.storeys(building);
+        int bays = BuildingFrame.bays(building);
+        int[] levels = BuildingFrame.levels(storeys, shapePoints);
+        List<ModalAnalysisResponse.Mode> modeList = new ArrayList<>();
+        double participation = 0;
+        for (int i = 0; i < result.modes().size(); i++) {
+            ModalAnalysis.Mode mode = result.modes().get(i);
+            participation += mode.massParticipation();
+            modeList.add(ModalAnalysisResponse.Mode.builder()
+                    .number(i + 1)
+                    .frequency(round(mode.frequency(), 1000))
+                    .period(round(mode.period(), 1000))
+                    .massParticipation(round(mode.massParticipation(), 1000))
+                    .shape(Arrays.stream(BuildingFrame.lateralShape(bays, levels, mode))
+                            .mapToObj(value -> round(value, 1000)).toList())
+                    .build());
+        }
+        log.debug("FrameAnalysisService: {} modes of {} equations in {} Lanczos steps, {} ms",
+                modeList.size(), result.equations(), result.steps(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+        return ModalAnalysisResponse.builder()
+                .levelHeights(Arrays.stream(levels).mapToObj(level -> round(level * building.getFloorHeight())).toList())
+                .modes(modeList)
+                .cumulativeMassParticipation(round(participation, 1000))
+                .storeys(storeys)
+                .bays(bays)
+                .equations(result.equations())
+                .lanczosSteps(result.steps())
+                .solveTimeMs(elapsed / 1e6)
+                .status("success")
+                .build();
+    }
+
+    /**
+     * Frame of a building with its factored stiffness, shared by the analyses of a simulation
+     */
+    public record Frame(FrameModel model, FrameSolver solver) {
+    }
+
+    public Frame frame(BuildingPredictionRequest building) {
+        FrameModel model = BuildingFrame.model(building);
+        return new Frame(model, new FrameSolver(model));
+    }
+
+    /**
+     * Envelope of the frame over a load combination table (LoadCombination.table)
+     *
+     * @throws IllegalArgumentException if the table does not parse
+     */
+    public BuildingFrame.CombinationResult combinations(Frame frame, String table) {
+        List<LoadCombination> combinations = LoadCombination.table(table);
+        long start = System.nanoTime();
+        BuildingFrame.CombinationResult result = BuildingFrame.combinations(frame.model(), frame.solver(), combinations);
+        long elapsed = System.nanoTime() - start;
+        envelopeDuration.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("FrameAnalysisService: {} load combinations in {} ms, governing {}",
+                combinations.size(), TimeUnit.NANOSECONDS.toMillis(elapsed), result.governingCombination());
+        return result;
+    }
+
+    /**
+     * First natural frequency of the frame, in Hz
+     */
+    public double fundamentalFrequency(Frame frame) {
+        long start = System.nanoTime();
+        double frequency = new ModalAnalysis(frame.model(), frame.solver()).modes(1).modes().get(0).frequency();
+        modalDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return frequency;
+    }
+
+    private static double round(double value, double scale) {
+        return Math.round(value * scale) / scale;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -4,25 +4,36 @@ import com.simstruct.backend.dto.FriendDTO;
 import com.simstruct.backend.dto.InvitationDTO;
 import com.simstruct.backend.entity.Friendship;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.SocialGraphChangedEvent;
 import com.simstruct.backend.repository.FriendshipRepository;
 import com.simstruct.backend.repository.SharedSimulationRepository;
 import com.simstruct.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class FriendshipService {
 
+    private static final int SEARCH_LIMIT = 10;
+
     private final FriendshipRepository friendshipRepository;
     private final UserRepository userRepository;
     private final SharedSimulationRepository sharedSimulationRepository;
     private final NotificationService notificationService;
+    private final UserSearchIndex userSearchIndex;
+    private final SocialGraph socialGraph;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all friends for a user
@@ -169,6 +180,8 @@ public class FriendshipService {
         
         friendship.setStatus(Friendship.FriendshipStatus.ACCEPTED);
         friendshipRepository.save(friendship);
+        eventPublisher.publishEvent(new SocialGraphChangedEvent(senderId, receiverId,
+                SocialGraphChangedEvent.Change.FRIENDSHIP_ADDED));
         System.out.println("FriendshipService: Friend request accepted, status: " + friendship.getStatus());
         
         User friend = friendship.getUser();
@@ -248,6 +261,8 @@ public class FriendshipService {
         }
         
         friendshipRepository.delete(friendship);
+        eventPublisher.publishEvent(new SocialGraphChangedEvent(friendship.getUser().getId(),
+                friendship.getFriend().getId(), SocialGraphChangedEvent.Change.FRIENDSHIP_REMOVED));
     }
 
     /**
@@ -260,27 +275,56 @@ public class FriendshipService {
             return new ArrayList<>();
         }
         
-        List<User> users = userRepository.findByEmailContainingIgnoreCaseOrNameContainingIgnoreCase(query.trim(), query.trim());
+        // Exclude self and anyone with an existing friendship (any status)
+        Set<String> excludedIds = new HashSet<>(friendshipRepository.findRelatedUserIds(currentUserId));
+        excludedIds.add(currentUserId);
+
+        List<UserSearchIndex.IndexedUser> users = userSearchIndex.search(query, SEARCH_LIMIT, excludedIds);
         System.out.println("FriendshipService: Found " + users.size() + " users matching query");
-        
-        // Get existing friendships to exclude
-        List<String> existingFriendIds = friendshipRepository.findAllByUserId(currentUserId).stream()
-                .map(f -> f.getUser().getId().equals(currentUserId) ? f.getFriend().getId() : f.getUser().getId())
-                .collect(Collectors.toList());
-        
+
         return users.stream()
-                .filter(u -> !u.getId().equals(currentUserId)) // Exclude self
-                .filter(u -> !existingFriendIds.contains(u.getId())) // Exclude existing friends/pending
-                .limit(10)
-                .map(u -> {
-                    System.out.println("FriendshipService: Including user in results: " + u.getEmail());
+                .map(u -> FriendDTO.builder()
+                        .id(u.id())
+                        .name(u.name())
+                        .email(u.email())
+                        .avatarUrl(u.avatarUrl())
+                        .company(u.company())
+                        .status("AVAILABLE")
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Suggest friends-of-friends, ranked by mutual friends then shared simulations
+     */
+    public List<FriendDTO> getSuggestions(String userId, int limit) {
+        System.out.println("FriendshipService: Getting friend suggestions for " + userId);
+
+        // Pending, rejected or blocked relations are never suggested
+        Set<String> excludedIds = new HashSet<>(friendshipRepository.findRelatedUserIds(userId));
+        List<SocialGraph.Suggestion> suggestions = socialGraph.suggest(userId, limit, excludedIds);
+        if (suggestions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, User> users = userRepository.findAllById(
+                suggestions.stream().map(SocialGraph.Suggestion::userId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return suggestions.stream()
+                .filter(s -> users.containsKey(s.userId()))
+                .map(s -> {
+                    User u = users.get(s.userId());
                     return FriendDTO.builder()
                             .id(u.getId())
                             .name(u.getName())
                             .email(u.getEmail())
                             .avatarUrl(u.getAvatarUrl())
                             .company(u.getCompany())
-                            .status("AVAILABLE")
+                            .status("SUGGESTED")
+                            .mutualFriends(s.mutualFriends())
+                            .sharedSimulations(s.sharedSimulations())
                             .build();
                 }).collect(Collectors.toList());
     }
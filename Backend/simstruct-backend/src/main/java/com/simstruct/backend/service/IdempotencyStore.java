@@ -0,0 +1,205 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Results of non-idempotent requests, keyed by the client's Idempotency-Key.
+ *
+ * The first request for (user, key) runs the operation. A retry with the same
+ * key gets the stored result instead of running it again; a retry arriving
+ * while the first attempt is still running waits for that attempt, up to
+ * idempotency.wait-ms, then fails with AttemptInProgressException. Each key is
+ * bound to a fingerprint of its request body, and reusing a key for a different
+ * request is rejected. Failed attempts, Errors included, are forgotten so the
+ * client can retry.
+ * Results expire after idempotency.ttl-minutes.
+ *
+ * Metrics: simstruct.idempotency.requests{outcome=executed|replayed|waited|conflict|timeout}
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final long ttlNanos;
+    private final long waitMs;
+    private final Map<String, Attempt> attempts = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${idempotency.wait-ms:60000}") long waitMs) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.waitMs = waitMs;
+    }
+
+    /**
+     * A result and whether it was stored by an earlier request
+     */
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    /**
+     * The key is blank or longer than MAX_KEY_LENGTH
+     */
+    public static class InvalidKeyException extends IllegalArgumentException {
+        public InvalidKeyException() {
+            super("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * The key was already used for a different request
+     */
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String key) {
+            super("Idempotency-Key already used for a different request: " + key);
+        }
+    }
+
+    /**
+     * The first attempt with this key is still running after idempotency.wait-ms; retry later
+     */
+    public static class AttemptInProgressException extends RuntimeException {
+        public AttemptInProgressException(String key) {
+            super("A request with this Idempotency-Key is still in progress: " + key);
+        }
+    }
+
+    /**
+     * Run the operation once per (user, key)
+     *
+     * @param request   the request body, fingerprinted to detect key reuse
+     * @param operation runs the request; its result is stored on success
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String userId, String key, Object request, Supplier<T> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidKeyException();
+        }
+        String attemptKey = userId + '|' + key;
+        String fingerprint = fingerprint(request);
+        long now = System.nanoTime();
+        Attempt[] created = new Attempt[1];
+        Attempt attempt = attempts.compute(attemptKey, (k, existing) -> {
+            if (existing != null && !existing.isExpired(now, ttlNanos)) {
+                return existing;
+            }
+            created[0] = new Attempt(fingerprint);
+            return created[0];
+        });
+
+        if (!attempt.fingerprint.equals(fingerprint)) {
+            count("conflict");
+            throw new KeyReusedException(key);
+        }
+        if (attempt == created[0]) {
+            count("executed");
+            return new Result<>(run(attemptKey, attempt, operation), false);
+        }
+
+        count(attempt.future.isDone() ? "replayed" : "waited");
+        log.info("IdempotencyStore: Replaying key {} for user {}", key, userId);
+        try {
+            return new Result<>((T) attempt.future.get(waitMs, TimeUnit.MILLISECONDS), true);
+        } catch (TimeoutException e) {
+            count("timeout");
+            throw new AttemptInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AttemptInProgressException(key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T run(String attemptKey, Attempt attempt, Supplier<T> operation) {
+        try {
+            T result = operation.get();
+            attempt.completedAt = System.nanoTime();
+            attempt.future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Waiting duplicates get the same error; later retries run again. Errors too:
+            // an unfinished attempt would never expire and block every retry
+            attempts.remove(attemptKey, attempt);
+            attempt.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop expired results
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        int before = attempts.size();
+        attempts.values().removeIf(attempt -> attempt.isExpired(now, ttlNanos));
+        if (attempts.size() < before) {
+            log.debug("IdempotencyStore: Purged {} expired keys", before - attempts.size());
+        }
+    }
+
+    int size() {
+        return attempts.size();
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("simstruct.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    /**
+     * One execution of a request and the retries sharing it
+     */
+    private static final class Attempt {
+        private final String fingerprint;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        Attempt(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return future.isDone() && now - completedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.simstruct.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * k-d tree over fixed-dimension points, each identified by an id and carrying a value.
+ *
+ * Points with identical coordinates share one node (a bucket), so repeated
+ * designs never chain. Points are inserted incrementally and removed lazily
+ * (marked deleted); the tree is rebuilt balanced, into new nodes, once deleted
+ * points or inserts since the last build outweigh the points it was built with.
+ * Building and searching use explicit stacks, whatever the depth. Not
+ * thread-safe: callers lock.
+ */
+public final class KdTree<T> {
+
+    private final int dims;
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+    private Node<T> root;
+    private int deleted;
+    private int builtSize;
+    private int insertsSinceBuild;
+
+    public KdTree(int dims) {
+        this.dims = dims;
+    }
+
+    /**
+     * Insert or replace the point of an id
+     */
+    public void put(String id, double[] point, T value) {
+        if (point.length != dims) {
+            throw new IllegalArgumentException("Expected " + dims + " dimensions, got " + point.length);
+        }
+        remove(id);
+        Entry<T> entry = new Entry<>(id, point.clone(), value);
+        entries.put(id, entry);
+        if (root == null) {
+            root = new Node<>(entry.point, 0);
+            root.bucket.add(entry);
+        } else {
+            insert(entry);
+        }
+        insertsSinceBuild++;
+        maybeRebuild();
+    }
+
+    public void remove(String id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry != null) {
+            entry.deleted = true;
+            deleted++;
+            maybeRebuild();
+        }
+    }
+
+    public T get(String id) {
+        Entry<T> entry = entries.get(id);
+        return entry != null ? entry.value : null;
+    }
+
+    public double[] point(String id) {
+        Entry<T> entry = entries.get(id);
+        return entry != null ? entry.point.clone() : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The k points closest to the query that pass the filter, nearest first.
+     * The penalty adds a non-negative squared distance per value (e.g. for
+     * categorical differences); it never invalidates pruning since it can only
+     * make a point farther.
+     */
+    public List<Neighbor<T>> nearest(double[] query, int k, Predicate<T> filter, ToDoubleFunction<T> penalty) {
+        PriorityQueue<Neighbor<T>> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbor<T>::distance).reversed());
+        if (k > 0 && root != null) {
+            search(query, k, filter, penalty, best);
+        }
+        List<Neighbor<T>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbor::distance));
+        return result;
+    }
+
+    private void search(double[] query, int k, Predicate<T> filter,
+                        ToDoubleFunction<T> penalty, PriorityQueue<Neighbor<T>> best) {
+        // Each pending subtree with the squared distance from the query to its splitting plane
+        Deque<Pending<T>> pending = new ArrayDeque<>();
+        pending.push(new Pending<>(root, 0));
+        while (!pending.isEmpty()) {
+            Pending<T> next = pending.pop();
+            // The subtree can only hold closer points if its splitting plane is within reach
+            if (best.size() == k && next.planeDistance() >= squared(best.peek().distance())) {
+                continue;
+            }
+            Node<T> node = next.node();
+            double pointDistance = squaredDistance(node.point, query);
+            for (Entry<T> entry : node.bucket) {
+                if (entry.deleted || !filter.test(entry.value)) {
+                    continue;
+                }
+                double squared = pointDistance + penalty.applyAsDouble(entry.value);
+                if (best.size() < k || squared < squared(best.peek().distance())) {
+                    best.add(new Neighbor<>(entry.id, entry.value, Math.sqrt(squared)));
+                    if (best.size() > k) {
+                        best.poll();
+                    }
+                }
+            }
+            double diff = query[node.axis] - node.point[node.axis];
+            Node<T> near = diff < 0 ? node.left : node.right;
+            Node<T> far = diff < 0 ? node.right : node.left;
+            // Near side on top, so it is searched first and tightens the bound for the far side
+            if (far != null) {
+                pending.push(new Pending<>(far, diff * diff));
+            }
+            if (near != null) {
+                pending.push(new Pending<>(near, 0));
+            }
+        }
+    }
+
+    private void insert(Entry<T> entry) {
+        Node<T> parent = root;
+        while (true) {
+            if (Arrays.equals(parent.point, entry.point)) {
+                parent.bucket.add(entry);
+                return;
+            }
+            boolean left = entry.point[parent.axis] < parent.point[parent.axis];
+            Node<T> next = left ? parent.left : parent.right;
+            if (next == null) {
+                Node<T> node = new Node<>(entry.point, (parent.axis + 1) % dims);
+                node.bucket.add(entry);
+                if (left) {
+                    parent.left = node;
+                } else {
+                    parent.right = node;
+                }
+                return;
+            }
+            parent = next;
+        }
+    }
+
+    private void maybeRebuild() {
+        if (deleted > entries.size() || insertsSinceBuild > Math.max(builtSize, 16)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a balanced tree of the live points in new nodes, then swap it in:
+     * the current tree stays intact if the build fails
+     */
+    private void rebuild() {
+        Map<PointKey, Node<T>> buckets = new HashMap<>();
+        for (Entry<T> entry : entries.values()) {
+            buckets.computeIfAbsent(new PointKey(entry.point), key -> new Node<>(entry.point, 0)).bucket.add(entry);
+        }
+        root = build(new ArrayList<>(buckets.values()));
+        deleted = 0;
+        builtSize = entries.size();
+        insertsSinceBuild = 0;
+    }
+
+    private Node<T> build(List<Node<T>> points) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Node<T> top = null;
+        Deque<Range<T>> ranges = new ArrayDeque<>();
+        ranges.push(new Range<>(0, points.size(), 0, null, false));
+        while (!ranges.isEmpty()) {
+            Range<T> range = ranges.pop();
+            int axis = range.axis();
+            points.subList(range.from(), range.to()).sort(Comparator.comparingDouble(node -> node.point[axis]));
+            int median = (range.from() + range.to()) >>> 1;
+            // Equal coordinates go right, as in insert()
+            while (median > range.from() && points.get(median - 1).point[axis] == points.get(median).point[axis]) {
+                median--;
+            }
+            Node<T> node = points.get(median);
+            node.axis = axis;
+            if (range.parent() == null) {
+                top = node;
+            } else if (range.left()) {
+                range.parent().left = node;
+            } else {
+                range.parent().right = node;
+            }
+            int next = (axis + 1) % dims;
+            if (range.from() < median) {
+                ranges.push(new Range<>(range.from(), median, next, node, true));
+            }
+            if (median + 1 < range.to()) {
+                ranges.push(new Range<>(median + 1, range.to(), next, node, false));
+            }
+        }
+        return top;
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            double d = a[i] - b[i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    private static double squared(double value) {
+        return value * value;
+    }
+
+    /**
+     * A point found by a search and its distance to the query
+     */
+    public record Neighbor<T>(String id, T value, double distance) {
+    }
+
+    private record Pending<T>(Node<T> node, double planeDistance) {
+    }
+
+    private record Range<T>(int from, int to, int axis, Node<T> parent, boolean left) {
+    }
+
+    /**
+     * Coordinates compared by value, to gather identical points into one bucket
+     */
+    private record PointKey(double[] point) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PointKey key && Arrays.equals(point, key.point);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(point);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final String id;
+        private final double[] point;
+        private final T value;
+        private boolean deleted;
+
+        private Entry(String id, double[] point, T value) {
+            this.id = id;
+            this.point = point;
+            this.value = value;
+        }
+    }
+
+    private static final class Node<T> {
+        private final double[] point;
+        private final List<Entry<T>> bucket = new ArrayList<>(1);
+        private int axis;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(double[] point, int axis) {
+            this.point = point;
+            this.axis = axis;
+        }
+    }
+}
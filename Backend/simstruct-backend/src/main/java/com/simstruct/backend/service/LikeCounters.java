@@ -0,0 +1,161 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.event.LikesFlushedEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.SimulationLikeRepository;
+import com.simstruct.backend.repository.SimulationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Like counters of simulations.
+ *
+ * The likes table is the source of truth; simulations.likes_count is a
+ * denormalized copy for display. Likes and unlikes only add to a striped
+ * in-memory counter (LongAdder) for their simulation, so a popular simulation
+ * never becomes a hot row. Pending deltas are written in one JDBC batch of
+ * "likes_count = likes_count + ?" every likes.flush-ms, then announced in
+ * one LikesFlushedEvent.
+ *
+ * A flush retires and removes every counter it drains, so the map only holds
+ * simulations liked since the last flush. A like racing with the flush may
+ * land on a retired counter; it then drains that counter itself into a new
+ * one, so each delta is written exactly once.
+ *
+ * Deltas still in memory are lost on a crash, so likes_count is recomputed
+ * from the likes table at startup: an absolute value, which can neither lose
+ * nor double count a like. Pending deltas are also flushed on shutdown.
+ */
+@Component
+@Slf4j
+public class LikeCounters {
+
+    private static final String FLUSH_SQL = "UPDATE simulations SET likes_count = likes_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimulationLikeRepository likeRepository;
+    private final SimulationRepository simulationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Counter> pending = new ConcurrentHashMap<>();
+
+    public LikeCounters(JdbcTemplate jdbcTemplate,
+                        SimulationLikeRepository likeRepository,
+                        SimulationRepository simulationRepository,
+                        ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.likeRepository = likeRepository;
+        this.simulationRepository = simulationRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Recompute every likes_count from the likes table, before requests are served
+     */
+    @PostConstruct
+    public void reconcile() {
+        int corrected = likeRepository.reconcileLikesCounts();
+        if (corrected > 0) {
+            log.info("LikeCounters: Corrected likes_count of {} simulations", corrected);
+        }
+    }
+
+    /**
+     * Record a like (+1) or an unlike (-1)
+     */
+    public void add(String simulationId, long delta) {
+        Counter counter = pending.computeIfAbsent(simulationId, id -> new Counter());
+        counter.delta.add(delta);
+        if (counter.retired) {
+            // Drained by a concurrent flush: whatever it missed moves to a live counter
+            long missed = counter.delta.sumThenReset();
+            if (missed != 0) {
+                add(simulationId, missed);
+            }
+        }
+    }
+
+    /**
+     * Likes not yet written to the database
+     */
+    public long pending(String simulationId) {
+        Counter counter = pending.get(simulationId);
+        return counter != null ? counter.delta.sum() : 0;
+    }
+
+    /**
+     * Current like count: persisted value plus pending deltas
+     */
+    public long count(String simulationId) {
+        int persisted = simulationRepository.findLikesCountById(simulationId).orElse(0);
+        return Math.max(0, persisted + pending(simulationId));
+    }
+
+    /**
+     * Write pending deltas in one batch
+     */
+    @Scheduled(fixedDelayString = "${likes.flush-ms:2000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<String, Counter> entry : pending.entrySet()) {
+            Counter counter = entry.getValue();
+            counter.retired = true;
+            pending.remove(entry.getKey(), counter);
+            long delta = counter.delta.sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (DataAccessException e) {
+            // Keep the deltas for the next flush
+            log.warn("LikeCounters: Flush of {} counters failed - {}", batch.size(), e.getMessage());
+            batch.forEach(row -> add((String) row[1], (Long) row[0]));
+            return;
+        }
+        log.debug("LikeCounters: Flushed {} counters", batch.size());
+        List<String> simulationIds = new ArrayList<>(batch.size());
+        batch.forEach(row -> simulationIds.add((String) row[1]));
+        eventPublisher.publishEvent(new LikesFlushedEvent(simulationIds));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Forget the counter of a deleted simulation
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        if (event.change() == SimulationChangedEvent.Change.DELETED) {
+            pending.remove(event.simulationId());
+        }
+    }
+
+    /**
+     * Pending delta of one simulation; retired once a flush has drained it
+     */
+    private static final class Counter {
+        private final LongAdder delta = new LongAdder();
+        private volatile boolean retired;
+    }
+}
@@ -0,0 +1,92 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.LikeResponse;
+import com.simstruct.backend.entity.SimulationLike;
+import com.simstruct.backend.event.EngagementEvent;
+import com.simstruct.backend.repository.SimulationLikeRepository;
+import com.simstruct.backend.repository.SimulationRepository;
+import com.simstruct.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service for liking simulations.
+ * Like and unlike are idempotent: the likes table holds at most one row per
+ * (simulation, user), and the counter only moves when a row is added or removed.
+ */
+@Service
+@Slf4j
+public class LikeService {
+
+    private final SimulationLikeRepository likeRepository;
+    private final SimulationRepository simulationRepository;
+    private final UserRepository userRepository;
+    private final SimulationService simulationService;
+    private final LikeCounters likeCounters;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LikeService(SimulationLikeRepository likeRepository,
+                       SimulationRepository simulationRepository,
+                       UserRepository userRepository,
+                       SimulationService simulationService,
+                       LikeCounters likeCounters,
+                       ApplicationEventPublisher eventPublisher) {
+        this.likeRepository = likeRepository;
+        this.simulationRepository = simulationRepository;
+        this.userRepository = userRepository;
+        this.simulationService = simulationService;
+        this.likeCounters = likeCounters;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Like a simulation the user can read
+     */
+    public LikeResponse like(String simulationId, String userId) {
+        simulationService.checkAccess(simulationId, userId);
+
+        if (!likeRepository.existsBySimulationIdAndUserId(simulationId, userId)) {
+            try {
+                likeRepository.saveAndFlush(SimulationLike.builder()
+                        .simulation(simulationRepository.getReferenceById(simulationId))
+                        .user(userRepository.getReferenceById(userId))
+                        .build());
+                likeCounters.add(simulationId, 1);
+                eventPublisher.publishEvent(new EngagementEvent(simulationId, EngagementEvent.Kind.LIKE, userId));
+                log.debug("LikeService: User {} liked simulation {}", userId, simulationId);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent request of the same user inserted the row first
+                log.debug("LikeService: Simulation {} already liked by {}", simulationId, userId);
+            }
+        }
+        return response(simulationId, true);
+    }
+
+    /**
+     * Remove the user's like, if any
+     */
+    public LikeResponse unlike(String simulationId, String userId) {
+        LocalDateTime likedAt = likeRepository.findLikedAt(simulationId, userId).orElse(null);
+        if (likeRepository.deleteBySimulationIdAndUserId(simulationId, userId) > 0) {
+            likeCounters.add(simulationId, -1);
+            eventPublisher.publishEvent(new EngagementEvent(simulationId, EngagementEvent.Kind.UNLIKE, userId,
+                    likedAt != null ? likedAt : LocalDateTime.now()));
+            log.debug("LikeService: User {} unliked simulation {}", userId, simulationId);
+        } else if (!simulationRepository.existsById(simulationId)) {
+            throw new IllegalArgumentException("Simulation not found: " + simulationId);
+        }
+        return response(simulationId, false);
+    }
+
+    private LikeResponse response(String simulationId, boolean liked) {
+        return LikeResponse.builder()
+                .simulationId(simulationId)
+                .liked(liked)
+                .likesCount(likeCounters.count(simulationId))
+                .build();
+    }
+}
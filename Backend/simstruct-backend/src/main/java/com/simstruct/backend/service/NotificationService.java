@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -67,6 +68,38 @@ public class NotificationService {
         return dto;
     }
 
+    /**
+     * Create the same notification for several users in one batch insert
+     */
+    @Transactional
+    public List<NotificationDTO> createNotifications(List<String> userIds, NotificationType type, String title, String message,
+                                                     String relatedId, String relatedType, String actionUrl) {
+        log.info("Creating {} notifications: {} - {}", userIds.size(), type, title);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = userIds.stream()
+                .map(userId -> Notification.builder()
+                        .userId(userId)
+                        .type(type)
+                        .title(title)
+                        .message(message)
+                        .relatedId(relatedId)
+                        .relatedType(relatedType)
+                        .actionUrl(actionUrl)
+                        .isRead(false)
+                        .createdAt(now)
+                        .build())
+                .collect(Collectors.toList());
+
+        List<NotificationDTO> dtos = new ArrayList<>(notifications.size());
+        for (Notification notification : notificationRepository.saveAll(notifications)) {
+            NotificationDTO dto = toDTO(notification);
+            sendWebSocketNotification(notification.getUserId(), dto);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
     /**
      * Send notification via WebSocket
      */
@@ -298,6 +331,19 @@ public class NotificationService {
                 simulationId, "simulation", "/community?tab=shared");
     }
 
+    /**
+     * Send simulation shared notification to several users at once
+     */
+    public void sendSimulationSharedNotifications(List<String> toUserIds, String fromUserId, String fromUserName, String simulationId, String simulationName) {
+        if (toUserIds.isEmpty()) {
+            return;
+        }
+        createNotifications(toUserIds, NotificationType.SIMULATION_RECEIVED,
+                "Simulation Shared with You",
+                fromUserName + " shared \"" + simulationName + "\" with you",
+                simulationId, "simulation", "/community?tab=shared");
+    }
+
     /**
      * Send system notification
      */
@@ -0,0 +1,242 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.entity.BuildingParameters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of AI predictions, keyed by the 11 building inputs.
+ *
+ * The model is deterministic, so a prediction can be served again for the
+ * same inputs. Keys pack the inputs into a few longs: with ai.cache.quantum = 0
+ * the exact values are kept; otherwise each input is rounded to that fraction
+ * of its validation range (e.g. 0.001 gives 1001 steps, 10 bits per input, 2
+ * longs per key) and nearby requests share a prediction.
+ *
+ * Entries are evicted least recently used beyond ai.cache.max-entries and
+ * expire after ai.cache.ttl-minutes. The model version reported by the AI
+ * API's /model-info is polled every ai.cache.version-check-ms; the cache is
+ * cleared when it changes, and kept when no model_version is reported (the
+ * rest of the answer may change between polls). Like SimulationAccessCache, a
+ * prediction is only stored if no clear happened while it was computed.
+ *
+ * Metrics: simstruct.ai.cache.requests{result=hit|miss},
+ * simstruct.ai.cache.hit.ratio and simstruct.ai.cache.size.
+ */
+@Component
+@Slf4j
+public class PredictionCache {
+
+    private final AIModelService aiModelService;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final double quantum;
+    private final int bitsPerInput;
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile String modelVersion;
+
+    // Guarded by itself; access order makes it an LRU
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public PredictionCache(AIModelService aiModelService,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${ai.cache.max-entries:10000}") int maxEntries,
+                           @Value("${ai.cache.ttl-minutes:60}") long ttlMinutes,
+                           @Value("${ai.cache.quantum:0}") double quantum) {
+        this.aiModelService = aiModelService;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        // Below a billionth of the range, quantizing would not merge anything: keep exact values
+        this.quantum = quantum >= 1e-9 ? quantum : 0;
+        this.bitsPerInput = this.quantum > 0 ? 64 - Long.numberOfLeadingZeros(Math.round(1 / this.quantum) + 1) : 64;
+        this.hits = Counter.builder("simstruct.ai.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("simstruct.ai.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("simstruct.ai.cache.hit.ratio", this, PredictionCache::hitRatio).register(meterRegistry);
+        Gauge.builder("simstruct.ai.cache.size", this, PredictionCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Cached prediction, or null on a miss
+     */
+    public AIPredictionResponse get(BuildingPredictionRequest request) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        Key key = key(request);
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && now - entry.storedAt() >= ttlNanos) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response();
+    }
+
+    /**
+     * Token to take before calling the model
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Store a prediction computed since the given generation
+     */
+    public void put(BuildingPredictionRequest request, AIPredictionResponse response, long readGeneration) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        Key key = key(request);
+        synchronized (entries) {
+            if (generation.get() != readGeneration) {
+                // The model changed while this prediction was computed
+                return;
+            }
+            entries.put(key, new Entry(response, System.nanoTime()));
+            if (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Clear the cache when the AI API reports a new model version
+     */
+    @Scheduled(fixedDelayString = "${ai.cache.version-check-ms:60000}")
+    public void checkModelVersion() {
+        String version = fetchModelVersion();
+        if (version == null) {
+            return;
+        }
+        String previous = modelVersion;
+        modelVersion = version;
+        if (previous != null && !previous.equals(version)) {
+            log.info("PredictionCache: Model version changed from {} to {}, clearing {} predictions",
+                    previous, version, size());
+            clear();
+        }
+    }
+
+    public String modelVersion() {
+        return modelVersion;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /**
+     * model_version from /model-info; null if the API cannot be reached or does
+     * not report one
+     */
+    private String fetchModelVersion() {
+        try {
+            String info = aiModelService.getModelInfo();
+            JsonNode node = objectMapper.readTree(info);
+            if (!node.isObject()) {
+                return null;
+            }
+            JsonNode version = node.get("model_version");
+            return version != null && !version.isNull() && !version.asText().isBlank() ? version.asText() : null;
+        } catch (Exception e) {
+            log.debug("PredictionCache: Cannot read model version - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Packed (and optionally quantized) inputs
+     */
+    Key key(BuildingPredictionRequest request) {
+        Double[] values = BuildingParameters.from(request).values();
+        if (quantum <= 0) {
+            long[] words = new long[BuildingParameters.COUNT];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = values[i] != null ? Double.doubleToLongBits(values[i]) : Long.MIN_VALUE;
+            }
+            return new Key(words);
+        }
+        long[] words = new long[(BuildingParameters.COUNT * bitsPerInput + 63) / 64];
+        long steps = Math.round(1 / quantum);
+        for (int i = 0; i < BuildingParameters.COUNT; i++) {
+            // Missing inputs take the all-ones code, which no in-range value reaches
+            long code = (1L << bitsPerInput) - 1;
+            if (values[i] != null) {
+                double min = BuildingParameters.min(i);
+                double position = (values[i] - min) / (BuildingParameters.max(i) - min);
+                code = Math.round(Math.max(0, Math.min(1, position)) * steps);
+            }
+            int bit = i * bitsPerInput;
+            words[bit / 64] |= code << (bit % 64);
+            if (bit % 64 + bitsPerInput > 64) {
+                words[bit / 64 + 1] |= code >>> (64 - bit % 64);
+            }
+        }
+        return new Key(words);
+    }
+
+    /**
+     * Packed inputs, compared by value
+     */
+    record Key(long[] words) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Arrays.equals(words, key.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(words);
+        }
+    }
+
+    private record Entry(AIPredictionResponse response, long storedAt) {
+    }
+}
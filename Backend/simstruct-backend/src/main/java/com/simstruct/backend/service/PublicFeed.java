@@ -0,0 +1,281 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.SimulationResponse;
+import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.event.LikesFlushedEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.SimulationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory snapshot of the public (community) feed.
+ *
+ * The snapshot is an immutable array of the newest public simulations, each
+ * already serialized to JSON, plus the serialized body of the whole feed.
+ * Reads never touch the database: they take the current snapshot and return
+ * its body or concatenate a slice of entries. Writers build a new snapshot
+ * and swap it in, one writer at a time.
+ *
+ * The snapshot is updated entry by entry when a simulation change is
+ * committed, and compared against the database by a periodic check that
+ * rebuilds it if they drifted apart. It never holds more than feed.max-items
+ * entries.
+ */
+@Component
+@Slf4j
+public class PublicFeed {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Newest first, ties broken by id so the order is stable
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing(Entry::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entry::id);
+
+    private final SimulationRepository simulationRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxItems;
+    private volatile Snapshot snapshot;
+
+    public PublicFeed(SimulationRepository simulationRepository,
+                      ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${feed.max-items:1000}") int maxItems) {
+        this.simulationRepository = simulationRepository;
+        this.objectMapper = objectMapper;
+        this.maxItems = maxItems;
+        // A scrape only reads the snapshot: it must never load the feed from the database
+        Gauge.builder("simstruct.feed.snapshot.entries", this, feed -> {
+                    Snapshot current = feed.snapshot;
+                    return current == null ? 0 : current.entries().length;
+                })
+                .register(meterRegistry);
+        Gauge.builder("simstruct.feed.snapshot.bytes", this, feed -> {
+                    Snapshot current = feed.snapshot;
+                    return current == null ? 0 : current.body().length;
+                })
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whole feed as a JSON array
+     */
+    public byte[] all() {
+        return current().body();
+    }
+
+    /**
+     * One page of the feed as a JSON array
+     */
+    public byte[] page(int page, int size) {
+        Entry[] entries = current().entries();
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long from = (long) Math.max(page, 0) * pageSize;
+        if (from >= entries.length) {
+            return serialize(new Entry[0]);
+        }
+        int start = (int) from;
+        return serialize(Arrays.copyOfRange(entries, start, Math.min(start + pageSize, entries.length)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Apply a committed change to the snapshot
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        if (event.change() == SimulationChangedEvent.Change.SHARES) {
+            return;
+        }
+        try {
+            refresh(event.simulationId());
+        } catch (RuntimeException e) {
+            // The consistency check will repair the snapshot
+            log.warn("PublicFeed: Could not apply change to {} - {}", event.simulationId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the liked entries of the feed, in one query and one swap per flush
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikesFlushed(LikesFlushedEvent event) {
+        try {
+            refreshLikes(event.simulationIds());
+        } catch (RuntimeException e) {
+            // The consistency check will repair the snapshot
+            log.warn("PublicFeed: Could not apply likes of {} simulations - {}",
+                    event.simulationIds().size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the snapshot if it no longer matches the database
+     */
+    @Scheduled(initialDelayString = "${feed.consistency-check-ms:60000}",
+            fixedDelayString = "${feed.consistency-check-ms:60000}")
+    public synchronized void checkConsistency() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Map<String, Long> expected = new HashMap<>();
+        for (Object[] row : simulationRepository.findPublicFeedVersions(PageRequest.of(0, maxItems))) {
+            expected.put((String) row[0], (Long) row[1]);
+        }
+        Map<String, Long> actual = new HashMap<>();
+        for (Entry entry : current.entries()) {
+            actual.put(entry.id(), entry.version());
+        }
+        if (!expected.equals(actual)) {
+            log.warn("PublicFeed: Snapshot out of date ({} entries, {} in database), rebuilding",
+                    actual.size(), expected.size());
+            rebuild();
+        }
+    }
+
+    /**
+     * Load the newest public simulations from the database
+     */
+    public synchronized void rebuild() {
+        List<Simulation> simulations = simulationRepository.findPublicFeed(PageRequest.of(0, maxItems));
+        List<Entry> entries = new ArrayList<>(simulations.size());
+        for (Simulation simulation : simulations) {
+            entries.add(toEntry(simulation));
+        }
+        swap(entries);
+        log.debug("PublicFeed: Snapshot rebuilt with {} entries", entries.size());
+    }
+
+    private synchronized void refresh(String simulationId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        Optional<Simulation> simulation = simulationRepository.findWithUserById(simulationId)
+                .filter(s -> Boolean.TRUE.equals(s.getIsPublic()));
+
+        List<Entry> entries = new ArrayList<>(Arrays.asList(current.entries()));
+        boolean removed = entries.removeIf(e -> e.id().equals(simulationId));
+        if (simulation.isEmpty()) {
+            if (removed && current.entries().length == maxItems) {
+                // The feed was full: the next newest simulation takes the free place
+                rebuild();
+            } else if (removed) {
+                swap(entries);
+            }
+            return;
+        }
+        entries.add(toEntry(simulation.get()));
+        swap(entries);
+    }
+
+    private synchronized void refreshLikes(Collection<String> simulationIds) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        // Likes never change visibility: only entries already in the feed need reloading
+        Set<String> liked = new HashSet<>(simulationIds);
+        Map<String, Entry> reloaded = new HashMap<>();
+        for (Entry entry : current.entries()) {
+            if (liked.contains(entry.id())) {
+                reloaded.put(entry.id(), entry);
+            }
+        }
+        if (reloaded.isEmpty()) {
+            return;
+        }
+        for (Simulation simulation : simulationRepository.findPublicWithUserByIdIn(reloaded.keySet())) {
+            reloaded.put(simulation.getId(), toEntry(simulation));
+        }
+
+        List<Entry> entries = new ArrayList<>(current.entries().length);
+        for (Entry entry : current.entries()) {
+            entries.add(reloaded.getOrDefault(entry.id(), entry));
+        }
+        swap(entries);
+    }
+
+    private void swap(List<Entry> entries) {
+        entries.sort(ORDER);
+        Entry[] bounded = entries.subList(0, Math.min(entries.size(), maxItems)).toArray(new Entry[0]);
+        snapshot = new Snapshot(bounded, serialize(bounded));
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private Entry toEntry(Simulation simulation) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(SimulationResponse.fromEntity(simulation));
+            return new Entry(simulation.getId(), simulation.getVersion(), simulation.getCreatedAt(), json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize simulation " + simulation.getId(), e);
+        }
+    }
+
+    private static byte[] serialize(Entry[] entries) {
+        int length = 2 + Math.max(entries.length - 1, 0);
+        for (Entry entry : entries) {
+            length += entry.json().length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.write('[');
+        for (int i = 0; i < entries.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(entries[i].json());
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * One public simulation, serialized
+     */
+    private record Entry(String id, Long version, LocalDateTime createdAt, byte[] json) {
+    }
+
+    /**
+     * Immutable feed state: entries in display order and the serialized feed
+     */
+    private record Snapshot(Entry[] entries, byte[] body) {
+    }
+}
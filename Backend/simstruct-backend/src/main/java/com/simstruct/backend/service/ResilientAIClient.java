@@ -0,0 +1,268 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.entity.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resilience layer around the AI replicas (AIReplicaRouter).
+ *
+ * - Cache: predictions found in PredictionCache are answered directly.
+ * - Drift: every request and its prediction, cached or not, is counted by
+ *   DriftMonitor against the training distribution.
+ * - Fair share: other calls wait for their user's turn in AIFairScheduler,
+ *   which may reject them with AICapacityExceededException.
+ * - Bulkhead: at most ai.bulkhead.max-concurrent predictions in flight; extra
+ *   requests are rejected at once instead of queueing behind a slow model.
+ * - Circuit breaker: opens when failed or slow (over ai.breaker.slow-call-ms)
+ *   calls reach ai.breaker.failure-rate of the last ai.breaker.window calls,
+ *   and rejects calls for ai.breaker.open-ms before probing again.
+ * - Timeout: each request to the model is abandoned after ai.timeout-ms.
+ * - Hedging (ai.hedge.enabled): if the first request is still pending after the
+ *   p95 latency of recent requests, a second identical request is sent and the
+ *   first answer wins; the other is cancelled. A first request that fails
+ *   before then cancels the hedge. The hedge needs a free bulkhead slot and its
+ *   own breaker permit, and the router sends it to another replica when one is
+ *   less loaded.
+ *
+ * The breaker records every request sent to the model: its latency, its
+ * failure, or, for the loser of a hedge race, the time it ran before being
+ * cancelled (it was at least that slow).
+ *
+ * Rejections and failures throw AIUnavailableException; whether to fall back
+ * to the physics engine is up to the caller (ai.fallback.enabled).
+ *
+ * Metrics: simstruct.ai.calls{outcome=success|failure|rejected|short_circuited},
+ * simstruct.ai.latency, simstruct.ai.hedges{outcome=sent|won} and
+ * simstruct.ai.breaker.state (0 closed, 1 half-open, 2 open).
+ */
+@Service
+@Slf4j
+public class ResilientAIClient {
+
+    private static final int HALF_OPEN_PROBES = 3;
+    private static final int LATENCY_SAMPLES = 200;
+    private static final int MIN_HEDGE_SAMPLES = 20;
+
+    private final AIReplicaRouter router;
+    private final PredictionCache predictionCache;
+    private final DriftMonitor driftMonitor;
+    private final AIFairScheduler fairScheduler;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final CircuitBreaker breaker;
+    private final Semaphore bulkhead;
+    private final boolean hedgeEnabled;
+    private final long hedgeMinDelayNanos;
+    private final boolean fallbackEnabled;
+    private final LatencyWindow latencies = new LatencyWindow(LATENCY_SAMPLES);
+    private final Timer latencyTimer;
+
+    public ResilientAIClient(AIReplicaRouter router,
+                             PredictionCache predictionCache,
+                             DriftMonitor driftMonitor,
+                             AIFairScheduler fairScheduler,
+                             MeterRegistry meterRegistry,
+                             @Value("${ai.timeout-ms:30000}") long timeoutMs,
+                             @Value("${ai.breaker.window:20}") int breakerWindow,
+                             @Value("${ai.breaker.failure-rate:0.5}") double breakerFailureRate,
+                             @Value("${ai.breaker.slow-call-ms:5000}") long breakerSlowCallMs,
+                             @Value("${ai.breaker.open-ms:30000}") long breakerOpenMs,
+                             @Value("${ai.bulkhead.max-concurrent:16}") int bulkheadMaxConcurrent,
+                             @Value("${ai.hedge.enabled:false}") boolean hedgeEnabled,
+                             @Value("${ai.hedge.min-delay-ms:100}") long hedgeMinDelayMs,
+                             @Value("${ai.fallback.enabled:false}") boolean fallbackEnabled) {
+        this.router = router;
+        this.predictionCache = predictionCache;
+        this.driftMonitor = driftMonitor;
+        this.fairScheduler = fairScheduler;
+        this.meterRegistry = meterRegistry;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.breaker = new CircuitBreaker(breakerWindow, breakerFailureRate,
+                TimeUnit.MILLISECONDS.toNanos(breakerSlowCallMs), TimeUnit.MILLISECONDS.toNanos(breakerOpenMs),
+                HALF_OPEN_PROBES, System::nanoTime);
+        this.bulkhead = new Semaphore(bulkheadMaxConcurrent);
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMs);
+        this.fallbackEnabled = fallbackEnabled;
+        this.latencyTimer = Timer.builder("simstruct.ai.latency").register(meterRegistry);
+        Gauge.builder("simstruct.ai.breaker.state", breaker, b -> b.state().ordinal()).register(meterRegistry);
+    }
+
+    /**
+     * The AI model could not be used for this request
+     */
+    public static class AIUnavailableException extends RuntimeException {
+        public AIUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Predict for a user, in their turn, through the bulkhead, breaker and timeout
+     *
+     * @throws AIUnavailableException if the call was rejected or failed
+     * @throws AIFairScheduler.AICapacityExceededException if no slot was free for the user
+     */
+    public AIPredictionResponse predict(BuildingPredictionRequest request, String userId, User.Role role) {
+        // Cached predictions never reach the model, so they skip the limits below
+        AIPredictionResponse cached = predictionCache.get(request);
+        if (cached != null) {
+            driftMonitor.record(request, cached);
+            return cached;
+        }
+        long cacheGeneration = predictionCache.generation();
+        AIPredictionResponse response = null;
+        try {
+            response = fairScheduler.run(userId, role, () -> callModel(request, cacheGeneration));
+            return response;
+        } finally {
+            // Inputs count even when the prediction failed
+            driftMonitor.record(request, response);
+        }
+    }
+
+    private AIPredictionResponse callModel(BuildingPredictionRequest request, long cacheGeneration) {
+        if (!bulkhead.tryAcquire()) {
+            count("rejected");
+            throw new AIUnavailableException("AI model busy: too many predictions in flight", null);
+        }
+        try {
+            if (!breaker.tryAcquire()) {
+                count("short_circuited");
+                throw new AIUnavailableException("AI model unavailable: circuit breaker open", null);
+            }
+            long start = System.nanoTime();
+            try {
+                AIPredictionResponse response = call(request).block();
+                latencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                count("success");
+                predictionCache.put(request, response, cacheGeneration);
+                return response;
+            } catch (RuntimeException e) {
+                count("failure");
+                log.warn("ResilientAIClient: Prediction failed after {} ms - {}",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e.getMessage());
+                throw new AIUnavailableException("AI prediction failed: " + e.getMessage(), e);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public boolean isFallbackEnabled() {
+        return fallbackEnabled;
+    }
+
+    public CircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    /**
+     * The prediction, hedged with a second request if the first is still
+     * pending once the p95 latency has passed
+     */
+    private Mono<AIPredictionResponse> call(BuildingPredictionRequest request) {
+        Mono<AIPredictionResponse> primary = attempt(request);
+        long p95 = latencies.percentile(0.95, MIN_HEDGE_SAMPLES);
+        if (!hedgeEnabled || p95 < 0) {
+            return primary;
+        }
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Sinks.One<Boolean> primaryFailed = Sinks.one();
+        Mono<AIPredictionResponse> first = primary.doOnError(e -> {
+            failure.compareAndSet(null, e);
+            primaryFailed.tryEmitValue(true);
+        });
+        Mono<AIPredictionResponse> hedge = Mono.delay(Duration.ofNanos(Math.max(p95, hedgeMinDelayNanos)))
+                // A failed first request cancels the pending hedge
+                .takeUntilOther(primaryFailed.asMono())
+                .flatMap(tick -> {
+                    if (!bulkhead.tryAcquire()) {
+                        return Mono.<AIPredictionResponse>empty();
+                    }
+                    if (!breaker.tryAcquire()) {
+                        bulkhead.release();
+                        return Mono.<AIPredictionResponse>empty();
+                    }
+                    meterRegistry.counter("simstruct.ai.hedges", "outcome", "sent").increment();
+                    return attempt(request)
+                            .doOnNext(response -> meterRegistry.counter("simstruct.ai.hedges", "outcome", "won").increment())
+                            .doOnError(e -> failure.compareAndSet(null, e))
+                            .doFinally(signal -> bulkhead.release());
+                });
+        // Neither produced a value: report the first failure rather than firstWithValue's own error
+        return Mono.firstWithValue(first, hedge)
+                .onErrorMap(NoSuchElementException.class, e -> failure.get() != null ? failure.get() : e);
+    }
+
+    /**
+     * One request to the model, with its timeout; its outcome goes to the breaker
+     */
+    private Mono<AIPredictionResponse> attempt(BuildingPredictionRequest request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return router.predictAsync(request)
+                    .timeout(timeout)
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty AI response")))
+                    .doOnNext(response -> {
+                        long latency = System.nanoTime() - start;
+                        breaker.onSuccess(latency);
+                        latencies.add(latency);
+                    })
+                    .doOnError(e -> breaker.onFailure())
+                    // Lost the hedge race: at least this slow
+                    .doOnCancel(() -> breaker.onSuccess(System.nanoTime() - start));
+        });
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("simstruct.ai.calls", "outcome", outcome).increment();
+    }
+
+    /**
+     * Latencies of the most recent successful calls
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * Percentile of the recorded latencies, or -1 with fewer than minSamples
+         */
+        synchronized long percentile(double p, int minSamples) {
+            if (count < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(p * count) - 1];
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.simstruct.backend.service;
+
+/**
+ * Plain loops, for JVMs started without the Vector API
+ */
+final class ScalarDenseKernel implements DenseKernel {
+
+    @Override
+    public void dense(float[] in, int rows, int inputs, float[] weightT, float[] bias, int outputs,
+                      boolean relu, float[] out) {
+        for (int r = 0; r < rows; r++) {
+            int inRow = r * inputs;
+            int outRow = r * outputs;
+            System.arraycopy(bias, 0, out, outRow, outputs);
+            for (int k = 0; k < inputs; k++) {
+                float x = in[inRow + k];
+                int weightRow = k * outputs;
+                for (int o = 0; o < outputs; o++) {
+                    out[outRow + o] += x * weightT[weightRow + o];
+                }
+            }
+            if (relu) {
+                for (int o = 0; o < outputs; o++) {
+                    out[outRow + o] = Math.max(out[outRow + o], 0f);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
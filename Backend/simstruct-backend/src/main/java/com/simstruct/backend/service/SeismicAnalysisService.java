@@ -0,0 +1,413 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.analysis.BuildingFrame;
+import com.simstruct.backend.analysis.FrameModel;
+import com.simstruct.backend.analysis.FrameSolver;
+import com.simstruct.backend.analysis.GroundMotion;
+import com.simstruct.backend.analysis.ModalAnalysis;
+import com.simstruct.backend.analysis.TimeHistory;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.SeismicHistoryDTO;
+import com.simstruct.backend.dto.SeismicRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Seismic time-history analysis of the building's plane frame
+ * (analysis.BuildingFrame) under a synthetic or uploaded ground acceleration
+ * record, integrated step by step with analysis.TimeHistory.
+ *
+ * The response is not kept: every stride steps one sample (the largest value
+ * of each quantity over the window) joins a small batch, and each full batch
+ * is sent with the peaks so far, so a record of any length streams in
+ * constant memory. Damping is Rayleigh, at the given ratio on the first two
+ * modes that move horizontal mass.
+ *
+ * Analyses run on their own pool of analysis.seismic.max-concurrent threads,
+ * without a queue: when every thread is busy the request is rejected at once
+ * (AnalysisBusyException) rather than waiting behind long integrations. An
+ * analysis stops as soon as its stream completes, times out or fails.
+ *
+ * Metrics: simstruct.analysis.seismic.duration, simstruct.analysis.seismic.steps,
+ * simstruct.analysis.seismic.rejected.
+ */
+@Service
+@Slf4j
+public class SeismicAnalysisService {
+
+    static final int BATCH = 100;
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer duration;
+    private final Counter stepCounter;
+    private final Counter rejected;
+    private final int maxConcurrent;
+    private final int maxSteps;
+    private final int maxPoints;
+    private final long timeoutMs;
+    private final double driftLimit;
+
+    public SeismicAnalysisService(MeterRegistry meterRegistry,
+                                  @Value("${analysis.seismic.max-concurrent:2}") int maxConcurrent,
+                                  @Value("${analysis.seismic.max-steps:200000}") int maxSteps,
+                                  @Value("${analysis.seismic.max-points:20000}") int maxPoints,
+                                  @Value("${analysis.seismic.timeout-ms:600000}") long timeoutMs,
+                                  @Value("${analysis.seismic.drift-limit:0.01}") double driftLimit) {
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("seismic-");
+        executor.initialize();
+        this.duration = Timer.builder("simstruct.analysis.seismic.duration").register(meterRegistry);
+        this.stepCounter = Counter.builder("simstruct.analysis.seismic.steps").register(meterRegistry);
+        this.rejected = Counter.builder("simstruct.analysis.seismic.rejected").register(meterRegistry);
+        this.maxConcurrent = maxConcurrent;
+        this.maxSteps = maxSteps;
+        this.maxPoints = maxPoints;
+        this.timeoutMs = timeoutMs;
+        this.driftLimit = driftLimit;
+    }
+
+    /**
+     * Thrown when the record or the analysis settings are invalid
+     */
+    public static class InvalidSeismicRequestException extends RuntimeException {
+        public InvalidSeismicRequestException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Thrown when every analysis thread is busy
+     */
+    public static class AnalysisBusyException extends RuntimeException {
+        public AnalysisBusyException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Receives the events of an analysis as it runs
+     */
+    public interface Listener {
+        void start(SeismicHistoryDTO.Start start) throws IOException;
+
+        void samples(SeismicHistoryDTO.Samples samples) throws IOException;
+
+        void complete(SeismicHistoryDTO.Peaks peaks) throws IOException;
+
+        /**
+         * Whether nobody listens anymore; checked every step
+         */
+        default boolean closed() {
+            return false;
+        }
+    }
+
+    /**
+     * Synthetic record of the request (GroundMotion.synthetic)
+     */
+    public GroundMotion synthetic(SeismicRequest request) {
+        double pga = valueOr(request.getPga(), 0.3);
+        double length = valueOr(request.getDuration(), 20.0);
+        double dt = valueOr(request.getDt(), 0.01);
+        if (!(pga > 0 && pga <= 2)) {
+            throw new InvalidSeismicRequestException("pga must be in ]0, 2] g");
+        }
+        checkTimeStep(dt);
+        if (!(length > 0) || length / dt + 1 > maxSteps) {
+            throw new InvalidSeismicRequestException("duration must be positive and give at most " + maxSteps + " steps");
+        }
+        return GroundMotion.synthetic(pga, length, dt, request.getSeed() != null ? request.getSeed() : 1L);
+    }
+
+    /**
+     * Uploaded CSV record (GroundMotion.fromCsv), accelerations in g
+     */
+    public GroundMotion record(SeismicRequest request, InputStream csv) throws IOException {
+        try {
+            GroundMotion motion = GroundMotion.fromCsv(new InputStreamReader(csv, StandardCharsets.UTF_8),
+                    request.getDt(), maxSteps);
+            checkTimeStep(motion.dt());
+            return motion;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSeismicRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Run the analysis on the analysis pool, streaming start, samples and
+     * complete events (error if it fails)
+     *
+     * @throws AnalysisBusyException if every analysis thread is busy
+     */
+    public SseEmitter stream(SeismicRequest request, GroundMotion motion) {
+        validate(request);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        try {
+            executor.execute(() -> integrate(request, motion, emitter, closed));
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new AnalysisBusyException("All " + maxConcurrent + " seismic analyses are running, retry later");
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void integrate(SeismicRequest request, GroundMotion motion, SseEmitter emitter, AtomicBoolean closed) {
+        try {
+            run(request, motion, new Listener() {
+                @Override
+                public void start(SeismicHistoryDTO.Start start) throws IOException {
+                    emitter.send(SseEmitter.event().name("start").data(start));
+                }
+
+                @Override
+                public void samples(SeismicHistoryDTO.Samples samples) throws IOException {
+                    emitter.send(SseEmitter.event().name("samples").data(samples));
+                }
+
+                @Override
+                public void complete(SeismicHistoryDTO.Peaks peaks) throws IOException {
+                    emitter.send(SseEmitter.event().name("complete").data(peaks));
+                }
+
+                @Override
+                public boolean closed() {
+                    return closed.get();
+                }
+            });
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Client gone, stream closed (CancellationException) or emitter timed out: stop integrating
+            log.debug("SeismicAnalysisService: Stream closed - {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("SeismicAnalysisService: Analysis failed - {}", e.getMessage(), e);
+            try {
+                emitter.send(SseEmitter.event().name("error").data(Map.of("error", String.valueOf(e.getMessage()))));
+                emitter.complete();
+            } catch (IOException | IllegalStateException gone) {
+                log.debug("SeismicAnalysisService: Stream closed - {}", gone.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Integrate the record, handing events to the listener; the peaks over the whole record
+     */
+    public SeismicHistoryDTO.Peaks run(SeismicRequest request, GroundMotion motion, Listener listener) throws IOException {
+        validate(request);
+        long started = System.nanoTime();
+        BuildingPredictionRequest building = request.getBuilding();
+        int storeys = BuildingFrame.storeys(building);
+        int bays = BuildingFrame.bays(building);
+        double height = building.getFloorHeight();
+        double dampingRatio = valueOr(request.getDamping(), 0.05);
+        int points = request.getPoints() != null ? request.getPoints() : 2000;
+
+        FrameModel model = BuildingFrame.model(building);
+        FrameSolver solver = new FrameSolver(model);
+        double[] omegas = swayOmegas(new ModalAnalysis(model, solver).modes(Math.min(6, solver.equationCount())));
+        double[] rayleigh = TimeHistory.rayleigh(omegas[0], omegas[1], dampingRatio);
+        TimeHistory history = new TimeHistory(model, solver, 0, motion.dt(), rayleigh[0], rayleigh[1]);
+
+        int steps = motion.steps();
+        int stride = (steps + points - 1) / points;
+        listener.start(SeismicHistoryDTO.Start.builder()
+                .steps(steps)
+                .dt(motion.dt())
+                .duration(motion.duration())
+                .pga(motion.peak() / GroundMotion.G)
+                .storeys(storeys)
+                .bays(bays)
+                .equations(solver.equationCount())
+                .periods(new double[]{2 * Math.PI / omegas[0], 2 * Math.PI / omegas[1]})
+                .dampingRatio(dampingRatio)
+                .stride(stride)
+                .build());
+
+        int[] levels = new int[storeys + 1];
+        for (int level = 0; level <= storeys; level++) {
+            levels[level] = BuildingFrame.node(bays, level, 0);
+        }
+        int roof = levels[storeys];
+
+        // Current batch, and the largest value of each quantity over the current window
+        double[][] batch = new double[5][BATCH];
+        int batched = 0;
+        double[] window = new double[4];
+        Peaks peaks = new Peaks();
+
+        double[] ground = motion.acceleration();
+        history.start(ground[0]);
+        for (int i = 0; i < steps; i++) {
+            if (listener.closed()) {
+                throw new CancellationException("Stream closed at step " + i + " of " + steps);
+            }
+            if (i > 0) {
+                history.advance(ground[i]);
+            }
+            double time = history.time();
+            double roofDisplacement = history.displacement(roof, 0);
+            double drift = 0;
+            for (int level = 1; level <= storeys; level++) {
+                double storeyDrift = (history.displacement(levels[level], 0)
+                        - history.displacement(levels[level - 1], 0)) / height;
+                drift = Math.abs(storeyDrift) > Math.abs(drift) ? storeyDrift : drift;
+            }
+            double shear = history.baseShear();
+            double roofAcceleration = history.acceleration(roof, 0) + ground[i];
+            peaks.update(time, roofDisplacement, drift, shear, roofAcceleration);
+
+            window[0] = largest(window[0], ground[i]);
+            window[1] = largest(window[1], roofDisplacement);
+            window[2] = largest(window[2], drift);
+            window[3] = largest(window[3], shear);
+            if ((i + 1) % stride == 0 || i == steps - 1) {
+                batch[0][batched] = time;
+                batch[1][batched] = window[0] / GroundMotion.G;
+                batch[2][batched] = window[1] * 1000;
+                batch[3][batched] = window[2];
+                batch[4][batched] = window[3];
+                batched++;
+                Arrays.fill(window, 0);
+                if (batched == BATCH || i == steps - 1) {
+                    listener.samples(SeismicHistoryDTO.Samples.builder()
+                            .time(Arrays.copyOf(batch[0], batched))
+                            .groundAcceleration(Arrays.copyOf(batch[1], batched))
+                            .roofDisplacement(Arrays.copyOf(batch[2], batched))
+                            .interstoreyDrift(Arrays.copyOf(batch[3], batched))
+                            .baseShear(Arrays.copyOf(batch[4], batched))
+                            .peaks(peaks.toDto(time, driftLimit))
+                            .build());
+                    batched = 0;
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - started;
+        duration.record(elapsed, TimeUnit.NANOSECONDS);
+        stepCounter.increment(steps);
+        log.info("SeismicAnalysisService: {} steps of {} equations in {} ms", steps, solver.equationCount(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        SeismicHistoryDTO.Peaks result = peaks.toDto(history.time(), driftLimit);
+        listener.complete(result);
+        return result;
+    }
+
+    private void validate(SeismicRequest request) {
+        double dampingRatio = valueOr(request.getDamping(), 0.05);
+        if (!(dampingRatio >= 0 && dampingRatio <= 0.5)) {
+            throw new InvalidSeismicRequestException("damping must be in [0, 0.5]");
+        }
+        if (request.getPoints() != null && (request.getPoints() < 2 || request.getPoints() > maxPoints)) {
+            throw new InvalidSeismicRequestException("points must be between 2 and " + maxPoints);
+        }
+    }
+
+    private static void checkTimeStep(double dt) {
+        if (!(dt >= 1e-4 && dt <= 0.1)) {
+            throw new InvalidSeismicRequestException("dt must be in [0.0001, 0.1] s");
+        }
+    }
+
+    /**
+     * Circular frequencies of the first two modes moving at least 1% of the
+     * horizontal mass; three times the first when there is only one
+     */
+    private static double[] swayOmegas(ModalAnalysis.Result modes) {
+        double[] omegas = new double[2];
+        int found = 0;
+        for (ModalAnalysis.Mode mode : modes.modes()) {
+            if (mode.massParticipation() >= 0.01 && found < 2) {
+                omegas[found++] = mode.omega();
+            }
+        }
+        if (found == 0) {
+            omegas[0] = modes.modes().get(0).omega();
+        }
+        if (found < 2) {
+            omegas[1] = 3 * omegas[0];
+        }
+        return omegas;
+    }
+
+    private static double largest(double current, double value) {
+        return Math.abs(value) > Math.abs(current) ? value : current;
+    }
+
+    private static double valueOr(Double value, double fallback) {
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Running peaks, updated every step without allocating
+     */
+    private static final class Peaks {
+        private double roofDisplacement;
+        private double roofDisplacementTime;
+        private double roofAcceleration;
+        private double drift;
+        private double driftTime;
+        private double shear;
+        private double shearTime;
+
+        void update(double time, double displacement, double storeyDrift, double baseShear, double acceleration) {
+            if (Math.abs(displacement) > roofDisplacement) {
+                roofDisplacement = Math.abs(displacement);
+                roofDisplacementTime = time;
+            }
+            if (Math.abs(storeyDrift) > drift) {
+                drift = Math.abs(storeyDrift);
+                driftTime = time;
+            }
+            if (Math.abs(baseShear) > shear) {
+                shear = Math.abs(baseShear);
+                shearTime = time;
+            }
+            roofAcceleration = Math.max(roofAcceleration, Math.abs(acceleration));
+        }
+
+        SeismicHistoryDTO.Peaks toDto(double time, double driftLimit) {
+            return SeismicHistoryDTO.Peaks.builder()
+                    .time(time)
+                    .roofDisplacement(roofDisplacement * 1000)
+                    .roofDisplacementTime(roofDisplacementTime)
+                    .roofAcceleration(roofAcceleration / GroundMotion.G)
+                    .interstoreyDrift(drift)
+                    .interstoreyDriftTime(driftTime)
+                    .baseShear(shear)
+                    .baseShearTime(shearTime)
+                    .driftLimit(driftLimit)
+                    .driftDemandRatio(drift / driftLimit)
+                    .build();
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.simstruct.backend.service;
 
+import com.simstruct.backend.dto.BulkShareRequest;
+import com.simstruct.backend.dto.BulkShareResult;
 import com.simstruct.backend.dto.SharedSimulationDTO;
 import com.simstruct.backend.entity.SharedSimulation;
 import com.simstruct.backend.entity.Simulation;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.EngagementEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.event.SocialGraphChangedEvent;
+import com.simstruct.backend.repository.FriendshipRepository;
 import com.simstruct.backend.repository.SharedSimulationRepository;
 import com.simstruct.backend.repository.SimulationRepository;
 import com.simstruct.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,7 +34,9 @@ public class SharedSimulationService {
     private final SharedSimulationRepository sharedSimulationRepository;
     private final SimulationRepository simulationRepository;
     private final UserRepository userRepository;
+    private final FriendshipRepository friendshipRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Share simulation with a friend
@@ -53,6 +68,10 @@ public class SharedSimulationService {
                 .build();
         
         share = sharedSimulationRepository.save(share);
+        eventPublisher.publishEvent(new SocialGraphChangedEvent(sharedBy.getId(), sharedWith.getId(),
+                SocialGraphChangedEvent.Change.SHARE_ADDED));
+        eventPublisher.publishEvent(new SimulationChangedEvent(simulationId, SimulationChangedEvent.Change.SHARES));
+        eventPublisher.publishEvent(new EngagementEvent(simulationId, EngagementEvent.Kind.SHARE));
         
         // Send notification to recipient
         try {
@@ -70,6 +89,104 @@ public class SharedSimulationService {
         return mapToDTO(share);
     }
 
+    /**
+     * Share a simulation with many users at once.
+     * Recipients are validated in one query, new shares are inserted as one JDBC batch
+     * and recipients are notified in one batch. Users who already have the simulation
+     * are skipped; the simulation row is locked so concurrent bulk shares cannot
+     * create duplicates.
+     */
+    @Transactional
+    public BulkShareResult shareSimulationBulk(String sharedById, BulkShareRequest request) {
+        System.out.println("SharedSimulationService: Bulk sharing simulation " + request.getSimulationId());
+
+        Simulation simulation = simulationRepository.findByIdForUpdate(request.getSimulationId())
+                .orElseThrow(() -> new RuntimeException("Simulation not found"));
+
+        if (!simulation.getUser().getId().equals(sharedById)) {
+            throw new RuntimeException("Not authorized to share this simulation");
+        }
+
+        Set<String> recipientIds = new LinkedHashSet<>();
+        if (request.getRecipientIds() != null) {
+            recipientIds.addAll(request.getRecipientIds());
+        }
+        if (request.isAllFriends()) {
+            recipientIds.addAll(friendshipRepository.findAcceptedFriendIds(sharedById));
+        }
+        recipientIds.remove(sharedById);
+        if (recipientIds.isEmpty()) {
+            throw new RuntimeException("No recipients to share with");
+        }
+
+        // One query validates every recipient and loads the sender
+        List<String> lookupIds = new ArrayList<>(recipientIds);
+        lookupIds.add(sharedById);
+        Map<String, User> users = userRepository.findAllById(lookupIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        User sharedBy = users.get(sharedById);
+        if (sharedBy == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        Set<String> existing = new HashSet<>(
+                sharedSimulationRepository.findSharedWithIdsBySimulationId(simulation.getId()));
+        SharedSimulation.SharePermission permission = request.getPermission() != null
+                ? request.getPermission() : SharedSimulation.SharePermission.VIEW;
+
+        List<String> invalid = new ArrayList<>();
+        List<String> alreadyShared = new ArrayList<>();
+        List<SharedSimulation> shares = new ArrayList<>();
+        for (String recipientId : recipientIds) {
+            User recipient = users.get(recipientId);
+            if (recipient == null) {
+                invalid.add(recipientId);
+            } else if (existing.contains(recipientId)) {
+                alreadyShared.add(recipientId);
+            } else {
+                shares.add(SharedSimulation.builder()
+                        .simulation(simulation)
+                        .sharedBy(sharedBy)
+                        .sharedWith(recipient)
+                        .permission(permission)
+                        .message(request.getMessage())
+                        .build());
+            }
+        }
+
+        List<SharedSimulation> saved = sharedSimulationRepository.saveAll(shares);
+        List<String> newRecipientIds = saved.stream()
+                .map(share -> share.getSharedWith().getId())
+                .collect(Collectors.toList());
+        newRecipientIds.forEach(recipientId -> eventPublisher.publishEvent(new SocialGraphChangedEvent(
+                sharedById, recipientId, SocialGraphChangedEvent.Change.SHARE_ADDED)));
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new SimulationChangedEvent(simulation.getId(), SimulationChangedEvent.Change.SHARES));
+        }
+        saved.forEach(share -> eventPublisher.publishEvent(
+                new EngagementEvent(simulation.getId(), EngagementEvent.Kind.SHARE)));
+        System.out.println("SharedSimulationService: Shared with " + saved.size() + " users, skipped "
+                + alreadyShared.size() + " duplicates and " + invalid.size() + " unknown users");
+
+        try {
+            notificationService.sendSimulationSharedNotifications(
+                newRecipientIds,
+                sharedBy.getId(),
+                sharedBy.getName(),
+                simulation.getId(),
+                simulation.getName()
+            );
+        } catch (Exception e) {
+            System.out.println("SharedSimulationService: Failed to send notifications - " + e.getMessage());
+        }
+
+        return BulkShareResult.builder()
+                .shared(saved.stream().map(this::mapToDTO).collect(Collectors.toList()))
+                .alreadyShared(alreadyShared)
+                .invalidRecipients(invalid)
+                .build();
+    }
+
     /**
      * Get simulations I shared (My Shares)
      */
@@ -131,6 +248,9 @@ public class SharedSimulationService {
         }
         
         sharedSimulationRepository.delete(share);
+        eventPublisher.publishEvent(new SocialGraphChangedEvent(share.getSharedBy().getId(),
+                share.getSharedWith().getId(), SocialGraphChangedEvent.Change.SHARE_REMOVED));
+        eventPublisher.publishEvent(new SimulationChangedEvent(share.getSimulation().getId(), SimulationChangedEvent.Change.SHARES));
     }
 
     private SharedSimulationDTO mapToDTO(SharedSimulation share) {
@@ -0,0 +1,244 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.entity.BuildingParameters;
+import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.entity.SimulationResult;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.SimulationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearest-neighbour index over simulation parameters.
+ *
+ * Every simulation is a point of normalized coordinates in [0, 1]:
+ * - design space: beam span, width, height and load magnitude (log scale, as
+ *   they span orders of magnitude) plus the 11 building inputs (linear over
+ *   their validation range). One k-d tree per material, since designs in
+ *   different materials are not comparable; a different load or support type
+ *   adds a fixed penalty to the distance.
+ * - AI input space: only the 11 building inputs, the model's whole input. A
+ *   completed AI prediction within similarity.reuse-tolerance of a new request
+ *   can be reused instead of calling the model. The tolerance is 0 (off) by
+ *   default.
+ *
+ * The trees are built on startup and kept up to date from committed
+ * SimulationChangedEvents.
+ */
+@Component
+@Slf4j
+public class SimilarityIndex {
+
+    private static final int BUILDING_DIMS = BuildingParameters.COUNT;
+    private static final int DESIGN_DIMS = 4 + BUILDING_DIMS;
+    private static final double TYPE_MISMATCH_PENALTY = 0.25;
+    private static final int LOAD_PAGE_SIZE = 500;
+
+    private final SimulationRepository simulationRepository;
+    private final double reuseTolerance;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Simulation.MaterialType, KdTree<Design>> designs = new EnumMap<>(Simulation.MaterialType.class);
+    private final KdTree<Design> predictions = new KdTree<>(BUILDING_DIMS);
+
+    public SimilarityIndex(SimulationRepository simulationRepository,
+                           @Value("${similarity.reuse-tolerance:0}") double reuseTolerance) {
+        this.simulationRepository = simulationRepository;
+        this.reuseTolerance = reuseTolerance;
+        for (Simulation.MaterialType material : Simulation.MaterialType.values()) {
+            designs.put(material, new KdTree<>(DESIGN_DIMS));
+        }
+    }
+
+    /**
+     * What the index knows about a simulation
+     */
+    public record Design(String id, String ownerId, boolean isPublic, Simulation.MaterialType materialType,
+                         Simulation.LoadType loadType, Simulation.SupportType supportType) {
+    }
+
+    /**
+     * The k designs most similar to an indexed simulation that the user may read
+     * (public, their own, or shared with them), nearest first
+     */
+    public List<KdTree.Neighbor<Design>> findSimilar(String simulationId, String userId, Set<String> sharedWithUser,
+                                                     int k) {
+        lock.readLock().lock();
+        try {
+            for (KdTree<Design> tree : designs.values()) {
+                Design design = tree.get(simulationId);
+                if (design != null) {
+                    return tree.nearest(tree.point(simulationId), k,
+                            d -> !d.id().equals(simulationId)
+                                    && (d.isPublic() || d.ownerId().equals(userId) || sharedWithUser.contains(d.id())),
+                            d -> typePenalty(design, d));
+                }
+            }
+            return List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Id of a completed AI prediction for near-identical building inputs, if reuse is on
+     */
+    public Optional<KdTree.Neighbor<Design>> findReusable(BuildingPredictionRequest request) {
+        if (reuseTolerance <= 0) {
+            return Optional.empty();
+        }
+        double[] point = buildingPoint(BuildingParameters.from(request), false);
+        if (point == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return predictions.nearest(point, 1, d -> true, d -> 0).stream()
+                    .filter(neighbor -> neighbor.distance() <= reuseTolerance)
+                    .findFirst();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index every simulation
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int page = 0;
+        Page<Simulation> simulations;
+        do {
+            simulations = simulationRepository.findAll(PageRequest.of(page++, LOAD_PAGE_SIZE, Sort.by("id")));
+            simulations.forEach(this::index);
+        } while (simulations.hasNext());
+        log.info("SimilarityIndex: Indexed {} simulations, {} reusable predictions",
+                simulations.getTotalElements(), predictions.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        switch (event.change()) {
+            case SHARES -> { }
+            case DELETED -> remove(event.simulationId());
+            default -> simulationRepository.findById(event.simulationId())
+                    .ifPresentOrElse(this::index, () -> remove(event.simulationId()));
+        }
+    }
+
+    /**
+     * Insert or refresh a simulation in both spaces
+     */
+    public void index(Simulation simulation) {
+        Design design = new Design(simulation.getId(), simulation.getUser().getId(),
+                Boolean.TRUE.equals(simulation.getIsPublic()), simulation.getMaterialType(),
+                simulation.getLoadType(), simulation.getSupportType());
+        double[] designPoint = designPoint(simulation);
+        double[] predictionPoint = isReusable(simulation) ? buildingPoint(simulation.getBuildingParameters(), false) : null;
+
+        lock.writeLock().lock();
+        try {
+            designs.values().forEach(tree -> tree.remove(simulation.getId()));
+            if (design.materialType() != null) {
+                designs.get(design.materialType()).put(simulation.getId(), designPoint, design);
+            }
+            if (predictionPoint != null) {
+                predictions.put(simulation.getId(), predictionPoint, design);
+            } else {
+                predictions.remove(simulation.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String simulationId) {
+        lock.writeLock().lock();
+        try {
+            designs.values().forEach(tree -> tree.remove(simulationId));
+            predictions.remove(simulationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Completed with an AI prediction of its own whose scores were stored
+     */
+    private static boolean isReusable(Simulation simulation) {
+        return simulation.getStatus() == Simulation.SimulationStatus.COMPLETED
+                && simulation.getResults() != null
+                && simulation.getResults().getStabilityIndex() != null
+                && simulation.getResults().getSeismicResistance() != null
+                && simulation.getResults().getResultSource() != SimulationResult.ResultSource.AI_REUSED;
+    }
+
+    private static double typePenalty(Design query, Design candidate) {
+        double penalty = 0;
+        if (query.loadType() != candidate.loadType()) {
+            penalty += TYPE_MISMATCH_PENALTY * TYPE_MISMATCH_PENALTY;
+        }
+        if (query.supportType() != candidate.supportType()) {
+            penalty += TYPE_MISMATCH_PENALTY * TYPE_MISMATCH_PENALTY;
+        }
+        return penalty;
+    }
+
+    static double[] designPoint(Simulation simulation) {
+        double[] point = new double[DESIGN_DIMS];
+        point[0] = logScale(simulation.getBeamLength(), 0.5, 50);
+        point[1] = logScale(simulation.getBeamWidth(), 0.05, 2);
+        point[2] = logScale(simulation.getBeamHeight(), 0.05, 2);
+        point[3] = logScale(simulation.getLoadMagnitude(), 1, 1e6);
+        // Simulations from before building inputs were stored sit at the centre of the range
+        double[] building = buildingPoint(simulation.getBuildingParameters(), true);
+        System.arraycopy(building, 0, point, 4, BUILDING_DIMS);
+        return point;
+    }
+
+    /**
+     * Building inputs scaled over their validation ranges; null if an input is missing
+     * and imputeMissing is off
+     */
+    static double[] buildingPoint(BuildingParameters p, boolean imputeMissing) {
+        Double[] values = (p != null ? p : new BuildingParameters()).values();
+        double[] point = new double[BUILDING_DIMS];
+        for (int i = 0; i < BUILDING_DIMS; i++) {
+            if (values[i] == null) {
+                if (!imputeMissing) {
+                    return null;
+                }
+                point[i] = 0.5;
+            } else {
+                point[i] = clamp((values[i] - BuildingParameters.min(i)) / (BuildingParameters.max(i) - BuildingParameters.min(i)));
+            }
+        }
+        return point;
+    }
+
+    private static double logScale(Double value, double min, double max) {
+        if (value == null || value <= 0) {
+            return 0.5;
+        }
+        return clamp(Math.log(value / min) / Math.log(max / min));
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
@@ -0,0 +1,134 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.event.SimulationChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of read-access decisions keyed by (simulationId, userId).
+ *
+ * Only granted access is cached, together with the reason (owner, public or
+ * shared). Entries for a simulation are dropped when a SimulationChangedEvent
+ * for it is committed, so unsharing, making a simulation private or deleting
+ * it takes effect on the next read.
+ *
+ * A decision computed from the database is only kept if no invalidation
+ * happened while it was being computed; otherwise a reader that raced with an
+ * unshare could put back a stale grant.
+ *
+ * The cache holds at most MAX_ENTRIES (simulation, user) decisions in total; a
+ * public simulation read by many users counts once per user, so past the bound
+ * whole simulations are evicted until there is room again.
+ */
+@Component
+@Slf4j
+public class SimulationAccessCache {
+
+    static final int MAX_ENTRIES = 100_000;
+
+    private final Map<String, Map<String, Access>> grants = new ConcurrentHashMap<>();
+    // Decisions across all simulations; only changed inside grants' atomic compute/remove
+    private final AtomicInteger entries = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Why a user may read a simulation
+     */
+    public enum Access {
+        OWNER,
+        PUBLIC,
+        SHARED
+    }
+
+    /**
+     * Cached decision, or null if the database must be consulted
+     */
+    public Access get(String simulationId, String userId) {
+        Map<String, Access> users = grants.get(simulationId);
+        return users == null ? null : users.get(userId);
+    }
+
+    /**
+     * Token to take before reading the data a decision is computed from
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Remember a granted decision computed since the given generation
+     */
+    public void put(String simulationId, String userId, Access access, long readGeneration) {
+        while (entries.get() >= MAX_ENTRIES && evictOne()) {
+            // Drop whole simulations until the new decision fits
+        }
+        grants.compute(simulationId, (k, users) -> {
+            Map<String, Access> target = users != null ? users : new ConcurrentHashMap<>();
+            if (target.put(userId, access) == null) {
+                entries.incrementAndGet();
+            }
+            return target;
+        });
+        if (generation.get() != readGeneration) {
+            // An invalidation ran while the decision was computed; it may be stale
+            invalidate(simulationId);
+        }
+    }
+
+    /**
+     * Forget every decision for a simulation
+     */
+    public void invalidate(String simulationId) {
+        generation.incrementAndGet();
+        remove(simulationId);
+    }
+
+    /**
+     * Number of simulations with cached decisions
+     */
+    public int size() {
+        return grants.size();
+    }
+
+    /**
+     * Number of cached decisions across all simulations
+     */
+    public int entries() {
+        return entries.get();
+    }
+
+    /**
+     * Drop decisions once the change that affects them is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        if (event.change() != SimulationChangedEvent.Change.CREATED) {
+            log.debug("SimulationAccessCache: Invalidating {} after {}", event.simulationId(), event.change());
+            invalidate(event.simulationId());
+        }
+    }
+
+    private boolean evictOne() {
+        Iterator<String> it = grants.keySet().iterator();
+        if (!it.hasNext()) {
+            return false;
+        }
+        remove(it.next());
+        return true;
+    }
+
+    private void remove(String simulationId) {
+        Map<String, Access> users = grants.remove(simulationId);
+        if (users != null) {
+            // Detached from grants, so no put can still add to it
+            entries.addAndGet(-users.size());
+        }
+    }
+}
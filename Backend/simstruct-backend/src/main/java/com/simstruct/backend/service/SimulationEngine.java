@@ -1,5 +1,8 @@
 package com.simstruct.backend.service;
 
+import com.simstruct.backend.analysis.FrameModel;
+import com.simstruct.backend.analysis.FrameSolver;
+import com.simstruct.backend.analysis.ModalAnalysis;
 import com.simstruct.backend.entity.Simulation;
 import com.simstruct.backend.entity.SimulationResult;
 import org.springframework.stereotype.Service;
@@ -73,8 +76,8 @@ public class SimulationEngine {
                         simulation.getDensity() : getDefaultDensity(simulation.getMaterialType());
         double weight = A * L * density;
 
-        // Calculate natural frequency (simplified for beam)
-        double naturalFrequency = calculateNaturalFrequency(E, I, density, A, L);
+        // Calculate natural frequency (first mode for the supports)
+        double naturalFrequency = calculateNaturalFrequency(E, I, density, A, L, simulation.getSupportType());
 
         // Generate recommendations
         String recommendations = generateRecommendations(safetyFactor, maxDeflection, L, maxStress, yieldStrength);
@@ -94,6 +97,18 @@ public class SimulationEngine {
                 .build();
     }
 
+    /**
+     * First mode natural frequency of the simulation's beam alone, in Hz
+     */
+    public double naturalFrequency(Simulation simulation) {
+        double b = simulation.getBeamWidth();
+        double h = simulation.getBeamHeight();
+        double density = simulation.getDensity() != null ?
+                        simulation.getDensity() : getDefaultDensity(simulation.getMaterialType());
+        return calculateNaturalFrequency(simulation.getElasticModulus(), calculateMomentOfInertia(b, h), density,
+                b * h, simulation.getBeamLength(), simulation.getSupportType());
+    }
+
     /**
      * Calculate moment of inertia for rectangular section
      */
@@ -205,10 +220,44 @@ public class SimulationEngine {
 
     // ========== UTILITY METHODS ==========
 
-    private double calculateNaturalFrequency(double E, double I, double density, double A, double L) {
-        // First mode natural frequency: f = (π²/2π) * √(EI/ρAL⁴)
-        double omega = Math.pow(Math.PI, 2) * Math.sqrt((E * I) / (density * A * Math.pow(L, 4)));
-        return omega / (2 * Math.PI); // Convert to Hz
+    /**
+     * First mode natural frequency, from a modal analysis of the beam in 20
+     * elements: f = (βL)²/2π * √(EI/ρAL⁴) with βL = π simply supported,
+     * 1.875 cantilever, 3.927 fixed-pinned, 4.730 fixed-fixed. Axial motion is
+     * restrained so the first mode is the bending one even for deep or short
+     * beams, whose axial mode would otherwise come first.
+     */
+    private double calculateNaturalFrequency(double E, double I, double density, double A, double L,
+                                             Simulation.SupportType supportType) {
+        int elements = 20;
+        FrameModel beam = new FrameModel();
+        for (int i = 0; i <= elements; i++) {
+            beam.addNode(L * i / elements, 0);
+        }
+        for (int i = 0; i < elements; i++) {
+            int member = beam.addMember(i, i + 1, E, A, I, 1, FrameModel.MemberType.BEAM);
+            beam.addMemberMass(member, density * A);
+        }
+        switch (supportType) {
+            case FIXED_FREE:
+                beam.fix(0);
+                break;
+            case FIXED_FIXED:
+                beam.fix(0);
+                beam.fix(elements);
+                break;
+            case FIXED_PINNED:
+                beam.fix(0);
+                beam.pin(elements);
+                break;
+            default:
+                beam.pin(0);
+                beam.restrain(elements, 1);
+        }
+        for (int i = 0; i <= elements; i++) {
+            beam.restrain(i, 0);
+        }
+        return new ModalAnalysis(beam, new FrameSolver(beam)).modes(1).modes().get(0).frequency(); // Hz
     }
 
     private double getDefaultYieldStrength(Simulation.MaterialType material) {
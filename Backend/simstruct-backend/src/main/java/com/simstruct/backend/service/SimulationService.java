@@ -1,20 +1,32 @@
 package com.simstruct.backend.service;
 
+import com.simstruct.backend.analysis.BuildingFrame;
 import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.SimilarSimulationDTO;
 import com.simstruct.backend.dto.SimulationRequest;
 import com.simstruct.backend.dto.SimulationResponse;
+import com.simstruct.backend.entity.BuildingParameters;
 import com.simstruct.backend.entity.Simulation;
 import com.simstruct.backend.entity.SimulationResult;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.EngagementEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
 import com.simstruct.backend.repository.SimulationRepository;
 import com.simstruct.backend.repository.SharedSimulationRepository;
 import com.simstruct.backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,32 +43,71 @@ public class SimulationService {
     private final SharedSimulationRepository sharedSimulationRepository;
     private final SimulationEngine simulationEngine;
     private final NotificationService notificationService;
-    private final AIModelService aiModelService;
+    private final ResilientAIClient aiClient;
+    private final SimulationAccessCache accessCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SimilarityIndex similarityIndex;
+    private final FrameAnalysisService frameAnalysisService;
 
     public SimulationService(SimulationRepository simulationRepository,
                             UserRepository userRepository,
                             SharedSimulationRepository sharedSimulationRepository,
                             SimulationEngine simulationEngine,
                             NotificationService notificationService,
-                            AIModelService aiModelService) {
+                            ResilientAIClient aiClient,
+                            SimulationAccessCache accessCache,
+                            ApplicationEventPublisher eventPublisher,
+                            SimilarityIndex similarityIndex,
+                            FrameAnalysisService frameAnalysisService) {
         this.simulationRepository = simulationRepository;
         this.userRepository = userRepository;
         this.sharedSimulationRepository = sharedSimulationRepository;
         this.simulationEngine = simulationEngine;
         this.notificationService = notificationService;
-        this.aiModelService = aiModelService;
+        this.aiClient = aiClient;
+        this.accessCache = accessCache;
+        this.eventPublisher = eventPublisher;
+        this.similarityIndex = similarityIndex;
+        this.frameAnalysisService = frameAnalysisService;
     }
 
     /**
-     * Create and run a new simulation
+     * Create and run a new simulation.
+     * The AI model is called before anything touches the database and outside of a
+     * transaction, so a request waiting on the model never holds a pooled connection.
+     * When the model is unavailable the simulation fails, unless ai.fallback.enabled
+     * is set: then it is analyzed by the physics engine and tagged as such.
+     * The user's role sets their share of the model when it is busy; without a free
+     * slot the request fails with AIFairScheduler.AICapacityExceededException.
      */
-    @Transactional
-    public SimulationResponse createSimulation(SimulationRequest request, String userEmail) {
-        logger.info("SimulationService: Creating simulation for user: {}", userEmail);
+    public SimulationResponse createSimulation(SimulationRequest request, String userId, User.Role role) {
+        logger.info("SimulationService: Creating simulation for user: {}", userId);
+
+        // Reuse the prediction of a near-identical building if reuse is enabled,
+        // otherwise call AI model with parameters from frontend
+        BuildingPredictionRequest aiRequest = request.toAIRequest();
+        AIPredictionResponse aiPrediction = reusablePrediction(aiRequest);
+        SimulationResult.ResultSource source = SimulationResult.ResultSource.AI_REUSED;
+        ResilientAIClient.AIUnavailableException aiFailure = null;
+        if (aiPrediction == null) {
+            source = SimulationResult.ResultSource.AI;
+            try {
+                aiPrediction = aiClient.predict(aiRequest, userId, role);
+                logger.info("SimulationService: AI prediction successful");
+            } catch (ResilientAIClient.AIUnavailableException e) {
+                if (!aiClient.isFallbackEnabled()) {
+                    logger.error("SimulationService: Simulation failed - {}", e.getMessage());
+                    throw new IllegalStateException("AI Model failed: " + e.getMessage(), e);
+                }
+                logger.warn("SimulationService: AI unavailable, falling back to engine - {}", e.getMessage());
+                source = SimulationResult.ResultSource.ENGINE;
+                aiFailure = e;
+            }
+        }
 
         // Find user
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
 
         // Build simulation entity
         Simulation simulation = Simulation.builder()
@@ -73,39 +124,44 @@ public class SimulationService {
                 .loadType(request.getLoadType())
                 .loadMagnitude(request.getLoadMagnitude())
                 .loadPosition(request.getLoadPosition())
+                .loadCombinations(request.loadCombinationTable())
                 .supportType(request.getSupportType())
+                .buildingParameters(BuildingParameters.from(aiRequest))
                 .status(Simulation.SimulationStatus.RUNNING)
                 .isPublic(request.getIsPublic() != null ? request.getIsPublic() : false)
                 .isFavorite(false)
                 .likesCount(0)
                 .build();
 
-        try {
-            // Call AI model with parameters from frontend
-            logger.debug("SimulationService: Calling AI model with frontend parameters...");
-            
-            // ALWAYS use AI model for predictions
-            logger.debug("SimulationService: Calling AI model...");
-            
-            // Call AI model - no fallback, must work
-            AIPredictionResponse aiPrediction = aiModelService.predict(request.toAIRequest());
-            logger.info("SimulationService: AI prediction successful");
-            
-            // Build results from AI only
-            SimulationResult results = buildResultsFromAI(aiPrediction, simulation);
-            simulation.setResults(results);
-            simulation.setStatus(Simulation.SimulationStatus.COMPLETED);
-            logger.info("SimulationService: AI analysis completed successfully");
-            
-        } catch (Exception e) {
-            logger.error("SimulationService: Simulation failed - {}", e.getMessage());
-            simulation.setStatus(Simulation.SimulationStatus.FAILED);
-            throw new IllegalStateException("AI Model failed: " + e.getMessage(), e);
+        // Build results from AI, or from the engine when falling back
+        FrameAnalysisService.Frame frame = buildingFrame(simulation);
+        SimulationResult results;
+        if (source == SimulationResult.ResultSource.ENGINE) {
+            try {
+                results = simulationEngine.analyze(simulation);
+            } catch (Exception e) {
+                logger.error("SimulationService: Engine fallback failed - {}", e.getMessage());
+                throw new IllegalStateException("AI Model failed: " + aiFailure.getMessage(), aiFailure);
+            }
+            results.setRecommendations("⚙️ AI model unavailable: results from the beam theory engine\n\n"
+                    + results.getRecommendations());
+        } else {
+            results = buildResultsFromAI(aiPrediction, simulation, frame);
+            if (source == SimulationResult.ResultSource.AI_REUSED) {
+                results.setRecommendations(results.getRecommendations()
+                        + "\nℹ️ AI prediction reused from a near-identical building already analyzed\n");
+            }
         }
+        addCombinationEnvelope(results, simulation, frame);
+        results.setResultSource(source);
+        simulation.setResults(results);
+        simulation.setStatus(Simulation.SimulationStatus.COMPLETED);
+        logger.info("SimulationService: Analysis completed successfully ({})", source);
 
         // Save and return
         Simulation saved = simulationRepository.save(simulation);
         logger.info("SimulationService: Simulation saved with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new SimulationChangedEvent(saved.getId(), SimulationChangedEvent.Change.CREATED));
 
         // Send notification based on status
         try {
@@ -130,58 +186,119 @@ public class SimulationService {
     }
 
     /**
-     * Get simulation by ID
+     * Get simulation by ID.
+     * Access is granted to the owner, to anyone for public simulations and to users
+     * the simulation is shared with. Granted decisions are cached, so repeated reads
+     * by the same user only cost the primary-key read.
      */
-    public SimulationResponse getSimulation(String id, String userEmail) {
-        logger.debug("SimulationService: Getting simulation {} for user {}", id, userEmail);
+    public SimulationResponse getSimulation(String id, String userId) {
+        logger.debug("SimulationService: Getting simulation {} for user {}", id, userId);
 
-        Simulation simulation = simulationRepository.findById(id)
+        long generation = accessCache.generation();
+        Simulation simulation = simulationRepository.findWithUserById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Simulation not found: " + id));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
-
-        logger.debug("SimulationService: User ID={}", user.getId());
-        logger.debug("SimulationService: Simulation owner email={}", simulation.getUser().getEmail());
-        logger.debug("SimulationService: Checking access for simulation {}", id);
-        
-        // Check access: allow if public, owner, or shared with user
-        boolean isOwner = simulation.getUser().getEmail().equals(userEmail);
-        logger.debug("SimulationService: isOwner={}", isOwner);
-        
-        boolean isPublic = simulation.getIsPublic();
-        logger.debug("SimulationService: isPublic={}", isPublic);
-        
-        logger.debug("SimulationService: Checking if shared with user {}", user.getId());
-        var sharedOpt = sharedSimulationRepository.findBySimulationIdAndSharedWithId(id, user.getId());
-        boolean isShared = sharedOpt.isPresent();
-        logger.debug("SimulationService: isShared={}", isShared);
-        if (sharedOpt.isPresent()) {
-            logger.debug("SimulationService: Found share: {}", sharedOpt.get().getId());
-        } else {
-            logger.debug("SimulationService: No share found for simulation={}, user={}", id, user.getId());
+        SimulationAccessCache.Access access = accessCache.get(id, userId);
+        if (access == null) {
+            access = resolveAccess(simulation, userId);
+            if (access == null) {
+                logger.warn("SimulationService: Access denied to simulation {} for user {}", id, userId);
+                throw new SecurityException("Access denied to simulation: " + id);
+            }
+            accessCache.put(id, userId, access, generation);
+        }
+        if (access == SimulationAccessCache.Access.PUBLIC) {
+            // Someone else's public simulation: counts towards trending
+            eventPublisher.publishEvent(new EngagementEvent(id, EngagementEvent.Kind.VIEW, userId));
         }
 
-        if (!isPublic && !isOwner && !isShared) {
-            logger.warn("SimulationService: Access denied - not owner, not public, not shared");
+        return SimulationResponse.fromEntity(simulation);
+    }
+
+    /**
+     * Check that the user may read the simulation, without mapping it.
+     * Throws like getSimulation when the simulation is missing or not readable.
+     */
+    public void checkAccess(String id, String userId) {
+        if (accessCache.get(id, userId) != null) {
+            return;
+        }
+        long generation = accessCache.generation();
+        Simulation simulation = simulationRepository.findWithUserById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Simulation not found: " + id));
+        SimulationAccessCache.Access access = resolveAccess(simulation, userId);
+        if (access == null) {
+            logger.warn("SimulationService: Access denied to simulation {} for user {}", id, userId);
             throw new SecurityException("Access denied to simulation: " + id);
         }
+        accessCache.put(id, userId, access, generation);
+    }
 
-        logger.debug("SimulationService: Access granted (isOwner={}, isPublic={}, isShared={})", isOwner, isPublic, isShared);
-        
-        return SimulationResponse.fromEntity(simulation);
+    /**
+     * Simulations with the most similar design (span, section, load and building
+     * inputs, same material) that the user may read (public, own or shared
+     * with them), nearest first
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarSimulationDTO> getSimilarSimulations(String id, String userId, int k) {
+        logger.debug("SimulationService: Getting {} simulations similar to {} for user {}", k, id, userId);
+        checkAccess(id, userId);
+
+        Set<String> sharedWithUser = new HashSet<>(sharedSimulationRepository.findSimulationIdsBySharedWithId(userId));
+        List<KdTree.Neighbor<SimilarityIndex.Design>> neighbors =
+                similarityIndex.findSimilar(id, userId, sharedWithUser, k);
+        if (neighbors.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Simulation> simulations = simulationRepository
+                .findWithUserByIdIn(neighbors.stream().map(KdTree.Neighbor::id).toList()).stream()
+                .collect(Collectors.toMap(Simulation::getId, Function.identity()));
+
+        // The index may lag behind a visibility change; re-check against the loaded rows
+        return neighbors.stream()
+                .map(neighbor -> Optional.ofNullable(simulations.get(neighbor.id()))
+                        .filter(s -> Boolean.TRUE.equals(s.getIsPublic()) || s.getUser().getId().equals(userId)
+                                || sharedWithUser.contains(s.getId()))
+                        .map(s -> new SimilarSimulationDTO(SimulationResponse.fromEntity(s), neighbor.distance())))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
     }
 
     /**
-     * Get all simulations for a user
+     * Current version and like count of a simulation the user is already known to
+     * have access to. Lets conditional GETs answer 304 without loading the
+     * simulation; returns null when the full read (and access check) is needed.
      */
-    public List<SimulationResponse> getUserSimulations(String userEmail) {
-        logger.debug("SimulationService: Getting simulations for user: {}", userEmail);
+    public SimulationRepository.Revision getCachedAccessRevision(String id, String userId) {
+        if (accessCache.get(id, userId) == null) {
+            return null;
+        }
+        return simulationRepository.findRevisionById(id).orElse(null);
+    }
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
+    /**
+     * Why the user may read the simulation, or null if they may not
+     */
+    private SimulationAccessCache.Access resolveAccess(Simulation simulation, String userId) {
+        if (simulation.getUser().getId().equals(userId)) {
+            return SimulationAccessCache.Access.OWNER;
+        }
+        if (Boolean.TRUE.equals(simulation.getIsPublic())) {
+            return SimulationAccessCache.Access.PUBLIC;
+        }
+        if (sharedSimulationRepository.existsBySimulationIdAndSharedWithId(simulation.getId(), userId)) {
+            return SimulationAccessCache.Access.SHARED;
+        }
+        return null;
+    }
 
-        List<Simulation> simulations = simulationRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+    /**
+     * Get all simulations for a user
+     */
+    public List<SimulationResponse> getUserSimulations(String userId) {
+        logger.debug("SimulationService: Getting simulations for user: {}", userId);
+
+        List<Simulation> simulations = simulationRepository.findByUserIdOrderByCreatedAtDesc(userId);
         logger.debug("SimulationService: Found {} simulations", simulations.size());
 
         return simulations.stream()
@@ -192,13 +309,10 @@ public class SimulationService {
     /**
      * Get recent simulations for a user (last 5)
      */
-    public List<SimulationResponse> getRecentSimulations(String userEmail) {
-        logger.debug("SimulationService: Getting recent simulations for: {}", userEmail);
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
+    public List<SimulationResponse> getRecentSimulations(String userId) {
+        logger.debug("SimulationService: Getting recent simulations for: {}", userId);
 
-        List<Simulation> simulations = simulationRepository.findTop5ByUserIdOrderByCreatedAtDesc(user.getId());
+        List<Simulation> simulations = simulationRepository.findTop5ByUserIdOrderByCreatedAtDesc(userId);
         
         return simulations.stream()
                 .map(SimulationResponse::fromEntity)
@@ -235,13 +349,10 @@ public class SimulationService {
     /**
      * Search user's simulations
      */
-    public List<SimulationResponse> searchUserSimulations(String query, String userEmail) {
+    public List<SimulationResponse> searchUserSimulations(String query, String userId) {
         logger.debug("SimulationService: Searching user simulations for: {}", query);
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
-
-        List<Simulation> simulations = simulationRepository.searchByUser(query, user.getId());
+        List<Simulation> simulations = simulationRepository.searchByUser(query, userId);
         
         return simulations.stream()
                 .map(SimulationResponse::fromEntity)
@@ -252,16 +363,12 @@ public class SimulationService {
      * Update simulation
      */
     @Transactional
-    public SimulationResponse updateSimulation(String id, SimulationRequest request, String userEmail) {
+    public SimulationResponse updateSimulation(String id, SimulationRequest request, String userId) {
         logger.debug("SimulationService: Updating simulation {}", id);
 
-        Simulation simulation = simulationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Simulation not found: " + id));
-
-        // Check ownership
-        if (!simulation.getUser().getEmail().equals(userEmail)) {
-            throw new SecurityException("Not authorized to update this simulation");
-        }
+        // Load only if owned by the user
+        Simulation simulation = simulationRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> ownershipError(id, "Not authorized to update this simulation"));
 
         // Update fields
         simulation.setName(request.getName());
@@ -276,12 +383,16 @@ public class SimulationService {
         simulation.setLoadType(request.getLoadType());
         simulation.setLoadMagnitude(request.getLoadMagnitude());
         simulation.setLoadPosition(request.getLoadPosition());
+        simulation.setLoadCombinations(request.loadCombinationTable());
         simulation.setSupportType(request.getSupportType());
+        simulation.setBuildingParameters(BuildingParameters.from(request.toAIRequest()));
         simulation.setIsPublic(request.getIsPublic() != null ? request.getIsPublic() : simulation.getIsPublic());
 
         // Re-run simulation
         try {
             SimulationResult results = simulationEngine.analyze(simulation);
+            addCombinationEnvelope(results, simulation, buildingFrame(simulation));
+            results.setResultSource(SimulationResult.ResultSource.ENGINE);
             simulation.setResults(results);
             simulation.setStatus(Simulation.SimulationStatus.COMPLETED);
         } catch (Exception e) {
@@ -289,6 +400,7 @@ public class SimulationService {
         }
 
         Simulation saved = simulationRepository.save(simulation);
+        eventPublisher.publishEvent(new SimulationChangedEvent(saved.getId(), SimulationChangedEvent.Change.UPDATED));
         logger.info("SimulationService: Simulation updated");
 
         return SimulationResponse.fromEntity(saved);
@@ -298,18 +410,15 @@ public class SimulationService {
      * Delete simulation
      */
     @Transactional
-    public void deleteSimulation(String id, String userEmail) {
+    public void deleteSimulation(String id, String userId) {
         logger.debug("SimulationService: Deleting simulation {}", id);
 
-        Simulation simulation = simulationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Simulation not found: " + id));
-
-        // Check ownership
-        if (!simulation.getUser().getEmail().equals(userEmail)) {
-            throw new SecurityException("Not authorized to delete this simulation");
-        }
+        // Load only if owned by the user
+        Simulation simulation = simulationRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> ownershipError(id, "Not authorized to delete this simulation"));
 
         simulationRepository.delete(simulation);
+        eventPublisher.publishEvent(new SimulationChangedEvent(id, SimulationChangedEvent.Change.DELETED));
         logger.info("SimulationService: Simulation deleted");
     }
 
@@ -317,16 +426,12 @@ public class SimulationService {
      * Toggle favorite status
      */
     @Transactional
-    public SimulationResponse toggleFavorite(String id, String userEmail) {
+    public SimulationResponse toggleFavorite(String id, String userId) {
         logger.debug("SimulationService: Toggling favorite for simulation {}", id);
 
-        Simulation simulation = simulationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Simulation not found: " + id));
-
-        // Check ownership
-        if (!simulation.getUser().getEmail().equals(userEmail)) {
-            throw new SecurityException("Not authorized to modify this simulation");
-        }
+        // Load only if owned by the user
+        Simulation simulation = simulationRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> ownershipError(id, "Not authorized to modify this simulation"));
 
         simulation.setIsFavorite(!simulation.getIsFavorite());
         Simulation saved = simulationRepository.save(simulation);
@@ -339,19 +444,16 @@ public class SimulationService {
      * Toggle public status
      */
     @Transactional
-    public SimulationResponse togglePublic(String id, String userEmail) {
+    public SimulationResponse togglePublic(String id, String userId) {
         logger.debug("SimulationService: Toggling public for simulation {}", id);
 
-        Simulation simulation = simulationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Simulation not found: " + id));
-
-        // Check ownership
-        if (!simulation.getUser().getEmail().equals(userEmail)) {
-            throw new SecurityException("Not authorized to modify this simulation");
-        }
+        // Load only if owned by the user
+        Simulation simulation = simulationRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> ownershipError(id, "Not authorized to modify this simulation"));
 
         simulation.setIsPublic(!simulation.getIsPublic());
         Simulation saved = simulationRepository.save(simulation);
+        eventPublisher.publishEvent(new SimulationChangedEvent(id, SimulationChangedEvent.Change.VISIBILITY));
 
         logger.debug("SimulationService: Public toggled to {}", saved.getIsPublic());
         return SimulationResponse.fromEntity(saved);
@@ -360,24 +462,98 @@ public class SimulationService {
     /**
      * Get favorite simulations
      */
-    public List<SimulationResponse> getFavoriteSimulations(String userEmail) {
-        logger.debug("SimulationService: Getting favorites for: {}", userEmail);
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userEmail));
+    public List<SimulationResponse> getFavoriteSimulations(String userId) {
+        logger.debug("SimulationService: Getting favorites for: {}", userId);
 
-        List<Simulation> simulations = simulationRepository.findByUserIdAndIsFavoriteTrueOrderByCreatedAtDesc(user.getId());
+        List<Simulation> simulations = simulationRepository.findByUserIdAndIsFavoriteTrueOrderByCreatedAtDesc(userId);
         
         return simulations.stream()
                 .map(SimulationResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Error for a simulation the user does not own: forbidden if it exists, not found otherwise
+     */
+    private RuntimeException ownershipError(String id, String message) {
+        if (simulationRepository.existsById(id)) {
+            return new SecurityException(message);
+        }
+        return new IllegalArgumentException("Simulation not found: " + id);
+    }
+
+    /**
+     * AI prediction stored for a near-identical building, or null to call the model
+     */
+    private AIPredictionResponse reusablePrediction(BuildingPredictionRequest aiRequest) {
+        Optional<KdTree.Neighbor<SimilarityIndex.Design>> match = similarityIndex.findReusable(aiRequest);
+        if (match.isEmpty()) {
+            return null;
+        }
+        SimulationResult stored = simulationRepository.findById(match.get().id())
+                .map(Simulation::getResults)
+                .orElse(null);
+        if (stored == null || stored.getStabilityIndex() == null || stored.getSeismicResistance() == null) {
+            return null;
+        }
+        logger.info("SimulationService: Reusing AI prediction of simulation {} (distance {})",
+                match.get().id(), String.format("%.4f", match.get().distance()));
+        return AIPredictionResponse.builder()
+                .maxDeflection(stored.getMaxDeflection())
+                .maxStress(stored.getMaxStress())
+                .stabilityIndex(stored.getStabilityIndex())
+                .seismicResistance(stored.getSeismicResistance())
+                .status(stored.getAiStatus())
+                .build();
+    }
+
+    /**
+     * The building's plane frame, assembled and factored once for the envelope
+     * and the natural frequency; null without building or if the frame fails
+     */
+    private FrameAnalysisService.Frame buildingFrame(Simulation simulation) {
+        if (simulation.getBuildingParameters() == null) {
+            return null;
+        }
+        try {
+            return frameAnalysisService.frame(simulation.getBuildingParameters().toAIRequest());
+        } catch (RuntimeException e) {
+            logger.warn("SimulationService: Frame assembly failed - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Envelope of the building's plane frame over the simulation's load
+     * combinations: the governing combination and the moment, shear and beam
+     * deflection ranges. Left empty if the frame analysis fails.
+     */
+    private void addCombinationEnvelope(SimulationResult results, Simulation simulation,
+                                        FrameAnalysisService.Frame frame) {
+        if (frame == null) {
+            return;
+        }
+        try {
+            BuildingFrame.CombinationResult envelope = frameAnalysisService.combinations(
+                    frame, simulation.getLoadCombinations());
+            results.setGoverningCombination(envelope.governingCombination());
+            results.setEnvelopeMomentMax(envelope.momentMax());
+            results.setEnvelopeMomentMin(envelope.momentMin());
+            results.setEnvelopeShearMax(envelope.shearMax());
+            results.setEnvelopeShearMin(envelope.shearMin());
+            results.setEnvelopeDeflectionMax(envelope.beamDeflectionMax());
+            results.setEnvelopeDeflectionMin(envelope.beamDeflectionMin());
+        } catch (RuntimeException e) {
+            logger.warn("SimulationService: Load combination envelope failed - {}", e.getMessage());
+        }
+    }
+
     /**
      * Build results from AI prediction only (no engine fallback)
      * All values come from AI Deep Learning model
      */
-    private SimulationResult buildResultsFromAI(AIPredictionResponse aiPrediction, Simulation simulation) {
+    private SimulationResult buildResultsFromAI(AIPredictionResponse aiPrediction, Simulation simulation,
+                                                FrameAnalysisService.Frame frame) {
         logger.debug("SimulationService: Building results from AI only");
         
         // Calculate safety factor from AI stress vs material yield strength
@@ -392,6 +568,24 @@ public class SimulationService {
         
         // Generate recommendations from AI
         String recommendations = generateAIRecommendations(aiPrediction, safetyFactor);
+
+        // The model does not predict dynamics: first mode of the building's plane frame,
+        // or of the beam alone when the frame cannot be analyzed
+        Double naturalFrequency = null;
+        if (frame != null) {
+            try {
+                naturalFrequency = frameAnalysisService.fundamentalFrequency(frame);
+            } catch (RuntimeException e) {
+                logger.warn("SimulationService: Modal analysis failed - {}", e.getMessage());
+            }
+        }
+        if (naturalFrequency == null) {
+            try {
+                naturalFrequency = simulationEngine.naturalFrequency(simulation);
+            } catch (RuntimeException e) {
+                logger.warn("SimulationService: Beam modal analysis failed - {}", e.getMessage());
+            }
+        }
         
         return SimulationResult.builder()
                 .maxDeflection(aiPrediction.getMaxDeflection())
@@ -401,9 +595,12 @@ public class SimulationService {
                 .safetyFactor(safetyFactor)
                 .isSafe(isSafe)
                 .recommendations(recommendations)
-                .naturalFrequency(10.0) // Default value
+                .naturalFrequency(naturalFrequency)
                 .criticalLoad(simulation.getLoadMagnitude() * safetyFactor)
                 .weight(weight)
+                .stabilityIndex(aiPrediction.getStabilityIndex())
+                .seismicResistance(aiPrediction.getSeismicResistance())
+                .aiStatus(aiPrediction.getStatus())
                 .build();
     }
 
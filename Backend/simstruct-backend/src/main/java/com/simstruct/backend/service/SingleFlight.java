@@ -0,0 +1,161 @@
+package com.simstruct.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent reads into one computation.
+ *
+ * The first caller for a key (the leader) runs the loader. Callers arriving
+ * while it runs wait for the same result instead of running the query again,
+ * and callers arriving within the freshness window after it completes reuse it.
+ * Results are the serialized response bytes, so followers skip mapping and JSON
+ * serialization too. Failures are never reused.
+ *
+ * Metrics: simstruct.singleflight.requests{endpoint, outcome=leader|coalesced|fresh}
+ * and simstruct.singleflight.coalescing.ratio{endpoint}, the share of requests
+ * that did not run the loader themselves.
+ */
+@Component
+@Slf4j
+public class SingleFlight {
+
+    private static final int MAX_FLIGHTS = 1_000;
+
+    private final MeterRegistry meterRegistry;
+    private final long freshnessNanos;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${singleflight.freshness-ms:1000}") long freshnessMs) {
+        this.meterRegistry = meterRegistry;
+        this.freshnessNanos = TimeUnit.MILLISECONDS.toNanos(freshnessMs);
+    }
+
+    /**
+     * Result for (endpoint, key), computed at most once per flight
+     *
+     * @param endpoint name of the read, used as metric tag
+     * @param key      normalized parameters of the read
+     * @param loader   computes the serialized result
+     */
+    public byte[] execute(String endpoint, String key, Supplier<byte[]> loader) {
+        String flightKey = endpoint + '|' + key;
+        long now = System.nanoTime();
+        Flight[] created = new Flight[1];
+        Flight flight = flights.compute(flightKey, (k, existing) -> {
+            if (existing != null && existing.isReusable(now, freshnessNanos)) {
+                return existing;
+            }
+            created[0] = new Flight();
+            return created[0];
+        });
+        EndpointStats endpointStats = statsFor(endpoint);
+
+        if (flight == created[0]) {
+            endpointStats.leader.increment();
+            if (flights.size() > MAX_FLIGHTS) {
+                purgeExpired(now);
+            }
+            return lead(flightKey, flight, loader);
+        }
+
+        if (flight.future.isDone()) {
+            endpointStats.fresh.increment();
+        } else {
+            endpointStats.coalesced.increment();
+        }
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] lead(String flightKey, Flight flight, Supplier<byte[]> loader) {
+        try {
+            byte[] result = loader.get();
+            flight.completedAt = System.nanoTime();
+            flight.future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too: an unfinished flight would block every later caller of the key
+            flights.remove(flightKey, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void purgeExpired(long now) {
+        flights.entrySet().removeIf(entry -> !entry.getValue().isReusable(now, freshnessNanos));
+        log.debug("SingleFlight: {} flights after purge", flights.size());
+    }
+
+    private EndpointStats statsFor(String endpoint) {
+        return stats.computeIfAbsent(endpoint, name -> new EndpointStats(meterRegistry, name));
+    }
+
+    /**
+     * One computation and the callers sharing it
+     */
+    private static final class Flight {
+        private final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        boolean isReusable(long now, long freshnessNanos) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally() && now - completedAt <= freshnessNanos;
+        }
+    }
+
+    /**
+     * Request counters of one endpoint
+     */
+    private static final class EndpointStats {
+        private final Counter leader;
+        private final Counter coalesced;
+        private final Counter fresh;
+
+        EndpointStats(MeterRegistry registry, String endpoint) {
+            this.leader = counter(registry, endpoint, "leader");
+            this.coalesced = counter(registry, endpoint, "coalesced");
+            this.fresh = counter(registry, endpoint, "fresh");
+            Gauge.builder("simstruct.singleflight.coalescing.ratio", this, EndpointStats::ratio)
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+        }
+
+        double ratio() {
+            double shared = coalesced.count() + fresh.count();
+            double total = shared + leader.count();
+            return total == 0 ? 0 : shared / total;
+        }
+
+        private static Counter counter(MeterRegistry registry, String endpoint, String outcome) {
+            return Counter.builder("simstruct.singleflight.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.event.SocialGraphChangedEvent;
+import com.simstruct.backend.event.UserChangedEvent;
+import com.simstruct.backend.repository.FriendshipRepository;
+import com.simstruct.backend.repository.SharedSimulationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact in-memory friendship graph used for "people you may know".
+ *
+ * User ids are interned to ints and each user keeps a sorted int[] of accepted
+ * friends. Neighbor arrays are copy-on-write: writers build a new array under a
+ * lock and readers walk whatever array they see without locking. The number of
+ * simulations shared between two users is kept per pair as a ranking signal.
+ *
+ * Built from the friendships and shared_simulations tables at startup and kept
+ * current by the SocialGraphChangedEvent of FriendshipService (accept/remove) and
+ * SharedSimulationService, applied once their transaction commits so a rollback
+ * leaves no edge behind. A deleted account (UserChangedEvent DELETED) loses all
+ * its edges and share counts, since the cascade removes its rows without events.
+ */
+@Component
+@Slf4j
+public class SocialGraph {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+    private static final long MAX_SHARED = (1L << 20) - 1;
+    private static final long MAX_MUTUAL = (1L << 11) - 1;
+
+    private final FriendshipRepository friendshipRepository;
+    private final SharedSimulationRepository sharedSimulationRepository;
+
+    private final Object writeLock = new Object();
+    private final Map<String, Integer> nodeByUserId = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> sharedCounts = new ConcurrentHashMap<>();
+    private volatile String[] userIds = new String[64];
+    private volatile int[][] neighbors = new int[64][];
+    private volatile int nodeCount = 0;
+
+    // Per-thread scratch space so suggestion queries do not allocate per candidate
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public SocialGraph(FriendshipRepository friendshipRepository,
+                       SharedSimulationRepository sharedSimulationRepository) {
+        this.friendshipRepository = friendshipRepository;
+        this.sharedSimulationRepository = sharedSimulationRepository;
+    }
+
+    /**
+     * Suggested user with its ranking signals
+     */
+    public record Suggestion(String userId, int mutualFriends, int sharedSimulations) {
+    }
+
+    /**
+     * Load the graph once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> friendPairs = friendshipRepository.findAcceptedPairs();
+        List<Object[]> sharePairs = sharedSimulationRepository.countSharesByPair();
+
+        synchronized (writeLock) {
+            nodeByUserId.clear();
+            sharedCounts.clear();
+            userIds = new String[64];
+            neighbors = new int[64][];
+            nodeCount = 0;
+
+            Map<Integer, List<Integer>> adjacency = new HashMap<>();
+            for (Object[] pair : friendPairs) {
+                int a = intern((String) pair[0]);
+                int b = intern((String) pair[1]);
+                adjacency.computeIfAbsent(a, k -> new ArrayList<>()).add(b);
+                adjacency.computeIfAbsent(b, k -> new ArrayList<>()).add(a);
+            }
+            int[][] lists = neighbors;
+            adjacency.forEach((node, friends) -> lists[node] = friends.stream()
+                    .mapToInt(Integer::intValue).distinct().sorted().toArray());
+            neighbors = lists;
+
+            for (Object[] pair : sharePairs) {
+                int a = intern((String) pair[0]);
+                int b = intern((String) pair[1]);
+                sharedCounts.merge(pairKey(a, b), ((Number) pair[2]).intValue(), Integer::sum);
+            }
+        }
+        log.info("SocialGraph: Loaded {} users, {} friendships, {} sharing pairs",
+                nodeCount, friendPairs.size(), sharedCounts.size());
+    }
+
+    // ========== UPDATES ==========
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSocialGraphChanged(SocialGraphChangedEvent event) {
+        switch (event.change()) {
+            case FRIENDSHIP_ADDED -> addFriendship(event.userId(), event.otherUserId());
+            case FRIENDSHIP_REMOVED -> removeFriendship(event.userId(), event.otherUserId());
+            case SHARE_ADDED -> addShare(event.userId(), event.otherUserId());
+            case SHARE_REMOVED -> removeShare(event.userId(), event.otherUserId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.change() == UserChangedEvent.Change.DELETED) {
+            removeUser(event.userId());
+        }
+    }
+
+    /**
+     * Forget a deleted user: its friendships and the shares it took part in.
+     * The int slot stays allocated so readers holding an older neighbor array
+     * can still resolve it; it is simply unreachable from now on.
+     */
+    public void removeUser(String userId) {
+        synchronized (writeLock) {
+            Integer node = nodeByUserId.remove(userId);
+            if (node == null) {
+                return;
+            }
+            int[][] lists = neighbors;
+            for (int friend : orEmpty(lists[node])) {
+                lists[friend] = removeSorted(lists[friend], node);
+            }
+            lists[node] = null;
+            neighbors = lists;
+            sharedCounts.keySet().removeIf(key -> (int) (key >>> 32) == node || key.intValue() == node);
+        }
+    }
+
+    /**
+     * Record an accepted friendship
+     */
+    public void addFriendship(String userId, String friendId) {
+        synchronized (writeLock) {
+            int a = intern(userId);
+            int b = intern(friendId);
+            int[][] lists = neighbors;
+            lists[a] = insertSorted(lists[a], b);
+            lists[b] = insertSorted(lists[b], a);
+            neighbors = lists;
+        }
+    }
+
+    /**
+     * Forget a friendship
+     */
+    public void removeFriendship(String userId, String friendId) {
+        Integer a = nodeByUserId.get(userId);
+        Integer b = nodeByUserId.get(friendId);
+        if (a == null || b == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            int[][] lists = neighbors;
+            lists[a] = removeSorted(lists[a], b);
+            lists[b] = removeSorted(lists[b], a);
+            neighbors = lists;
+        }
+    }
+
+    /**
+     * Record a simulation shared between two users
+     */
+    public void addShare(String sharedById, String sharedWithId) {
+        synchronized (writeLock) {
+            sharedCounts.merge(pairKey(intern(sharedById), intern(sharedWithId)), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Forget a simulation share between two users
+     */
+    public void removeShare(String sharedById, String sharedWithId) {
+        Integer a = nodeByUserId.get(sharedById);
+        Integer b = nodeByUserId.get(sharedWithId);
+        if (a != null && b != null) {
+            sharedCounts.computeIfPresent(pairKey(a, b), (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    // ========== QUERIES ==========
+
+    /**
+     * Number of accepted friends of a user
+     */
+    public int degree(String userId) {
+        Integer node = nodeByUserId.get(userId);
+        if (node == null) {
+            return 0;
+        }
+        int[] friends = neighbors[node];
+        return friends == null ? 0 : friends.length;
+    }
+
+    /**
+     * Friends-of-friends of a user, ranked by mutual friend count and then by
+     * the number of simulations already shared with the user.
+     *
+     * @param userId     the user asking for suggestions
+     * @param limit      maximum number of suggestions
+     * @param excludeIds users that must not be suggested (pending requests, etc.)
+     */
+    public List<Suggestion> suggest(String userId, int limit, Set<String> excludeIds) {
+        Integer node = nodeByUserId.get(userId);
+        if (node == null || limit <= 0) {
+            return List.of();
+        }
+
+        int[][] lists = neighbors;
+        String[] ids = userIds;
+        int bound = Math.min(ids.length, lists.length);
+        if (node >= bound) {
+            return List.of();
+        }
+        int[] friends = orEmpty(lists[node]);
+        Scratch s = scratch.get();
+        s.ensureCapacity(bound);
+
+        // Count mutual friends for every friend-of-friend
+        int touched = 0;
+        for (int friend : friends) {
+            if (friend >= bound) {
+                continue;
+            }
+            for (int candidate : orEmpty(lists[friend])) {
+                if (candidate == node || candidate >= bound) {
+                    continue;
+                }
+                if (s.counts[candidate]++ == 0) {
+                    s.touched[touched++] = candidate;
+                }
+            }
+        }
+
+        // Keep the best candidates in a min-heap of packed (mutual, shared, node) longs
+        long[] heap = s.heap(limit);
+        int heapSize = 0;
+        for (int i = 0; i < touched; i++) {
+            int candidate = s.touched[i];
+            long mutual = Math.min(s.counts[candidate], MAX_MUTUAL);
+            s.counts[candidate] = 0;
+
+            if (Arrays.binarySearch(friends, candidate) >= 0 || excludeIds.contains(ids[candidate])) {
+                continue;
+            }
+            long shared = Math.min(sharedCounts.getOrDefault(pairKey(node, candidate), 0), MAX_SHARED);
+            long packed = (mutual << 52) | (shared << 32) | candidate;
+            if (heapSize < limit) {
+                heap[heapSize] = packed;
+                siftUp(heap, heapSize++);
+            } else if (packed > heap[0]) {
+                heap[0] = packed;
+                siftDown(heap, heapSize);
+            }
+        }
+
+        Suggestion[] results = new Suggestion[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            long packed = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i);
+            results[i] = new Suggestion(
+                    ids[(int) packed],
+                    (int) (packed >>> 52),
+                    (int) ((packed >>> 32) & MAX_SHARED));
+        }
+        return Arrays.asList(results);
+    }
+
+    // ========== INTERNALS ==========
+
+    private int intern(String userId) {
+        Integer existing = nodeByUserId.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+        int node = nodeCount;
+        if (node == userIds.length) {
+            int capacity = node * 2;
+            String[] grownIds = Arrays.copyOf(userIds, capacity);
+            int[][] grownNeighbors = Arrays.copyOf(neighbors, capacity);
+            userIds = grownIds;
+            neighbors = grownNeighbors;
+        }
+        String[] ids = userIds;
+        ids[node] = userId;
+        userIds = ids;
+        nodeByUserId.put(userId, node);
+        nodeCount = node + 1;
+        return node;
+    }
+
+    private static long pairKey(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    private static int[] orEmpty(int[] list) {
+        return list == null ? NO_NEIGHBORS : list;
+    }
+
+    private static int[] insertSorted(int[] list, int value) {
+        int[] current = orEmpty(list);
+        int pos = Arrays.binarySearch(current, value);
+        if (pos >= 0) {
+            return current;
+        }
+        int insertAt = -pos - 1;
+        int[] result = new int[current.length + 1];
+        System.arraycopy(current, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(current, insertAt, result, insertAt + 1, current.length - insertAt);
+        return result;
+    }
+
+    private static int[] removeSorted(int[] list, int value) {
+        int[] current = orEmpty(list);
+        int pos = Arrays.binarySearch(current, value);
+        if (pos < 0) {
+            return current;
+        }
+        int[] result = new int[current.length - 1];
+        System.arraycopy(current, 0, result, 0, pos);
+        System.arraycopy(current, pos + 1, result, pos, current.length - pos - 1);
+        return result;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (heap[parent] <= heap[i]) {
+                return;
+            }
+            long tmp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            long tmp = heap[smallest];
+            heap[smallest] = heap[i];
+            heap[i] = tmp;
+            i = smallest;
+        }
+    }
+
+    /**
+     * Reusable per-thread buffers for suggestion queries
+     */
+    private static final class Scratch {
+        private int[] counts = new int[0];
+        private int[] touched = new int[0];
+        private long[] heap = new long[0];
+
+        void ensureCapacity(int nodes) {
+            if (counts.length < nodes) {
+                counts = new int[nodes];
+                touched = new int[nodes];
+            }
+        }
+
+        long[] heap(int size) {
+            if (heap.length < size) {
+                heap = new long[size];
+            }
+            return heap;
+        }
+    }
+}
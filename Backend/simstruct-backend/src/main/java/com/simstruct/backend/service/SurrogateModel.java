@@ -0,0 +1,145 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-JVM copy of the AI model (structural_model.pt), for evaluating many
+ * buildings at once without calling the Python API.
+ *
+ * The weights come from Model_AI/src/export_weights.py (ai.grid.weights). The
+ * input and output scalers are folded into the first and last layers, so a
+ * batch is three dense layers: 11 -> 64 -> 32 -> 4, ReLU after the first two.
+ * Layers run on the Vector API when the JVM has jdk.incubator.vector and
+ * ai.grid.vector.enabled is true, with plain loops otherwise.
+ */
+@Component
+@Slf4j
+public class SurrogateModel {
+
+    private final String modelVersion;
+    private final List<String> inputNames;
+    private final List<String> outputNames;
+    private final List<Layer> layers;
+    private final DenseKernel kernel;
+
+    public SurrogateModel(ObjectMapper objectMapper,
+                          @Value("${ai.grid.weights:classpath:ai/model_weights.json}") Resource weights,
+                          @Value("${ai.grid.vector.enabled:true}") boolean vectorEnabled) {
+        JsonNode model;
+        try (InputStream in = weights.getInputStream()) {
+            model = objectMapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("SurrogateModel: cannot read " + weights, e);
+        }
+        this.modelVersion = model.path("model_version").asText();
+        this.inputNames = strings(model.path("inputs"));
+        this.outputNames = strings(model.path("outputs"));
+        this.layers = fold(model);
+        this.kernel = DenseKernel.create(vectorEnabled);
+        log.info("SurrogateModel: model {} loaded, {} kernel", modelVersion, kernel.name());
+    }
+
+    /**
+     * A dense layer, weight stored transposed (inputs x outputs)
+     */
+    private record Layer(int inputs, int outputs, float[] weightT, float[] bias) {
+    }
+
+    /**
+     * Predict rows buildings: inputs is rows x 11 in model input order, outputs
+     * receives rows x 4 (maxDeflection, maxStress, stabilityIndex, seismicResistance)
+     */
+    public void predict(float[] inputs, int rows, float[] outputs) {
+        float[] in = inputs;
+        for (int i = 0; i < layers.size(); i++) {
+            Layer layer = layers.get(i);
+            boolean last = i == layers.size() - 1;
+            float[] out = last ? outputs : new float[rows * layer.outputs()];
+            kernel.dense(in, rows, layer.inputs(), layer.weightT(), layer.bias(), layer.outputs(), !last, out);
+            in = out;
+        }
+    }
+
+    public String modelVersion() {
+        return modelVersion;
+    }
+
+    public List<String> inputNames() {
+        return inputNames;
+    }
+
+    public List<String> outputNames() {
+        return outputNames;
+    }
+
+    public String kernelName() {
+        return kernel.name();
+    }
+
+    /**
+     * Transpose the layers and fold the scalers into them, in double precision:
+     * the first layer takes raw inputs, the last one returns raw outputs
+     */
+    private static List<Layer> fold(JsonNode model) {
+        double[] inputMean = doubles(model.path("input_mean"));
+        double[] inputScale = doubles(model.path("input_scale"));
+        double[] outputMean = doubles(model.path("output_mean"));
+        double[] outputScale = doubles(model.path("output_scale"));
+        JsonNode exported = model.path("layers");
+
+        List<Layer> layers = new ArrayList<>();
+        for (int l = 0; l < exported.size(); l++) {
+            JsonNode node = exported.get(l);
+            int inputs = node.path("inputs").asInt();
+            int outputs = node.path("outputs").asInt();
+            double[] weight = doubles(node.path("weight"));
+            double[] bias = doubles(node.path("bias"));
+            boolean first = l == 0;
+            boolean last = l == exported.size() - 1;
+
+            float[] weightT = new float[inputs * outputs];
+            float[] foldedBias = new float[outputs];
+            for (int o = 0; o < outputs; o++) {
+                double b = bias[o];
+                double outScale = last ? outputScale[o] : 1;
+                for (int k = 0; k < inputs; k++) {
+                    double w = weight[o * inputs + k];
+                    if (first) {
+                        // w * (x - mean) / scale = (w / scale) * x - w * mean / scale
+                        w /= inputScale[k];
+                        b -= w * inputMean[k];
+                    }
+                    weightT[k * outputs + o] = (float) (w * outScale);
+                }
+                foldedBias[o] = (float) (last ? b * outScale + outputMean[o] : b);
+            }
+            layers.add(new Layer(inputs, outputs, weightT, foldedBias));
+        }
+        return layers;
+    }
+
+    private static double[] doubles(JsonNode array) {
+        double[] values = new double[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).asDouble();
+        }
+        return values;
+    }
+
+    private static List<String> strings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return List.copyOf(values);
+    }
+}
@@ -0,0 +1,341 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.SimulationResponse;
+import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.event.EngagementEvent;
+import com.simstruct.backend.event.LikesFlushedEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.ChatMessageRepository;
+import com.simstruct.backend.repository.SharedSimulationRepository;
+import com.simstruct.backend.repository.SimulationLikeRepository;
+import com.simstruct.backend.repository.SimulationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending public simulations, ranked by time-decayed engagement.
+ *
+ * Every engagement (view, like, share, chat mention) adds its weight to the
+ * simulation's score, decayed exponentially with trending.half-life-hours.
+ * Scores use forward decay: a contribution at time t is stored as
+ * weight * e^(lambda * (t - landmark)). All scores would be multiplied by the
+ * same e^(-lambda * (now - landmark)) to get their decayed value, so the
+ * ranking never has to be recomputed as time passes; only one entry moves per
+ * event. When the exponent grows large, all scores are rescaled to a new
+ * landmark.
+ *
+ * The ranking is a sorted set kept up to date on each event, capped at
+ * trending.capacity entries. Reads take the first K entries. Their serialized
+ * JSON is cached and refreshed at most every trending.refresh-ms.
+ * An unlike subtracts the decayed weight of the like it takes back, and a
+ * score never drops below zero, so it cannot erase other engagement. A user's
+ * views of a simulation count once per trending.view-throttle-minutes.
+ * Only public simulations are ranked. On startup, scores are seeded from the
+ * likes, shares and chat mentions of the last trending.seed-days; views are
+ * not stored and only count from then on.
+ */
+@Component
+@Slf4j
+public class TrendingIndex {
+
+    public static final int MAX_SIZE = 100;
+    private static final double REBASE_EXPONENT = 30;
+    private static final int MAX_RECENT_VIEWS = 100_000;
+
+    // Highest score first, ties broken by id
+    private static final Comparator<Scored> ORDER = Comparator
+            .comparingDouble(Scored::score).reversed()
+            .thenComparing(Scored::id);
+
+    private final SimulationRepository simulationRepository;
+    private final SimulationLikeRepository likeRepository;
+    private final SharedSimulationRepository sharedSimulationRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final double lambdaPerMs;
+    private final int capacity;
+    private final long refreshNanos;
+    private final int seedDays;
+    private final long viewThrottleMillis;
+
+    // Guarded by this
+    private final Map<String, Scored> scores = new HashMap<>();
+    private final TreeSet<Scored> ranking = new TreeSet<>(ORDER);
+    private final Set<String> publicIds = new HashSet<>();
+    private long landmarkMillis = System.currentTimeMillis();
+    // Last counted view per simulation and user, oldest first
+    private final Map<String, Long> recentViews = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_RECENT_VIEWS;
+        }
+    };
+
+    private final Object topLock = new Object();
+    private volatile boolean dirty = true;
+    private volatile Top top;
+
+    public TrendingIndex(SimulationRepository simulationRepository,
+                         SimulationLikeRepository likeRepository,
+                         SharedSimulationRepository sharedSimulationRepository,
+                         ChatMessageRepository chatMessageRepository,
+                         ObjectMapper objectMapper,
+                         @Value("${trending.half-life-hours:24}") double halfLifeHours,
+                         @Value("${trending.capacity:10000}") int capacity,
+                         @Value("${trending.refresh-ms:1000}") long refreshMs,
+                         @Value("${trending.seed-days:7}") int seedDays,
+                         @Value("${trending.view-throttle-minutes:30}") long viewThrottleMinutes) {
+        this.simulationRepository = simulationRepository;
+        this.likeRepository = likeRepository;
+        this.sharedSimulationRepository = sharedSimulationRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.objectMapper = objectMapper;
+        this.lambdaPerMs = Math.log(2) / (halfLifeHours * TimeUnit.HOURS.toMillis(1));
+        this.capacity = capacity;
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshMs);
+        this.seedDays = seedDays;
+        this.viewThrottleMillis = TimeUnit.MINUTES.toMillis(viewThrottleMinutes);
+    }
+
+    /**
+     * The K most trending public simulations as a JSON array
+     */
+    public byte[] top(int k) {
+        Top current = top;
+        if (current == null || dirty && System.nanoTime() - current.builtAt() >= refreshNanos) {
+            current = refreshTop();
+        }
+        int size = Math.min(Math.max(k, 1), current.entries().length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(current.entries()[i]);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * Ids of the K highest-ranked simulations
+     */
+    public synchronized List<String> topIds(int k) {
+        List<String> ids = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Scored> it = ranking.iterator();
+        while (it.hasNext() && ids.size() < k) {
+            ids.add(it.next().id());
+        }
+        return ids;
+    }
+
+    /**
+     * Load public simulations and seed their scores from stored engagement
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        LocalDateTime since = LocalDateTime.now().minusDays(seedDays);
+        List<String> ids = simulationRepository.findPublicIds();
+        synchronized (this) {
+            publicIds.addAll(ids);
+        }
+        seedFrom(likeRepository.findPublicLikesSince(since), EngagementEvent.Kind.LIKE);
+        seedFrom(sharedSimulationRepository.findPublicSharesSince(since), EngagementEvent.Kind.SHARE);
+        seedFrom(chatMessageRepository.findPublicReferencesSince(since), EngagementEvent.Kind.CHAT_REFERENCE);
+        log.info("TrendingIndex: {} public simulations, {} ranked", ids.size(), rankedCount());
+    }
+
+    private void seedFrom(List<Object[]> rows, EngagementEvent.Kind kind) {
+        for (Object[] row : rows) {
+            record((String) row[0], kind.weight(), toMillis((LocalDateTime) row[1]));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(EngagementEvent event) {
+        long atMillis = toMillis(event.at());
+        if (event.kind() == EngagementEvent.Kind.VIEW && !countsView(event.simulationId(), event.userId(), atMillis)) {
+            return;
+        }
+        record(event.simulationId(), event.kind().weight(), atMillis);
+    }
+
+    /**
+     * Track visibility changes; refresh cached entries when their content changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSimulationChanged(SimulationChangedEvent event) {
+        switch (event.change()) {
+            case SHARES -> { }
+            case DELETED -> setPublic(event.simulationId(), false);
+            default -> setPublic(event.simulationId(),
+                    simulationRepository.existsByIdAndIsPublicTrue(event.simulationId()));
+        }
+    }
+
+    /**
+     * Refresh cached entries once their new like counts are written
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikesFlushed(LikesFlushedEvent event) {
+        if (event.simulationIds().stream().anyMatch(this::isRanked)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Add a weighted engagement at the given time
+     */
+    synchronized void record(String simulationId, double weight, long atMillis) {
+        if (!publicIds.contains(simulationId)) {
+            return;
+        }
+        maybeRebase(atMillis);
+        Scored old = scores.remove(simulationId);
+        if (old == null && weight <= 0) {
+            // Nothing ranked to take back
+            return;
+        }
+        if (old != null) {
+            ranking.remove(old);
+        }
+        double score = (old != null ? old.score() : 0) + weight * Math.exp(lambdaPerMs * (atMillis - landmarkMillis));
+        Scored scored = new Scored(simulationId, Math.max(score, 0));
+        scores.put(simulationId, scored);
+        ranking.add(scored);
+        if (ranking.size() > capacity) {
+            scores.remove(ranking.pollLast().id());
+        }
+        dirty = true;
+    }
+
+    /**
+     * Whether a view counts: once per user and simulation within the throttle window
+     */
+    synchronized boolean countsView(String simulationId, String userId, long atMillis) {
+        if (userId == null || !publicIds.contains(simulationId)) {
+            return true;
+        }
+        String key = simulationId + "/" + userId;
+        Long last = recentViews.get(key);
+        if (last != null && atMillis - last < viewThrottleMillis) {
+            return false;
+        }
+        // Re-insert so the map stays ordered by last counted view
+        recentViews.remove(key);
+        recentViews.put(key, atMillis);
+        return true;
+    }
+
+    synchronized int rankedCount() {
+        return ranking.size();
+    }
+
+    private synchronized boolean isRanked(String simulationId) {
+        return scores.containsKey(simulationId);
+    }
+
+    private synchronized void setPublic(String simulationId, boolean isPublic) {
+        if (isPublic) {
+            publicIds.add(simulationId);
+        } else {
+            publicIds.remove(simulationId);
+            Scored old = scores.remove(simulationId);
+            if (old != null) {
+                ranking.remove(old);
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Rescale every score to a landmark at "now" before the exponent overflows
+     */
+    private void maybeRebase(long nowMillis) {
+        double exponent = lambdaPerMs * (nowMillis - landmarkMillis);
+        if (exponent < REBASE_EXPONENT) {
+            return;
+        }
+        double factor = Math.exp(-exponent);
+        List<Scored> rescaled = new ArrayList<>(ranking.size());
+        for (Scored scored : ranking) {
+            rescaled.add(new Scored(scored.id(), scored.score() * factor));
+        }
+        ranking.clear();
+        scores.clear();
+        for (Scored scored : rescaled) {
+            ranking.add(scored);
+            scores.put(scored.id(), scored);
+        }
+        landmarkMillis = nowMillis;
+        log.debug("TrendingIndex: Rebased {} scores", rescaled.size());
+    }
+
+    private static long toMillis(LocalDateTime at) {
+        return at != null ? at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : System.currentTimeMillis();
+    }
+
+    private Top refreshTop() {
+        synchronized (topLock) {
+            Top current = top;
+            if (current != null && (!dirty || System.nanoTime() - current.builtAt() < refreshNanos)) {
+                return current;
+            }
+            dirty = false;
+            List<String> ids = topIds(MAX_SIZE);
+            Map<String, Simulation> simulations = ids.isEmpty() ? Map.of()
+                    : simulationRepository.findPublicWithUserByIdIn(ids).stream()
+                            .collect(Collectors.toMap(Simulation::getId, Function.identity()));
+            List<byte[]> entries = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                Simulation simulation = simulations.get(id);
+                if (simulation != null) {
+                    entries.add(toJson(simulation));
+                }
+            }
+            top = new Top(entries.toArray(new byte[0][]), System.nanoTime());
+            return top;
+        }
+    }
+
+    private byte[] toJson(Simulation simulation) {
+        try {
+            return objectMapper.writeValueAsBytes(SimulationResponse.fromEntity(simulation));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize simulation " + simulation.getId(), e);
+        }
+    }
+
+    private record Scored(String id, double score) {
+    }
+
+    /**
+     * Serialized top entries, in ranking order
+     */
+    private record Top(byte[][] entries, long builtAt) {
+    }
+}
@@ -0,0 +1,406 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.UserChangedEvent;
+import com.simstruct.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over user name and email for the friend finder.
+ *
+ * Every user gets an int slot. Trigrams of the lowercased name and email map to
+ * posting lists of slots, and 2-letter prefixes of each word map to a separate
+ * posting list so that short queries still work. A query intersects its
+ * rarest posting list with the others, verifies the candidates and keeps the
+ * best K in a bounded heap, so no database round trip is needed.
+ *
+ * The index is loaded once at startup and kept current by the UserChangedEvent
+ * of AuthService (register) and UserService (profile update, account deletion),
+ * applied once their transaction commits so a rollback leaves no trace. Removed
+ * users leave dead slots in the posting lists until the next compaction, every
+ * users.search.compact-ms.
+ */
+@Component
+@Slf4j
+public class UserSearchIndex {
+
+    private static final int MIN_QUERY_LENGTH = 2;
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> slotByUserId = new HashMap<>();
+    private final List<IndexedUser> slots = new ArrayList<>();
+    private final Map<Long, PostingList> trigrams = new HashMap<>();
+    private final Map<Long, PostingList> prefixes = new HashMap<>();
+    private int deadSlots = 0;
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Search result entry - the user fields needed to render a FriendDTO
+     */
+    public record IndexedUser(String id, String name, String email, String avatarUrl, String company,
+                              String nameLower, String emailLower) {
+    }
+
+    /**
+     * Load all users once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<User> users = userRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            clear();
+            users.forEach(this::insert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("UserSearchIndex: Indexed {} users", users.size());
+    }
+
+    /**
+     * Apply a committed user change; the indexed fields are read back from the database
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.change() == UserChangedEvent.Change.DELETED) {
+            remove(event.userId());
+            return;
+        }
+        userRepository.findById(event.userId()).ifPresentOrElse(this::upsert, () -> remove(event.userId()));
+    }
+
+    /**
+     * Drop the dead slots of removed and updated users from the posting lists
+     */
+    @Scheduled(fixedDelayString = "${users.search.compact-ms:600000}")
+    public void compactDeadSlots() {
+        lock.writeLock().lock();
+        try {
+            if (deadSlots > 0) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a new user or replace the indexed fields of an existing one
+     */
+    public void upsert(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeSlot(user.getId());
+            insert(user);
+            if (deadSlots > slotByUserId.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a user from the index
+     */
+    public void remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(userId);
+            if (deadSlots > slotByUserId.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of users currently indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the best matching users for a query
+     *
+     * @param query      substring of the name or email (at least 2 characters)
+     * @param limit      maximum number of results
+     * @param excludeIds user ids that must not be returned
+     * @return matching users, best match first
+     */
+    public List<IndexedUser> search(String query, int limit, Set<String> excludeIds) {
+        if (query == null || limit <= 0) {
+            return List.of();
+        }
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        if (q.length() < MIN_QUERY_LENGTH) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = postingsFor(q);
+            if (lists == null) {
+                return List.of();
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            PriorityQueue<ScoredSlot> best = new PriorityQueue<>(limit + 1);
+            PostingList rarest = lists.get(0);
+            for (int i = 0; i < rarest.size; i++) {
+                int slot = rarest.slots[i];
+                if (!containsAll(lists, slot)) {
+                    continue;
+                }
+                IndexedUser user = slots.get(slot);
+                if (user == null || excludeIds.contains(user.id())) {
+                    continue;
+                }
+                int score = score(user, q);
+                if (score < 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new ScoredSlot(slot, score));
+                } else if (score > best.peek().score) {
+                    best.poll();
+                    best.add(new ScoredSlot(slot, score));
+                }
+            }
+
+            IndexedUser[] results = new IndexedUser[best.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = slots.get(best.poll().slot);
+            }
+            return Arrays.asList(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== INDEX MAINTENANCE ==========
+
+    private void clear() {
+        slotByUserId.clear();
+        slots.clear();
+        trigrams.clear();
+        prefixes.clear();
+        deadSlots = 0;
+    }
+
+    private void insert(User user) {
+        IndexedUser indexed = new IndexedUser(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getAvatarUrl(),
+                user.getCompany(),
+                lower(user.getName()),
+                lower(user.getEmail()));
+
+        int slot = slots.size();
+        slots.add(indexed);
+        slotByUserId.put(indexed.id(), slot);
+
+        addTrigrams(indexed.nameLower(), slot);
+        addTrigrams(indexed.emailLower(), slot);
+        addPrefixes(indexed.nameLower(), slot);
+        addPrefixes(indexed.emailLower(), slot);
+    }
+
+    private void removeSlot(String userId) {
+        Integer slot = slotByUserId.remove(userId);
+        if (slot != null) {
+            // Posting lists keep the dead slot until the next compaction
+            slots.set(slot, null);
+            deadSlots++;
+        }
+    }
+
+    private void compact() {
+        List<IndexedUser> live = new ArrayList<>(slotByUserId.size());
+        for (IndexedUser user : slots) {
+            if (user != null) {
+                live.add(user);
+            }
+        }
+        clear();
+        for (IndexedUser user : live) {
+            int slot = slots.size();
+            slots.add(user);
+            slotByUserId.put(user.id(), slot);
+            addTrigrams(user.nameLower(), slot);
+            addTrigrams(user.emailLower(), slot);
+            addPrefixes(user.nameLower(), slot);
+            addPrefixes(user.emailLower(), slot);
+        }
+        log.debug("UserSearchIndex: Compacted to {} users", live.size());
+    }
+
+    private void addTrigrams(String text, int slot) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.computeIfAbsent(pack(text, i, 3), k -> new PostingList()).add(slot);
+        }
+    }
+
+    private void addPrefixes(String text, int slot) {
+        for (int i = 0; i + 2 <= text.length(); i++) {
+            if (isWordStart(text, i)) {
+                prefixes.computeIfAbsent(pack(text, i, 2), k -> new PostingList()).add(slot);
+            }
+        }
+    }
+
+    // ========== QUERY HELPERS ==========
+
+    /**
+     * Posting lists every match must appear in, or null if one of them is empty
+     */
+    private List<PostingList> postingsFor(String q) {
+        List<PostingList> lists = new ArrayList<>();
+        if (q.length() < 3) {
+            PostingList list = prefixes.get(pack(q, 0, 2));
+            if (list == null) {
+                return null;
+            }
+            lists.add(list);
+            return lists;
+        }
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            PostingList list = trigrams.get(pack(q, i, 3));
+            if (list == null) {
+                return null;
+            }
+            lists.add(list);
+        }
+        return lists;
+    }
+
+    private boolean containsAll(List<PostingList> lists, int slot) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rank a candidate: exact email first, then prefixes, then plain substrings.
+     * Returns -1 when the candidate does not actually contain the query.
+     */
+    private int score(IndexedUser user, String q) {
+        String email = user.emailLower();
+        String name = user.nameLower();
+        if (email.equals(q)) {
+            return 1000;
+        }
+        if (email.startsWith(q)) {
+            return 800 - email.length();
+        }
+        if (name.startsWith(q)) {
+            return 700 - name.length();
+        }
+        int namePos = wordStartIndexOf(name, q);
+        if (namePos >= 0) {
+            return 600 - namePos;
+        }
+        if (q.length() < 3) {
+            // Short queries only match at word starts
+            return wordStartIndexOf(email, q) >= 0 ? 400 : -1;
+        }
+        int pos = name.indexOf(q);
+        if (pos >= 0) {
+            return 300 - pos;
+        }
+        pos = email.indexOf(q);
+        return pos >= 0 ? 200 - pos : -1;
+    }
+
+    private static int wordStartIndexOf(String text, String q) {
+        int from = 0;
+        while (true) {
+            int pos = text.indexOf(q, from);
+            if (pos < 0 || isWordStart(text, pos)) {
+                return pos;
+            }
+            from = pos + 1;
+        }
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1));
+    }
+
+    private static long pack(String text, int from, int length) {
+        long key = length;
+        for (int i = from; i < from + length; i++) {
+            key = (key << 16) | text.charAt(i);
+        }
+        return key;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private record ScoredSlot(int slot, int score) implements Comparable<ScoredSlot> {
+        @Override
+        public int compareTo(ScoredSlot other) {
+            return Integer.compare(score, other.score);
+        }
+    }
+
+    /**
+     * Growable int array of slots, always sorted because slots are assigned in increasing order
+     */
+    private static final class PostingList {
+        private int[] slots = new int[4];
+        private int size = 0;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+    }
+}
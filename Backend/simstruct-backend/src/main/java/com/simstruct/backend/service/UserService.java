@@ -4,8 +4,10 @@ import com.simstruct.backend.dto.ChangePasswordRequest;
 import com.simstruct.backend.dto.UpdateProfileRequest;
 import com.simstruct.backend.dto.UserResponse;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.UserChangedEvent;
 import com.simstruct.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +20,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get user by ID
@@ -59,6 +62,7 @@ public class UserService {
 
         // Save updated user
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), UserChangedEvent.Change.UPDATED));
         System.out.println("UserService: Profile updated successfully");
         
         return UserResponse.fromUser(user);
@@ -97,6 +101,7 @@ public class UserService {
         }
         
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, UserChangedEvent.Change.DELETED));
         System.out.println("UserService: Account deleted successfully");
     }
 }
@@ -0,0 +1,48 @@
+package com.simstruct.backend.service;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel: each row's outputs are computed a SIMD register at a time
+ * with fused multiply-adds; outputs that do not fill a register use scalar code.
+ * Only loaded when the jdk.incubator.vector module is present.
+ */
+final class VectorDenseKernel implements DenseKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void dense(float[] in, int rows, int inputs, float[] weightT, float[] bias, int outputs,
+                      boolean relu, float[] out) {
+        int bound = SPECIES.loopBound(outputs);
+        for (int r = 0; r < rows; r++) {
+            int inRow = r * inputs;
+            int outRow = r * outputs;
+            int o = 0;
+            for (; o < bound; o += SPECIES.length()) {
+                FloatVector acc = FloatVector.fromArray(SPECIES, bias, o);
+                for (int k = 0; k < inputs; k++) {
+                    FloatVector weights = FloatVector.fromArray(SPECIES, weightT, k * outputs + o);
+                    acc = weights.fma(FloatVector.broadcast(SPECIES, in[inRow + k]), acc);
+                }
+                if (relu) {
+                    acc = acc.max(0f);
+                }
+                acc.intoArray(out, outRow + o);
+            }
+            for (; o < outputs; o++) {
+                float acc = bias[o];
+                for (int k = 0; k < inputs; k++) {
+                    acc += in[inRow + k] * weightT[k * outputs + o];
+                }
+                out[outRow + o] = relu ? Math.max(acc, 0f) : acc;
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
@@ -0,0 +1,69 @@
+package com.simstruct.backend.analysis;
+
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour BuildingFrame (portique plan généré depuis les 11 entrées du modèle IA)
+ */
+class BuildingFrameTest {
+
+    static BuildingPredictionRequest building(double numFloors, int numColumns) {
+        return BuildingPredictionRequest.builder()
+                .numFloors(numFloors).floorHeight(3.5).numBeams(120).numColumns(numColumns)
+                .beamSection(40.0).columnSection(50.0).concreteStrength(35.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                .build();
+    }
+
+    /**
+     * TEST 1: La géométrie suit la grille carrée du jeu de données
+     */
+    @Test
+    void testModel_Geometry() {
+        FrameModel model = BuildingFrame.model(building(10, 36));
+
+        // 6 files de poteaux (5 travées), 11 niveaux
+        assertEquals(6 * 11, model.nodeCount());
+        assertEquals(10 * 6 + 10 * 5, model.members().size());
+        assertEquals(30.0, model.x(model.nodeCount() - 1));
+        assertEquals(35.0, model.y(model.nodeCount() - 1), 1e-9);
+        assertTrue(model.restrained(0, 2));
+        assertFalse(model.restrained(6, 0));
+    }
+
+    /**
+     * TEST 2: 50 étages sur 14 files de poteaux, résultats dans les unités d'AIPredictionResponse
+     */
+    @Test
+    void testAnalyze_FiftyStoreys() {
+        BuildingFrame.Result result = BuildingFrame.analyze(building(50, 200));
+
+        assertEquals(50, result.storeys());
+        assertEquals(13, result.bays());
+        assertEquals(50 * 14 * 3, result.equations());
+        assertTrue(result.maxDrift() > 0);
+        assertTrue(result.maxInterstoreyDrift() > 0 && result.maxInterstoreyDrift() < 0.1);
+        assertTrue(result.maxStress() > 0);
+        assertTrue(result.stabilityIndex() >= 0 && result.stabilityIndex() <= 100);
+        assertEquals(Math.hypot(result.maxDrift(), result.maxBeamDeflection()), result.maxDeflection(), 1e-9);
+    }
+
+    /**
+     * TEST 3: Plus d'étages: plus de déplacement et de contrainte; poteaux plus gros: moins de déplacement
+     */
+    @Test
+    void testAnalyze_Trends() {
+        BuildingFrame.Result low = BuildingFrame.analyze(building(5, 36));
+        BuildingFrame.Result high = BuildingFrame.analyze(building(20, 36));
+        BuildingPredictionRequest stiffer = building(20, 36);
+        stiffer.setColumnSection(100.0);
+        BuildingFrame.Result stiff = BuildingFrame.analyze(stiffer);
+
+        assertTrue(high.maxDrift() > low.maxDrift());
+        assertTrue(high.maxStress() > low.maxStress());
+        assertTrue(stiff.maxDrift() < high.maxDrift());
+    }
+}
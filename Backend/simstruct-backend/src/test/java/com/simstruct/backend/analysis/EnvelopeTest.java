@@ -0,0 +1,84 @@
+package com.simstruct.backend.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour Envelope (enveloppe des combinaisons par superposition)
+ */
+class EnvelopeTest {
+
+    /**
+     * TEST 1: L'enveloppe est celle obtenue en résolvant chaque combinaison
+     */
+    @Test
+    void testEnvelope_MatchesSolvingEachCombination() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(8, 16));
+        FrameSolver solver = new FrameSolver(model);
+        List<LoadCombination> combinations = LoadCombination.EUROCODE;
+
+        Envelope envelope = Envelope.of(model, solver, combinations);
+
+        double largest = 0;
+        LoadCombination governing = null;
+        for (int m = 0; m < model.members().size(); m++) {
+            double momentMax = Double.NEGATIVE_INFINITY;
+            double momentMin = Double.POSITIVE_INFINITY;
+            double shearMax = Double.NEGATIVE_INFINITY;
+            double deflectionMin = 0;
+            for (LoadCombination combination : combinations) {
+                FrameSolver.Solution solution = solver.solve(combination.factors());
+                if (combination.limitState() == LoadCombination.LimitState.SERVICEABILITY) {
+                    deflectionMin = Math.min(deflectionMin, solution.midspanDeflection(m));
+                    continue;
+                }
+                momentMax = Math.max(momentMax, solution.momentMax(m));
+                momentMin = Math.min(momentMin, solution.momentMin(m));
+                shearMax = Math.max(shearMax, solution.shearMax(m));
+                if (solution.stress(m) > largest) {
+                    largest = solution.stress(m);
+                    governing = combination;
+                }
+            }
+            assertEquals(momentMax, envelope.momentMax(m), 1e-8);
+            assertEquals(momentMin, envelope.momentMin(m), 1e-8);
+            assertEquals(shearMax, envelope.shearMax(m), 1e-8);
+            assertEquals(deflectionMin, envelope.deflectionMin(m), 1e-12);
+        }
+        assertSame(governing, envelope.governing());
+        assertEquals(largest, envelope.governingStress(), largest * 1e-12);
+    }
+
+    /**
+     * TEST 2: L'enveloppe contient la combinaison ELU de BuildingFrame, dans les deux sens du vent
+     */
+    @Test
+    void testEnvelope_ContainsUltimateCombination() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(10, 36));
+        FrameSolver solver = new FrameSolver(model);
+        Envelope envelope = Envelope.of(model, solver, LoadCombination.EUROCODE);
+        FrameSolver.Solution ultimate = solver.solve(BuildingFrame.ULTIMATE);
+        double[] reversed = BuildingFrame.ULTIMATE.clone();
+        reversed[LoadCase.WIND.ordinal()] = -reversed[LoadCase.WIND.ordinal()];
+        FrameSolver.Solution reversedWind = solver.solve(reversed);
+
+        for (int m = 0; m < model.members().size(); m++) {
+            for (FrameSolver.Solution solution : new FrameSolver.Solution[]{ultimate, reversedWind}) {
+                assertTrue(envelope.momentMax(m) >= solution.momentMax(m) - 1e-9);
+                assertTrue(envelope.momentMin(m) <= solution.momentMin(m) + 1e-9);
+                assertTrue(envelope.shearMax(m) >= solution.shearMax(m) - 1e-9);
+                assertTrue(envelope.shearMin(m) <= solution.shearMin(m) + 1e-9);
+            }
+        }
+
+        BuildingFrame.CombinationResult result = BuildingFrame.combinations(
+                BuildingFrameTest.building(10, 36), LoadCombination.EUROCODE);
+        assertTrue(result.governingCombination().startsWith("ULS"));
+        assertTrue(result.momentMax() > 0 && result.momentMin() < 0);
+        assertTrue(result.beamDeflectionMin() < 0);
+        assertEquals(envelope.governingStress() / 1000, result.governingStress(), 1e-9);
+    }
+}
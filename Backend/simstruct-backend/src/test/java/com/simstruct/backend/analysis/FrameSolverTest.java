@@ -0,0 +1,166 @@
+package com.simstruct.backend.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour FrameSolver, contre les formules de la résistance des matériaux
+ */
+class FrameSolverTest {
+
+    private static final double E = 30e6;       // kN/m²
+    private static final double A = 0.09;       // m²
+    private static final double I = 0.000675;   // m⁴, section 30 x 30 cm
+    private static final double DEPTH = 0.3;
+
+    /**
+     * TEST 1: Poteau console, charge horizontale en tête: δ = PL³/3EI, θ = PL²/2EI
+     */
+    @Test
+    void testCantilever_TipLoad() {
+        FrameModel model = new FrameModel();
+        int base = model.addNode(0, 0);
+        int middle = model.addNode(0, 2);
+        int top = model.addNode(0, 4);
+        model.fix(base);
+        model.addMember(base, middle, E, A, I, DEPTH, FrameModel.MemberType.COLUMN);
+        model.addMember(middle, top, E, A, I, DEPTH, FrameModel.MemberType.COLUMN);
+        model.addNodalLoad(LoadCase.WIND, top, 10, 0, 0);
+
+        FrameSolver.Solution solution = new FrameSolver(model).solve(new double[]{0, 0, 1});
+
+        assertEquals(10 * 64 / (3 * E * I), solution.displacement(top, 0), 1e-12);
+        assertEquals(-10 * 16 / (2 * E * I), solution.displacement(top, 2), 1e-12);
+        // Moment d'encastrement PL, contrainte M/S
+        assertEquals(40, solution.maxMoment(0), 1e-9);
+        assertEquals(40 / (I / (DEPTH / 2)), solution.stress(0), 1e-6);
+    }
+
+    /**
+     * TEST 2: Poutre bi-encastrée sous charge répartie: flèche wL⁴/384EI, moments wL²/12 et wL²/24
+     */
+    @Test
+    void testFixedBeam_UniformLoad() {
+        FrameModel model = new FrameModel();
+        int left = model.addNode(0, 0);
+        int middle = model.addNode(3, 0);
+        int right = model.addNode(6, 0);
+        model.fix(left);
+        model.fix(right);
+        int first = model.addMember(left, middle, E, A, I, DEPTH, FrameModel.MemberType.BEAM);
+        int second = model.addMember(middle, right, E, A, I, DEPTH, FrameModel.MemberType.BEAM);
+        model.addMemberLoad(LoadCase.DEAD, first, 20);
+        model.addMemberLoad(LoadCase.DEAD, second, 20);
+
+        FrameSolver.Solution solution = new FrameSolver(model).solve(new double[]{1, 0, 0});
+
+        assertEquals(-20 * Math.pow(6, 4) / (384 * E * I), solution.displacement(middle, 1), 1e-12);
+        assertEquals(20 * 36 / 12.0, solution.maxMoment(first), 1e-9);
+        assertEquals(20 * 36 / 12.0, Math.abs(solution.endForces(first)[2]), 1e-9);
+        assertEquals(20 * 36 / 24.0, Math.abs(solution.endForces(first)[5]), 1e-9);
+    }
+
+    /**
+     * TEST 3: Un seul élément bi-encastré donne sa flèche à mi-portée sans nœud intermédiaire
+     */
+    @Test
+    void testMidspanDeflection_WithinMember() {
+        FrameModel model = new FrameModel();
+        int left = model.addNode(0, 0);
+        int right = model.addNode(6, 0);
+        model.fix(left);
+        model.fix(right);
+        int beam = model.addMember(left, right, E, A, I, DEPTH, FrameModel.MemberType.BEAM);
+        model.addMemberLoad(LoadCase.LIVE, beam, 20);
+
+        FrameSolver solver = new FrameSolver(model);
+        FrameSolver.Solution solution = solver.solve(new double[]{0, 1, 0});
+
+        assertEquals(0, solver.equationCount());
+        assertEquals(-20 * Math.pow(6, 4) / (384 * E * I), solution.midspanDeflection(beam), 1e-12);
+    }
+
+    /**
+     * TEST 4: Les combinaisons pondèrent les cas de charge (linéarité)
+     */
+    @Test
+    void testCombination_IsLinear() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(5, 16));
+        FrameSolver solver = new FrameSolver(model);
+        int top = model.nodeCount() - 1;
+
+        double dead = solver.solve(new double[]{1, 0, 0}).displacement(top, 0);
+        double wind = solver.solve(new double[]{0, 0, 1}).displacement(top, 0);
+        double combined = solver.solve(new double[]{1.35, 0, 0.9}).displacement(top, 0);
+
+        assertEquals(1.35 * dead + 0.9 * wind, combined, 1e-12);
+    }
+
+    /**
+     * TEST 5: Bi-encastrée: moments -wL²/12 aux appuis et +wL²/24 en travée, efforts tranchants ±wL/2
+     */
+    @Test
+    void testFixedBeam_SignedMomentAndShear() {
+        FrameModel model = new FrameModel();
+        int left = model.addNode(0, 0);
+        int right = model.addNode(6, 0);
+        model.fix(left);
+        model.fix(right);
+        int beam = model.addMember(left, right, E, A, I, DEPTH, FrameModel.MemberType.BEAM);
+        model.addMemberLoad(LoadCase.DEAD, beam, 20);
+
+        FrameSolver.Solution solution = new FrameSolver(model).solve(new double[]{1, 0, 0});
+
+        assertEquals(20 * 36 / 24.0, solution.momentMax(beam), 1e-9);
+        assertEquals(-20 * 36 / 12.0, solution.momentMin(beam), 1e-9);
+        assertEquals(60, solution.shearMax(beam), 1e-9);
+        assertEquals(-60, solution.shearMin(beam), 1e-9);
+    }
+
+    /**
+     * TEST 6: La superposition des cas de charge donne la même solution que la résolution
+     */
+    @Test
+    void testCombine_MatchesSolve() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(6, 25));
+        FrameSolver solver = new FrameSolver(model);
+        FrameSolver.Solution[] cases = {
+                solver.solve(new double[]{1, 0, 0}),
+                solver.solve(new double[]{0, 1, 0}),
+                solver.solve(new double[]{0, 0, 1})
+        };
+        double[] factors = {1.35, 1.05, -1.5};
+
+        FrameSolver.Solution solved = solver.solve(factors);
+        FrameSolver.Solution combined = solver.combine(cases, factors);
+
+        for (int node = 0; node < model.nodeCount(); node++) {
+            for (int dof = 0; dof < FrameModel.DOFS_PER_NODE; dof++) {
+                assertEquals(solved.displacement(node, dof), combined.displacement(node, dof), 1e-12);
+            }
+        }
+        for (int m = 0; m < model.members().size(); m++) {
+            assertArrayEquals(solved.endForces(m), combined.endForces(m), 1e-8);
+            assertEquals(solved.momentMax(m), combined.momentMax(m), 1e-8);
+            assertEquals(solved.momentMin(m), combined.momentMin(m), 1e-8);
+            assertEquals(solved.shearMax(m), combined.shearMax(m), 1e-8);
+            assertEquals(solved.shearMin(m), combined.shearMin(m), 1e-8);
+            assertEquals(solved.midspanDeflection(m), combined.midspanDeflection(m), 1e-12);
+            assertEquals(solved.stress(m), combined.stress(m), 1e-5);
+        }
+    }
+
+    /**
+     * TEST 7: Une structure sans appui est un mécanisme
+     */
+    @Test
+    void testMechanism_Rejected() {
+        FrameModel model = new FrameModel();
+        int a = model.addNode(0, 0);
+        int b = model.addNode(6, 0);
+        model.addMember(a, b, E, A, I, DEPTH, FrameModel.MemberType.BEAM);
+
+        assertThrows(IllegalStateException.class, () -> new FrameSolver(model));
+    }
+}
@@ -0,0 +1,77 @@
+package com.simstruct.backend.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour GroundMotion (accélérogrammes synthétiques et CSV)
+ */
+class GroundMotionTest {
+
+    /**
+     * TEST 1: Accélérogramme synthétique: pic égal au PGA, reproductible par graine
+     */
+    @Test
+    void testSynthetic_PeakAndSeed() {
+        GroundMotion motion = GroundMotion.synthetic(0.35, 20, 0.01, 42);
+
+        assertEquals(2001, motion.steps());
+        assertEquals(20, motion.duration(), 1e-9);
+        assertEquals(0.35 * GroundMotion.G, motion.peak(), 1e-9);
+        assertEquals(0, motion.acceleration()[0], 1e-12);
+        assertArrayEquals(motion.acceleration(), GroundMotion.synthetic(0.35, 20, 0.01, 42).acceleration());
+        assertNotEquals(motion.acceleration()[500], GroundMotion.synthetic(0.35, 20, 0.01, 43).acceleration()[500]);
+
+        // L'enveloppe décroît: la fin du signal est faible devant le pic
+        double tail = 0;
+        for (int i = 1900; i < motion.steps(); i++) {
+            tail = Math.max(tail, Math.abs(motion.acceleration()[i]));
+        }
+        assertTrue(tail < 0.2 * motion.peak());
+    }
+
+    /**
+     * TEST 2: CSV "temps,accélération" avec commentaire et en-tête, en g
+     */
+    @Test
+    void testFromCsv_TimeAndAcceleration() throws Exception {
+        String csv = "# El Centro extrait\ntime,acc\n0.00,0.0\n0.02,0.1\n\n0.04,-0.2\n0.06,0.05\n";
+
+        GroundMotion motion = GroundMotion.fromCsv(new StringReader(csv), null, 100);
+
+        assertEquals(4, motion.steps());
+        assertEquals(0.02, motion.dt(), 1e-12);
+        assertEquals(-0.2 * GroundMotion.G, motion.acceleration()[2], 1e-12);
+        assertEquals(0.2 * GroundMotion.G, motion.peak(), 1e-12);
+    }
+
+    /**
+     * TEST 3: Une seule colonne: le pas de temps doit être donné
+     */
+    @Test
+    void testFromCsv_SingleColumn() throws Exception {
+        String csv = "0.0\n0.1\n0.3\n";
+
+        GroundMotion motion = GroundMotion.fromCsv(new StringReader(csv), 0.005, 100);
+
+        assertEquals(3, motion.steps());
+        assertEquals(0.005, motion.dt(), 0);
+        assertThrows(IllegalArgumentException.class, () -> GroundMotion.fromCsv(new StringReader(csv), null, 100));
+    }
+
+    /**
+     * TEST 4: Pas de temps variable, valeur invalide ou enregistrement trop long refusés
+     */
+    @Test
+    void testFromCsv_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> GroundMotion.fromCsv(new StringReader("0,0\n0.01,0.1\n0.03,0.2\n"), null, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> GroundMotion.fromCsv(new StringReader("0,0\n0.01,abc\n"), null, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> GroundMotion.fromCsv(new StringReader("0\n0.1\n0.2\n0.1\n"), 0.01, 3));
+    }
+}
@@ -0,0 +1,61 @@
+package com.simstruct.backend.analysis;
+
+import com.simstruct.backend.entity.Simulation;
+import jakarta.persistence.Column;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour LoadCombination (notation "ULS: 1.35G + 1.5Q + 0.9W")
+ */
+class LoadCombinationTest {
+
+    /**
+     * TEST 1: Lecture des facteurs, du signe du vent et de l'état limite
+     */
+    @Test
+    void testParse_Factors() {
+        LoadCombination uls = LoadCombination.parse(" ULS : 1.35G+1.05 Q -  1.5*W ");
+        LoadCombination sls = LoadCombination.parse("SLS: G + Q");
+
+        assertEquals(LoadCombination.LimitState.ULTIMATE, uls.limitState());
+        assertArrayEquals(new double[]{1.35, 1.05, -1.5}, uls.factors(), 1e-12);
+        assertEquals("ULS : 1.35G+1.05 Q - 1.5*W", uls.name());
+        assertEquals(LoadCombination.LimitState.SERVICEABILITY, sls.limitState());
+        assertEquals(1, sls.factor(LoadCase.LIVE));
+        assertEquals(0, sls.factor(LoadCase.WIND));
+    }
+
+    /**
+     * TEST 2: Table: EN 1990 par défaut, lignes invalides ou sans ELU refusées
+     */
+    @Test
+    void testTable() {
+        assertSame(LoadCombination.EUROCODE, LoadCombination.table(null));
+        assertEquals(12, LoadCombination.EUROCODE.size());
+
+        List<LoadCombination> table = LoadCombination.table("ULS: 1.35G + 1.5Q\n\nSLS: G + Q\n");
+        assertEquals(2, table.size());
+
+        assertThrows(IllegalArgumentException.class, () -> LoadCombination.table("SLS: G + Q"));
+        assertThrows(IllegalArgumentException.class, () -> LoadCombination.parse("ULS: 1.35G + 1.5X"));
+        assertThrows(IllegalArgumentException.class, () -> LoadCombination.parse("1.35G + 1.5Q"));
+    }
+
+    /**
+     * TEST 3: Une combinaison tient sur une ligne, et une table complète tient dans la colonne
+     */
+    @Test
+    void testPattern_SingleLineAndColumnLength() throws NoSuchFieldException {
+        assertTrue(" ULS :\t1.35G + 1.5Q ".matches(LoadCombination.PATTERN));
+        assertFalse("ULS: 1.35G\nSLS: G + Q".matches(LoadCombination.PATTERN));
+        assertFalse("ULS: 1.35G + 1.5Q\r".matches(LoadCombination.PATTERN));
+
+        int column = Simulation.class.getDeclaredField("loadCombinations").getAnnotation(Column.class).length();
+        int table = LoadCombination.MAX_COMBINATIONS * (LoadCombination.MAX_LENGTH + 1) - 1;
+        assertTrue(table <= column, "Une table de " + table + " caractères dépasse la colonne de " + column);
+    }
+}
@@ -0,0 +1,160 @@
+package com.simstruct.backend.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ModalAnalysis (Lanczos avec décalage inverse)
+ */
+class ModalAnalysisTest {
+
+    private static final double E = 30e6;       // kN/m²
+    private static final double A = 0.09;       // m²
+    private static final double I = 0.000675;   // m⁴
+    private static final double MASS = 0.225;   // t/m
+
+    /**
+     * TEST 1: Poutre sur deux appuis: f_n = n²π/2L² √(EI/m)
+     */
+    @Test
+    void testSimplySupportedBeam_Frequencies() {
+        double length = 8;
+        int elements = 24;
+        FrameModel model = new FrameModel();
+        for (int i = 0; i <= elements; i++) {
+            model.addNode(length * i / elements, 0);
+        }
+        for (int i = 0; i < elements; i++) {
+            int member = model.addMember(i, i + 1, E, A, I, 0.3, FrameModel.MemberType.BEAM);
+            model.addMemberMass(member, MASS);
+        }
+        model.pin(0);
+        model.restrain(elements, 1);
+
+        List<ModalAnalysis.Mode> modes = new ModalAnalysis(model, new FrameSolver(model)).modes(3).modes();
+
+        for (int n = 1; n <= 3; n++) {
+            double expected = n * n * Math.PI / (2 * length * length) * Math.sqrt(E * I / MASS);
+            assertEquals(expected, modes.get(n - 1).frequency(), expected * 1e-4);
+        }
+        // Mode 1: une demi-onde, maximum à mi-portée
+        double middle = Math.abs(modes.get(0).displacement(elements / 2, 1));
+        assertEquals(middle, Math.abs(modes.get(0).displacement(elements / 4, 1)) * Math.sqrt(2), middle * 1e-3);
+    }
+
+    /**
+     * TEST 2: Les modes du portique vérifient K⁻¹ M φ = φ / ω² et sont M-orthonormés
+     */
+    @Test
+    void testBuildingModes_EigenpairsAndOrthogonality() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(12, 25));
+        FrameSolver solver = new FrameSolver(model);
+        ModalAnalysis.Result result = new ModalAnalysis(model, solver).modes(6);
+        SkylineMatrix mass = solver.massMatrix();
+
+        double[][] shapes = new double[6][];
+        for (int i = 0; i < 6; i++) {
+            ModalAnalysis.Mode mode = result.modes().get(i);
+            shapes[i] = equations(solver, model, mode);
+            if (i > 0) {
+                assertTrue(mode.omega() >= result.modes().get(i - 1).omega());
+            }
+            double[] inverse = solver.solveEquations(mass.multiply(shapes[i]));
+            double lambda = mode.omega() * mode.omega();
+            for (int e = 0; e < inverse.length; e++) {
+                assertEquals(shapes[i][e] / lambda, inverse[e], 1e-6 * max(shapes[i]) / lambda);
+            }
+        }
+        for (int i = 0; i < 6; i++) {
+            double[] mShape = mass.multiply(shapes[i]);
+            for (int j = 0; j < 6; j++) {
+                assertEquals(i == j ? 1 : 0, dot(shapes[j], mShape), 1e-8);
+            }
+        }
+    }
+
+    /**
+     * TEST 3: Le mode fondamental est un mode de balancement qui mobilise la majorité de la masse
+     */
+    @Test
+    void testBuildingModes_FundamentalSway() {
+        ModalAnalysis.Result result = BuildingFrame.modes(BuildingFrameTest.building(10, 36), 10);
+        ModalAnalysis.Mode first = result.modes().get(0);
+
+        // Ordre de grandeur des règles courantes: T ≈ 0.075 H^0.75 à 0.1 N
+        assertTrue(first.period() > 0.3 && first.period() < 3, "T1 = " + first.period());
+        assertTrue(first.massParticipation() > 0.6);
+        double total = result.modes().stream().mapToDouble(ModalAnalysis.Mode::massParticipation).sum();
+        assertTrue(total <= 1 + 1e-9);
+
+        int[] levels = BuildingFrame.levels(10, 6);
+        assertArrayEquals(new int[]{0, 2, 4, 6, 8, 10}, levels);
+        double[] shape = BuildingFrame.lateralShape(5, levels, first);
+        assertEquals(0, shape[0], 1e-15);
+        assertEquals(1, shape[5], 1e-12);
+        for (int i = 1; i < shape.length; i++) {
+            assertTrue(shape[i] > shape[i - 1]);
+        }
+    }
+
+    /**
+     * TEST 4: Matrice tridiagonale (2, -1): λ_k = 2 - 2 cos(kπ/(n+1))
+     */
+    @Test
+    void testTridiagonalEigen_Known() {
+        int n = 12;
+        double[] d = new double[n];
+        double[] e = new double[n];
+        Arrays.fill(d, 2);
+        Arrays.fill(e, -1);
+        double[][] z = new double[n][n];
+
+        ModalAnalysis.tridiagonalEigen(d, e, z);
+
+        double[] sorted = d.clone();
+        Arrays.sort(sorted);
+        for (int k = 1; k <= n; k++) {
+            assertEquals(2 - 2 * Math.cos(k * Math.PI / (n + 1)), sorted[k - 1], 1e-12);
+        }
+        // Vecteurs propres: A z = λ z
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                double az = 2 * z[i][k] - (i > 0 ? z[i - 1][k] : 0) - (i < n - 1 ? z[i + 1][k] : 0);
+                assertEquals(d[k] * z[i][k], az, 1e-12);
+            }
+        }
+    }
+
+    private static double[] equations(FrameSolver solver, FrameModel model, ModalAnalysis.Mode mode) {
+        double[] values = new double[solver.equationCount()];
+        for (int node = 0; node < model.nodeCount(); node++) {
+            for (int dof = 0; dof < FrameModel.DOFS_PER_NODE; dof++) {
+                int e = solver.equation(node, dof);
+                if (e >= 0) {
+                    values[e] = mode.displacement(node, dof);
+                }
+            }
+        }
+        return values;
+    }
+
+    private static double max(double[] values) {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,104 @@
+package com.simstruct.backend.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour SkylineMatrix (stockage en ligne de ciel et Cholesky)
+ */
+class SkylineMatrixTest {
+
+    /**
+     * Matrice bande aléatoire à diagonale dominante, donc définie positive
+     */
+    private static double[][] bandMatrix(int size, int band, long seed) {
+        Random random = new Random(seed);
+        double[][] dense = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < Math.min(size, i + band + 1); j++) {
+                if (random.nextBoolean()) {
+                    dense[i][j] = dense[j][i] = random.nextDouble() - 0.5;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            double sum = 0;
+            for (int j = 0; j < size; j++) {
+                sum += Math.abs(dense[i][j]);
+            }
+            dense[i][i] = sum + 1;
+        }
+        return dense;
+    }
+
+    private static SkylineMatrix skyline(double[][] dense) {
+        int[] first = new int[dense.length];
+        for (int j = 0; j < dense.length; j++) {
+            first[j] = j;
+            for (int i = 0; i < j; i++) {
+                if (dense[i][j] != 0) {
+                    first[j] = i;
+                    break;
+                }
+            }
+        }
+        SkylineMatrix matrix = new SkylineMatrix(first);
+        for (int j = 0; j < dense.length; j++) {
+            for (int i = first[j]; i <= j; i++) {
+                matrix.add(i, j, dense[i][j]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * TEST 1: La solution de Cholesky vérifie K x = b
+     */
+    @Test
+    void testSolve_MatchesDenseProduct() {
+        double[][] dense = bandMatrix(200, 12, 7);
+        SkylineMatrix matrix = skyline(dense);
+        double[] expected = new double[200];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = Math.sin(i);
+        }
+        double[] b = matrix.multiply(expected);
+
+        matrix.factor();
+        double[] x = matrix.solve(b);
+
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(expected[i], x[i], 1e-10);
+        }
+    }
+
+    /**
+     * TEST 2: Seul le profil est stocké, et la symétrie est respectée
+     */
+    @Test
+    void testProfile_AndSymmetricAccess() {
+        SkylineMatrix matrix = new SkylineMatrix(new int[]{0, 0, 1, 3});
+        matrix.add(2, 1, 5);
+
+        assertEquals(1 + 2 + 2 + 1, matrix.profile());
+        assertEquals(5, matrix.get(1, 2));
+        assertEquals(0, matrix.get(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> matrix.add(0, 3, 1));
+    }
+
+    /**
+     * TEST 3: Une matrice non définie positive (structure instable) est refusée
+     */
+    @Test
+    void testFactor_NotPositiveDefinite() {
+        SkylineMatrix matrix = new SkylineMatrix(new int[]{0, 0});
+        matrix.add(0, 0, 1);
+        matrix.add(0, 1, 1);
+        matrix.add(1, 1, 1);
+
+        assertThrows(IllegalStateException.class, matrix::factor);
+    }
+}
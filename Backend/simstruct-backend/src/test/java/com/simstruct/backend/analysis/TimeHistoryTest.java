@@ -0,0 +1,146 @@
+package com.simstruct.backend.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour TimeHistory (Newmark, accélération moyenne)
+ */
+class TimeHistoryTest {
+
+    /**
+     * TEST 1: Sans amortissement, échelon d'accélération du sol: la réponse suit
+     * la superposition modale exacte u = Σ φ Γ/ω² (cos ωt - 1) ag
+     */
+    @Test
+    void testUndampedStep_MatchesModalSuperposition() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(2, 4));
+        FrameSolver solver = new FrameSolver(model);
+        int n = solver.equationCount();
+        List<ModalAnalysis.Mode> modes = new ModalAnalysis(model, solver).modes(n).modes();
+        double[] influence = influence(model, solver);
+        double[] massInfluence = solver.massMatrix().multiply(influence);
+
+        double period = modes.get(0).period();
+        double dt = period / 400;
+        double ag = 2.0;
+        TimeHistory history = new TimeHistory(model, solver, 0, dt, 0, 0);
+        history.start(ag);
+        int roof = BuildingFrame.node(1, 2, 0);
+        double peak = 0;
+        double error = 0;
+        for (int i = 1; i <= 1200; i++) {
+            history.advance(ag);
+            double t = history.time();
+            double exact = 0;
+            for (ModalAnalysis.Mode mode : modes) {
+                double gamma = 0;
+                for (int node = 0; node < model.nodeCount(); node++) {
+                    for (int dof = 0; dof < FrameModel.DOFS_PER_NODE; dof++) {
+                        int e = solver.equation(node, dof);
+                        gamma += e >= 0 ? mode.displacement(node, dof) * massInfluence[e] : 0;
+                    }
+                }
+                exact += mode.displacement(roof, 0) * gamma / (mode.omega() * mode.omega())
+                        * (Math.cos(mode.omega() * t) - 1) * ag;
+            }
+            peak = Math.max(peak, Math.abs(exact));
+            error = Math.max(error, Math.abs(history.displacement(roof, 0) - exact));
+        }
+        assertTrue(error < 1e-3 * peak, "error " + error + " for peak " + peak);
+    }
+
+    /**
+     * TEST 2: Avec amortissement, une accélération constante tend vers la
+     * solution statique K u = -M r ag, et l'effort tranchant à la base vers -m ag
+     */
+    @Test
+    void testDampedConstantAcceleration_SettlesToStatic() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(4, 9));
+        FrameSolver solver = new FrameSolver(model);
+        double[] influence = influence(model, solver);
+        SkylineMatrix mass = solver.massMatrix();
+        double[] massInfluence = mass.multiply(influence);
+        double totalMass = 0;
+        for (int e = 0; e < influence.length; e++) {
+            totalMass += influence[e] * massInfluence[e];
+        }
+        double ag = 1.5;
+        double[] load = massInfluence.clone();
+        for (int e = 0; e < load.length; e++) {
+            load[e] *= -ag;
+        }
+        double[] expected = solver.nodeValues(solver.solveEquations(load));
+
+        List<ModalAnalysis.Mode> modes = new ModalAnalysis(model, solver).modes(2).modes();
+        double[] rayleigh = TimeHistory.rayleigh(modes.get(0).omega(), modes.get(1).omega(), 0.2);
+        TimeHistory history = new TimeHistory(model, solver, 0, 0.01, rayleigh[0], rayleigh[1]);
+        history.start(ag);
+        for (int i = 0; i < 4000; i++) {
+            history.advance(ag);
+        }
+
+        int roof = BuildingFrame.node(2, 4, 0);
+        double staticRoof = expected[roof * FrameModel.DOFS_PER_NODE];
+        assertEquals(staticRoof, history.displacement(roof, 0), Math.abs(staticRoof) * 1e-6);
+        assertEquals(-totalMass * ag, history.baseShear(), totalMass * ag * 1e-6);
+        assertEquals(0, history.acceleration(roof, 0), 1e-6);
+    }
+
+    /**
+     * TEST 3: Rayleigh donne le taux d'amortissement visé aux deux pulsations
+     */
+    @Test
+    void testRayleigh_DampingAtBothFrequencies() {
+        double[] factors = TimeHistory.rayleigh(6, 20, 0.05);
+        for (double omega : new double[]{6, 20}) {
+            assertEquals(0.05, factors[0] / (2 * omega) + factors[1] * omega / 2, 1e-12);
+        }
+        // Entre les deux pulsations l'amortissement est plus faible
+        assertTrue(factors[0] / 20 + factors[1] * 10 / 2 < 0.05);
+    }
+
+    /**
+     * TEST 4: Un pas n'alloue rien
+     */
+    @Test
+    void testAdvance_DoesNotAllocate() {
+        FrameModel model = BuildingFrame.model(BuildingFrameTest.building(10, 25));
+        FrameSolver solver = new FrameSolver(model);
+        TimeHistory history = new TimeHistory(model, solver, 0, 0.01, 0.3, 0.002);
+        GroundMotion motion = GroundMotion.synthetic(0.3, 60, 0.01, 7);
+        double[] ground = motion.acceleration();
+        history.start(ground[0]);
+        // Échauffement (compilation JIT)
+        for (int i = 1; i < 1000; i++) {
+            history.advance(ground[i]);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 1000; i < ground.length; i++) {
+            history.advance(ground[i]);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        // 5000 pas: quelques octets par pas au plus (mesure elle-même, OSR)
+        assertTrue(allocated < 64 * 1024, allocated + " bytes");
+        assertTrue(Double.isFinite(history.baseShear()));
+    }
+
+    private static double[] influence(FrameModel model, FrameSolver solver) {
+        double[] influence = new double[solver.equationCount()];
+        for (int node = 0; node < model.nodeCount(); node++) {
+            int e = solver.equation(node, 0);
+            if (e >= 0) {
+                influence[e] = 1;
+            }
+        }
+        return influence;
+    }
+}
@@ -0,0 +1,141 @@
+package com.simstruct.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.GridRequest;
+import com.simstruct.backend.dto.RegisterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration pour AIController (grille de conception)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AIControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail("aictrl" + System.nanoTime() + "@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setName("Grid Test User");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        accessToken = objectMapper.readTree(result.getResponse().getContentAsString())
+                .path("data").path("accessToken").asText();
+    }
+
+    private GridRequest gridRequest(List<GridRequest.Axis> axes, List<String> outputs) {
+        BuildingPredictionRequest base = BuildingPredictionRequest.builder()
+                .numFloors(10.0).floorHeight(3.5).numBeams(120).numColumns(36)
+                .beamSection(30.0).columnSection(40.0).concreteStrength(35.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                .build();
+        return GridRequest.builder().base(base).axes(axes).outputs(outputs).build();
+    }
+
+    /**
+     * TEST 1: Une grille 20 x 30 renvoie 600 floats little-endian et les métadonnées de forme
+     */
+    @Test
+    void testGrid_StreamsFloatsWithShape() throws Exception {
+        GridRequest request = gridRequest(List.of(
+                new GridRequest.Axis("numFloors", 1.0, 50.0, 20),
+                new GridRequest.Axis("columnSection", 30.0, 150.0, 30)), List.of("stabilityIndex"));
+
+        MvcResult started = mockMvc.perform(post("/api/v1/ai/grid")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().string("X-Grid-Shape", "20,30,1"))
+                .andExpect(header().string("X-Grid-Axes", "numFloors,columnSection"))
+                .andExpect(header().string("X-Grid-Outputs", "stabilityIndex"))
+                .andExpect(header().exists("X-Model-Version"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertEquals(20 * 30 * Float.BYTES, body.length);
+        float first = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN).getFloat(0);
+        assertTrue(Float.isFinite(first));
+    }
+
+    /**
+     * TEST 2: Un axe hors des bornes de validation est refusé (400)
+     */
+    @Test
+    void testGrid_OutOfRangeAxis() throws Exception {
+        GridRequest request = gridRequest(List.of(new GridRequest.Axis("numFloors", 1.0, 80.0, 10)), List.of());
+
+        mockMvc.perform(post("/api/v1/ai/grid")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    /**
+     * TEST 3: La grille demande une authentification
+     */
+    @Test
+    void testGrid_RequiresAuthentication() throws Exception {
+        GridRequest request = gridRequest(List.of(new GridRequest.Axis("numFloors", 1.0, 50.0, 10)), List.of());
+
+        mockMvc.perform(post("/api/v1/ai/grid")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().is4xxClientError());
+    }
+
+    /**
+     * TEST 4: Le rapport de dérive décrit les 11 entrées et 4 sorties du modèle
+     */
+    @Test
+    void testDrift_Report() throws Exception {
+        mockMvc.perform(get("/api/v1/ai/drift")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.reference").value("fem_simulations.csv"))
+                .andExpect(jsonPath("$.data.features.length()").value(15))
+                .andExpect(jsonPath("$.data.features[0].name").value("numFloors"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.simstruct.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.RegisterRequest;
+import com.simstruct.backend.dto.SeismicRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration pour AnalysisController (portique plan, analyse modale, séisme)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnalysisControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail("analysis" + System.nanoTime() + "@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setName("Frame Test User");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        accessToken = objectMapper.readTree(result.getResponse().getContentAsString())
+                .path("data").path("accessToken").asText();
+    }
+
+    private BuildingPredictionRequest building(double numFloors) {
+        return BuildingPredictionRequest.builder()
+                .numFloors(numFloors).floorHeight(3.5).numBeams(120).numColumns(36)
+                .beamSection(40.0).columnSection(50.0).concreteStrength(35.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                .build();
+    }
+
+    /**
+     * TEST 1: Analyse d'un bâtiment de 30 étages
+     */
+    @Test
+    void testAnalyzeFrame_Success() throws Exception {
+        mockMvc.perform(post("/api/v1/analysis/frame")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(building(30))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.storeys").value(30))
+                .andExpect(jsonPath("$.data.bays").value(5))
+                .andExpect(jsonPath("$.data.equations").value(30 * 6 * 3))
+                .andExpect(jsonPath("$.data.maxDeflection").isNumber())
+                .andExpect(jsonPath("$.data.maxStress").isNumber())
+                .andExpect(jsonPath("$.data.stabilityIndex").isNumber())
+                .andExpect(jsonPath("$.data.status").value("success"));
+    }
+
+    /**
+     * TEST 2: Entrée manquante refusée
+     */
+    @Test
+    void testAnalyzeFrame_InvalidInput() throws Exception {
+        BuildingPredictionRequest request = building(10);
+        request.setNumFloors(null);
+
+        mockMvc.perform(post("/api/v1/analysis/frame")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * TEST 3: Authentification requise
+     */
+    @Test
+    void testAnalyzeFrame_Unauthorized() throws Exception {
+        mockMvc.perform(post("/api/v1/analysis/frame")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(building(10))))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * TEST 4: Analyse modale: 10 modes par fréquence croissante, formes à 11 niveaux
+     */
+    @Test
+    void testAnalyzeModes_Success() throws Exception {
+        mockMvc.perform(post("/api/v1/analysis/modal")
+                .param("modes", "10")
+                .param("shapePoints", "11")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(building(20))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.modes.length()").value(10))
+                .andExpect(jsonPath("$.data.modes[0].number").value(1))
+                .andExpect(jsonPath("$.data.modes[0].frequency").isNumber())
+                .andExpect(jsonPath("$.data.modes[0].shape.length()").value(11))
+                .andExpect(jsonPath("$.data.modes[0].shape[10]").value(1.0))
+                .andExpect(jsonPath("$.data.levelHeights[10]").value(70.0))
+                .andExpect(jsonPath("$.data.status").value("success"));
+    }
+
+    /**
+     * TEST 5: Nombre de modes hors limites refusé
+     */
+    @Test
+    void testAnalyzeModes_TooManyModes() throws Exception {
+        mockMvc.perform(post("/api/v1/analysis/modal")
+                .param("modes", "500")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(building(20))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    /**
+     * TEST 6: Séisme synthétique: événements start, samples puis complete en flux SSE
+     */
+    @Test
+    void testAnalyzeSeismic_Streams() throws Exception {
+        SeismicRequest seismic = SeismicRequest.builder()
+                .building(building(3)).pga(0.25).duration(4.0).dt(0.01).points(40)
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/api/v1/analysis/seismic")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seismic)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(30000);
+
+        String events = result.getResponse().getContentAsString();
+        assertTrue(events.startsWith("event:start"), events);
+        assertTrue(events.contains("\"steps\":401"), events);
+        assertTrue(events.contains("event:samples"), events);
+        assertTrue(events.contains("event:complete"), events);
+        assertTrue(events.contains("\"driftDemandRatio\""), events);
+    }
+
+    /**
+     * TEST 7: Enregistrement CSV à pas de temps variable refusé
+     */
+    @Test
+    void testAnalyzeSeismicRecord_InvalidCsv() throws Exception {
+        SeismicRequest request = SeismicRequest.builder().building(building(3)).build();
+        MockMultipartFile json = new MockMultipartFile("request", "", MediaType.APPLICATION_JSON_VALUE,
+                objectMapper.writeValueAsBytes(request));
+        MockMultipartFile record = new MockMultipartFile("record", "record.csv", "text/csv",
+                "time,acc\n0,0\n0.01,0.1\n0.03,0.2\n".getBytes());
+
+        mockMvc.perform(multipart("/api/v1/analysis/seismic/record")
+                .file(json)
+                .file(record)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
@@ -0,0 +1,75 @@
+package com.simstruct.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.RegisterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration pour DashboardController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String uniqueEmail = "dashctrl" + System.currentTimeMillis() + "@example.com";
+
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail(uniqueEmail);
+        registerRequest.setPassword("password123");
+        registerRequest.setName("Dashboard Test");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+
+        String response = result.getResponse().getContentAsString();
+        accessToken = objectMapper.readTree(response).path("data").path("accessToken").asText();
+    }
+
+    /**
+     * Test de récupération du tableau de bord
+     */
+    @Test
+    void testGetDashboard_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/dashboard")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.totalSimulations").value(0))
+                .andExpect(jsonPath("$.data.unreadNotifications").exists())
+                .andExpect(jsonPath("$.data.unavailable").isEmpty());
+    }
+
+    /**
+     * Test d'accès sans authentification
+     */
+    @Test
+    void testGetDashboard_NoAuth() throws Exception {
+        mockMvc.perform(get("/api/v1/dashboard"))
+                .andExpect(status().isForbidden());
+    }
+}
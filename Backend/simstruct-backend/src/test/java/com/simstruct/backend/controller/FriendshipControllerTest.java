@@ -103,4 +103,16 @@ class FriendshipControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
+
+    /**
+     * Test des suggestions d'amis (nouvel utilisateur sans amis)
+     */
+    @Test
+    void testGetSuggestions_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/friends/suggestions")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").isArray());
+    }
 }
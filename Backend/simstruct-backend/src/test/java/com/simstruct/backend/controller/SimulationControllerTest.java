@@ -4,6 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.simstruct.backend.dto.RegisterRequest;
 import com.simstruct.backend.dto.SimulationRequest;
 import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.entity.SimulationResult;
+import com.simstruct.backend.repository.SimulationRepository;
+import com.simstruct.backend.repository.UserRepository;
+import com.simstruct.backend.service.LikeCounters;
+import com.simstruct.backend.service.SimilarityIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +19,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,12 +41,26 @@ class SimulationControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SimulationRepository simulationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LikeCounters likeCounters;
+
+    @Autowired
+    private SimilarityIndex similarityIndex;
+
     private String accessToken;
+    private String userEmail;
 
     @BeforeEach
     void setUp() throws Exception {
         // Créer un utilisateur et récupérer le token
         String uniqueEmail = "simctrl" + System.currentTimeMillis() + "@example.com";
+        userEmail = uniqueEmail;
         
         RegisterRequest registerRequest = new RegisterRequest();
         registerRequest.setEmail(uniqueEmail);
@@ -76,12 +98,7 @@ class SimulationControllerTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
-    /**
-     * Test de création de simulation avec données valides
-     * Note: Le test accepte aussi 500 car l'API AI n'est pas disponible en test
-     */
-    @Test
-    void testCreateSimulation_Success() throws Exception {
+    private SimulationRequest validRequest() {
         SimulationRequest request = new SimulationRequest();
         request.setName("Test Beam Simulation");
         request.setBeamLength(5.0);
@@ -103,6 +120,16 @@ class SimulationControllerTest {
         request.setLoadType(Simulation.LoadType.UNIFORM);
         request.setLoadMagnitude(10.0);
         request.setSupportType(Simulation.SupportType.SIMPLY_SUPPORTED);
+        return request;
+    }
+
+    /**
+     * Test de création de simulation avec données valides
+     * Note: Le test accepte aussi 500 car l'API AI n'est pas disponible en test
+     */
+    @Test
+    void testCreateSimulation_Success() throws Exception {
+        SimulationRequest request = validRequest();
 
         // Test passes validation - AI API may not be running during tests
         mockMvc.perform(post("/api/v1/simulations")
@@ -117,6 +144,22 @@ class SimulationControllerTest {
                 });
     }
 
+    /**
+     * Test de création avec un Idempotency-Key vide ou trop long: 400
+     */
+    @Test
+    void testCreateSimulation_InvalidIdempotencyKey() throws Exception {
+        for (String key : new String[]{"   ", "k".repeat(256)}) {
+            mockMvc.perform(post("/api/v1/simulations")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .header("Idempotency-Key", key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(validRequest())))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
     /**
      * Test de création de simulation sans authentification
      */
@@ -213,4 +256,176 @@ class SimulationControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
+
+    /**
+     * Test de GET conditionnel
+     * Vérifie que la même ETag renvoie 304 sans corps
+     */
+    @Test
+    void testGetSimulation_NotModified() throws Exception {
+        // Crée directement une simulation terminée pour l'utilisateur
+        Simulation simulation = simulationRepository.save(Simulation.builder()
+                .name("Cached Beam")
+                .user(userRepository.findByEmail(userEmail).orElseThrow())
+                .beamLength(5.0)
+                .beamWidth(0.3)
+                .beamHeight(0.5)
+                .materialType(Simulation.MaterialType.STEEL)
+                .elasticModulus(210000.0)
+                .loadType(Simulation.LoadType.UNIFORM)
+                .loadMagnitude(10.0)
+                .supportType(Simulation.SupportType.SIMPLY_SUPPORTED)
+                .status(Simulation.SimulationStatus.COMPLETED)
+                .results(SimulationResult.builder().safetyFactor(2.0).isSafe(true).build())
+                .build());
+
+        MvcResult first = mockMvc.perform(get("/api/v1/simulations/" + simulation.getId())
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        // Deuxième lecture avec If-None-Match: 304 sans corps
+        mockMvc.perform(get("/api/v1/simulations/" + simulation.getId())
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // Une ETag périmée renvoie la simulation
+        mockMvc.perform(get("/api/v1/simulations/" + simulation.getId())
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(simulation.getId()));
+
+        // Un like écrit par le flush ne change pas la version, mais change l'ETag
+        mockMvc.perform(post("/api/v1/simulations/" + simulation.getId() + "/like")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        likeCounters.flush();
+        mockMvc.perform(get("/api/v1/simulations/" + simulation.getId())
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.likesCount").value(1));
+    }
+
+    /**
+     * Test des en-têtes de cache du flux public
+     */
+    @Test
+    void testGetPublicSimulations_CacheControl() throws Exception {
+        mockMvc.perform(get("/api/v1/simulations/public"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"));
+    }
+
+    /**
+     * Test de pagination du flux public
+     */
+    @Test
+    void testGetPublicSimulations_Page() throws Exception {
+        mockMvc.perform(get("/api/v1/simulations/public")
+                .param("page", "0")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(lessThanOrEqualTo(1)));
+    }
+
+    /**
+     * Test du flux public trié par tendance
+     */
+    @Test
+    void testGetPublicSimulations_Trending() throws Exception {
+        mockMvc.perform(get("/api/v1/simulations/public")
+                .param("sort", "trending")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    /**
+     * Test des likes: idempotents, comptés, puis écrits par le flush
+     */
+    @Test
+    void testLikeSimulation_Idempotent() throws Exception {
+        Simulation simulation = simulationRepository.save(Simulation.builder()
+                .name("Liked Beam")
+                .user(userRepository.findByEmail(userEmail).orElseThrow())
+                .beamLength(5.0)
+                .beamWidth(0.3)
+                .beamHeight(0.5)
+                .materialType(Simulation.MaterialType.STEEL)
+                .elasticModulus(210000.0)
+                .loadType(Simulation.LoadType.UNIFORM)
+                .loadMagnitude(10.0)
+                .supportType(Simulation.SupportType.SIMPLY_SUPPORTED)
+                .status(Simulation.SimulationStatus.COMPLETED)
+                .build());
+        String url = "/api/v1/simulations/" + simulation.getId() + "/like";
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post(url).header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.liked").value(true))
+                    .andExpect(jsonPath("$.data.likesCount").value(1));
+        }
+
+        likeCounters.flush();
+        assertEquals(1, simulationRepository.findLikesCountById(simulation.getId()).orElseThrow());
+
+        mockMvc.perform(delete(url).header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.liked").value(false))
+                .andExpect(jsonPath("$.data.likesCount").value(0));
+
+        // Les likes disparaissent avec leur simulation
+        mockMvc.perform(post(url).header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/simulations/" + simulation.getId())
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+    }
+    /**
+     * Test des simulations similaires: la plus proche d'abord, sans la simulation elle-même
+     */
+    @Test
+    void testGetSimilarSimulations() throws Exception {
+        Simulation self = saveBeam("Reference Beam", 5.0);
+        Simulation near = saveBeam("Near Beam", 5.5);
+        Simulation far = saveBeam("Far Beam", 30.0);
+        similarityIndex.index(self);
+        similarityIndex.index(near);
+        similarityIndex.index(far);
+
+        mockMvc.perform(get("/api/v1/simulations/" + self.getId() + "/similar")
+                .param("k", "2")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].simulation.id").value(near.getId()))
+                .andExpect(jsonPath("$.data[1].simulation.id").value(far.getId()));
+    }
+
+    private Simulation saveBeam(String name, double beamLength) {
+        return simulationRepository.save(Simulation.builder()
+                .name(name)
+                .user(userRepository.findByEmail(userEmail).orElseThrow())
+                .beamLength(beamLength)
+                .beamWidth(0.3)
+                .beamHeight(0.5)
+                .materialType(Simulation.MaterialType.STEEL)
+                .elasticModulus(210000.0)
+                .loadType(Simulation.LoadType.UNIFORM)
+                .loadMagnitude(10.0)
+                .supportType(Simulation.SupportType.SIMPLY_SUPPORTED)
+                .status(Simulation.SimulationStatus.COMPLETED)
+                .build());
+    }
 }
@@ -0,0 +1,220 @@
+package com.simstruct.backend.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for the Python AI API used by load and resilience tests.
+ * Answers /predict with a fixed prediction after an injected latency, so the
+ * backend spends its time waiting on the AI call like it does in production.
+ * Latency follows a distribution (fixed, uniform or log-normal) that can be
+ * changed while running; bursts of slow answers or 500 errors, and a random
+ * error rate, can be injected. /health and /model-info answer like the real
+ * API. Several stubs can run side by side, one per port.
+ *
+ * Can also run on its own, to load-test a backend without the Python container:
+ *   java -cp target/test-classes com.simstruct.backend.perf.AiStubServer [port] [latency] [errorRate]
+ * e.g. 8000 lognormal:50:0.5 0.01 (see Latency.parse).
+ */
+public class AiStubServer implements AutoCloseable {
+
+    private static final String PREDICTION = "{\"maxDeflection\":12.5,\"maxStress\":180.0,"
+            + "\"stabilityIndex\":78.0,\"seismicResistance\":71.0,\"status\":\"Bon\"}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile Latency latency;
+    private volatile double errorRate;
+    private volatile String modelVersion = "stub-1";
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+    private final AtomicInteger slowToInject = new AtomicInteger();
+    private volatile Duration slowLatency = Duration.ZERO;
+    private final AtomicInteger predictions = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile boolean healthy = true;
+
+    private AiStubServer(int port, Latency latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        // One thread per in-flight request: the stub must never be the bottleneck
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/predict", this::predict);
+        server.createContext("/health", exchange ->
+                respond(exchange, healthy ? "{\"status\":\"healthy\"}" : "{\"status\":\"unhealthy\"}"));
+        server.createContext("/model-info", exchange -> respond(exchange,
+                "{\"architecture\":\"AiStubServer\",\"model_version\":\"" + modelVersion + "\"}"));
+        server.start();
+    }
+
+    /**
+     * Start a stub on a free local port
+     */
+    public static AiStubServer start(Duration latency) {
+        return start(0, Latency.fixed(latency));
+    }
+
+    /**
+     * Start a stub on the given port (0 for a free one)
+     */
+    public static AiStubServer start(int port, Latency latency) {
+        try {
+            return new AiStubServer(port, latency);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start AI stub", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8000;
+        AiStubServer stub = start(port, Latency.parse(args.length > 1 ? args[1] : "fixed:50"));
+        stub.setErrorRate(args.length > 2 ? Double.parseDouble(args[2]) : 0);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.println("AiStubServer: Listening on " + stub.url());
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int predictionCount() {
+        return predictions.get();
+    }
+
+    /**
+     * Requests received on /predict, including failed ones
+     */
+    public int requestCount() {
+        return requests.get();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = Latency.fixed(latency);
+    }
+
+    public void setLatency(Latency latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Answer this share of requests (0 to 1) with a 500 error, at random
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Version reported by /model-info
+     */
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    /**
+     * Answer the next count requests with a 500 error
+     */
+    public void failNext(int count) {
+        failuresToInject.set(count);
+    }
+
+    /**
+     * Answer the next count requests after the given latency instead of the usual one
+     */
+    public void slowNext(int count, Duration latency) {
+        slowLatency = latency;
+        slowToInject.set(count);
+    }
+
+    /**
+     * Status reported by /health
+     */
+    public void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void predict(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requests.incrementAndGet();
+        if (failuresToInject.getAndUpdate(n -> Math.max(n - 1, 0)) > 0
+                || ThreadLocalRandom.current().nextDouble() < errorRate) {
+            respond(exchange, 500, "{\"detail\":\"Injected failure\"}");
+            return;
+        }
+        Duration delay = slowToInject.getAndUpdate(n -> Math.max(n - 1, 0)) > 0 ? slowLatency : latency.next();
+        try {
+            Thread.sleep(delay.toMillis(), delay.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        predictions.incrementAndGet();
+        respond(exchange, PREDICTION);
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        respond(exchange, 200, json);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Distribution of /predict latencies
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        Duration next();
+
+        static Latency fixed(Duration latency) {
+            return () -> latency;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            return () -> Duration.ofNanos(ThreadLocalRandom.current().nextLong(min.toNanos(), max.toNanos() + 1));
+        }
+
+        /**
+         * Log-normal around the median, with this sigma: 0.5 puts the p99 at about 3.2 x the median
+         */
+        static Latency logNormal(Duration median, double sigma) {
+            return () -> Duration.ofNanos((long) (median.toNanos()
+                    * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian())));
+        }
+
+        /**
+         * "fixed:MS", "uniform:MIN_MS:MAX_MS" or "lognormal:MEDIAN_MS:SIGMA"
+         */
+        static Latency parse(String spec) {
+            String[] parts = spec.split(":");
+            return switch (parts[0]) {
+                case "fixed" -> fixed(Duration.ofMillis(Long.parseLong(parts[1])));
+                case "uniform" -> uniform(Duration.ofMillis(Long.parseLong(parts[1])),
+                        Duration.ofMillis(Long.parseLong(parts[2])));
+                case "lognormal" -> logNormal(Duration.ofMillis(Long.parseLong(parts[1])), Double.parseDouble(parts[2]));
+                default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            };
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.simstruct.backend.perf;
+
+import com.simstruct.backend.analysis.BuildingFrame;
+import com.simstruct.backend.analysis.FrameModel;
+import com.simstruct.backend.analysis.FrameSolver;
+import com.simstruct.backend.analysis.GroundMotion;
+import com.simstruct.backend.analysis.ModalAnalysis;
+import com.simstruct.backend.analysis.TimeHistory;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark: temps d'assemblage + factorisation et de résolution du portique
+ * plan en fonction du nombre d'étages et de files de poteaux, et temps de
+ * l'analyse modale (perf.modes premiers modes) et d'un pas d'intégration
+ * temporelle sous un séisme synthétique de perf.seismic.duration secondes.
+ *
+ * Désactivé par défaut. Lancer avec:
+ *   mvn surefire:test -Dperf=true -Dtest=FrameSolverPerfTest [-Dperf.iterations=50] [-Dperf.modes=10]
+ *
+ * Résultats ajoutés dans target/perf/frame.csv, target/perf/modal.csv et target/perf/seismic.csv.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class FrameSolverPerfTest {
+
+    private static final Path REPORT = Path.of("target", "perf", "frame.csv");
+    private static final Path MODAL_REPORT = Path.of("target", "perf", "modal.csv");
+    private static final Path SEISMIC_REPORT = Path.of("target", "perf", "seismic.csv");
+    private static final int[] STOREYS = {5, 10, 20, 30, 50};
+    private static final int[] COLUMNS = {16, 64, 196};
+
+    private final int iterations = Integer.getInteger("perf.iterations", 50);
+    private final int modes = Integer.getInteger("perf.modes", 10);
+    private final int seismicDuration = Integer.getInteger("perf.seismic.duration", 60);
+
+    /**
+     * TEST: factorisation et résolution, moyenne sur perf.iterations après chauffe
+     */
+    @Test
+    void testSolverScaling() throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        if (Files.notExists(REPORT)) {
+            Files.writeString(REPORT, "storeys,columns,equations,profile,assembleFactorMs,solveMs\n");
+        }
+        for (int columns : COLUMNS) {
+            for (int storeys : STOREYS) {
+                BuildingPredictionRequest building = BuildingPredictionRequest.builder()
+                        .numFloors((double) storeys).floorHeight(3.5).numBeams(120).numColumns(columns)
+                        .beamSection(40.0).columnSection(60.0).concreteStrength(35.0).steelGrade(355.0)
+                        .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                        .build();
+                FrameModel model = BuildingFrame.model(building);
+                for (int i = 0; i < iterations; i++) {
+                    new FrameSolver(model).solve(BuildingFrame.ULTIMATE);
+                }
+
+                long factorNanos = 0;
+                long solveNanos = 0;
+                FrameSolver solver = null;
+                for (int i = 0; i < iterations; i++) {
+                    long start = System.nanoTime();
+                    solver = new FrameSolver(model);
+                    long factored = System.nanoTime();
+                    solver.solve(BuildingFrame.ULTIMATE);
+                    factorNanos += factored - start;
+                    solveNanos += System.nanoTime() - factored;
+                }
+                double factorMs = factorNanos / 1e6 / iterations;
+                double solveMs = solveNanos / 1e6 / iterations;
+                System.out.printf("FrameSolverPerfTest: %d storeys, %d columns, %d equations: factor %.3f ms, solve %.3f ms%n",
+                        storeys, columns, solver.equationCount(), factorMs, solveMs);
+                Files.writeString(REPORT, String.format("%d,%d,%d,%d,%.3f,%.3f%n", storeys, columns,
+                        solver.equationCount(), solver.profile(), factorMs, solveMs), StandardOpenOption.APPEND);
+
+                assertTrue(factorMs > 0);
+            }
+        }
+    }
+
+    /**
+     * TEST: analyse modale complète (modèle, factorisation, masse, itérations)
+     */
+    @Test
+    void testModalScaling() throws IOException {
+        Files.createDirectories(MODAL_REPORT.getParent());
+        if (Files.notExists(MODAL_REPORT)) {
+            Files.writeString(MODAL_REPORT, "storeys,columns,equations,modes,steps,ms,f1Hz\n");
+        }
+        for (int columns : COLUMNS) {
+            for (int storeys : STOREYS) {
+                BuildingPredictionRequest building = BuildingPredictionRequest.builder()
+                        .numFloors((double) storeys).floorHeight(3.5).numBeams(120).numColumns(columns)
+                        .beamSection(40.0).columnSection(60.0).concreteStrength(35.0).steelGrade(355.0)
+                        .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                        .build();
+                for (int i = 0; i < iterations; i++) {
+                    BuildingFrame.modes(building, modes);
+                }
+
+                long nanos = 0;
+                ModalAnalysis.Result result = null;
+                for (int i = 0; i < iterations; i++) {
+                    long start = System.nanoTime();
+                    result = BuildingFrame.modes(building, modes);
+                    nanos += System.nanoTime() - start;
+                }
+                double ms = nanos / 1e6 / iterations;
+                double f1 = result.modes().get(0).frequency();
+                System.out.printf("FrameSolverPerfTest: %d storeys, %d columns, %d equations: %d modes in %d steps, %.3f ms, f1 %.3f Hz%n",
+                        storeys, columns, result.equations(), modes, result.steps(), ms, f1);
+                Files.writeString(MODAL_REPORT, String.format("%d,%d,%d,%d,%d,%.3f,%.4f%n", storeys, columns,
+                        result.equations(), modes, result.steps(), ms, f1), StandardOpenOption.APPEND);
+
+                assertTrue(ms > 0);
+            }
+        }
+    }
+
+    /**
+     * TEST: intégration temporelle (Newmark), temps par pas hors préparation
+     */
+    @Test
+    void testTimeHistoryScaling() throws IOException {
+        Files.createDirectories(SEISMIC_REPORT.getParent());
+        if (Files.notExists(SEISMIC_REPORT)) {
+            Files.writeString(SEISMIC_REPORT, "storeys,columns,equations,steps,setupMs,usPerStep,stepsPerSecond\n");
+        }
+        GroundMotion motion = GroundMotion.synthetic(0.3, seismicDuration, 0.01, 1);
+        double[] ground = motion.acceleration();
+        for (int columns : COLUMNS) {
+            for (int storeys : STOREYS) {
+                BuildingPredictionRequest building = BuildingPredictionRequest.builder()
+                        .numFloors((double) storeys).floorHeight(3.5).numBeams(120).numColumns(columns)
+                        .beamSection(40.0).columnSection(60.0).concreteStrength(35.0).steelGrade(355.0)
+                        .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                        .build();
+                long setupStart = System.nanoTime();
+                FrameModel model = BuildingFrame.model(building);
+                FrameSolver solver = new FrameSolver(model);
+                TimeHistory history = new TimeHistory(model, solver, 0, motion.dt(), 0.3, 0.002);
+                double setupMs = (System.nanoTime() - setupStart) / 1e6;
+
+                // Chauffe sur un enregistrement, mesure sur le suivant
+                history.start(ground[0]);
+                for (int i = 1; i < ground.length; i++) {
+                    history.advance(ground[i]);
+                }
+                history.start(ground[0]);
+                long start = System.nanoTime();
+                for (int i = 1; i < ground.length; i++) {
+                    history.advance(ground[i]);
+                }
+                double us = (System.nanoTime() - start) / 1e3 / (ground.length - 1);
+                System.out.printf("FrameSolverPerfTest: %d storeys, %d columns, %d equations: %.1f us/step, %.0f steps/s%n",
+                        storeys, columns, solver.equationCount(), us, 1e6 / us);
+                Files.writeString(SEISMIC_REPORT, String.format("%d,%d,%d,%d,%.3f,%.2f,%.0f%n", storeys, columns,
+                        solver.equationCount(), ground.length, setupMs, us, 1e6 / us), StandardOpenOption.APPEND);
+
+                assertTrue(Double.isFinite(history.baseShear()));
+            }
+        }
+    }
+}
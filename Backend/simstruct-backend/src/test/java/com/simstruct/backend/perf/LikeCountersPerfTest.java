@@ -0,0 +1,148 @@
+package com.simstruct.backend.perf;
+
+import com.simstruct.backend.repository.SimulationLikeRepository;
+import com.simstruct.backend.repository.SimulationRepository;
+import com.simstruct.backend.service.LikeCounters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark: likes sur une seule simulation très populaire.
+ *
+ * Compare le compteur par bandes (LikeCounters) à un read-modify-write
+ * sérialisé, comme un UPDATE sur la même ligne. Les flushs périodiques
+ * tournent pendant la mesure et le total écrit doit être exact.
+ *
+ * Désactivé par défaut. Lancer avec:
+ *   mvn surefire:test -Dperf=true -Dtest=LikeCountersPerfTest [-Dperf.likeThreads=16] [-Dperf.durationMs=3000]
+ *
+ * Résultats ajoutés dans target/perf/likes.csv.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class LikeCountersPerfTest {
+
+    private static final Path REPORT = Path.of("target", "perf", "likes.csv");
+    private static final String HOT = "hot-simulation";
+
+    private final int threads = Integer.getInteger("perf.likeThreads", Runtime.getRuntime().availableProcessors() * 2);
+    private final long durationMs = Long.getLong("perf.durationMs", 3000);
+
+    /**
+     * TEST: débit des likes sur une simulation, compteur par bandes vs verrou
+     */
+    @Test
+    void testHotSimulationThroughput() throws Exception {
+        AtomicLong flushed = new AtomicLong();
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> flushed.addAndGet((Long) row[0]));
+            return new int[batch.size()];
+        });
+        LikeCounters counters = new LikeCounters(jdbcTemplate, mock(SimulationLikeRepository.class),
+                mock(SimulationRepository.class), mock(ApplicationEventPublisher.class));
+
+        // Compteur par bandes, avec un flush toutes les 100 ms pendant la mesure
+        Thread flusher = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                counters.flush();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        flusher.start();
+        Result striped = measure("striped", () -> counters.add(HOT, 1));
+        flusher.interrupt();
+        flusher.join();
+        counters.flush();
+
+        // Référence: chaque like prend le même verrou, comme la ligne de la simulation
+        Object rowLock = new Object();
+        long[] row = new long[1];
+        Result locked = measure("single-lock", () -> {
+            synchronized (rowLock) {
+                row[0] = row[0] + 1;
+            }
+        });
+
+        report(striped);
+        report(locked);
+        assertEquals(striped.likes(), flushed.get(), "Every like must be flushed exactly once");
+        assertTrue(striped.perSecond() >= 10_000, "Striped counter below 10k likes/sec: " + striped);
+    }
+
+    private Result measure(String name, Runnable like) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] counts = new long[threads];
+        List<Thread> workers = new ArrayList<>();
+        long deadline = System.nanoTime() + durationMs * 1_000_000;
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                while ((count & 1023) != 0 || System.nanoTime() < deadline) {
+                    like.run();
+                    count++;
+                }
+                counts[worker] = count;
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - begin) / 1_000_000);
+        long likes = 0;
+        for (long count : counts) {
+            likes += count;
+        }
+        return new Result(name, threads, likes, elapsedMs);
+    }
+
+    private static void report(Result result) throws IOException {
+        System.out.println("LikeCountersPerfTest: " + result);
+        Files.createDirectories(REPORT.getParent());
+        if (!Files.exists(REPORT)) {
+            Files.writeString(REPORT, "counter,threads,likes,elapsedMs,likesPerSec\n");
+        }
+        Files.writeString(REPORT, String.format("%s,%d,%d,%d,%.0f%n",
+                result.name(), result.threads(), result.likes(), result.elapsedMs(), result.perSecond()),
+                StandardOpenOption.APPEND);
+    }
+
+    record Result(String name, int threads, long likes, long elapsedMs) {
+
+        double perSecond() {
+            return likes * 1000.0 / elapsedMs;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.simstruct.backend.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.simstruct.backend.dto.SimulationRequest;
+import com.simstruct.backend.entity.BuildingParameters;
+import com.simstruct.backend.entity.Simulation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the FEM dataset (Model_AI/data/fem_simulations.csv) as
+ * POST /api/v1/simulations against a running backend, at a fixed rate.
+ *
+ * Requests are sent on schedule whether or not earlier ones have answered
+ * (open loop), and latency is measured from the time a request was due, so a
+ * backend that falls behind shows up in the percentiles instead of slowing
+ * the load down. Latencies go into an HdrHistogram; the report gives
+ * throughput, percentiles, status counts and error rate, and is written as JSON.
+ *
+ * About half the dataset lies outside the API's validation ranges; with clamp
+ * those inputs are brought back to the nearest bound, otherwise they are sent
+ * as is and answered 400.
+ */
+public class ReplayHarness {
+
+    public static final Path DEFAULT_CSV = Path.of("..", "..", "Model_AI", "data", "fem_simulations.csv");
+
+    // Highest latency kept in the histogram
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final String[] INPUTS = {
+            "numFloors", "floorHeight", "numBeams", "numColumns", "beamSection", "columnSection",
+            "concreteStrength", "steelGrade", "windLoad", "liveLoad", "deadLoad"
+    };
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ReplayHarness(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * A dataset row as a simulation request
+     */
+    public record Row(int sampleId, SimulationRequest request, boolean clamped) {
+    }
+
+    /**
+     * Latencies in milliseconds, measured from the time each request was due
+     */
+    public record Latencies(double p50, double p90, double p99, double p999, double max, double mean) {
+    }
+
+    public record Report(int requests, int clamped, double targetRatePerSec, long elapsedMs,
+                         double throughputPerSec, int ok, int errors, double errorRate,
+                         Map<String, Integer> statusCounts, Latencies latencyMs) {
+
+        public void write(Path path) throws IOException {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+        }
+    }
+
+    /**
+     * Read up to limit rows of the dataset
+     */
+    public static List<Row> readRows(Path csv, int limit, boolean clamp) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv)) {
+            List<String> header = Arrays.asList(reader.readLine().split(","));
+            String line;
+            while (rows.size() < limit && (line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    rows.add(toRow(header, line.split(","), clamp));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static Row toRow(List<String> header, String[] cells, boolean clamp) {
+        double[] values = new double[INPUTS.length];
+        boolean clamped = false;
+        for (int i = 0; i < INPUTS.length; i++) {
+            double value = Double.parseDouble(cells[header.indexOf(INPUTS[i])]);
+            if (clamp) {
+                double bounded = Math.max(BuildingParameters.min(i), Math.min(BuildingParameters.max(i), value));
+                clamped |= bounded != value;
+                value = bounded;
+            }
+            values[i] = value;
+        }
+        int sampleId = Integer.parseInt(cells[header.indexOf("sampleId")]);
+        boolean industrial = "industrial".equals(cells[header.indexOf("buildingType")]);
+        // The dataset describes whole buildings: model one typical floor beam
+        double section = values[4] / 100;
+        SimulationRequest request = SimulationRequest.builder()
+                .name("Replay " + sampleId + " (" + cells[header.indexOf("buildingType")] + ")")
+                .beamLength(6.0)
+                .beamWidth(section)
+                .beamHeight(2 * section)
+                .materialType(industrial ? Simulation.MaterialType.STEEL : Simulation.MaterialType.CONCRETE)
+                .elasticModulus(industrial ? 210000.0 : 30000.0)
+                .loadType(Simulation.LoadType.UNIFORM)
+                // Dead + live load on a 1 m strip, in N/m
+                .loadMagnitude((values[10] + values[9]) * 1000)
+                .supportType(Simulation.SupportType.SIMPLY_SUPPORTED)
+                .numFloors(values[0])
+                .floorHeight(values[1])
+                .numBeams((int) values[2])
+                .numColumns((int) values[3])
+                .beamSection(values[4])
+                .columnSection(values[5])
+                .concreteStrength(values[6])
+                .steelGrade(values[7])
+                .windLoad(values[8])
+                .liveLoad(values[9])
+                .deadLoad(values[10])
+                .build();
+        return new Row(sampleId, request, clamped);
+    }
+
+    /**
+     * Register accounts to spread the load over, and return their access tokens
+     */
+    public List<String> registerAccounts(int count) throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, String> register = Map.of(
+                    "email", "replay" + i + "-" + System.nanoTime() + "@example.com",
+                    "password", "password123",
+                    "name", "Replay User " + i);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(register)))
+                    .build();
+            JsonNode response = objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            tokens.add(response.path("data").path("accessToken").asText());
+        }
+        return tokens;
+    }
+
+    /**
+     * Send every row at ratePerSecond, round robin over the accounts, and wait for all answers
+     */
+    public Report replay(List<Row> rows, List<String> tokens, double ratePerSecond) throws IOException {
+        Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        Map<String, AtomicInteger> statusCounts = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> calls = new ArrayList<>(rows.size());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows.size(); i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/simulations"))
+                    .timeout(Duration.ofMinutes(2))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + tokens.get(i % tokens.size()))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(rows.get(i).request())))
+                    .build();
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+                        latencies.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                        String status = error == null ? String.valueOf(response.statusCode()) : "exception";
+                        statusCounts.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        Map<String, Integer> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.get()));
+        int ok = counts.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("2"))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+        int errors = rows.size() - ok;
+        int clamped = (int) rows.stream().filter(Row::clamped).count();
+        return new Report(rows.size(), clamped, ratePerSecond, elapsedMs, rows.size() * 1000.0 / elapsedMs,
+                ok, errors, rows.isEmpty() ? 0 : (double) errors / rows.size(), counts, latencies(latencies));
+    }
+
+    private static Latencies latencies(Histogram histogram) {
+        return new Latencies(
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                Math.round(histogram.getMean()) / 1000.0);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
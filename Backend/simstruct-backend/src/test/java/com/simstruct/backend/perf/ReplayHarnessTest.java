@@ -0,0 +1,109 @@
+package com.simstruct.backend.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.SimulationRequest;
+import com.simstruct.backend.entity.BuildingParameters;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de ReplayHarness: lecture du jeu de données et rapport de rejeu
+ */
+class ReplayHarnessTest {
+
+    private HttpServer backend;
+
+    @AfterEach
+    void tearDown() {
+        if (backend != null) {
+            backend.stop(0);
+        }
+    }
+
+    /**
+     * Faux backend: une création sur deux échoue en 500
+     */
+    private String startBackend() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        backend = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        backend.setExecutor(Executors.newCachedThreadPool());
+        backend.createContext("/api/v1/simulations", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(calls.incrementAndGet() % 2 == 0 ? 500 : 200, -1);
+            exchange.close();
+        });
+        backend.start();
+        return "http://127.0.0.1:" + backend.getAddress().getPort();
+    }
+
+    /**
+     * TEST 1: Les lignes du CSV deviennent des requêtes valides, ramenées dans les bornes de l'API
+     */
+    @Test
+    void testReadRows_ClampsToValidationRanges() throws IOException {
+        List<ReplayHarness.Row> rows = ReplayHarness.readRows(ReplayHarness.DEFAULT_CSV, 200, true);
+
+        assertEquals(200, rows.size());
+        assertEquals(1, rows.get(0).sampleId());
+        assertEquals(12.0, rows.get(0).request().getNumFloors());
+        assertTrue(rows.stream().anyMatch(ReplayHarness.Row::clamped));
+        for (ReplayHarness.Row row : rows) {
+            SimulationRequest request = row.request();
+            Double[] values = BuildingParameters.from(request.toAIRequest()).values();
+            for (int i = 0; i < values.length; i++) {
+                assertTrue(values[i] >= BuildingParameters.min(i) && values[i] <= BuildingParameters.max(i),
+                        "row " + row.sampleId() + " input " + i + " = " + values[i]);
+            }
+        }
+    }
+
+    /**
+     * TEST 2: Sans bornage, les valeurs du jeu de données sont envoyées telles quelles
+     */
+    @Test
+    void testReadRows_WithoutClamp() throws IOException {
+        List<ReplayHarness.Row> rows = ReplayHarness.readRows(ReplayHarness.DEFAULT_CSV, 2, false);
+
+        // Ligne 2: section de poutre de 16 cm, sous le minimum de 20 cm
+        assertEquals(16.0, rows.get(1).request().getBeamSection());
+        assertFalse(rows.get(1).clamped());
+    }
+
+    /**
+     * TEST 3: Le rejeu compte les réponses par code, le taux d'erreur et les percentiles, puis écrit le JSON
+     */
+    @Test
+    void testReplay_Report(@TempDir Path dir) throws Exception {
+        ReplayHarness harness = new ReplayHarness(startBackend());
+        List<ReplayHarness.Row> rows = ReplayHarness.readRows(ReplayHarness.DEFAULT_CSV, 40, true);
+
+        ReplayHarness.Report report = harness.replay(rows, List.of("token"), 400);
+
+        assertEquals(40, report.requests());
+        assertEquals(20, report.ok());
+        assertEquals(20, report.statusCounts().get("500"));
+        assertEquals(0.5, report.errorRate());
+        // 40 requêtes à 400/s: au moins 97,5 ms d'envoi
+        assertTrue(report.elapsedMs() >= 97);
+        assertTrue(report.latencyMs().p50() > 0);
+        assertTrue(report.latencyMs().max() >= report.latencyMs().p99());
+
+        Path file = dir.resolve("replay-report.json");
+        report.write(file);
+        JsonNode json = new ObjectMapper().readTree(file.toFile());
+        assertEquals(40, json.path("requests").asInt());
+        assertTrue(json.path("latencyMs").has("p999"));
+    }
+}
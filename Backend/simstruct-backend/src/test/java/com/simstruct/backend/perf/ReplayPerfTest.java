@@ -0,0 +1,74 @@
+package com.simstruct.backend.perf;
+
+import com.simstruct.backend.SimstructBackendApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rejeu des 10 000 lignes de fem_simulations.csv contre le backend, à débit fixe.
+ *
+ * Désactivé par défaut. Lancer avec:
+ *   mvn surefire:test -Dperf=true -Dtest=ReplayPerfTest [-Dreplay.rate=100] [-Dreplay.rows=10000]
+ *       [-Dreplay.clamp=true] [-Dreplay.accounts=20] [-Dreplay.baseUrl=http://localhost:8080]
+ *       [-Dperf.aiLatency=lognormal:50:0.5] [-Dperf.aiErrorRate=0]
+ *
+ * Sans replay.baseUrl, un backend est démarré ici avec le profil test et un
+ * faux serveur IA (latence et erreurs réglables) : pas besoin du conteneur Python.
+ * Avec replay.baseUrl, c'est le backend déjà lancé qui est visé.
+ *
+ * Rapport JSON (débit, percentiles HdrHistogram, codes HTTP, taux d'erreur)
+ * écrit dans target/perf/replay-report.json.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class ReplayPerfTest {
+
+    private static final Path REPORT = Path.of("target", "perf", "replay-report.json");
+
+    /**
+     * TEST: rejeu du jeu de données FEM au débit demandé
+     */
+    @Test
+    void testReplayFemSimulations() throws Exception {
+        String baseUrl = System.getProperty("replay.baseUrl");
+        AiStubServer aiStub = null;
+        ConfigurableApplicationContext backend = null;
+        try {
+            if (baseUrl == null) {
+                aiStub = AiStubServer.start(0, AiStubServer.Latency.parse(System.getProperty("perf.aiLatency", "lognormal:50:0.5")));
+                aiStub.setErrorRate(Double.parseDouble(System.getProperty("perf.aiErrorRate", "0")));
+                backend = new SpringApplicationBuilder(SimstructBackendApplication.class)
+                        .profiles("test")
+                        // Arguments, to override the test profile
+                        .run("--server.port=0", "--ai.api.url=" + aiStub.url(), "--logging.level.com.simstruct=WARN");
+                baseUrl = "http://localhost:" + backend.getEnvironment().getProperty("local.server.port");
+            }
+
+            ReplayHarness harness = new ReplayHarness(baseUrl);
+            List<ReplayHarness.Row> rows = ReplayHarness.readRows(ReplayHarness.DEFAULT_CSV,
+                    Integer.getInteger("replay.rows", 10_000),
+                    Boolean.parseBoolean(System.getProperty("replay.clamp", "true")));
+            List<String> tokens = harness.registerAccounts(Integer.getInteger("replay.accounts", 20));
+
+            ReplayHarness.Report report = harness.replay(rows, tokens,
+                    Double.parseDouble(System.getProperty("replay.rate", "100")));
+            report.write(REPORT);
+            System.out.println("ReplayPerfTest: " + report);
+
+            assertTrue(report.ok() > 0, "No simulation was created");
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+            if (aiStub != null) {
+                aiStub.close();
+            }
+        }
+    }
+}
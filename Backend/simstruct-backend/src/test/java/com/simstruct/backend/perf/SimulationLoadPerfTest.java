@@ -0,0 +1,208 @@
+package com.simstruct.backend.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test de charge: création de simulations par N utilisateurs simultanés
+ * contre un stub de l'API AI avec latence injectée.
+ *
+ * Désactivé par défaut. Lancer avec:
+ *   mvn surefire:test -Dperf=true -Dtest='*LoadPerfTest' [-Dperf.users=1000,10000] [-Dperf.aiLatencyMs=200]
+ *
+ * Chaque mode (threads plateforme / threads virtuels) ajoute une ligne dans
+ * target/perf/simulation-load.csv pour comparer les résultats.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class SimulationLoadPerfTest {
+
+    private static final Path REPORT = Path.of("target", "perf", "simulation-load.csv");
+    private static final int ACCOUNTS = 20;
+
+    private static AiStubServer aiStub;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeAll
+    static void startAiStub() {
+        aiStub = AiStubServer.start(Duration.ofMillis(Long.getLong("perf.aiLatencyMs", 200)));
+    }
+
+    @AfterAll
+    static void stopAiStub() {
+        aiStub.close();
+    }
+
+    @DynamicPropertySource
+    static void aiProperties(DynamicPropertyRegistry registry) {
+        registry.add("ai.api.url", () -> aiStub.url());
+        // Mesurer le modèle de threads, pas les limites de capacité IA
+        registry.add("ai.bulkhead.max-concurrent", () -> "100000");
+        registry.add("ai.fair.max-concurrent", () -> "100000");
+        registry.add("logging.level.com.simstruct", () -> "WARN");
+    }
+
+    /**
+     * Nom du mode d'exécution dans le rapport
+     */
+    protected String mode() {
+        return "platform-threads";
+    }
+
+    /**
+     * TEST: création de simulations à 1k - 10k utilisateurs simultanés
+     */
+    @Test
+    void testCreateSimulationsUnderLoad() throws Exception {
+        List<String> tokens = registerAccounts();
+        String body = objectMapper.writeValueAsString(simulationRequest());
+
+        for (String level : System.getProperty("perf.users", "1000,10000").split(",")) {
+            int users = Integer.parseInt(level.trim());
+            LoadResult result = run(users, tokens, body);
+            report(result);
+            assertTrue(result.ok() > 0, "No simulation was created at " + users + " users");
+        }
+    }
+
+    private LoadResult run(int users, List<String> tokens, String body) {
+        long[] latencies = new long[users];
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<?>> calls = new ArrayList<>(users);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/simulations"))
+                    .timeout(Duration.ofMinutes(2))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + tokens.get(user % tokens.size()))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long sent = System.nanoTime();
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[user] = (System.nanoTime() - sent) / 1_000_000;
+                        if (error == null && response.statusCode() == 200) {
+                            ok.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        Arrays.sort(latencies);
+        return new LoadResult(mode(), users, ok.get(), failed.get(), elapsedMs,
+                percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99));
+    }
+
+    private List<String> registerAccounts() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Map<String, String> register = Map.of(
+                    "email", "load" + i + "-" + System.nanoTime() + "@example.com",
+                    "password", "password123",
+                    "name", "Load User " + i);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(register)))
+                    .build();
+            JsonNode response = objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            tokens.add(response.path("data").path("accessToken").asText());
+        }
+        return tokens;
+    }
+
+    private static Map<String, Object> simulationRequest() {
+        return Map.ofEntries(
+                Map.entry("name", "Load Test Beam"),
+                Map.entry("beamLength", 5.0),
+                Map.entry("beamWidth", 0.3),
+                Map.entry("beamHeight", 0.5),
+                Map.entry("materialType", "STEEL"),
+                Map.entry("elasticModulus", 210000.0),
+                Map.entry("loadType", "UNIFORM"),
+                Map.entry("loadMagnitude", 10.0),
+                Map.entry("supportType", "SIMPLY_SUPPORTED"),
+                Map.entry("numFloors", 5.0),
+                Map.entry("floorHeight", 3.0),
+                Map.entry("numBeams", 15),
+                Map.entry("numColumns", 20),
+                Map.entry("beamSection", 30.0),
+                Map.entry("columnSection", 40.0),
+                Map.entry("deadLoad", 5.0),
+                Map.entry("liveLoad", 2.5),
+                Map.entry("windLoad", 1.5),
+                Map.entry("concreteStrength", 30.0),
+                Map.entry("steelGrade", 400.0));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static void report(LoadResult result) throws IOException {
+        System.out.println("SimulationLoadPerfTest: " + result);
+        Files.createDirectories(REPORT.getParent());
+        if (!Files.exists(REPORT)) {
+            Files.writeString(REPORT, "mode,users,ok,failed,elapsedMs,throughputPerSec,p50Ms,p95Ms,p99Ms\n");
+        }
+        Files.writeString(REPORT, result.toCsv() + "\n", StandardOpenOption.APPEND);
+    }
+
+    record LoadResult(String mode, int users, int ok, int failed, long elapsedMs, long p50, long p95, long p99) {
+
+        double throughput() {
+            return ok * 1000.0 / elapsedMs;
+        }
+
+        String toCsv() {
+            return String.format("%s,%d,%d,%d,%d,%.1f,%d,%d,%d",
+                    mode, users, ok, failed, elapsedMs, throughput(), p50, p95, p99);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.simstruct.backend.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.service.SurrogateModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark: évaluations du modèle par seconde dans la JVM (grille de conception).
+ *
+ * Compare les couches Vector API (jdk.incubator.vector) aux boucles scalaires,
+ * par lots de perf.gridBatch bâtiments, sur un seul thread.
+ *
+ * Désactivé par défaut. Lancer avec:
+ *   mvn surefire:test -Dperf=true -Dtest=SurrogateModelPerfTest [-Dperf.gridBatch=1024] [-Dperf.durationMs=3000]
+ *
+ * Résultats ajoutés dans target/perf/grid.csv.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class SurrogateModelPerfTest {
+
+    private static final Path REPORT = Path.of("target", "perf", "grid.csv");
+
+    private final int batch = Integer.getInteger("perf.gridBatch", 1024);
+    private final long durationMs = Long.getLong("perf.durationMs", 3000);
+
+    /**
+     * TEST: évaluations par seconde, Vector API vs scalaire
+     */
+    @Test
+    void testEvaluationsPerSecond() throws IOException {
+        float[] inputs = new float[batch * 11];
+        Random random = new Random(42);
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = 10 * random.nextFloat();
+        }
+
+        double scalar = measure(model(false), inputs);
+        double vector = measure(model(true), inputs);
+        String kernel = model(true).kernelName();
+        System.out.printf("SurrogateModelPerfTest: scalar %.0f evals/s, %s %.0f evals/s (x%.2f)%n",
+                scalar, kernel, vector, vector / scalar);
+
+        Files.createDirectories(REPORT.getParent());
+        if (Files.notExists(REPORT)) {
+            Files.writeString(REPORT, "kernel,batch,evalsPerSec,speedup\n");
+        }
+        Files.writeString(REPORT, String.format("scalar,%d,%.0f,1.00%n%s,%d,%.0f,%.2f%n",
+                batch, scalar, kernel, batch, vector, vector / scalar), StandardOpenOption.APPEND);
+
+        assertTrue(scalar > 0 && vector > 0);
+    }
+
+    private SurrogateModel model(boolean vectorEnabled) {
+        return new SurrogateModel(new ObjectMapper(), new ClassPathResource("ai/model_weights.json"), vectorEnabled);
+    }
+
+    /**
+     * Warm up for a second, then count evaluations for durationMs
+     */
+    private double measure(SurrogateModel model, float[] inputs) {
+        float[] outputs = new float[batch * 4];
+        long warmupEnd = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < warmupEnd) {
+            model.predict(inputs, batch, outputs);
+        }
+        long evaluations = 0;
+        long start = System.nanoTime();
+        long end = start + durationMs * 1_000_000;
+        while (System.nanoTime() < end) {
+            model.predict(inputs, batch, outputs);
+            evaluations += batch;
+        }
+        return evaluations * 1e9 / (System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,21 @@
+package com.simstruct.backend.perf;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Même test de charge que SimulationLoadPerfTest, avec le profil virtual-threads.
+ * Nécessite Java 21+ (mvn -Pvirtual-threads ...).
+ */
+@ActiveProfiles({"test", "virtual-threads"})
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadSimulationLoadPerfTest extends SimulationLoadPerfTest {
+
+    @Override
+    protected String mode() {
+        return "virtual-threads";
+    }
+}
@@ -0,0 +1,206 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de AIFairScheduler: une seule prédiction à la fois,
+ * pour observer l'ordre dans lequel les files sont servies
+ */
+class AIFairSchedulerTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private AIFairScheduler scheduler(int maxQueuedPerUser, long maxWaitMs) {
+        return new AIFairScheduler(registry, 1, 100, maxQueuedPerUser, maxWaitMs, 1, 2, 4);
+    }
+
+    /**
+     * Occupe l'unique place jusqu'à ce que le verrou soit levé
+     */
+    private Future<?> hold(AIFairScheduler scheduler, CountDownLatch release) throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> scheduler.run("holder", User.Role.USER, () -> {
+            running.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        running.await();
+        return holder;
+    }
+
+    /**
+     * Met une prédiction en file et attend qu'elle y soit
+     */
+    private Future<String> enqueue(AIFairScheduler scheduler, String userId, User.Role role) throws InterruptedException {
+        int before = scheduler.queued();
+        Future<String> future = executor.submit(() -> scheduler.run(userId, role, () -> {
+            order.add(userId);
+            return userId;
+        }));
+        waitFor(() -> scheduler.queued(), before + 1);
+        return future;
+    }
+
+    private static void waitFor(IntSupplier value, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (value.getAsInt() != expected) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + expected);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * TEST 1: Sous la limite, la prédiction part tout de suite sur le thread appelant
+     */
+    @Test
+    void testRun_Immediate() {
+        AIFairScheduler scheduler = scheduler(10, 1_000);
+
+        String thread = scheduler.run("user-1", User.Role.USER, () -> Thread.currentThread().getName());
+
+        assertEquals(Thread.currentThread().getName(), thread);
+        assertEquals(0, scheduler.running());
+        assertEquals(1.0, registry.counter("simstruct.ai.fair.requests", "outcome", "immediate").count());
+    }
+
+    /**
+     * TEST 2: Une rafale d'un utilisateur ne passe pas devant la prédiction isolée d'un autre
+     */
+    @Test
+    void testBatch_DoesNotStarveInteractiveUser() throws Exception {
+        AIFairScheduler scheduler = scheduler(10, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = hold(scheduler, release);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(enqueue(scheduler, "batch", User.Role.USER));
+        }
+        futures.add(enqueue(scheduler, "interactive", User.Role.USER));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        for (Future<String> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // Un tour chacun : l'interactif passe en deuxième et non en septième
+        assertEquals(List.of("batch", "interactive", "batch", "batch", "batch", "batch", "batch"), order);
+    }
+
+    /**
+     * TEST 3: À chaque tour, un rôle reçoit autant de places que son poids
+     */
+    @Test
+    void testRoleWeights() throws Exception {
+        AIFairScheduler scheduler = scheduler(10, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = hold(scheduler, release);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(enqueue(scheduler, "user", User.Role.USER));
+        }
+        for (int i = 0; i < 5; i++) {
+            futures.add(enqueue(scheduler, "admin", User.Role.ADMIN));
+        }
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        for (Future<String> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("user", "admin", "admin", "admin", "admin", "user", "admin", "user", "user", "user"),
+                order);
+    }
+
+    /**
+     * TEST 4: Au-delà de la file autorisée pour un utilisateur, la requête est refusée (429)
+     */
+    @Test
+    void testOverflow_Rejected() throws Exception {
+        AIFairScheduler scheduler = scheduler(2, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = hold(scheduler, release);
+        Future<String> first = enqueue(scheduler, "batch", User.Role.USER);
+        Future<String> second = enqueue(scheduler, "batch", User.Role.USER);
+
+        AIFairScheduler.AICapacityExceededException e = assertThrows(AIFairScheduler.AICapacityExceededException.class,
+                () -> scheduler.run("batch", User.Role.USER, () -> "third"));
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+        // Un autre utilisateur a encore sa place dans la file
+        Future<String> other = enqueue(scheduler, "other", User.Role.USER);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("batch", first.get(5, TimeUnit.SECONDS));
+        assertEquals("batch", second.get(5, TimeUnit.SECONDS));
+        assertEquals("other", other.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.counter("simstruct.ai.fair.requests", "outcome", "rejected").count());
+    }
+
+    /**
+     * TEST 5: Une requête qui attend trop longtemps est abandonnée et quitte la file
+     */
+    @Test
+    void testMaxWait_TimesOut() throws Exception {
+        AIFairScheduler scheduler = scheduler(10, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = hold(scheduler, release);
+
+        assertThrows(AIFairScheduler.AICapacityExceededException.class,
+                () -> scheduler.run("late", User.Role.USER, () -> "late"));
+
+        assertEquals(0, scheduler.queued());
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(0, scheduler.running());
+        assertEquals(1.0, registry.counter("simstruct.ai.fair.requests", "outcome", "timed_out").count());
+    }
+
+    /**
+     * TEST 6: Une prédiction en erreur libère quand même sa place
+     */
+    @Test
+    void testFailingTask_ReleasesSlot() {
+        AIFairScheduler scheduler = scheduler(10, 1_000);
+
+        assertThrows(IllegalStateException.class, () -> scheduler.run("user-1", User.Role.USER, () -> {
+            throw new IllegalStateException("model down");
+        }));
+
+        assertEquals(0, scheduler.running());
+        assertEquals("ok", scheduler.run("user-1", User.Role.USER, () -> "ok"));
+    }
+}
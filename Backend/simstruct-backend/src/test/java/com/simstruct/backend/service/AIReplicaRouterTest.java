@@ -0,0 +1,173 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.perf.AiStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de AIReplicaRouter avec plusieurs faux serveurs IA sur des ports différents
+ */
+class AIReplicaRouterTest {
+
+    private AiStubServer fast;
+    private AiStubServer slow;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        fast = AiStubServer.start(Duration.ofMillis(5));
+        slow = AiStubServer.start(Duration.ofMillis(150));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fast.close();
+        slow.close();
+    }
+
+    /**
+     * Routeur avec éjection après 3 échecs et réadmission après 2 sondes réussies
+     */
+    private AIReplicaRouter router(AiStubServer... stubs) {
+        String urls = String.join(",", Arrays.stream(stubs).map(AiStubServer::url).toList());
+        return new AIReplicaRouter(WebClient.builder(), registry, urls, 0.3, 1_000, 3, 2);
+    }
+
+    private static BuildingPredictionRequest request() {
+        return BuildingPredictionRequest.builder()
+                .numFloors(10.0).floorHeight(3.0).numBeams(120).numColumns(40)
+                .beamSection(40.0).columnSection(50.0).concreteStrength(30.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(2.5).deadLoad(5.0)
+                .build();
+    }
+
+    private static AIPredictionResponse predict(AIReplicaRouter router) {
+        return router.predictAsync(request()).block(Duration.ofSeconds(5));
+    }
+
+    /**
+     * TEST 1: Une seule URL se comporte comme l'ancien client
+     */
+    @Test
+    void testSingleReplica() {
+        AIReplicaRouter router = router(fast);
+
+        assertEquals(78.0, predict(router).getStabilityIndex());
+        assertEquals(List.of(fast.url()), router.healthyReplicas());
+        assertEquals(1.0, registry.counter("simstruct.ai.router.requests",
+                "replica", fast.url(), "outcome", "success").count());
+    }
+
+    /**
+     * TEST 2: Une fois les latences mesurées, la réplique rapide reçoit le trafic
+     */
+    @Test
+    void testEwma_PrefersFastReplica() {
+        AIReplicaRouter router = router(slow, fast);
+
+        for (int i = 0; i < 20; i++) {
+            predict(router);
+        }
+
+        assertTrue(slow.requestCount() <= 2, "slow replica got " + slow.requestCount());
+        assertTrue(fast.requestCount() >= 18);
+    }
+
+    /**
+     * TEST 3: Des requêtes simultanées se répartissent selon les requêtes en cours
+     */
+    @Test
+    void testConcurrentRequests_SpreadOverReplicas() {
+        fast.setLatency(Duration.ofMillis(200));
+        slow.setLatency(Duration.ofMillis(200));
+        AIReplicaRouter router = router(slow, fast);
+
+        List<AIPredictionResponse> responses = Flux.range(0, 6)
+                .flatMap(i -> router.predictAsync(request()))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(6, responses.size());
+        assertEquals(3, fast.requestCount());
+        assertEquals(3, slow.requestCount());
+    }
+
+    /**
+     * TEST 4: Une réplique qui renvoie des erreurs est éjectée et ne reçoit plus de trafic
+     */
+    @Test
+    void testFailingReplica_Ejected() {
+        // La réplique en échec répond plus vite que la saine
+        slow.setLatency(Duration.ofMillis(5));
+        fast.setLatency(Duration.ofMillis(50));
+        AIReplicaRouter router = router(slow, fast);
+        slow.failNext(100);
+
+        int failures = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                predict(router);
+            } catch (RuntimeException e) {
+                failures++;
+            }
+        }
+
+        assertEquals(3, failures);
+        assertEquals(3, slow.requestCount());
+        assertEquals(List.of(fast.url()), router.healthyReplicas());
+        assertEquals(1.0, registry.counter("simstruct.ai.router.ejections",
+                "replica", slow.url(), "reason", "requests").count());
+    }
+
+    /**
+     * TEST 5: Les sondes de santé éjectent une réplique malade puis la réadmettent
+     */
+    @Test
+    void testHealthProbes_EjectAndReadmit() {
+        AIReplicaRouter router = router(slow, fast);
+        slow.setHealthy(false);
+
+        for (int i = 0; i < 3; i++) {
+            router.checkHealth();
+        }
+        assertEquals(List.of(fast.url()), router.healthyReplicas());
+        assertEquals(0.0, registry.get("simstruct.ai.router.healthy").tag("replica", slow.url()).gauge().value());
+
+        slow.setHealthy(true);
+        router.checkHealth();
+        assertEquals(1, router.healthyReplicas().size());
+        router.checkHealth();
+
+        assertEquals(2, router.healthyReplicas().size());
+        assertEquals(1.0, registry.counter("simstruct.ai.router.readmissions", "replica", slow.url()).count());
+    }
+
+    /**
+     * TEST 6: Si toutes les répliques sont éjectées, le trafic continue sur toutes
+     */
+    @Test
+    void testAllEjected_PanicRouting() {
+        AIReplicaRouter router = router(fast);
+        fast.close();
+        for (int i = 0; i < 3; i++) {
+            router.checkHealth();
+        }
+        assertTrue(router.healthyReplicas().isEmpty());
+
+        assertThrows(RuntimeException.class, () -> predict(router));
+        assertEquals(1.0, registry.counter("simstruct.ai.router.panic").count());
+    }
+}
@@ -2,6 +2,7 @@ package com.simstruct.backend.service;
 
 import com.simstruct.backend.dto.*;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.UserChangedEvent;
 import com.simstruct.backend.repository.UserRepository;
 import com.simstruct.backend.security.JwtTokenProvider;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -37,6 +39,9 @@ public class AuthServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthService authService;
 
@@ -93,6 +98,7 @@ public class AuthServiceTest {
         verify(userRepository).existsByEmail(registerRequest.getEmail());
         verify(userRepository).save(any(User.class));
         verify(passwordEncoder).encode(registerRequest.getPassword());
+        verify(eventPublisher).publishEvent(new UserChangedEvent("user123", UserChangedEvent.Change.CREATED));
     }
 
     /**
@@ -0,0 +1,116 @@
+package com.simstruct.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CircuitBreaker, avec une horloge contrôlée
+ */
+class CircuitBreakerTest {
+
+    private static final long SLOW = 1_000;
+    private static final long OPEN = 10_000;
+
+    private AtomicLong clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        breaker = new CircuitBreaker(10, 0.5, SLOW, OPEN, 2, clock::get);
+    }
+
+    private void calls(int count, boolean fail) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(breaker.tryAcquire());
+            if (fail) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess(10);
+            }
+        }
+    }
+
+    /**
+     * TEST 1: Le disjoncteur s'ouvre quand la moitié des derniers appels échoue
+     */
+    @Test
+    void testOpensOnFailureRate() {
+        calls(6, false);
+        calls(4, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // Le plus ancien succès sort de la fenêtre: 5 échecs sur 10
+        calls(1, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    /**
+     * TEST 2: Les appels lents comptent comme des échecs
+     */
+    @Test
+    void testSlowCallsCount() {
+        calls(5, false);
+        for (int i = 0; i < 5; i++) {
+            breaker.tryAcquire();
+            breaker.onSuccess(SLOW);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    /**
+     * TEST 3: Pas d'ouverture avant que la fenêtre soit pleine
+     */
+    @Test
+    void testNeedsFullWindow() {
+        calls(9, true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    /**
+     * TEST 4: Après la durée d'ouverture, des appels de test referment le disjoncteur
+     */
+    @Test
+    void testHalfOpenProbesClose() {
+        calls(10, true);
+        clock.addAndGet(OPEN);
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "Only two probes at a time");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        breaker.onSuccess(10);
+        breaker.onSuccess(10);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        // La fenêtre repart de zéro
+        calls(9, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    /**
+     * TEST 5: Un appel de test en échec rouvre le disjoncteur
+     */
+    @Test
+    void testHalfOpenFailureReopens() {
+        calls(10, true);
+        clock.addAndGet(OPEN);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess(SLOW);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        clock.addAndGet(OPEN);
+        assertTrue(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,116 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.DashboardDTO;
+import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.entity.SimulationResult;
+import com.simstruct.backend.repository.SimulationRepository;
+import com.simstruct.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests simples pour DashboardService
+ */
+class DashboardServiceTest {
+
+    private SimulationRepository simulationRepository;
+    private UserRepository userRepository;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        simulationRepository = mock(SimulationRepository.class);
+        userRepository = mock(UserRepository.class);
+
+        // Délai court pour que le test de timeout reste rapide
+        dashboardService = new DashboardService(simulationRepository, userRepository,
+                new SimpleAsyncTaskExecutor("dashboard-test-"), 300);
+
+        Simulation simulation = Simulation.builder()
+                .id("sim123")
+                .name("Recent Beam")
+                .status(Simulation.SimulationStatus.COMPLETED)
+                .results(SimulationResult.builder().safetyFactor(2.1).isSafe(true).build())
+                .build();
+        SimulationRepository.StatusCounts statuses = mock(SimulationRepository.StatusCounts.class);
+        when(statuses.getTotal()).thenReturn(7L);
+        when(statuses.getCompleted()).thenReturn(5L);
+        when(statuses.getFailed()).thenReturn(2L);
+        when(simulationRepository.countStatusesByUserId("user123")).thenReturn(statuses);
+        when(simulationRepository.findTop5ByUserIdOrderByCreatedAtDesc("user123")).thenReturn(List.of(simulation));
+    }
+
+    private static UserRepository.SocialCounts socialCounts() {
+        UserRepository.SocialCounts counts = mock(UserRepository.SocialCounts.class);
+        when(counts.getUnreadNotifications()).thenReturn(9L);
+        when(counts.getUnreadMessages()).thenReturn(4L);
+        when(counts.getFriends()).thenReturn(3L);
+        when(counts.getSharedByMe()).thenReturn(1L);
+        when(counts.getSharedWithMe()).thenReturn(6L);
+        return counts;
+    }
+
+    /**
+     * TEST 1: Toutes les sections sont chargées
+     */
+    @Test
+    void testGetDashboard_Complete() {
+        UserRepository.SocialCounts counts = socialCounts();
+        when(userRepository.countSocialByUserId("user123")).thenReturn(Optional.of(counts));
+
+        DashboardDTO dashboard = dashboardService.getDashboard("user123");
+
+        assertEquals(7, dashboard.getTotalSimulations());
+        assertEquals(5, dashboard.getCompletedSimulations());
+        assertEquals(2, dashboard.getFailedSimulations());
+        assertEquals(1, dashboard.getRecentSimulations().size());
+        assertEquals(2.1, dashboard.getRecentSimulations().get(0).getSafetyFactor());
+        assertEquals(9L, dashboard.getUnreadNotifications());
+        assertEquals(4L, dashboard.getUnreadMessages());
+        assertEquals(3L, dashboard.getFriendsCount());
+        assertEquals(6L, dashboard.getSharedWithMe());
+        assertTrue(dashboard.getUnavailable().isEmpty());
+    }
+
+    /**
+     * TEST 2: Des compteurs sociaux trop lents donnent un résultat partiel
+     */
+    @Test
+    void testGetDashboard_PartialOnTimeout() {
+        when(userRepository.countSocialByUserId("user123")).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return Optional.of(socialCounts());
+        });
+
+        long start = System.currentTimeMillis();
+        DashboardDTO dashboard = dashboardService.getDashboard("user123");
+
+        assertTrue(System.currentTimeMillis() - start < 3000, "Le délai commun doit être respecté");
+        assertNull(dashboard.getUnreadNotifications());
+        assertNull(dashboard.getUnreadMessages());
+        assertEquals(List.of("unreadNotifications", "unreadMessages", "friendsCount", "sharedByMe", "sharedWithMe"),
+                dashboard.getUnavailable());
+        assertEquals(7, dashboard.getTotalSimulations());
+        assertEquals(1, dashboard.getRecentSimulations().size());
+    }
+
+    /**
+     * TEST 3: Une section obligatoire en échec fait échouer le tableau de bord
+     */
+    @Test
+    void testGetDashboard_RequiredSectionFails() {
+        when(simulationRepository.countStatusesByUserId("user123")).thenThrow(new RuntimeException("DB down"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                dashboardService.getDashboard("user123"));
+
+        assertTrue(exception.getMessage().contains("simulationStatistics"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.GridRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour DesignGridService
+ */
+class DesignGridServiceTest {
+
+    private SurrogateModel model;
+    private DesignGridService service;
+
+    @BeforeEach
+    void setUp() {
+        model = new SurrogateModel(new ObjectMapper(), new ClassPathResource("ai/model_weights.json"), true);
+        service = new DesignGridService(model, new SimpleMeterRegistry(), 5000);
+    }
+
+    private BuildingPredictionRequest base() {
+        return BuildingPredictionRequest.builder()
+                .numFloors(10.0).floorHeight(3.5).numBeams(120).numColumns(36)
+                .beamSection(30.0).columnSection(40.0).concreteStrength(35.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                .build();
+    }
+
+    private float[] write(DesignGridService.Grid grid) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.write(grid, out);
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        float[] values = new float[out.size() / Float.BYTES];
+        bytes.asFloatBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * TEST 1: Chaque point de la grille vaut la prédiction du bâtiment correspondant (dernier axe le plus rapide)
+     */
+    @Test
+    void testWrite_MatchesSinglePredictions() throws Exception {
+        GridRequest request = GridRequest.builder()
+                .base(base())
+                .axes(List.of(new GridRequest.Axis("numFloors", 1.0, 50.0, 40),
+                        new GridRequest.Axis("numBeams", 10.0, 500.0, 40)))
+                .outputs(List.of("seismicResistance", "maxStress"))
+                .build();
+        DesignGridService.Grid grid = service.prepare(request);
+
+        float[] values = write(grid);
+
+        assertArrayEquals(new int[]{40, 40, 2}, grid.shape());
+        assertEquals(40 * 40 * 2, values.length);
+        // Point (3, 7): numFloors = 1 + 3 * 49/39, numBeams arrondi
+        float[] building = {(float) (1 + 3 * 49.0 / 39), 3.5f, Math.round(10 + 7 * 490.0 / 39), 36,
+                30, 40, 35, 355, 1.5f, 3, 5};
+        float[] expected = new float[4];
+        model.predict(building, 1, expected);
+        int point = 3 * 40 + 7;
+        assertEquals(expected[3], values[point * 2], 1e-3);
+        assertEquals(expected[1], values[point * 2 + 1], 1e-3);
+    }
+
+    /**
+     * TEST 2: Paramètre inconnu, axe répété, sortie inconnue et grille trop grande sont refusés
+     */
+    @Test
+    void testPrepare_InvalidGrids() {
+        GridRequest.Axis floors = new GridRequest.Axis("numFloors", 1.0, 50.0, 100);
+        assertThrows(DesignGridService.InvalidGridException.class, () -> service.prepare(GridRequest.builder()
+                .base(base()).axes(List.of(new GridRequest.Axis("height", 1.0, 2.0, 2))).build()));
+        assertThrows(DesignGridService.InvalidGridException.class, () -> service.prepare(GridRequest.builder()
+                .base(base()).axes(List.of(floors, floors)).build()));
+        assertThrows(DesignGridService.InvalidGridException.class, () -> service.prepare(GridRequest.builder()
+                .base(base()).axes(List.of(floors)).outputs(List.of("drift")).build()));
+        assertThrows(DesignGridService.InvalidGridException.class, () -> service.prepare(GridRequest.builder()
+                .base(base()).axes(List.of(floors, new GridRequest.Axis("windLoad", 0.5, 3.0, 51))).build()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.DriftReportDTO;
+import com.simstruct.backend.perf.ReplayHarness;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour DriftMonitor
+ */
+class DriftMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private DriftMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // Sans décroissance, pour compter exactement
+        monitor = new DriftMonitor(new ObjectMapper(), registry, new ClassPathResource("ai/training_distribution.json"),
+                4, 0, 100);
+    }
+
+    private static DriftReportDTO.FeatureDrift feature(DriftReportDTO report, String name) {
+        return report.getFeatures().stream().filter(f -> f.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static BuildingPredictionRequest request(double numFloors) {
+        return BuildingPredictionRequest.builder()
+                .numFloors(numFloors).floorHeight(3.3).numBeams(120).numColumns(36)
+                .beamSection(30.0).columnSection(40.0).concreteStrength(35.0).steelGrade(355.0)
+                .windLoad(0.8).liveLoad(3.0).deadLoad(5.0)
+                .build();
+    }
+
+    /**
+     * TEST 1: Des requêtes tirées du jeu d'entraînement ne dérivent pas
+     */
+    @Test
+    void testTrainingTraffic_Stable() throws Exception {
+        for (ReplayHarness.Row row : ReplayHarness.readRows(ReplayHarness.DEFAULT_CSV, 3000, false)) {
+            monitor.record(row.request().toAIRequest(), null);
+        }
+
+        DriftReportDTO report = monitor.report();
+
+        assertFalse(report.isInputsDrifted());
+        assertEquals("fem_simulations.csv", report.getReference());
+        for (DriftReportDTO.FeatureDrift feature : report.getFeatures()) {
+            if ("input".equals(feature.getKind())) {
+                assertEquals(3000, feature.getCount(), feature.getName());
+                assertEquals("STABLE", feature.getStatus(), feature.getName());
+                assertTrue(feature.getKs() < feature.getKsCritical(), feature.getName());
+                assertEquals(0, feature.getAboveTraining());
+            } else {
+                assertEquals("INSUFFICIENT_DATA", feature.getStatus());
+            }
+        }
+        DriftReportDTO.FeatureDrift floors = feature(report, "numFloors");
+        assertEquals(floors.getTrainingQuantiles().get("p50"), floors.getQuantiles().get("p50"), 1.0);
+    }
+
+    /**
+     * TEST 2: Des bâtiments plus hauts que tout le jeu d'entraînement sont signalés
+     */
+    @Test
+    void testTallBuildings_Drift() {
+        AIPredictionResponse prediction = AIPredictionResponse.builder()
+                .maxDeflection(20.0).maxStress(40.0).stabilityIndex(85.0).seismicResistance(80.0).build();
+        for (int i = 0; i < 500; i++) {
+            monitor.record(request(40 + i % 10), prediction);
+        }
+
+        DriftReportDTO report = monitor.report();
+
+        DriftReportDTO.FeatureDrift floors = feature(report, "numFloors");
+        assertTrue(report.isInputsDrifted());
+        assertEquals("DRIFT", floors.getStatus());
+        assertEquals(1.0, floors.getAboveTraining());
+        assertEquals(1.0, floors.getKs(), 1e-9);
+        assertEquals(500, registry.counter("simstruct.ai.drift.requests", "range", "outside").count());
+        assertEquals(500, feature(report, "stabilityIndex").getCount());
+    }
+
+    /**
+     * TEST 3: Aucune observation n'est perdue quand plusieurs threads comptent pendant les fusions
+     */
+    @Test
+    void testConcurrentRecords_NoneLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        monitor.record(request(1 + i % 25), null);
+                        if (i % 1_000 == 0) {
+                            monitor.merge();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(40_000, feature(monitor.report(), "numFloors").getCount());
+    }
+}
@@ -4,6 +4,7 @@ import com.simstruct.backend.dto.FriendDTO;
 import com.simstruct.backend.dto.InvitationDTO;
 import com.simstruct.backend.entity.Friendship;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.SocialGraphChangedEvent;
 import com.simstruct.backend.repository.FriendshipRepository;
 import com.simstruct.backend.repository.SharedSimulationRepository;
 import com.simstruct.backend.repository.UserRepository;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -42,6 +44,15 @@ public class FriendshipServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private SocialGraph socialGraph;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FriendshipService friendshipService;
 
@@ -175,6 +186,8 @@ public class FriendshipServiceTest {
         friendshipService.removeFriend("friendship123", "user123");
 
         verify(friendshipRepository).delete(friendship);
+        verify(eventPublisher).publishEvent(new SocialGraphChangedEvent("user123", "user456",
+                SocialGraphChangedEvent.Change.FRIENDSHIP_REMOVED));
     }
 
     /**
@@ -188,4 +201,33 @@ public class FriendshipServiceTest {
             friendshipService.removeFriend("bad-id", "user123");
         });
     }
+
+    /**
+     * TEST 9: Recherche - exclut les amis existants via l'index
+     */
+    @Test
+    void testSearchUsers_ExcludesExistingFriends() {
+        UserSearchIndex.IndexedUser found = new UserSearchIndex.IndexedUser(
+                "user789", "User Three", "user3@example.com", null, null, "user three", "user3@example.com");
+        when(friendshipRepository.findRelatedUserIds("user123")).thenReturn(Arrays.asList("user456"));
+        when(userSearchIndex.search(eq("user"), eq(10), argThat(ids -> ids.contains("user123") && ids.contains("user456"))))
+                .thenReturn(List.of(found));
+
+        List<FriendDTO> results = friendshipService.searchUsers("user", "user123");
+
+        assertEquals(1, results.size());
+        assertEquals("user789", results.get(0).getId());
+        assertEquals("AVAILABLE", results.get(0).getStatus());
+    }
+
+    /**
+     * TEST 10: Recherche trop courte
+     */
+    @Test
+    void testSearchUsers_QueryTooShort() {
+        List<FriendDTO> results = friendshipService.searchUsers("u", "user123");
+
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(userSearchIndex);
+    }
 }
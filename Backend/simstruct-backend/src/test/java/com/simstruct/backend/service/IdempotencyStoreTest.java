@@ -0,0 +1,207 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests simples pour IdempotencyStore
+ */
+class IdempotencyStoreTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(8);
+        store = new IdempotencyStore(new ObjectMapper(), registry, 60, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * TEST 1: Une nouvelle tentative avec la même clé rejoue le premier résultat
+     */
+    @Test
+    void testRetryIsReplayed() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotencyStore.Result<String> first = store.execute("u1", "key", Map.of("name", "Beam"),
+                () -> "sim-" + runs.incrementAndGet());
+        IdempotencyStore.Result<String> retry = store.execute("u1", "key", Map.of("name", "Beam"),
+                () -> "sim-" + runs.incrementAndGet());
+
+        assertEquals("sim-1", first.value());
+        assertFalse(first.replayed());
+        assertEquals("sim-1", retry.value());
+        assertTrue(retry.replayed());
+        assertEquals(1, runs.get());
+    }
+
+    /**
+     * TEST 2: Les doublons simultanés attendent la tentative en cours
+     */
+    @Test
+    void testConcurrentDuplicatesWait() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<IdempotencyStore.Result<String>> first = executor.submit(() -> store.execute("u1", "key", "body", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "sim-1";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<IdempotencyStore.Result<String>>> retries = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            retries.add(executor.submit(() -> store.execute("u1", "key", "body", () -> {
+                runs.incrementAndGet();
+                return "sim-2";
+            })));
+        }
+        // Laisser les doublons rejoindre la tentative en cours
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("sim-1", first.get(5, TimeUnit.SECONDS).value());
+        for (Future<IdempotencyStore.Result<String>> retry : retries) {
+            assertEquals("sim-1", retry.get(5, TimeUnit.SECONDS).value());
+        }
+        assertEquals(1, runs.get());
+        assertEquals(4.0, registry.get("simstruct.idempotency.requests").tag("outcome", "waited").counter().count());
+    }
+
+    /**
+     * TEST 3: Une clé réutilisée pour une autre requête est refusée
+     */
+    @Test
+    void testKeyReusedForDifferentRequest() {
+        store.execute("u1", "key", Map.of("name", "Beam"), () -> "sim-1");
+
+        assertThrows(IdempotencyStore.KeyReusedException.class,
+                () -> store.execute("u1", "key", Map.of("name", "Other"), () -> "sim-2"));
+    }
+
+    /**
+     * TEST 4: Les clés sont propres à chaque utilisateur
+     */
+    @Test
+    void testKeysAreScopedByUser() {
+        IdempotencyStore.Result<String> mine = store.execute("u1", "key", "body", () -> "sim-1");
+        IdempotencyStore.Result<String> theirs = store.execute("u2", "key", "body", () -> "sim-2");
+
+        assertEquals("sim-1", mine.value());
+        assertEquals("sim-2", theirs.value());
+        assertFalse(theirs.replayed());
+    }
+
+    /**
+     * TEST 5: Un échec n'est pas mémorisé, la tentative suivante est exécutée
+     */
+    @Test
+    void testFailureIsNotStored() {
+        assertThrows(IllegalStateException.class, () -> store.execute("u1", "key", "body", () -> {
+            throw new IllegalStateException("AI Model failed");
+        }));
+
+        IdempotencyStore.Result<String> retry = store.execute("u1", "key", "body", () -> "sim-1");
+
+        assertEquals("sim-1", retry.value());
+        assertFalse(retry.replayed());
+    }
+
+    /**
+     * TEST 6: Les résultats expirés sont oubliés
+     */
+    @Test
+    void testExpiredResultsArePurged() {
+        IdempotencyStore expiring = new IdempotencyStore(new ObjectMapper(), registry, 0, 5000);
+        expiring.execute("u1", "key", "body", () -> "sim-1");
+
+        expiring.purgeExpired();
+
+        assertEquals(0, expiring.size());
+        assertFalse(expiring.execute("u1", "key", "body", () -> "sim-2").replayed());
+    }
+
+    /**
+     * TEST 7: Une clé vide ou trop longue est refusée
+     */
+    @Test
+    void testInvalidKey() {
+        assertThrows(IllegalArgumentException.class, () -> store.execute("u1", " ", "body", () -> "sim"));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.execute("u1", "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), "body", () -> "sim"));
+    }
+
+    /**
+     * TEST 8: Une Error libère la clé, la tentative suivante est exécutée
+     */
+    @Test
+    void testErrorIsNotStored() {
+        assertThrows(OutOfMemoryError.class, () -> store.execute("u1", "key", "body", () -> {
+            throw new OutOfMemoryError("simulated");
+        }));
+
+        IdempotencyStore.Result<String> retry = store.execute("u1", "key", "body", () -> "sim-1");
+
+        assertEquals("sim-1", retry.value());
+        assertFalse(retry.replayed());
+    }
+
+    /**
+     * TEST 9: Un doublon n'attend pas indéfiniment une tentative bloquée
+     */
+    @Test
+    void testWaitingDuplicateTimesOut() throws Exception {
+        IdempotencyStore impatient = new IdempotencyStore(new ObjectMapper(), registry, 60, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<IdempotencyStore.Result<String>> first = executor.submit(() -> impatient.execute("u1", "key", "body", () -> {
+            started.countDown();
+            await(release);
+            return "sim-1";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotencyStore.AttemptInProgressException.class,
+                () -> impatient.execute("u1", "key", "body", () -> "sim-2"));
+        assertEquals(1.0, registry.get("simstruct.idempotency.requests").tag("outcome", "timeout").counter().count());
+
+        release.countDown();
+        assertEquals("sim-1", first.get(5, TimeUnit.SECONDS).value());
+        assertTrue(impatient.execute("u1", "key", "body", () -> "sim-2").replayed());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.simstruct.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour KdTree, comparé à une recherche exhaustive
+ */
+class KdTreeTest {
+
+    private static final int DIMS = 5;
+
+    private static double[] randomPoint(Random random) {
+        double[] point = new double[DIMS];
+        for (int i = 0; i < DIMS; i++) {
+            // Valeurs arrondies pour avoir des coordonnées égales
+            point[i] = Math.round(random.nextDouble() * 20) / 20.0;
+        }
+        return point;
+    }
+
+    private static List<Double> bruteForce(Map<String, double[]> points, double[] query, int k) {
+        List<Double> distances = new ArrayList<>();
+        for (double[] point : points.values()) {
+            double sum = 0;
+            for (int i = 0; i < DIMS; i++) {
+                sum += (point[i] - query[i]) * (point[i] - query[i]);
+            }
+            distances.add(Math.sqrt(sum));
+        }
+        distances.sort(Comparator.naturalOrder());
+        return distances.subList(0, Math.min(k, distances.size()));
+    }
+
+    private static void assertSameDistances(List<Double> expected, List<KdTree.Neighbor<String>> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i).distance(), 1e-9);
+        }
+    }
+
+    /**
+     * TEST 1: Les k plus proches voisins sont ceux de la recherche exhaustive
+     */
+    @Test
+    void testNearest_MatchesBruteForce() {
+        Random random = new Random(42);
+        KdTree<String> tree = new KdTree<>(DIMS);
+        Map<String, double[]> points = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            double[] point = randomPoint(random);
+            tree.put("p" + i, point, "p" + i);
+            points.put("p" + i, point);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            double[] query = randomPoint(random);
+            assertSameDistances(bruteForce(points, query, 7), tree.nearest(query, 7, v -> true, v -> 0));
+        }
+    }
+
+    /**
+     * TEST 2: Les suppressions et remplacements sont pris en compte, avant et après reconstruction
+     */
+    @Test
+    void testRemoveAndReplace_MatchesBruteForce() {
+        Random random = new Random(7);
+        KdTree<String> tree = new KdTree<>(DIMS);
+        Map<String, double[]> points = new HashMap<>();
+        for (int round = 0; round < 2000; round++) {
+            String id = "p" + random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                tree.remove(id);
+                points.remove(id);
+            } else {
+                double[] point = randomPoint(random);
+                tree.put(id, point, id);
+                points.put(id, point);
+            }
+            if (round % 100 == 0) {
+                double[] query = randomPoint(random);
+                assertSameDistances(bruteForce(points, query, 5), tree.nearest(query, 5, v -> true, v -> 0));
+            }
+        }
+        assertEquals(points.size(), tree.size());
+    }
+
+    /**
+     * TEST 3: Le filtre écarte des points et la pénalité éloigne les autres
+     */
+    @Test
+    void testFilterAndPenalty() {
+        KdTree<String> tree = new KdTree<>(2);
+        tree.put("self", new double[]{0.5, 0.5}, "self");
+        tree.put("close", new double[]{0.5, 0.55}, "other-type");
+        tree.put("far", new double[]{0.5, 0.8}, "same-type");
+
+        List<KdTree.Neighbor<String>> result = tree.nearest(new double[]{0.5, 0.5}, 2,
+                v -> !v.equals("self"), v -> v.equals("other-type") ? 1.0 : 0);
+
+        assertEquals(List.of("far", "close"), result.stream().map(KdTree.Neighbor::id).toList());
+        assertEquals(0.3, result.get(0).distance(), 1e-9);
+    }
+
+    /**
+     * TEST 4: Un point de mauvaise dimension est refusé
+     */
+    @Test
+    void testPut_WrongDimensions() {
+        KdTree<String> tree = new KdTree<>(3);
+        assertThrows(IllegalArgumentException.class, () -> tree.put("a", new double[]{1, 2}, "a"));
+    }
+
+    /**
+     * TEST 5: Des milliers de points identiques ne font pas déborder la pile, même tous filtrés
+     */
+    @Test
+    void testIdenticalPoints_NoDeepRecursion() {
+        int dims = 15;
+        KdTree<String> tree = new KdTree<>(dims);
+        double[] defaults = new double[dims];
+        Arrays.fill(defaults, 0.5);
+        for (int i = 0; i < 20_000; i++) {
+            tree.put("same" + i, defaults, "private");
+        }
+        double[] apart = defaults.clone();
+        apart[3] = 0.9;
+        tree.put("public", apart, "public");
+
+        List<KdTree.Neighbor<String>> result = tree.nearest(defaults, 5, v -> v.equals("public"), v -> 0);
+        assertEquals(List.of("public"), result.stream().map(KdTree.Neighbor::id).toList());
+        assertEquals(0.4, result.get(0).distance(), 1e-9);
+
+        // Suppressions jusqu'à la reconstruction, puis remplacement d'un doublon
+        for (int i = 0; i < 15_000; i++) {
+            tree.remove("same" + i);
+        }
+        tree.put("same19999", apart, "moved");
+        assertEquals(5_001, tree.size());
+        List<KdTree.Neighbor<String>> nearest = tree.nearest(defaults, 4_999, v -> true, v -> 0);
+        assertEquals(4_999, nearest.size());
+        assertTrue(nearest.stream().allMatch(n -> n.distance() == 0));
+        assertEquals(List.of(0.0, 0.0, 0.4), tree.nearest(apart, 3, v -> true, v -> 0).stream()
+                .map(n -> Math.round(n.distance() * 1e9) / 1e9).toList());
+    }
+
+    /**
+     * TEST 6: Des points qui ne diffèrent que sur un axe restent exacts
+     */
+    @Test
+    void testPointsDifferingOnOneAxis_MatchesBruteForce() {
+        KdTree<String> tree = new KdTree<>(DIMS);
+        Map<String, double[]> points = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            double[] point = {0.5, 0.5, 0.5, 0.5, (i % 100) / 100.0};
+            tree.put("p" + i, point, "p" + i);
+            points.put("p" + i, point);
+        }
+
+        double[] query = {0.5, 0.4, 0.5, 0.5, 0.305};
+        assertSameDistances(bruteForce(points, query, 250), tree.nearest(query, 250, v -> true, v -> 0));
+    }
+}
@@ -0,0 +1,211 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.event.LikesFlushedEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.SimulationLikeRepository;
+import com.simstruct.backend.repository.SimulationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour LikeCounters
+ */
+@ExtendWith(MockitoExtension.class)
+class LikeCountersTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SimulationLikeRepository likeRepository;
+
+    @Mock
+    private SimulationRepository simulationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LikeCounters likeCounters;
+
+    @BeforeEach
+    void setUp() {
+        likeCounters = new LikeCounters(jdbcTemplate, likeRepository, simulationRepository, eventPublisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> flushedBatch() {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        return batch.getValue();
+    }
+
+    /**
+     * TEST 1: Le compteur affiché ajoute les likes en attente à la valeur persistée
+     */
+    @Test
+    void testCount_IncludesPending() {
+        when(simulationRepository.findLikesCountById("sim1")).thenReturn(Optional.of(10));
+        likeCounters.add("sim1", 1);
+        likeCounters.add("sim1", 1);
+        likeCounters.add("sim1", -1);
+
+        assertEquals(1, likeCounters.pending("sim1"));
+        assertEquals(11, likeCounters.count("sim1"));
+    }
+
+    /**
+     * TEST 2: Le flush écrit les deltas en un seul batch et les remet à zéro
+     */
+    @Test
+    void testFlush_WritesOneBatch() {
+        likeCounters.add("sim1", 1);
+        likeCounters.add("sim1", 1);
+        likeCounters.add("sim2", -1);
+
+        likeCounters.flush();
+
+        List<Object[]> batch = flushedBatch();
+        assertEquals(2, batch.size());
+        assertTrue(batch.stream().anyMatch(row -> row[1].equals("sim1") && row[0].equals(2L)));
+        assertTrue(batch.stream().anyMatch(row -> row[1].equals("sim2") && row[0].equals(-1L)));
+        assertEquals(0, likeCounters.pending("sim1"));
+        verify(eventPublisher, times(1)).publishEvent(any(LikesFlushedEvent.class));
+    }
+
+    /**
+     * TEST 3: Rien n'est écrit sans like en attente
+     */
+    @Test
+    void testFlush_NothingPending() {
+        likeCounters.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * TEST 4: Un flush en échec garde les deltas pour le suivant
+     */
+    @Test
+    void testFlush_FailureKeepsDeltas() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        likeCounters.add("sim1", 3);
+
+        likeCounters.flush();
+
+        assertEquals(3, likeCounters.pending("sim1"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * TEST 5: Aucun like n'est perdu sous forte concurrence
+     */
+    @Test
+    void testAdd_ConcurrentLikesAreAllCounted() throws Exception {
+        int threads = 8;
+        int likesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < likesPerThread; i++) {
+                        likeCounters.add("hot", 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        likeCounters.flush();
+
+        assertEquals((long) threads * likesPerThread, flushedBatch().get(0)[0]);
+    }
+
+    /**
+     * TEST 6: Le démarrage recalcule les compteurs depuis la table des likes
+     */
+    @Test
+    void testReconcile() {
+        when(likeRepository.reconcileLikesCounts()).thenReturn(2);
+
+        likeCounters.reconcile();
+
+        verify(likeRepository).reconcileLikesCounts();
+    }
+
+    /**
+     * TEST 7: Le compteur d'une simulation supprimée est oublié
+     */
+    @Test
+    void testOnDeleted_DropsCounter() {
+        likeCounters.add("sim1", 1);
+
+        likeCounters.onSimulationChanged(new SimulationChangedEvent("sim1", SimulationChangedEvent.Change.DELETED));
+        likeCounters.flush();
+
+        assertEquals(0, likeCounters.pending("sim1"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * TEST 8: Les flushs pendant les likes n'en perdent ni n'en dupliquent aucun, et vident les compteurs
+     */
+    @Test
+    void testFlush_ConcurrentWithLikesWritesEachOnce() throws Exception {
+        AtomicLong flushed = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> flushed.addAndGet((Long) row[0]));
+            return new int[batch.size()];
+        });
+        int threads = 8;
+        int likesPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < likesPerThread; i++) {
+                        likeCounters.add("hot", 1);
+                    }
+                }));
+            }
+            while (futures.stream().anyMatch(future -> !future.isDone())) {
+                likeCounters.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        likeCounters.flush();
+
+        assertEquals((long) threads * likesPerThread, flushed.get());
+        assertEquals(0, likeCounters.pending("hot"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.LikeResponse;
+import com.simstruct.backend.entity.SimulationLike;
+import com.simstruct.backend.repository.SimulationLikeRepository;
+import com.simstruct.backend.repository.SimulationRepository;
+import com.simstruct.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour LikeService
+ */
+@ExtendWith(MockitoExtension.class)
+class LikeServiceTest {
+
+    @Mock
+    private SimulationLikeRepository likeRepository;
+
+    @Mock
+    private SimulationRepository simulationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SimulationService simulationService;
+
+    @Mock
+    private LikeCounters likeCounters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LikeService likeService;
+
+    /**
+     * TEST 1: Un premier like ajoute une ligne et incrémente le compteur
+     */
+    @Test
+    void testLike_FirstTime() {
+        when(likeRepository.existsBySimulationIdAndUserId("sim1", "user1")).thenReturn(false);
+        when(likeCounters.count("sim1")).thenReturn(1L);
+
+        LikeResponse response = likeService.like("sim1", "user1");
+
+        assertTrue(response.isLiked());
+        assertEquals(1L, response.getLikesCount());
+        verify(simulationService).checkAccess("sim1", "user1");
+        verify(likeRepository).saveAndFlush(any(SimulationLike.class));
+        verify(likeCounters).add("sim1", 1);
+    }
+
+    /**
+     * TEST 2: Liker deux fois ne compte qu'une fois
+     */
+    @Test
+    void testLike_AlreadyLiked() {
+        when(likeRepository.existsBySimulationIdAndUserId("sim1", "user1")).thenReturn(true);
+
+        LikeResponse response = likeService.like("sim1", "user1");
+
+        assertTrue(response.isLiked());
+        verify(likeRepository, never()).saveAndFlush(any());
+        verify(likeCounters, never()).add(anyString(), anyLong());
+    }
+
+    /**
+     * TEST 3: Une insertion concurrente du même like ne compte pas deux fois
+     */
+    @Test
+    void testLike_ConcurrentDuplicate() {
+        when(likeRepository.existsBySimulationIdAndUserId("sim1", "user1")).thenReturn(false);
+        when(likeRepository.saveAndFlush(any(SimulationLike.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        LikeResponse response = likeService.like("sim1", "user1");
+
+        assertTrue(response.isLiked());
+        verify(likeCounters, never()).add(anyString(), anyLong());
+    }
+
+    /**
+     * TEST 4: Impossible de liker une simulation non accessible
+     */
+    @Test
+    void testLike_AccessDenied() {
+        doThrow(new SecurityException("Access denied")).when(simulationService).checkAccess("sim1", "user1");
+
+        assertThrows(SecurityException.class, () -> likeService.like("sim1", "user1"));
+        verifyNoInteractions(likeRepository);
+    }
+
+    /**
+     * TEST 5: Retirer un like décrémente le compteur
+     */
+    @Test
+    void testUnlike_Liked() {
+        when(likeRepository.deleteBySimulationIdAndUserId("sim1", "user1")).thenReturn(1);
+
+        LikeResponse response = likeService.unlike("sim1", "user1");
+
+        assertFalse(response.isLiked());
+        verify(likeCounters).add("sim1", -1);
+    }
+
+    /**
+     * TEST 6: Retirer un like absent ne change pas le compteur
+     */
+    @Test
+    void testUnlike_NotLiked() {
+        when(likeRepository.deleteBySimulationIdAndUserId("sim1", "user1")).thenReturn(0);
+        when(simulationRepository.existsById("sim1")).thenReturn(true);
+
+        likeService.unlike("sim1", "user1");
+
+        verify(likeCounters, never()).add(anyString(), anyLong());
+    }
+
+    /**
+     * TEST 7: Retirer un like d'une simulation inexistante
+     */
+    @Test
+    void testUnlike_SimulationNotFound() {
+        when(likeRepository.deleteBySimulationIdAndUserId("missing", "user1")).thenReturn(0);
+        when(simulationRepository.existsById("missing")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> likeService.unlike("missing", "user1"));
+    }
+}
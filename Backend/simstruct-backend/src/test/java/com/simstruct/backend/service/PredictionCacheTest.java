@@ -0,0 +1,174 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour PredictionCache
+ */
+@ExtendWith(MockitoExtension.class)
+class PredictionCacheTest {
+
+    @Mock
+    private AIModelService aiModelService;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private PredictionCache cache(int maxEntries, long ttlMinutes, double quantum) {
+        return new PredictionCache(aiModelService, new ObjectMapper(), registry, maxEntries, ttlMinutes, quantum);
+    }
+
+    private static BuildingPredictionRequest request(double numFloors) {
+        return BuildingPredictionRequest.builder()
+                .numFloors(numFloors).floorHeight(3.0).numBeams(120).numColumns(40)
+                .beamSection(40.0).columnSection(50.0).concreteStrength(30.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(2.5).deadLoad(5.0)
+                .build();
+    }
+
+    private static AIPredictionResponse prediction(double stabilityIndex) {
+        return AIPredictionResponse.builder()
+                .maxDeflection(10.0).maxStress(100.0)
+                .stabilityIndex(stabilityIndex).seismicResistance(60.0).status("Bon")
+                .build();
+    }
+
+    /**
+     * TEST 1: Une prédiction stockée est resservie pour les mêmes entrées
+     */
+    @Test
+    void testHitAndMiss() {
+        PredictionCache cache = cache(100, 60, 0);
+        cache.put(request(10), prediction(70), cache.generation());
+
+        assertEquals(70.0, cache.get(request(10)).getStabilityIndex());
+        assertNull(cache.get(request(10.5)));
+        assertEquals(0.5, registry.get("simstruct.ai.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    /**
+     * TEST 2: La quantification regroupe les entrées voisines, sans mélanger les autres
+     */
+    @Test
+    void testQuantizedKeys() {
+        // Pas de 1% de la plage: 1 à 50 étages, un pas vaut 0.49 étage
+        PredictionCache cache = cache(100, 60, 0.01);
+
+        assertEquals(cache.key(request(10.0)), cache.key(request(9.9)));
+        assertNotEquals(cache.key(request(10.0)), cache.key(request(11.0)));
+        // 7 bits par entrée, 11 entrées: 2 mots
+        assertEquals(2, cache.key(request(10.0)).words().length);
+    }
+
+    /**
+     * TEST 3: Les entrées les moins récemment utilisées sont évincées
+     */
+    @Test
+    void testLruEviction() {
+        PredictionCache cache = cache(2, 60, 0);
+        cache.put(request(1), prediction(1), cache.generation());
+        cache.put(request(2), prediction(2), cache.generation());
+        cache.get(request(1));
+
+        cache.put(request(3), prediction(3), cache.generation());
+
+        assertNotNull(cache.get(request(1)));
+        assertNull(cache.get(request(2)));
+        assertNotNull(cache.get(request(3)));
+    }
+
+    /**
+     * TEST 4: Les entrées expirées ne sont plus servies
+     */
+    @Test
+    void testTtl() {
+        PredictionCache cache = cache(100, 0, 0);
+        cache.put(request(10), prediction(70), cache.generation());
+
+        assertNull(cache.get(request(10)));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * TEST 5: Un nouveau modèle vide le cache
+     */
+    @Test
+    void testModelVersionChange_ClearsCache() {
+        PredictionCache cache = cache(100, 60, 0);
+        when(aiModelService.getModelInfo())
+                .thenReturn("{\"model_version\":\"aaa\"}", "{\"model_version\":\"aaa\"}", "{\"model_version\":\"bbb\"}");
+        cache.checkModelVersion();
+        cache.put(request(10), prediction(70), cache.generation());
+
+        cache.checkModelVersion();
+        assertNotNull(cache.get(request(10)));
+
+        cache.checkModelVersion();
+        assertNull(cache.get(request(10)));
+        assertEquals("bbb", cache.modelVersion());
+    }
+
+    /**
+     * TEST 6: Une prédiction calculée pendant un changement de modèle n'est pas gardée
+     */
+    @Test
+    void testPutAfterClear_Ignored() {
+        PredictionCache cache = cache(100, 60, 0);
+        long generation = cache.generation();
+
+        cache.clear();
+        cache.put(request(10), prediction(70), generation);
+
+        assertNull(cache.get(request(10)));
+    }
+
+    /**
+     * TEST 7: Une API IA injoignable ne vide pas le cache
+     */
+    @Test
+    void testUnreachableApi_KeepsCache() {
+        PredictionCache cache = cache(100, 60, 0);
+        when(aiModelService.getModelInfo()).thenReturn("{\"model_version\":\"aaa\"}", "Error: Connection refused");
+        cache.checkModelVersion();
+        cache.put(request(10), prediction(70), cache.generation());
+
+        cache.checkModelVersion();
+
+        assertNotNull(cache.get(request(10)));
+        assertEquals("aaa", cache.modelVersion());
+    }
+
+    /**
+     * TEST 8: Sans model_version, le reste de la réponse peut changer sans vider le cache
+     */
+    @Test
+    void testMissingModelVersion_KeepsCache() {
+        PredictionCache cache = cache(100, 60, 0);
+        when(aiModelService.getModelInfo()).thenReturn("{\"model_version\":\"aaa\"}",
+                "{\"uptime_s\":120}", "{\"model_version\":null,\"uptime_s\":180}", "{\"model_version\":\"aaa\"}");
+        cache.checkModelVersion();
+        cache.put(request(10), prediction(70), cache.generation());
+
+        cache.checkModelVersion();
+        cache.checkModelVersion();
+        cache.checkModelVersion();
+
+        assertNotNull(cache.get(request(10)));
+        assertEquals("aaa", cache.modelVersion());
+    }
+}
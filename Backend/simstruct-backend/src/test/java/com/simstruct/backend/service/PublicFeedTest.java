@@ -0,0 +1,239 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.LikesFlushedEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.SimulationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour PublicFeed
+ */
+@ExtendWith(MockitoExtension.class)
+class PublicFeedTest {
+
+    @Mock
+    private SimulationRepository simulationRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final LocalDateTime now = LocalDateTime.now();
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder().id("user-1").name("Owner").build();
+    }
+
+    private PublicFeed feed(int maxItems) {
+        return new PublicFeed(simulationRepository, objectMapper, new SimpleMeterRegistry(), maxItems);
+    }
+
+    private Simulation simulation(String id, int minutesAgo, boolean isPublic) {
+        return Simulation.builder()
+                .id(id)
+                .name("Sim " + id)
+                .user(owner)
+                .isPublic(isPublic)
+                .version(0L)
+                .createdAt(now.minusMinutes(minutesAgo))
+                .build();
+    }
+
+    private List<String> ids(byte[] body) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode node : objectMapper.readTree(body)) {
+            ids.add(node.get("id").asText());
+        }
+        return ids;
+    }
+
+    /**
+     * TEST 1: Le snapshot est construit à la première lecture, du plus récent au plus ancien
+     */
+    @Test
+    void testAll_BuildsSnapshotOnce() throws Exception {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true), simulation("b", 2, true)));
+        PublicFeed feed = feed(10);
+
+        assertEquals(List.of("a", "b"), ids(feed.all()));
+        assertEquals(List.of("a", "b"), ids(feed.all()));
+        verify(simulationRepository, times(1)).findPublicFeed(any(Pageable.class));
+    }
+
+    /**
+     * TEST 2: Une page est une tranche du snapshot
+     */
+    @Test
+    void testPage_ReturnsSlice() throws Exception {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true), simulation("b", 2, true), simulation("c", 3, true)));
+        PublicFeed feed = feed(10);
+
+        assertEquals(List.of("c"), ids(feed.page(1, 2)));
+        assertEquals(List.of(), ids(feed.page(5, 2)));
+    }
+
+    /**
+     * TEST 3: Une simulation rendue publique est ajoutée à sa place
+     */
+    @Test
+    void testOnChange_AddsNewPublicSimulation() throws Exception {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true), simulation("b", 3, true)));
+        when(simulationRepository.findWithUserById("c")).thenReturn(Optional.of(simulation("c", 2, true)));
+        PublicFeed feed = feed(10);
+        feed.rebuild();
+
+        feed.onSimulationChanged(new SimulationChangedEvent("c", SimulationChangedEvent.Change.VISIBILITY));
+
+        assertEquals(List.of("a", "c", "b"), ids(feed.all()));
+    }
+
+    /**
+     * TEST 4: Une simulation rendue privée ou supprimée est retirée
+     */
+    @Test
+    void testOnChange_RemovesPrivateSimulation() throws Exception {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true), simulation("b", 2, true)));
+        when(simulationRepository.findWithUserById("a")).thenReturn(Optional.of(simulation("a", 1, false)));
+        when(simulationRepository.findWithUserById("b")).thenReturn(Optional.empty());
+        PublicFeed feed = feed(10);
+        feed.rebuild();
+
+        feed.onSimulationChanged(new SimulationChangedEvent("a", SimulationChangedEvent.Change.VISIBILITY));
+        feed.onSimulationChanged(new SimulationChangedEvent("b", SimulationChangedEvent.Change.DELETED));
+
+        assertEquals(List.of(), ids(feed.all()));
+    }
+
+    /**
+     * TEST 5: Le snapshot ne dépasse jamais feed.max-items
+     */
+    @Test
+    void testOnChange_RespectsMaxItems() throws Exception {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 2, true), simulation("b", 3, true)));
+        when(simulationRepository.findWithUserById("new")).thenReturn(Optional.of(simulation("new", 1, true)));
+        PublicFeed feed = feed(2);
+        feed.rebuild();
+
+        feed.onSimulationChanged(new SimulationChangedEvent("new", SimulationChangedEvent.Change.CREATED));
+
+        assertEquals(List.of("new", "a"), ids(feed.all()));
+    }
+
+    /**
+     * TEST 6: Les changements de partage n'affectent pas le flux
+     */
+    @Test
+    void testOnChange_IgnoresShares() {
+        when(simulationRepository.findPublicFeed(any(Pageable.class))).thenReturn(List.of());
+        PublicFeed feed = feed(10);
+        feed.rebuild();
+
+        feed.onSimulationChanged(new SimulationChangedEvent("a", SimulationChangedEvent.Change.SHARES));
+
+        verify(simulationRepository, never()).findWithUserById(any());
+    }
+
+    /**
+     * TEST 7: La vérification de cohérence reconstruit un snapshot périmé
+     */
+    @Test
+    void testCheckConsistency_RebuildsWhenStale() throws Exception {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true)))
+                .thenReturn(List.of(simulation("a", 1, true), simulation("b", 2, true)));
+        List<Object[]> versions = List.of(new Object[]{"a", 0L}, new Object[]{"b", 0L});
+        when(simulationRepository.findPublicFeedVersions(any(Pageable.class))).thenReturn(versions);
+        PublicFeed feed = feed(10);
+        feed.rebuild();
+
+        feed.checkConsistency();
+
+        assertEquals(List.of("a", "b"), ids(feed.all()));
+    }
+
+    /**
+     * TEST 8: Un snapshot à jour n'est pas reconstruit
+     */
+    @Test
+    void testCheckConsistency_KeepsUpToDateSnapshot() {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true)));
+        List<Object[]> versions = List.<Object[]>of(new Object[]{"a", 0L});
+        when(simulationRepository.findPublicFeedVersions(any(Pageable.class))).thenReturn(versions);
+        PublicFeed feed = feed(10);
+        feed.rebuild();
+
+        feed.checkConsistency();
+
+        verify(simulationRepository, times(1)).findPublicFeed(any(Pageable.class));
+    }
+
+    /**
+     * TEST 9: Un flush de likes recharge les entrées du flux en une seule requête
+     */
+    @Test
+    void testOnLikesFlushed_ReloadsFeedEntriesOnce() throws Exception {
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true), simulation("b", 2, true)));
+        Simulation likedA = simulation("a", 1, true);
+        likedA.setLikesCount(3);
+        Simulation likedB = simulation("b", 2, true);
+        likedB.setLikesCount(5);
+        when(simulationRepository.findPublicWithUserByIdIn(Set.of("a", "b"))).thenReturn(List.of(likedA, likedB));
+        PublicFeed feed = feed(10);
+        feed.rebuild();
+
+        feed.onLikesFlushed(new LikesFlushedEvent(List.of("a", "b", "private")));
+
+        JsonNode body = objectMapper.readTree(feed.all());
+        assertEquals(List.of("a", "b"), ids(feed.all()));
+        assertEquals(3, body.get(0).get("likesCount").asInt());
+        assertEquals(5, body.get(1).get("likesCount").asInt());
+        verify(simulationRepository, times(1)).findPublicWithUserByIdIn(any());
+        verify(simulationRepository, never()).findWithUserById(any());
+    }
+
+    /**
+     * TEST 10: Les jauges lisent le snapshot courant sans jamais charger le flux
+     */
+    @Test
+    void testGauges_NeverLoadFeed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PublicFeed feed = new PublicFeed(simulationRepository, objectMapper, registry, 10);
+
+        assertEquals(0.0, registry.get("simstruct.feed.snapshot.entries").gauge().value());
+        assertEquals(0.0, registry.get("simstruct.feed.snapshot.bytes").gauge().value());
+        verifyNoInteractions(simulationRepository);
+
+        when(simulationRepository.findPublicFeed(any(Pageable.class)))
+                .thenReturn(List.of(simulation("a", 1, true), simulation("b", 2, true)));
+        byte[] body = feed.all();
+
+        assertEquals(2.0, registry.get("simstruct.feed.snapshot.entries").gauge().value());
+        assertEquals(body.length, registry.get("simstruct.feed.snapshot.bytes").gauge().value());
+    }
+}
@@ -0,0 +1,245 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.dto.AIPredictionResponse;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.entity.User;
+import com.simstruct.backend.perf.AiStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de ResilientAIClient contre un faux serveur IA local
+ * qui injecte de la latence et des rafales d'erreurs
+ */
+class ResilientAIClientTest {
+
+    private AiStubServer stub;
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        stub = AiStubServer.start(Duration.ofMillis(5));
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        stub.close();
+    }
+
+    /**
+     * Client avec fenêtre de 4 appels, appels lents au-delà de 200 ms, ouverture de 60 s
+     */
+    private ResilientAIClient client(long timeoutMs, int maxConcurrent, boolean hedge) {
+        return client(timeoutMs, maxConcurrent, hedge, 0);
+    }
+
+    private ResilientAIClient client(long timeoutMs, int maxConcurrent, boolean hedge, int cacheEntries) {
+        return client(timeoutMs, maxConcurrent, hedge, cacheEntries, 50);
+    }
+
+    private ResilientAIClient client(long timeoutMs, int maxConcurrent, boolean hedge, int cacheEntries,
+                                     long hedgeMinDelayMs) {
+        AIModelService aiModelService = new AIModelService(WebClient.builder(), stub.url());
+        PredictionCache cache = new PredictionCache(aiModelService, new ObjectMapper(), registry, cacheEntries, 60, 0);
+        AIReplicaRouter router = new AIReplicaRouter(WebClient.builder(), registry, stub.url(), 0.3, 1_000, 3, 2);
+        AIFairScheduler scheduler = new AIFairScheduler(registry, 16, 100, 100, 5_000, 1, 2, 4);
+        DriftMonitor driftMonitor = new DriftMonitor(new ObjectMapper(), registry,
+                new ClassPathResource("ai/training_distribution.json"), 4, 60, 100);
+        return new ResilientAIClient(router, cache, driftMonitor, scheduler, registry, timeoutMs, 4, 0.5, 200, 60_000,
+                maxConcurrent, hedge, hedgeMinDelayMs, false);
+    }
+
+    private static BuildingPredictionRequest request() {
+        return BuildingPredictionRequest.builder()
+                .numFloors(10.0).floorHeight(3.0).numBeams(120).numColumns(40)
+                .beamSection(40.0).columnSection(50.0).concreteStrength(30.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(2.5).deadLoad(5.0)
+                .build();
+    }
+
+    private static AIPredictionResponse predict(ResilientAIClient client, BuildingPredictionRequest request) {
+        return client.predict(request, "user-1", User.Role.USER);
+    }
+
+    private double calls(String outcome) {
+        return registry.counter("simstruct.ai.calls", "outcome", outcome).count();
+    }
+
+    /**
+     * TEST 1: Une prédiction réussie est transmise telle quelle
+     */
+    @Test
+    void testPredict_Success() {
+        ResilientAIClient client = client(5_000, 4, false);
+
+        AIPredictionResponse response = predict(client, request());
+
+        assertEquals(78.0, response.getStabilityIndex());
+        assertEquals(1.0, calls("success"));
+        assertEquals(CircuitBreaker.State.CLOSED, client.breakerState());
+    }
+
+    /**
+     * TEST 2: Une rafale d'erreurs ouvre le disjoncteur, les appels suivants n'atteignent plus le modèle
+     */
+    @Test
+    void testErrorBurst_OpensBreaker() {
+        ResilientAIClient client = client(5_000, 4, false);
+        stub.failNext(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResilientAIClient.AIUnavailableException.class, () -> predict(client, request()));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.breakerState());
+
+        assertThrows(ResilientAIClient.AIUnavailableException.class, () -> predict(client, request()));
+        assertEquals(4, stub.requestCount());
+        assertEquals(1.0, calls("short_circuited"));
+    }
+
+    /**
+     * TEST 3: Des réponses lentes mais correctes ouvrent aussi le disjoncteur
+     */
+    @Test
+    void testSlowAnswers_OpenBreaker() {
+        ResilientAIClient client = client(5_000, 4, false);
+        stub.slowNext(2, Duration.ofMillis(250));
+
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(predict(client, request()));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, client.breakerState());
+    }
+
+    /**
+     * TEST 4: Un modèle qui ne répond pas est abandonné après le délai
+     */
+    @Test
+    void testTimeout() {
+        ResilientAIClient client = client(100, 4, false);
+        stub.setLatency(Duration.ofSeconds(2));
+
+        long start = System.nanoTime();
+        assertThrows(ResilientAIClient.AIUnavailableException.class, () -> predict(client, request()));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertEquals(1.0, calls("failure"));
+    }
+
+    /**
+     * TEST 5: Au-delà des prédictions simultanées autorisées, la requête est refusée tout de suite
+     */
+    @Test
+    void testBulkhead_RejectsExtraCalls() throws Exception {
+        ResilientAIClient client = client(5_000, 1, false);
+        stub.setLatency(Duration.ofMillis(300));
+        CountDownLatch started = new CountDownLatch(1);
+
+        Future<AIPredictionResponse> first = executor.submit(() -> {
+            started.countDown();
+            return predict(client, request());
+        });
+        started.await();
+        // Laisser le premier appel prendre sa place
+        Thread.sleep(50);
+
+        assertThrows(ResilientAIClient.AIUnavailableException.class, () -> predict(client, request()));
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, calls("rejected"));
+    }
+
+    /**
+     * TEST 6: Une requête plus lente que le p95 est doublée et la plus rapide gagne
+     */
+    @Test
+    void testHedging_SecondRequestWins() {
+        ResilientAIClient client = client(5_000, 4, true);
+        for (int i = 0; i < 20; i++) {
+            predict(client, request());
+        }
+        stub.slowNext(1, Duration.ofSeconds(3));
+
+        long start = System.nanoTime();
+        AIPredictionResponse response = predict(client, request());
+
+        assertNotNull(response);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_500);
+        assertEquals(1.0, registry.counter("simstruct.ai.hedges", "outcome", "won").count());
+    }
+
+    /**
+     * TEST 7: Une requête qui échoue avant le p95 n'est pas doublée
+     */
+    @Test
+    void testHedging_NotSentAfterPrimaryFailure() throws Exception {
+        // Doublement à 500 ms: l'échec arrive avant même sous charge
+        ResilientAIClient client = client(5_000, 4, true, 0, 500);
+        for (int i = 0; i < 20; i++) {
+            predict(client, request());
+        }
+        int requests = stub.requestCount();
+        stub.failNext(1);
+
+        assertThrows(ResilientAIClient.AIUnavailableException.class, () -> predict(client, request()));
+        // Laisser passer le délai du doublement
+        Thread.sleep(800);
+
+        assertEquals(requests + 1, stub.requestCount());
+        assertEquals(0.0, registry.counter("simstruct.ai.hedges", "outcome", "sent").count());
+        assertEquals(1.0, calls("failure"));
+    }
+    /**
+     * TEST 8: Une prédiction en cache ne rappelle pas le modèle, même disjoncteur ouvert
+     */
+    @Test
+    void testCachedPrediction_SkipsModel() {
+        ResilientAIClient client = client(5_000, 4, false, 100);
+        predict(client, request());
+        // Avec le premier succès, 3 échecs sur 4 appels ouvrent le disjoncteur
+        stub.failNext(3);
+        BuildingPredictionRequest other = request();
+        other.setNumFloors(20.0);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResilientAIClient.AIUnavailableException.class, () -> predict(client, other));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.breakerState());
+
+        assertEquals(78.0, predict(client, request()).getStabilityIndex());
+        assertEquals(4, stub.requestCount());
+    }
+
+    /**
+     * TEST 9: Chaque requête compte pour la dérive, qu'elle soit en cache, réussie ou en échec
+     */
+    @Test
+    void testPredictions_RecordedForDrift() {
+        ResilientAIClient client = client(5_000, 4, false, 100);
+        predict(client, request());
+        predict(client, request());
+        stub.failNext(1);
+        BuildingPredictionRequest other = request();
+        other.setNumFloors(20.0);
+        assertThrows(ResilientAIClient.AIUnavailableException.class, () -> predict(client, other));
+
+        assertEquals(3, registry.counter("simstruct.ai.drift.requests", "range", "inside").count());
+    }
+}
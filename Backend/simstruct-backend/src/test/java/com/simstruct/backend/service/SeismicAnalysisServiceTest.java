@@ -0,0 +1,84 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.analysis.GroundMotion;
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.dto.SeismicHistoryDTO;
+import com.simstruct.backend.dto.SeismicRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour SeismicAnalysisService
+ */
+class SeismicAnalysisServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SeismicAnalysisService service =
+            new SeismicAnalysisService(meterRegistry, 1, 1_000_000, 20000, 600000, 0.01);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private SeismicRequest request(double duration) {
+        BuildingPredictionRequest building = BuildingPredictionRequest.builder()
+                .numFloors(3.0).floorHeight(3.5).numBeams(120).numColumns(36)
+                .beamSection(40.0).columnSection(50.0).concreteStrength(35.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(3.0).deadLoad(5.0)
+                .build();
+        return SeismicRequest.builder().building(building).pga(0.25).duration(duration).dt(0.001).points(1000).build();
+    }
+
+    /**
+     * TEST 1: Une analyse de plus que le pool n'attend pas: elle est refusée
+     */
+    @Test
+    void testStream_RejectsWhenAllThreadsBusy() {
+        SeismicRequest request = request(100.0);
+        GroundMotion motion = service.synthetic(request);
+
+        service.stream(request, motion);
+
+        assertThrows(SeismicAnalysisService.AnalysisBusyException.class, () -> service.stream(request, motion));
+        assertEquals(1.0, meterRegistry.counter("simstruct.analysis.seismic.rejected").count());
+    }
+
+    /**
+     * TEST 2: L'intégration s'arrête dès que le flux est fermé
+     */
+    @Test
+    void testRun_StopsWhenListenerClosed() {
+        SeismicRequest request = request(20.0);
+        AtomicInteger batches = new AtomicInteger();
+
+        assertThrows(CancellationException.class, () -> service.run(request, service.synthetic(request),
+                new SeismicAnalysisService.Listener() {
+                    @Override
+                    public void start(SeismicHistoryDTO.Start start) {
+                    }
+
+                    @Override
+                    public void samples(SeismicHistoryDTO.Samples samples) {
+                        batches.incrementAndGet();
+                    }
+
+                    @Override
+                    public void complete(SeismicHistoryDTO.Peaks peaks) {
+                        fail("Une analyse fermée ne doit pas se terminer");
+                    }
+
+                    @Override
+                    public boolean closed() {
+                        return batches.get() > 0;
+                    }
+                }));
+        assertEquals(1, batches.get());
+    }
+}
@@ -1,10 +1,14 @@
 package com.simstruct.backend.service;
 
+import com.simstruct.backend.dto.BulkShareRequest;
+import com.simstruct.backend.dto.BulkShareResult;
 import com.simstruct.backend.dto.SharedSimulationDTO;
 import com.simstruct.backend.entity.SharedSimulation;
 import com.simstruct.backend.entity.Simulation;
 import com.simstruct.backend.entity.SimulationResult;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.SocialGraphChangedEvent;
+import com.simstruct.backend.repository.FriendshipRepository;
 import com.simstruct.backend.repository.SharedSimulationRepository;
 import com.simstruct.backend.repository.SimulationRepository;
 import com.simstruct.backend.repository.UserRepository;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -40,9 +45,15 @@ public class SharedSimulationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private FriendshipRepository friendshipRepository;
+
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SharedSimulationService sharedSimulationService;
 
@@ -240,4 +251,83 @@ public class SharedSimulationServiceTest {
 
         assertEquals("Not authorized to unshare", exception.getMessage());
     }
+
+    /**
+     * TEST 9: Bulk share - skips duplicates and unknown users
+     */
+    @Test
+    void testShareSimulationBulk_SkipsDuplicatesAndUnknown() {
+        // Arrange
+        simulation.setUser(sharedBy);
+        User third = User.builder().id("friend456").name("Third User").email("third@example.com").build();
+        BulkShareRequest request = BulkShareRequest.builder()
+                .simulationId("sim123")
+                .recipientIds(Arrays.asList("friend123", "friend456", "ghost"))
+                .build();
+
+        when(simulationRepository.findByIdForUpdate("sim123")).thenReturn(Optional.of(simulation));
+        when(userRepository.findAllById(anyList())).thenReturn(Arrays.asList(sharedBy, sharedWith, third));
+        when(sharedSimulationRepository.findSharedWithIdsBySimulationId("sim123")).thenReturn(List.of("friend123"));
+        when(sharedSimulationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BulkShareResult result = sharedSimulationService.shareSimulationBulk("user123", request);
+
+        // Assert
+        assertEquals(1, result.getShared().size());
+        assertEquals("friend456", result.getShared().get(0).getSharedWithId());
+        assertEquals(List.of("friend123"), result.getAlreadyShared());
+        assertEquals(List.of("ghost"), result.getInvalidRecipients());
+        verify(userRepository, times(1)).findAllById(anyList());
+        verify(notificationService).sendSimulationSharedNotifications(
+                eq(List.of("friend456")), eq("user123"), eq("Owner User"), eq("sim123"), eq("Test Simulation"));
+    }
+
+    /**
+     * TEST 10: Bulk share - all friends
+     */
+    @Test
+    void testShareSimulationBulk_AllFriends() {
+        // Arrange
+        simulation.setUser(sharedBy);
+        BulkShareRequest request = BulkShareRequest.builder()
+                .simulationId("sim123")
+                .allFriends(true)
+                .build();
+
+        when(simulationRepository.findByIdForUpdate("sim123")).thenReturn(Optional.of(simulation));
+        when(friendshipRepository.findAcceptedFriendIds("user123")).thenReturn(List.of("friend123"));
+        when(userRepository.findAllById(anyList())).thenReturn(Arrays.asList(sharedBy, sharedWith));
+        when(sharedSimulationRepository.findSharedWithIdsBySimulationId("sim123")).thenReturn(List.of());
+        when(sharedSimulationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BulkShareResult result = sharedSimulationService.shareSimulationBulk("user123", request);
+
+        // Assert
+        assertEquals(1, result.getShared().size());
+        verify(eventPublisher).publishEvent(new SocialGraphChangedEvent("user123", "friend123",
+                SocialGraphChangedEvent.Change.SHARE_ADDED));
+    }
+
+    /**
+     * TEST 11: Bulk share - not the owner
+     */
+    @Test
+    void testShareSimulationBulk_NotOwner() {
+        // Arrange
+        simulation.setUser(sharedWith);
+        BulkShareRequest request = BulkShareRequest.builder()
+                .simulationId("sim123")
+                .recipientIds(List.of("friend123"))
+                .build();
+        when(simulationRepository.findByIdForUpdate("sim123")).thenReturn(Optional.of(simulation));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                sharedSimulationService.shareSimulationBulk("user123", request));
+
+        assertEquals("Not authorized to share this simulation", exception.getMessage());
+        verify(sharedSimulationRepository, never()).saveAll(anyList());
+    }
 }
@@ -0,0 +1,158 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.dto.BuildingPredictionRequest;
+import com.simstruct.backend.entity.BuildingParameters;
+import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.entity.SimulationResult;
+import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.SimulationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour SimilarityIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class SimilarityIndexTest {
+
+    @Mock
+    private SimulationRepository simulationRepository;
+
+    private final User owner = User.builder().id("owner").name("Owner").build();
+    private final User other = User.builder().id("other").name("Other").build();
+
+    private static BuildingParameters building(double numFloors) {
+        return BuildingParameters.from(BuildingPredictionRequest.builder()
+                .numFloors(numFloors).floorHeight(3.0).numBeams(120).numColumns(40)
+                .beamSection(40.0).columnSection(50.0).concreteStrength(30.0).steelGrade(355.0)
+                .windLoad(1.5).liveLoad(2.5).deadLoad(5.0)
+                .build());
+    }
+
+    private Simulation simulation(String id, User user, boolean isPublic, double beamLength,
+                                  Simulation.MaterialType material, Simulation.LoadType loadType) {
+        return Simulation.builder()
+                .id(id).user(user).isPublic(isPublic)
+                .beamLength(beamLength).beamWidth(0.3).beamHeight(0.5).loadMagnitude(10000.0)
+                .materialType(material).loadType(loadType).supportType(Simulation.SupportType.SIMPLY_SUPPORTED)
+                .buildingParameters(building(10))
+                .status(Simulation.SimulationStatus.COMPLETED)
+                .results(SimulationResult.builder().stabilityIndex(70.0).seismicResistance(60.0).build())
+                .build();
+    }
+
+    private SimilarityIndex index(double tolerance, Simulation... simulations) {
+        when(simulationRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(simulations)));
+        SimilarityIndex index = new SimilarityIndex(simulationRepository, tolerance);
+        index.load();
+        return index;
+    }
+
+    private static List<String> ids(List<KdTree.Neighbor<SimilarityIndex.Design>> neighbors) {
+        return neighbors.stream().map(KdTree.Neighbor::id).toList();
+    }
+
+    /**
+     * TEST 1: Les voisins sont triés par distance, sans la simulation elle-même
+     */
+    @Test
+    void testFindSimilar_OrderedByDistance() {
+        SimilarityIndex index = index(0,
+                simulation("self", owner, false, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT),
+                simulation("near", other, true, 5.5, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT),
+                simulation("far", other, true, 20.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT));
+
+        assertEquals(List.of("near", "far"), ids(index.findSimilar("self", "owner", Set.of(), 5)));
+        assertEquals(List.of("near"), ids(index.findSimilar("self", "owner", Set.of(), 1)));
+    }
+
+    /**
+     * TEST 2: Seules les simulations publiques, partagées ou de l'utilisateur, du même matériau, sont proposées
+     */
+    @Test
+    void testFindSimilar_VisibilityAndMaterial() {
+        SimilarityIndex index = index(0,
+                simulation("self", owner, false, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT),
+                simulation("mine", owner, false, 6.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT),
+                simulation("private", other, false, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT),
+                simulation("wood", other, true, 5.0, Simulation.MaterialType.WOOD, Simulation.LoadType.POINT));
+
+        assertEquals(List.of("mine"), ids(index.findSimilar("self", "owner", Set.of(), 5)));
+        assertTrue(index.findSimilar("unknown", "owner", Set.of(), 5).isEmpty());
+        assertEquals(List.of("private", "mine"), ids(index.findSimilar("self", "owner", Set.of("private"), 5)));
+    }
+
+    /**
+     * TEST 3: Un type de charge différent éloigne une simulation
+     */
+    @Test
+    void testFindSimilar_LoadTypePenalty() {
+        SimilarityIndex index = index(0,
+                simulation("self", owner, true, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT),
+                simulation("same-span", other, true, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.UNIFORM),
+                simulation("longer", other, true, 6.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT));
+
+        assertEquals(List.of("longer", "same-span"), ids(index.findSimilar("self", "owner", Set.of(), 5)));
+    }
+
+    /**
+     * TEST 4: L'index suit les créations, changements de visibilité et suppressions
+     */
+    @Test
+    void testIncrementalUpdates() {
+        SimilarityIndex index = index(0,
+                simulation("self", owner, false, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT));
+        Simulation created = simulation("created", other, false, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT);
+        when(simulationRepository.findById("created")).thenReturn(Optional.of(created));
+
+        index.onSimulationChanged(new SimulationChangedEvent("created", SimulationChangedEvent.Change.CREATED));
+        assertTrue(index.findSimilar("self", "owner", Set.of(), 5).isEmpty());
+
+        created.setIsPublic(true);
+        index.onSimulationChanged(new SimulationChangedEvent("created", SimulationChangedEvent.Change.VISIBILITY));
+        assertEquals(List.of("created"), ids(index.findSimilar("self", "owner", Set.of(), 5)));
+
+        index.onSimulationChanged(new SimulationChangedEvent("created", SimulationChangedEvent.Change.DELETED));
+        assertTrue(index.findSimilar("self", "owner", Set.of(), 5).isEmpty());
+    }
+
+    /**
+     * TEST 5: Une prédiction est réutilisable seulement sous la tolérance
+     */
+    @Test
+    void testFindReusable_WithinTolerance() {
+        SimilarityIndex index = index(0.01,
+                simulation("done", owner, false, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT));
+
+        Optional<KdTree.Neighbor<SimilarityIndex.Design>> same = index.findReusable(building(10).toAIRequest());
+        Optional<KdTree.Neighbor<SimilarityIndex.Design>> taller = index.findReusable(building(20).toAIRequest());
+
+        assertEquals("done", same.orElseThrow().id());
+        assertEquals(0.0, same.get().distance(), 1e-9);
+        assertTrue(taller.isEmpty());
+    }
+
+    /**
+     * TEST 6: La réutilisation est désactivée avec une tolérance nulle
+     */
+    @Test
+    void testFindReusable_DisabledByDefault() {
+        SimilarityIndex index = index(0,
+                simulation("done", owner, false, 5.0, Simulation.MaterialType.STEEL, Simulation.LoadType.POINT));
+
+        assertTrue(index.findReusable(building(10).toAIRequest()).isEmpty());
+    }
+}
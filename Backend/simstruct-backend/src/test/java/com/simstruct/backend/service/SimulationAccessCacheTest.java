@@ -0,0 +1,78 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.event.SimulationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests simples pour SimulationAccessCache
+ */
+class SimulationAccessCacheTest {
+
+    private SimulationAccessCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SimulationAccessCache();
+    }
+
+    /**
+     * TEST 1: Une décision mise en cache est retrouvée
+     */
+    @Test
+    void testPutAndGet() {
+        cache.put("sim1", "user1", SimulationAccessCache.Access.SHARED, cache.generation());
+
+        assertEquals(SimulationAccessCache.Access.SHARED, cache.get("sim1", "user1"));
+        assertNull(cache.get("sim1", "user2"));
+    }
+
+    /**
+     * TEST 2: Un événement de partage invalide les décisions de la simulation
+     */
+    @Test
+    void testInvalidateOnEvent() {
+        cache.put("sim1", "user1", SimulationAccessCache.Access.SHARED, cache.generation());
+        cache.put("sim2", "user1", SimulationAccessCache.Access.OWNER, cache.generation());
+
+        cache.onSimulationChanged(new SimulationChangedEvent("sim1", SimulationChangedEvent.Change.SHARES));
+
+        assertNull(cache.get("sim1", "user1"));
+        assertEquals(SimulationAccessCache.Access.OWNER, cache.get("sim2", "user1"));
+    }
+
+    /**
+     * TEST 3: Une décision calculée pendant une invalidation n'est pas gardée
+     */
+    @Test
+    void testStaleDecisionIsDropped() {
+        long generation = cache.generation();
+        // L'utilisateur perd son accès pendant que la décision est calculée
+        cache.invalidate("sim1");
+
+        cache.put("sim1", "user1", SimulationAccessCache.Access.SHARED, generation);
+
+        assertNull(cache.get("sim1", "user1"));
+    }
+
+    /**
+     * TEST 4: Le nombre total de décisions est borné, même pour une seule simulation publique
+     */
+    @Test
+    void testTotalEntriesAreBounded() {
+        cache.put("sim1", "owner", SimulationAccessCache.Access.OWNER, cache.generation());
+        for (int i = 0; i < SimulationAccessCache.MAX_ENTRIES + 10; i++) {
+            cache.put("public", "user" + i, SimulationAccessCache.Access.PUBLIC, cache.generation());
+        }
+
+        assertTrue(cache.entries() <= SimulationAccessCache.MAX_ENTRIES);
+        assertEquals(SimulationAccessCache.Access.PUBLIC,
+                cache.get("public", "user" + (SimulationAccessCache.MAX_ENTRIES + 9)));
+
+        cache.invalidate("public");
+        cache.invalidate("sim1");
+        assertEquals(0, cache.entries());
+    }
+}
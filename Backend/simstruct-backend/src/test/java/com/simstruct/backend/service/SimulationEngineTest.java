@@ -284,4 +284,52 @@ public class SimulationEngineTest {
         assertNotNull(result);
         assertTrue(result.getMaxDeflection() > 0);
     }
+
+    /**
+     * TEST 15: Fréquence propre selon les appuis: f = (βL)²/2π √(EI/ρAL⁴)
+     */
+    @Test
+    void testNaturalFrequency_DependsOnSupports() {
+        double E = 200e9;
+        double I = 0.3 * Math.pow(0.5, 3) / 12;
+        double mass = 7850 * 0.3 * 0.5;
+        double scale = Math.sqrt(E * I / (mass * Math.pow(5.0, 4))) / (2 * Math.PI);
+
+        simulation.setSupportType(Simulation.SupportType.SIMPLY_SUPPORTED);
+        assertEquals(Math.PI * Math.PI * scale, simulationEngine.analyze(simulation).getNaturalFrequency(),
+                Math.PI * Math.PI * scale * 1e-3);
+
+        simulation.setSupportType(Simulation.SupportType.FIXED_FREE);
+        assertEquals(1.8751 * 1.8751 * scale, simulationEngine.analyze(simulation).getNaturalFrequency(),
+                1.8751 * 1.8751 * scale * 1e-3);
+
+        simulation.setSupportType(Simulation.SupportType.FIXED_FIXED);
+        assertEquals(4.7300 * 4.7300 * scale, simulationEngine.analyze(simulation).getNaturalFrequency(),
+                4.7300 * 4.7300 * scale * 1e-3);
+    }
+
+    @Test
+    void testNaturalFrequency_AloneMatchesAnalysis() {
+        simulation.setSupportType(Simulation.SupportType.FIXED_FREE);
+
+        assertEquals(simulationEngine.analyze(simulation).getNaturalFrequency(),
+                simulationEngine.naturalFrequency(simulation), 1e-12);
+    }
+
+    @Test
+    void testNaturalFrequency_DeepBeamIsBendingMode() {
+        // Poutre courte (L = 1 m): le mode axial (~1262 Hz) ne doit pas passer avant la flexion
+        simulation.setBeamLength(1.0);
+        simulation.setSupportType(Simulation.SupportType.SIMPLY_SUPPORTED);
+        for (double h : new double[]{1.0, 2.0}) {
+            simulation.setBeamHeight(h);
+            double expected = Math.PI * Math.PI * Math.sqrt(200e9 * h * h / 12 / 7850) / (2 * Math.PI);
+            assertEquals(expected, simulationEngine.naturalFrequency(simulation), expected * 1e-3);
+        }
+
+        simulation.setSupportType(Simulation.SupportType.FIXED_FREE);
+        simulation.setBeamHeight(1.0);
+        double cantilever = 1.8751 * 1.8751 * Math.sqrt(200e9 / 12 / 7850) / (2 * Math.PI);
+        assertEquals(cantilever, simulationEngine.naturalFrequency(simulation), cantilever * 1e-3);
+    }
 }
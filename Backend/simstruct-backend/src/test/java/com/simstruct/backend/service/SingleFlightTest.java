@@ -0,0 +1,180 @@
+package com.simstruct.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests simples pour SingleFlight
+ */
+class SingleFlightTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * TEST 1: Les appels simultanés partagent un seul chargement
+     */
+    @Test
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<byte[]> leader = executor.submit(() -> singleFlight.execute("feed", "", () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return new byte[]{1};
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        List<Future<byte[]>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("feed", "", () -> {
+                loads.incrementAndGet();
+                return new byte[]{2};
+            })));
+        }
+        // Laisser les suiveurs rejoindre le vol en cours
+        Thread.sleep(100);
+        release.countDown();
+
+        assertArrayEquals(new byte[]{1}, leader.get(5, TimeUnit.SECONDS));
+        for (Future<byte[]> follower : followers) {
+            assertArrayEquals(new byte[]{1}, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(5.0, count("feed", "coalesced"));
+        assertEquals(5.0 / 6.0, registry.get("simstruct.singleflight.coalescing.ratio")
+                .tag("endpoint", "feed").gauge().value(), 1e-9);
+    }
+
+    /**
+     * TEST 2: Un résultat récent est réutilisé dans la fenêtre de fraîcheur
+     */
+    @Test
+    void testFreshResultIsReused() {
+        SingleFlight singleFlight = new SingleFlight(registry, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("feed", "", () -> new byte[]{(byte) loads.incrementAndGet()});
+        byte[] second = singleFlight.execute("feed", "", () -> new byte[]{(byte) loads.incrementAndGet()});
+
+        assertArrayEquals(new byte[]{1}, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, count("feed", "fresh"));
+    }
+
+    /**
+     * TEST 3: Sans fenêtre de fraîcheur, chaque appel séquentiel recharge
+     */
+    @Test
+    void testNoReuseAfterCompletionWithoutWindow() {
+        SingleFlight singleFlight = new SingleFlight(registry, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("feed", "", () -> new byte[]{(byte) loads.incrementAndGet()});
+        // Garantit que l'horloge avance au-delà de la fenêtre nulle
+        sleepQuietly(2);
+        singleFlight.execute("feed", "", () -> new byte[]{(byte) loads.incrementAndGet()});
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * TEST 4: Des clés différentes ne sont pas fusionnées
+     */
+    @Test
+    void testDifferentKeysAreIndependent() {
+        SingleFlight singleFlight = new SingleFlight(registry, 60_000);
+
+        byte[] beam = singleFlight.execute("search", "beam", () -> new byte[]{1});
+        byte[] slab = singleFlight.execute("search", "slab", () -> new byte[]{2});
+
+        assertArrayEquals(new byte[]{1}, beam);
+        assertArrayEquals(new byte[]{2}, slab);
+        assertEquals(2.0, count("search", "leader"));
+    }
+
+    /**
+     * TEST 5: Un échec n'est jamais réutilisé
+     */
+    @Test
+    void testFailureIsNotCached() {
+        SingleFlight singleFlight = new SingleFlight(registry, 60_000);
+
+        assertThrows(IllegalStateException.class, () ->
+                singleFlight.execute("feed", "", () -> {
+                    throw new IllegalStateException("DB down");
+                }));
+        byte[] result = singleFlight.execute("feed", "", () -> new byte[]{3});
+
+        assertArrayEquals(new byte[]{3}, result);
+        assertEquals(2.0, count("feed", "leader"));
+    }
+
+    /**
+     * TEST 6: Une Error du chargement termine le vol: l'appel suivant recharge au lieu d'attendre
+     */
+    @Test
+    void testErrorIsNotLeftPending() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(registry, 60_000);
+
+        assertThrows(StackOverflowError.class, () ->
+                singleFlight.execute("search", "q=beam", () -> {
+                    throw new StackOverflowError();
+                }));
+        Future<byte[]> next = executor.submit(() -> singleFlight.execute("search", "q=beam", () -> new byte[]{4}));
+
+        assertArrayEquals(new byte[]{4}, next.get(5, TimeUnit.SECONDS));
+        assertEquals(2.0, count("search", "leader"));
+    }
+
+    private double count(String endpoint, String outcome) {
+        return registry.get("simstruct.singleflight.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
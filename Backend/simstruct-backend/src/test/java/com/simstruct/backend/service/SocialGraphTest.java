@@ -0,0 +1,138 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.event.SocialGraphChangedEvent;
+import com.simstruct.backend.event.UserChangedEvent;
+import com.simstruct.backend.repository.FriendshipRepository;
+import com.simstruct.backend.repository.SharedSimulationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests simples pour SocialGraph (suggestions d'amis)
+ */
+class SocialGraphTest {
+
+    private SocialGraph graph;
+
+    /**
+     * Graphe de test:
+     * alice - bob, alice - carol, bob - dave, carol - dave, bob - erin
+     */
+    @BeforeEach
+    void setUp() {
+        FriendshipRepository friendshipRepository = mock(FriendshipRepository.class);
+        SharedSimulationRepository sharedSimulationRepository = mock(SharedSimulationRepository.class);
+
+        List<Object[]> friends = new ArrayList<>();
+        friends.add(new Object[]{"alice", "bob"});
+        friends.add(new Object[]{"alice", "carol"});
+        friends.add(new Object[]{"bob", "dave"});
+        friends.add(new Object[]{"carol", "dave"});
+        friends.add(new Object[]{"bob", "erin"});
+        List<Object[]> shares = new ArrayList<>();
+        shares.add(new Object[]{"erin", "alice", 3L});
+
+        when(friendshipRepository.findAcceptedPairs()).thenReturn(friends);
+        when(sharedSimulationRepository.countSharesByPair()).thenReturn(shares);
+
+        graph = new SocialGraph(friendshipRepository, sharedSimulationRepository);
+        graph.rebuild();
+    }
+
+    /**
+     * TEST 1: Classement par amis en commun puis simulations partagées
+     */
+    @Test
+    void testSuggest_RankedByMutualFriends() {
+        List<SocialGraph.Suggestion> suggestions = graph.suggest("alice", 10, Set.of());
+
+        assertEquals(2, suggestions.size());
+        assertEquals("dave", suggestions.get(0).userId());
+        assertEquals(2, suggestions.get(0).mutualFriends());
+        assertEquals("erin", suggestions.get(1).userId());
+        assertEquals(1, suggestions.get(1).mutualFriends());
+        assertEquals(3, suggestions.get(1).sharedSimulations());
+    }
+
+    /**
+     * TEST 2: Exclusion et limite
+     */
+    @Test
+    void testSuggest_ExcludeAndLimit() {
+        List<SocialGraph.Suggestion> suggestions = graph.suggest("alice", 1, Set.of("dave"));
+
+        assertEquals(1, suggestions.size());
+        assertEquals("erin", suggestions.get(0).userId());
+    }
+
+    /**
+     * TEST 3: Mise à jour après acceptation puis suppression
+     */
+    @Test
+    void testAddAndRemoveFriendship() {
+        graph.addFriendship("alice", "dave");
+        assertEquals(3, graph.degree("alice"));
+        assertTrue(graph.suggest("alice", 10, Set.of()).stream().noneMatch(s -> s.userId().equals("dave")));
+
+        graph.removeFriendship("alice", "dave");
+        assertEquals(2, graph.degree("alice"));
+        assertEquals("dave", graph.suggest("alice", 10, Set.of()).get(0).userId());
+    }
+
+    /**
+     * TEST 4: Les événements validés mettent à jour les amitiés et les partages
+     */
+    @Test
+    void testOnSocialGraphChanged() {
+        graph.onSocialGraphChanged(new SocialGraphChangedEvent("alice", "dave",
+                SocialGraphChangedEvent.Change.FRIENDSHIP_ADDED));
+        assertEquals(3, graph.degree("alice"));
+
+        graph.onSocialGraphChanged(new SocialGraphChangedEvent("bob", "erin",
+                SocialGraphChangedEvent.Change.FRIENDSHIP_REMOVED));
+        assertEquals(2, graph.degree("bob"));
+
+        graph.onSocialGraphChanged(new SocialGraphChangedEvent("erin", "alice",
+                SocialGraphChangedEvent.Change.SHARE_REMOVED));
+        graph.onSocialGraphChanged(new SocialGraphChangedEvent("carol", "bob",
+                SocialGraphChangedEvent.Change.SHARE_ADDED));
+        // bob: amis en commun alice-dave; carol: partage avec bob
+        assertEquals(new SocialGraph.Suggestion("carol", 2, 1), graph.suggest("bob", 10, Set.of()).get(0));
+    }
+
+    /**
+     * TEST 5: Utilisateur inconnu
+     */
+    @Test
+    void testSuggest_UnknownUser() {
+        assertTrue(graph.suggest("nobody", 10, Set.of()).isEmpty());
+    }
+
+    /**
+     * TEST 6: Un compte supprimé disparaît du graphe et de ses partages
+     */
+    @Test
+    void testOnUserDeleted() {
+        graph.onUserChanged(new UserChangedEvent("bob", UserChangedEvent.Change.DELETED));
+
+        assertEquals(0, graph.degree("bob"));
+        assertEquals(1, graph.degree("alice"));
+        assertEquals(0, graph.degree("erin"));
+        // alice ne voit plus que dave via carol
+        assertEquals(List.of(new SocialGraph.Suggestion("dave", 1, 0)), graph.suggest("alice", 10, Set.of()));
+        assertTrue(graph.suggest("dave", 10, Set.of()).stream().noneMatch(s -> s.userId().equals("bob")));
+
+        // erin supprimée puis recréée: son partage avec alice a été oublié
+        graph.onUserChanged(new UserChangedEvent("erin", UserChangedEvent.Change.DELETED));
+        graph.addFriendship("erin", "carol");
+        assertEquals(new SocialGraph.Suggestion("alice", 1, 0), graph.suggest("erin", 10, Set.of()).stream()
+                .filter(s -> s.userId().equals("alice")).findFirst().orElseThrow());
+    }
+}
@@ -0,0 +1,75 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour SurrogateModel (modèle IA évalué dans la JVM)
+ */
+class SurrogateModelTest {
+
+    // Ligne 1 de fem_simulations.csv
+    private static final float[] SAMPLE_1 = {12, 3.3f, 144, 64, 45, 60, 80, 355, 0.69f, 1.64f, 4.3f};
+    // Écart admis par sortie: 1e-4 de l'écart-type de chaque sortie (float32, ordre des additions)
+    private static final double[] TOLERANCE = {60, 0.05, 0.002, 0.002};
+
+    private SurrogateModel model(boolean vectorEnabled) {
+        return new SurrogateModel(new ObjectMapper(), new ClassPathResource("ai/model_weights.json"), vectorEnabled);
+    }
+
+    /**
+     * TEST 1: Les poids exportés donnent les mêmes prédictions que le modèle PyTorch
+     */
+    @Test
+    void testPredict_MatchesPythonModel() {
+        SurrogateModel model = model(true);
+        float[] outputs = new float[4];
+
+        model.predict(SAMPLE_1, 1, outputs);
+
+        assertEquals("4ee1b6ec4a01", model.modelVersion());
+        assertEquals(31.58, outputs[1], 0.05);   // maxStress
+        assertEquals(99.70, outputs[2], 0.05);   // stabilityIndex
+        assertEquals(94.39, outputs[3], 0.05);   // seismicResistance
+    }
+
+    /**
+     * TEST 2: Avec --add-modules jdk.incubator.vector (argLine), les couches utilisent le Vector API
+     */
+    @Test
+    void testKernel_VectorWhenModulePresent() {
+        assertTrue(model(true).kernelName().startsWith("vector"));
+        assertEquals("scalar", model(false).kernelName());
+    }
+
+    /**
+     * TEST 3: Vector API et boucles scalaires donnent les mêmes prédictions, quelle que soit la taille du lot
+     */
+    @Test
+    void testPredict_VectorMatchesScalar() {
+        SurrogateModel vector = model(true);
+        SurrogateModel scalar = model(false);
+        Random random = new Random(42);
+
+        for (int rows : new int[]{1, 7, 1024}) {
+            float[] inputs = new float[rows * 11];
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i] = SAMPLE_1[i % 11] * (0.5f + random.nextFloat());
+            }
+            float[] expected = new float[rows * 4];
+            float[] actual = new float[rows * 4];
+
+            scalar.predict(inputs, rows, expected);
+            vector.predict(inputs, rows, actual);
+
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], actual[i], TOLERANCE[i % 4], "output " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.simstruct.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simstruct.backend.entity.Simulation;
+import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.EngagementEvent;
+import com.simstruct.backend.event.SimulationChangedEvent;
+import com.simstruct.backend.repository.ChatMessageRepository;
+import com.simstruct.backend.repository.SharedSimulationRepository;
+import com.simstruct.backend.repository.SimulationLikeRepository;
+import com.simstruct.backend.repository.SimulationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour TrendingIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class TrendingIndexTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Mock
+    private SimulationRepository simulationRepository;
+
+    @Mock
+    private SimulationLikeRepository likeRepository;
+
+    @Mock
+    private SharedSimulationRepository sharedSimulationRepository;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TrendingIndex index(int capacity, String... publicIds) {
+        when(simulationRepository.findPublicIds()).thenReturn(List.of(publicIds));
+        TrendingIndex index = new TrendingIndex(simulationRepository, likeRepository, sharedSimulationRepository,
+                chatMessageRepository, objectMapper, 24, capacity, 0, 7, 30);
+        index.seed();
+        return index;
+    }
+
+    private static void engage(TrendingIndex index, String id, EngagementEvent.Kind kind) {
+        index.onEngagement(new EngagementEvent(id, kind));
+    }
+
+    /**
+     * TEST 1: Le classement suit le poids des interactions
+     */
+    @Test
+    void testRanking_ByWeight() {
+        TrendingIndex index = index(100, "a", "b", "c");
+
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+        engage(index, "b", EngagementEvent.Kind.SHARE);
+        engage(index, "c", EngagementEvent.Kind.VIEW);
+
+        assertEquals(List.of("b", "a", "c"), index.topIds(10));
+        assertEquals(List.of("b"), index.topIds(1));
+    }
+
+    /**
+     * TEST 2: Les interactions anciennes comptent moins (demi-vie de 24h)
+     */
+    @Test
+    void testRanking_TimeDecay() {
+        TrendingIndex index = index(100, "old", "new");
+        long now = System.currentTimeMillis();
+
+        // 3 likes il y a deux jours valent 0.75 like aujourd'hui
+        for (int i = 0; i < 3; i++) {
+            index.record("old", 1.0, now - 2 * DAY);
+        }
+        index.record("new", 1.0, now);
+
+        assertEquals(List.of("new", "old"), index.topIds(10));
+    }
+
+    /**
+     * TEST 3: Les simulations privées ne sont pas classées
+     */
+    @Test
+    void testRanking_IgnoresPrivate() {
+        TrendingIndex index = index(100, "public");
+
+        engage(index, "private", EngagementEvent.Kind.SHARE);
+        engage(index, "public", EngagementEvent.Kind.VIEW);
+
+        assertEquals(List.of("public"), index.topIds(10));
+    }
+
+    /**
+     * TEST 4: Une simulation rendue privée quitte le classement, une rendue publique y entre
+     */
+    @Test
+    void testVisibilityChanges() {
+        TrendingIndex index = index(100, "a");
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+        when(simulationRepository.existsByIdAndIsPublicTrue("a")).thenReturn(false);
+        when(simulationRepository.existsByIdAndIsPublicTrue("b")).thenReturn(true);
+
+        index.onSimulationChanged(new SimulationChangedEvent("a", SimulationChangedEvent.Change.VISIBILITY));
+        index.onSimulationChanged(new SimulationChangedEvent("b", SimulationChangedEvent.Change.VISIBILITY));
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+        engage(index, "b", EngagementEvent.Kind.LIKE);
+
+        assertEquals(List.of("b"), index.topIds(10));
+    }
+
+    /**
+     * TEST 5: Retirer un like fait redescendre la simulation
+     */
+    @Test
+    void testUnlike() {
+        TrendingIndex index = index(100, "a", "b");
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+        engage(index, "b", EngagementEvent.Kind.CHAT_REFERENCE);
+        engage(index, "b", EngagementEvent.Kind.VIEW);
+
+        engage(index, "a", EngagementEvent.Kind.UNLIKE);
+
+        assertEquals(List.of("b", "a"), index.topIds(10));
+    }
+
+    /**
+     * TEST 6: La capacité borne le nombre de simulations suivies
+     */
+    @Test
+    void testCapacity() {
+        TrendingIndex index = index(2, "a", "b", "c");
+
+        engage(index, "a", EngagementEvent.Kind.SHARE);
+        engage(index, "b", EngagementEvent.Kind.VIEW);
+        engage(index, "c", EngagementEvent.Kind.LIKE);
+
+        assertEquals(List.of("a", "c"), index.topIds(10));
+        assertEquals(2, index.rankedCount());
+    }
+
+    /**
+     * TEST 7: Le changement de repère garde l'ordre et des scores finis
+     */
+    @Test
+    void testRebase() {
+        TrendingIndex index = index(100, "a", "b", "c");
+        long now = System.currentTimeMillis();
+        index.record("a", 5.0, now);
+        index.record("b", 1.0, now);
+
+        // 60 demi-vies plus tard
+        index.record("c", 1.0, now + 60 * DAY);
+        index.record("b", 1.0, now + 60 * DAY);
+
+        assertEquals(List.of("b", "c", "a"), index.topIds(10));
+    }
+
+    /**
+     * TEST 8: Les interactions stockées initialisent le classement au démarrage
+     */
+    @Test
+    void testSeed_FromStoredEngagement() {
+        List<Object[]> likes = new ArrayList<>();
+        likes.add(new Object[]{"a", LocalDateTime.now().minusHours(1)});
+        List<Object[]> shares = new ArrayList<>();
+        shares.add(new Object[]{"b", LocalDateTime.now().minusHours(1)});
+        when(likeRepository.findPublicLikesSince(any())).thenReturn(likes);
+        when(sharedSimulationRepository.findPublicSharesSince(any())).thenReturn(shares);
+
+        TrendingIndex index = index(100, "a", "b");
+
+        assertEquals(List.of("b", "a"), index.topIds(10));
+    }
+
+    /**
+     * TEST 9: Le top est servi en JSON dans l'ordre du classement
+     */
+    @Test
+    void testTop_Json() throws Exception {
+        TrendingIndex index = index(100, "a", "b");
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+        engage(index, "b", EngagementEvent.Kind.SHARE);
+        User owner = User.builder().id("u1").name("Owner").build();
+        when(simulationRepository.findPublicWithUserByIdIn(anyCollection())).thenReturn(List.of(
+                Simulation.builder().id("a").name("A").user(owner).isPublic(true).build(),
+                Simulation.builder().id("b").name("B").user(owner).isPublic(true).build()));
+
+        JsonNode all = objectMapper.readTree(index.top(10));
+        JsonNode first = objectMapper.readTree(index.top(1));
+
+        assertEquals(2, all.size());
+        assertEquals("b", all.get(0).get("id").asText());
+        assertEquals(1, first.size());
+        assertEquals("b", first.get(0).get("id").asText());
+    }
+
+    /**
+     * TEST 10: Un unlike retire la contribution décroissante du like d'origine, pas un like d'aujourd'hui
+     */
+    @Test
+    void testUnlike_RemovesDecayedContributionOfOriginalLike() {
+        TrendingIndex index = index(100, "a", "b");
+        LocalDateTime likedAt = LocalDateTime.now().minusDays(2);
+        index.onEngagement(new EngagementEvent("a", EngagementEvent.Kind.LIKE, "u1", likedAt));
+        engage(index, "a", EngagementEvent.Kind.SHARE);
+        engage(index, "a", EngagementEvent.Kind.VIEW);
+        engage(index, "b", EngagementEvent.Kind.SHARE);
+
+        // Le like d'il y a deux jours vaut 0.25: "a" garde 3.2 contre 3.0 (un poids plein le ferait passer à 2.2)
+        index.onEngagement(new EngagementEvent("a", EngagementEvent.Kind.UNLIKE, "u1", likedAt));
+
+        assertEquals(List.of("a", "b"), index.topIds(10));
+    }
+
+    /**
+     * TEST 11: Un score ramené à zéro garde la simulation classée
+     */
+    @Test
+    void testUnlike_ClampsScoreAndKeepsEntry() {
+        TrendingIndex index = index(100, "a");
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+
+        engage(index, "a", EngagementEvent.Kind.UNLIKE);
+        engage(index, "a", EngagementEvent.Kind.UNLIKE);
+
+        assertEquals(List.of("a"), index.topIds(10));
+        assertEquals(1, index.rankedCount());
+    }
+
+    /**
+     * TEST 12: Les vues répétées d'un même utilisateur ne comptent qu'une fois par fenêtre
+     */
+    @Test
+    void testViews_ThrottledPerUser() {
+        TrendingIndex index = index(100, "a", "b");
+        engage(index, "a", EngagementEvent.Kind.LIKE);
+        for (int i = 0; i < 20; i++) {
+            index.onEngagement(new EngagementEvent("b", EngagementEvent.Kind.VIEW, "u1"));
+        }
+        assertEquals(List.of("a", "b"), index.topIds(10));
+
+        long now = System.currentTimeMillis();
+        assertFalse(index.countsView("b", "u1", now));
+        assertTrue(index.countsView("b", "u2", now));
+        assertTrue(index.countsView("b", "u1", now + TimeUnit.MINUTES.toMillis(31)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.simstruct.backend.service;
+
+import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.UserChangedEvent;
+import com.simstruct.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests simples pour UserSearchIndex
+ */
+class UserSearchIndexTest {
+
+    private UserRepository userRepository;
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findAll()).thenReturn(Arrays.asList(
+                user("u1", "Alice Martin", "alice@simstruct.com"),
+                user("u2", "Bob Alison", "bob@example.com"),
+                user("u3", "Charlie Brown", "charlie@example.com")));
+
+        index = new UserSearchIndex(userRepository);
+        index.rebuild();
+    }
+
+    private User user(String id, String name, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+
+    /**
+     * TEST 1: Recherche par sous-chaîne du nom ou de l'email
+     */
+    @Test
+    void testSearch_Substring() {
+        List<UserSearchIndex.IndexedUser> results = index.search("ali", 10, Set.of());
+
+        assertEquals(2, results.size());
+        // Le préfixe de l'email passe avant le mot "Alison"
+        assertEquals("u1", results.get(0).id());
+        assertEquals("u2", results.get(1).id());
+    }
+
+    /**
+     * TEST 2: Les utilisateurs exclus ne sont pas retournés
+     */
+    @Test
+    void testSearch_Exclusion() {
+        List<UserSearchIndex.IndexedUser> results = index.search("example", 10, Set.of("u2"));
+
+        assertEquals(1, results.size());
+        assertEquals("u3", results.get(0).id());
+    }
+
+    /**
+     * TEST 3: Requête de 2 caractères - début de mot seulement
+     */
+    @Test
+    void testSearch_ShortQuery() {
+        List<UserSearchIndex.IndexedUser> results = index.search("br", 10, Set.of());
+
+        assertEquals(1, results.size());
+        assertEquals("u3", results.get(0).id());
+    }
+
+    /**
+     * TEST 4: Limite du nombre de résultats
+     */
+    @Test
+    void testSearch_Limit() {
+        assertEquals(1, index.search("example", 1, Set.of()).size());
+    }
+
+    /**
+     * TEST 5: Mise à jour et suppression
+     */
+    @Test
+    void testUpsertAndRemove() {
+        index.upsert(user("u2", "Robert Stone", "bob@example.com"));
+        assertTrue(index.search("alison", 10, Set.of()).isEmpty());
+        assertEquals("u2", index.search("stone", 10, Set.of()).get(0).id());
+
+        index.remove("u3");
+        assertTrue(index.search("charlie", 10, Set.of()).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * TEST 6: Un changement validé est relu depuis la base; un utilisateur disparu est retiré
+     */
+    @Test
+    void testOnUserChanged() {
+        when(userRepository.findById("u4")).thenReturn(Optional.of(user("u4", "Diane Stone", "diane@example.com")));
+        when(userRepository.findById("u2")).thenReturn(Optional.empty());
+
+        index.onUserChanged(new UserChangedEvent("u4", UserChangedEvent.Change.CREATED));
+        index.onUserChanged(new UserChangedEvent("u2", UserChangedEvent.Change.UPDATED));
+        index.onUserChanged(new UserChangedEvent("u3", UserChangedEvent.Change.DELETED));
+
+        assertEquals("u4", index.search("diane", 10, Set.of()).get(0).id());
+        assertTrue(index.search("bob", 10, Set.of()).isEmpty());
+        assertTrue(index.search("charlie", 10, Set.of()).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * TEST 7: La compaction garde les résultats des utilisateurs restants
+     */
+    @Test
+    void testCompactDeadSlots() {
+        index.remove("u1");
+        index.upsert(user("u2", "Bob Alison", "robert@example.com"));
+
+        index.compactDeadSlots();
+
+        assertTrue(index.search("alice", 10, Set.of()).isEmpty());
+        assertEquals("u2", index.search("robert", 10, Set.of()).get(0).id());
+        assertEquals("u3", index.search("ch", 10, Set.of()).get(0).id());
+        assertEquals(2, index.size());
+    }
+}
@@ -4,12 +4,14 @@ import com.simstruct.backend.dto.ChangePasswordRequest;
 import com.simstruct.backend.dto.UpdateProfileRequest;
 import com.simstruct.backend.dto.UserResponse;
 import com.simstruct.backend.entity.User;
+import com.simstruct.backend.event.UserChangedEvent;
 import com.simstruct.backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -38,6 +40,10 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    // Mock pour l'index de recherche des utilisateurs
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     // Service à tester avec les mocks injectés
     @InjectMocks
     private UserService userService;
@@ -233,6 +239,8 @@ class UserServiceTest {
         verify(userRepository, times(1)).existsById(userId);
         // Vérifie que deleteById a été appelé
         verify(userRepository, times(1)).deleteById(userId);
+        // L'index de recherche est prévenu
+        verify(eventPublisher).publishEvent(new UserChangedEvent(userId, UserChangedEvent.Change.DELETED));
     }
 
     /**
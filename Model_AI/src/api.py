@@ -12,6 +12,7 @@ import pickle                               # Pour charger les scalers
 import numpy as np                          # Pour les calculs mathématiques
 from typing import Dict                     # Pour les types de retour
 import os                                   # Pour gérer les chemins de fichiers
+import hashlib                              # Pour calculer la version du modèle
 
 # Créer l'application FastAPI
 app = FastAPI(
@@ -108,6 +109,7 @@ class PredictionOutput(BaseModel):
 model = None
 scaler_X = None
 scaler_Y = None
+model_version = None  # Empreinte des fichiers du modèle, change à chaque réentraînement
 
 @app.on_event("startup")
 async def load_model():
@@ -115,7 +117,7 @@ async def load_model():
     Cette fonction s'exécute au démarrage de l'API
     Elle charge le modèle et les scalers
     """
-    global model, scaler_X, scaler_Y
+    global model, scaler_X, scaler_Y, model_version
     
     # Chemin vers le dossier models
     model_dir = os.path.join(os.path.dirname(__file__), "..", "models")
@@ -136,6 +138,15 @@ async def load_model():
             scaler_Y = scalers['scaler_Y']  # Scaler pour les sorties
         print("✅ Scalers chargés avec succès")
         
+        # Version du modèle = empreinte SHA-256 des poids et des scalers
+        # Le backend vide son cache de prédictions quand elle change
+        digest = hashlib.sha256()
+        for path in (model_path, scaler_path):
+            with open(path, 'rb') as f:
+                digest.update(f.read())
+        model_version = digest.hexdigest()[:12]
+        print(f"✅ Version du modèle: {model_version}")
+        
     except Exception as e:
         print(f"❌ Erreur lors du chargement: {e}")
         raise
@@ -280,6 +291,7 @@ async def model_info():
     
     return {
         "architecture": "SimpleNeuralNetwork",
+        "model_version": model_version,
         "input_features": 11,
         "output_features": 4,
         "hidden_layers": [64, 32],
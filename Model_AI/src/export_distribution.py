@@ -0,0 +1,95 @@
+"""
+Export de la distribution d'entraînement pour le backend Java
+Le backend compare les requêtes et prédictions de production à cette distribution
+(PSI et KS, /api/v1/ai/drift) pour détecter les entrées hors distribution
+
+Usage:
+    python export_distribution.py [--data chemin/vers/fem_simulations.csv] [--output chemin/vers/training_distribution.json]
+Par défaut le fichier est écrit dans les ressources du backend
+"""
+
+# Import des bibliothèques nécessaires
+import argparse                             # Pour lire les arguments
+import bisect                               # Pour ranger les valeurs dans les intervalles
+import csv                                  # Pour lire le jeu de données
+import json                                 # Pour écrire le fichier exporté
+import os                                   # Pour gérer les chemins de fichiers
+
+DATA_PATH = os.path.join(os.path.dirname(__file__), "..", "data", "fem_simulations.csv")
+DEFAULT_OUTPUT = os.path.join(os.path.dirname(__file__), "..", "..", "Backend", "simstruct-backend",
+                              "src", "main", "resources", "ai", "training_distribution.json")
+
+# Même ordre que l'API et que export_weights.py
+INPUTS = [
+    "numFloors", "floorHeight", "numBeams", "numColumns",
+    "beamSection", "columnSection", "concreteStrength", "steelGrade",
+    "windLoad", "liveLoad", "deadLoad"
+]
+OUTPUTS = ["maxDeflection", "maxStress", "stabilityIndex", "seismicResistance"]
+
+
+def percentile(sorted_values, q):
+    """Percentile q (0-100) pris parmi les valeurs, comme numpy.percentile(method='lower')"""
+    return sorted_values[int((len(sorted_values) - 1) * q / 100)]
+
+
+def bin_index(edges, value):
+    """Intervalle d'une valeur; le maximum d'entraînement est dans le dernier intervalle intérieur"""
+    if value == edges[-1] and len(edges) > 1:
+        return len(edges) - 1
+    return bisect.bisect_right(edges, value)
+
+
+def describe(values, step=1):
+    """
+    Bornes des intervalles et part des valeurs dans chacun
+
+    Les bornes sont les percentiles 0, step, ..., 100, sans doublons (variables entières).
+    Les intervalles sont ]-inf, b0[, [b0, b1[, ..., [bn-1, bn], ]bn, +inf[: len(bornes) + 1 parts,
+    les deux extrêmes (hors de l'intervalle d'entraînement) sont vides
+    """
+    ordered = sorted(values)
+    edges = []
+    for q in range(0, 101, step):
+        edge = round(percentile(ordered, q), 6)
+        if not edges or edge > edges[-1]:
+            edges.append(edge)
+    counts = [0] * (len(edges) + 1)
+    for value in ordered:
+        counts[bin_index(edges, value)] += 1
+    return edges, [count / len(ordered) for count in counts]
+
+
+def export_distribution(data_path=DATA_PATH):
+    """Construire le dictionnaire exporté à partir du jeu de données"""
+    with open(data_path, newline='') as f:
+        rows = list(csv.DictReader(f))
+
+    features = []
+    for kind, names in (("input", INPUTS), ("output", OUTPUTS)):
+        for name in names:
+            edges, fractions = describe([float(row[name]) for row in rows])
+            features.append({"name": name, "kind": kind, "edges": edges, "fractions": fractions})
+
+    return {
+        "source": os.path.basename(data_path),
+        "num_samples": len(rows),
+        "features": features
+    }
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Exporter la distribution d'entraînement en JSON")
+    parser.add_argument("--data", default=DATA_PATH, help="Jeu de données CSV")
+    parser.add_argument("--output", default=DEFAULT_OUTPUT, help="Fichier JSON à écrire")
+    args = parser.parse_args()
+
+    exported = export_distribution(args.data)
+    os.makedirs(os.path.dirname(os.path.abspath(args.output)), exist_ok=True)
+    with open(args.output, 'w') as f:
+        json.dump(exported, f)
+    print(f"✅ Distribution de {exported['num_samples']} échantillons exportée dans {args.output}")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,87 @@
+"""
+Export du modèle en JSON pour le backend Java
+Le backend évalue des grilles de bâtiments (/api/v1/ai/grid) directement dans la JVM,
+avec les mêmes poids et les mêmes scalers que l'API
+
+Usage:
+    python export_weights.py [--output chemin/vers/model_weights.json]
+Par défaut le fichier est écrit dans les ressources du backend
+"""
+
+# Import des bibliothèques nécessaires
+import argparse                             # Pour lire les arguments
+import hashlib                              # Pour calculer la version du modèle
+import json                                 # Pour écrire le fichier exporté
+import os                                   # Pour gérer les chemins de fichiers
+import pickle                               # Pour charger les scalers
+import torch                                # PyTorch pour lire les poids
+
+MODEL_DIR = os.path.join(os.path.dirname(__file__), "..", "models")
+DEFAULT_OUTPUT = os.path.join(os.path.dirname(__file__), "..", "..", "Backend", "simstruct-backend",
+                              "src", "main", "resources", "ai", "model_weights.json")
+
+# Même ordre que l'API et que BuildingParameters côté Java
+INPUTS = [
+    "numFloors", "floorHeight", "numBeams", "numColumns",
+    "beamSection", "columnSection", "concreteStrength", "steelGrade",
+    "windLoad", "liveLoad", "deadLoad"
+]
+OUTPUTS = ["maxDeflection", "maxStress", "stabilityIndex", "seismicResistance"]
+
+
+def export_weights(model_dir=MODEL_DIR):
+    """
+    Construire le dictionnaire exporté
+
+    Les poids de chaque couche sont mis à plat ligne par ligne (sorties x entrées,
+    comme nn.Linear); les scalers StandardScaler sont réduits à leur moyenne et écart-type
+    """
+    model_path = os.path.join(model_dir, "structural_model.pt")
+    scaler_path = os.path.join(model_dir, "scalers.pkl")
+
+    state = torch.load(model_path, map_location="cpu")
+    with open(scaler_path, 'rb') as f:
+        scalers = pickle.load(f)
+
+    # Même empreinte que model_version de l'API
+    digest = hashlib.sha256()
+    for path in (model_path, scaler_path):
+        with open(path, 'rb') as f:
+            digest.update(f.read())
+
+    layers = []
+    for name in ("layer1", "layer2", "layer3"):
+        weight = state[f"{name}.weight"]
+        layers.append({
+            "inputs": weight.shape[1],
+            "outputs": weight.shape[0],
+            "weight": weight.flatten().tolist(),
+            "bias": state[f"{name}.bias"].tolist()
+        })
+
+    return {
+        "model_version": digest.hexdigest()[:12],
+        "inputs": INPUTS,
+        "outputs": OUTPUTS,
+        "input_mean": scalers['scaler_X'].mean_.tolist(),
+        "input_scale": scalers['scaler_X'].scale_.tolist(),
+        "output_mean": scalers['scaler_Y'].mean_.tolist(),
+        "output_scale": scalers['scaler_Y'].scale_.tolist(),
+        "layers": layers
+    }
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Exporter les poids du modèle en JSON")
+    parser.add_argument("--output", default=DEFAULT_OUTPUT, help="Fichier JSON à écrire")
+    args = parser.parse_args()
+
+    exported = export_weights()
+    os.makedirs(os.path.dirname(os.path.abspath(args.output)), exist_ok=True)
+    with open(args.output, 'w') as f:
+        json.dump(exported, f)
+    print(f"✅ Modèle {exported['model_version']} exporté dans {args.output}")
+
+
+if __name__ == "__main__":
+    main()
@@ -180,6 +180,13 @@ class TestModelInfoEndpoint:
         assert len(data["input_parameters"]) == 11
         assert len(data["output_parameters"]) == 4
     
+    def test_model_info_returns_model_version(self, client_with_loaded_model):
+        """Test model-info exposes the model version used to invalidate caches"""
+        response = client_with_loaded_model.get("/model-info")
+        data = response.json()
+        
+        assert "model_version" in data
+    
     def test_model_info_returns_total_parameters(self, client_with_loaded_model):
         """Test model-info returns total trainable parameters"""
         response = client_with_loaded_model.get("/model-info")
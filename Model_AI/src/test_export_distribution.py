@@ -0,0 +1,43 @@
+"""
+Export Distribution Tests for SimStruct AI
+Tests the training distribution used by the backend drift monitor
+
+Author: SimStruct AI Team
+Target: Test export_distribution.py (used by /api/v1/ai/drift)
+"""
+
+import pytest
+import os
+import sys
+
+# Add src to path
+sys.path.insert(0, os.path.dirname(os.path.abspath(__file__)))
+
+from export_distribution import describe, export_distribution, percentile, INPUTS, OUTPUTS
+
+
+class TestExportDistribution:
+    """Tests for the distribution export"""
+
+    def test_percentile_lower(self):
+        """Test that percentiles are taken among the values"""
+        assert percentile([1, 2, 3, 4], 50) == 2
+        assert percentile([1, 2, 3, 4], 0) == 1
+        assert percentile([1, 2, 3, 4], 100) == 4
+
+    def test_describe_integer_values(self):
+        """Test that repeated edges are merged and fractions sum to one"""
+        edges, fractions = describe([1, 1, 1, 2, 3] * 20)
+        assert edges == [1, 2, 3]
+        assert fractions == pytest.approx([0, 0.6, 0.4, 0])
+
+    def test_export_features(self):
+        """Test that every input and output of the model is described"""
+        exported = export_distribution()
+        names = [feature["name"] for feature in exported["features"]]
+        assert names == INPUTS + OUTPUTS
+        for feature in exported["features"]:
+            assert len(feature["fractions"]) == len(feature["edges"]) + 1
+            assert sum(feature["fractions"]) == pytest.approx(1)
+            # Nothing outside the training range
+            assert feature["fractions"][0] == 0 and feature["fractions"][-1] == 0
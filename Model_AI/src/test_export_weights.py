@@ -0,0 +1,72 @@
+"""
+Export Unit Tests for SimStruct AI
+Tests that the exported JSON weights give the same predictions as the model
+
+Author: SimStruct AI Team
+Target: Test export_weights.py (used by the Java backend for design grids)
+"""
+
+import pytest
+import numpy as np
+import pickle
+import sys
+import os
+
+# Add src to path
+sys.path.insert(0, os.path.dirname(os.path.abspath(__file__)))
+
+# Try to import torch, skip tests if not available
+try:
+    import torch
+    from api import SimpleNeuralNetwork
+    from export_weights import export_weights, MODEL_DIR, INPUTS
+    TORCH_AVAILABLE = True
+except (ImportError, OSError) as e:
+    TORCH_AVAILABLE = False
+
+# Skip all tests if torch is not available
+pytestmark = pytest.mark.skipif(not TORCH_AVAILABLE, reason="PyTorch not available")
+
+
+def forward(exported, x):
+    """Same computation as the Java backend, with numpy"""
+    x = (np.asarray(x, dtype=np.float64) - exported["input_mean"]) / exported["input_scale"]
+    for i, layer in enumerate(exported["layers"]):
+        weight = np.asarray(layer["weight"]).reshape(layer["outputs"], layer["inputs"])
+        x = x @ weight.T + np.asarray(layer["bias"])
+        if i < len(exported["layers"]) - 1:
+            x = np.maximum(x, 0)
+    return x * exported["output_scale"] + exported["output_mean"]
+
+
+class TestExportWeights:
+    """Tests for the JSON export"""
+
+    def test_export_shapes(self):
+        """Test that every layer keeps its dimensions"""
+        exported = export_weights()
+        assert [(l["inputs"], l["outputs"]) for l in exported["layers"]] == [(11, 64), (64, 32), (32, 4)]
+        assert len(exported["layers"][0]["weight"]) == 11 * 64
+        assert len(exported["input_mean"]) == len(INPUTS) == 11
+        assert len(exported["output_scale"]) == 4
+
+    def test_export_matches_model(self):
+        """Test that the exported weights predict like the PyTorch model"""
+        exported = export_weights()
+        model = SimpleNeuralNetwork()
+        model.load_state_dict(torch.load(os.path.join(MODEL_DIR, "structural_model.pt")))
+        model.eval()
+        with open(os.path.join(MODEL_DIR, "scalers.pkl"), 'rb') as f:
+            scalers = pickle.load(f)
+
+        building = [[10, 3.5, 120, 36, 30, 40, 35, 355, 1.5, 3.0, 5.0]]
+        with torch.no_grad():
+            scaled = model(torch.tensor(scalers['scaler_X'].transform(building), dtype=torch.float32))
+        expected = scalers['scaler_Y'].inverse_transform(scaled.numpy())
+
+        np.testing.assert_allclose(forward(exported, building), expected, rtol=1e-4, atol=1e-2)
+
+    def test_export_version(self):
+        """Test that the version matches the one reported by /model-info"""
+        exported = export_weights()
+        assert len(exported["model_version"]) == 12